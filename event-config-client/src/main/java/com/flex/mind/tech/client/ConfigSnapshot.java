@@ -0,0 +1,100 @@
+package com.flex.mind.tech.client;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time copy of the event configurations held by {@link EventConfigClient}.
+ * <p>
+ * A snapshot is never mutated after construction, so readers can use it without locks;
+ * refreshes build a new snapshot and swap the reference.
+ */
+public final class ConfigSnapshot {
+
+    static final ConfigSnapshot EMPTY = new ConfigSnapshot(Map.of(), Map.of(), null, null);
+
+    private final Map<String, EventConfig> byId;
+    private final Map<Key, EventConfig> byKey;
+    private final LocalDateTime watermark;
+    private final Instant fetchedAt;
+
+    private ConfigSnapshot(Map<String, EventConfig> byId,
+                           Map<Key, EventConfig> byKey,
+                           LocalDateTime watermark,
+                           Instant fetchedAt) {
+        this.byId = byId;
+        this.byKey = byKey;
+        this.watermark = watermark;
+        this.fetchedAt = fetchedAt;
+    }
+
+    static ConfigSnapshot of(Collection<EventConfig> configs, Instant fetchedAt) {
+        return EMPTY.apply(configs, fetchedAt);
+    }
+
+    /**
+     * Returns a new snapshot with the given changes applied on top of this one.
+     * Configs are matched by id, so a change of eventType or source moves the entry to its new key.
+     */
+    ConfigSnapshot apply(Collection<EventConfig> changes, Instant fetchedAt) {
+        if (changes.isEmpty()) {
+            return new ConfigSnapshot(byId, byKey, watermark, fetchedAt);
+        }
+
+        Map<String, EventConfig> newById = new HashMap<>(byId);
+        Map<Key, EventConfig> newByKey = new HashMap<>(byKey);
+        LocalDateTime newWatermark = watermark;
+
+        for (EventConfig config : changes) {
+            EventConfig previous = newById.put(config.id(), config);
+            if (previous != null) {
+                newByKey.remove(new Key(previous.eventType(), previous.source()), previous);
+            }
+            newByKey.put(new Key(config.eventType(), config.source()), config);
+
+            if (config.updatedAt() != null && (newWatermark == null || config.updatedAt().isAfter(newWatermark))) {
+                newWatermark = config.updatedAt();
+            }
+        }
+
+        return new ConfigSnapshot(
+                Collections.unmodifiableMap(newById),
+                Collections.unmodifiableMap(newByKey),
+                newWatermark,
+                fetchedAt
+        );
+    }
+
+    public EventConfig get(String eventType, String source) {
+        return byKey.get(new Key(eventType, source));
+    }
+
+    public Collection<EventConfig> configs() {
+        return byId.values();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Latest {@code updatedAt} seen so far, used as the starting point of the next delta request.
+     */
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    /**
+     * Time of the last successful fetch, or {@code null} if the service has never been reached.
+     */
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+
+    private record Key(String eventType, String source) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.flex.mind.tech.client;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client-side view of an event configuration as returned by {@code /event-config}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record EventConfig(
+        String id,
+        String eventType,
+        String source,
+        Boolean enabled,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime createdAt,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime updatedAt
+) {
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+}
@@ -0,0 +1,239 @@
+package com.flex.mind.tech.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caching client for the EventConfig service.
+ * <p>
+ * Keeps an immutable {@link ConfigSnapshot} behind an {@link AtomicReference}: lookups are a single
+ * hash-map read without locking, while a background task periodically pulls only the configs changed
+ * since the last watermark from {@code GET /event-config/changes}. When the service is unreachable the
+ * last known snapshot stays in place.
+ */
+public class EventConfigClient implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(EventConfigClient.class.getName());
+    private static final TypeReference<List<EventConfig>> CONFIG_LIST = new TypeReference<>() {
+    };
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final Duration refreshInterval;
+    private final Duration deltaOverlap;
+    private final Duration fullResyncInterval;
+    private final Clock clock;
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>(ConfigSnapshot.EMPTY);
+
+    private volatile Instant lastFullSync;
+    private ScheduledExecutorService scheduler;
+
+    private EventConfigClient(Builder builder) {
+        this.baseUri = URI.create(stripTrailingSlash(builder.baseUrl));
+        this.httpClient = builder.httpClient != null
+                ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.connectTimeout).build();
+        this.objectMapper = builder.objectMapper != null
+                ? builder.objectMapper
+                : new ObjectMapper()
+                        .registerModule(new JavaTimeModule())
+                        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.requestTimeout = builder.requestTimeout;
+        this.refreshInterval = builder.refreshInterval;
+        this.deltaOverlap = builder.deltaOverlap;
+        this.fullResyncInterval = builder.fullResyncInterval;
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    /**
+     * Performs the initial load and schedules background refreshes.
+     * A failed initial load is logged and retried on the next refresh, leaving the snapshot empty.
+     */
+    public synchronized EventConfigClient start() {
+        if (scheduler != null) {
+            return this;
+        }
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-config-client-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if a config for the pair exists in the current snapshot and is enabled.
+     */
+    public boolean isEnabled(String eventType, String source) {
+        EventConfig config = snapshot.get().get(eventType, source);
+        return config != null && config.isEnabled();
+    }
+
+    public EventConfig get(String eventType, String source) {
+        return snapshot.get().get(eventType, source);
+    }
+
+    public ConfigSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Synchronises the snapshot with the service: a full load when there is no watermark yet or the
+     * full resync interval has elapsed, a delta request otherwise. Never throws.
+     *
+     * @return {@code true} if the service was reached and the snapshot updated
+     */
+    public boolean refresh() {
+        ConfigSnapshot current = snapshot.get();
+        Instant now = clock.instant();
+        try {
+            if (current.watermark() == null || lastFullSync == null
+                    || lastFullSync.plus(fullResyncInterval).isBefore(now)) {
+                snapshot.set(ConfigSnapshot.of(fetch(null), now));
+                lastFullSync = now;
+            } else {
+                LocalDateTime since = current.watermark().minus(deltaOverlap);
+                snapshot.set(current.apply(fetch(since), now));
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.log(System.Logger.Level.WARNING,
+                    "EventConfig refresh failed, keeping snapshot of {0} configs fetched at {1}: {2}",
+                    current.size(), current.fetchedAt(), e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private List<EventConfig> fetch(LocalDateTime since) throws IOException, InterruptedException {
+        String path = baseUri + "/event-config/changes";
+        if (since != null) {
+            path += "?since=" + URLEncoder.encode(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(since), StandardCharsets.UTF_8);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected status " + response.statusCode() + " from " + path);
+            }
+            return objectMapper.readValue(body, CONFIG_LIST);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static String stripTrailingSlash(String url) {
+        Objects.requireNonNull(url, "baseUrl");
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public static final class Builder {
+
+        private final String baseUrl;
+        private HttpClient httpClient;
+        private ObjectMapper objectMapper;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private Duration refreshInterval = Duration.ofSeconds(5);
+        private Duration deltaOverlap = Duration.ofSeconds(5);
+        private Duration fullResyncInterval = Duration.ofMinutes(10);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * How far before the watermark delta requests start. Covers writes whose {@code updatedAt}
+         * was taken before, but committed after, an already observed write.
+         */
+        public Builder deltaOverlap(Duration deltaOverlap) {
+            this.deltaOverlap = deltaOverlap;
+            return this;
+        }
+
+        public Builder fullResyncInterval(Duration fullResyncInterval) {
+            this.fullResyncInterval = fullResyncInterval;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public EventConfigClient build() {
+            return new EventConfigClient(this);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.flex.mind.tech.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventConfigClient Unit Tests")
+class EventConfigClientTest {
+
+    private MockWebServer server;
+    private EventConfigClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        client = EventConfigClient.builder(server.url("/api/v1").toString())
+                .refreshInterval(Duration.ofHours(1))
+                .deltaOverlap(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should load full snapshot on first refresh")
+    void refresh_InitialLoad_Success() throws InterruptedException {
+        // Given
+        server.enqueue(json("[" +
+                config("id-1", "USER_REGISTRATION", "auth-service", true, "2024-01-15T10:30:00") + "," +
+                config("id-2", "USER_LOGIN", "auth-service", false, "2024-01-15T10:31:00") +
+                "]"));
+
+        // When
+        boolean refreshed = client.refresh();
+
+        // Then
+        assertThat(refreshed).isTrue();
+        assertThat(client.isEnabled("USER_REGISTRATION", "auth-service")).isTrue();
+        assertThat(client.isEnabled("USER_LOGIN", "auth-service")).isFalse();
+        assertThat(client.isEnabled("UNKNOWN", "auth-service")).isFalse();
+        assertThat(client.snapshot().size()).isEqualTo(2);
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.getPath()).isEqualTo("/api/v1/event-config/changes");
+    }
+
+    @Test
+    @DisplayName("Should request only changes since watermark and apply them")
+    void refresh_Delta_AppliesChanges() throws InterruptedException {
+        // Given
+        server.enqueue(json("[" +
+                config("id-1", "USER_REGISTRATION", "auth-service", true, "2024-01-15T10:30:00") +
+                "]"));
+        server.enqueue(json("[" +
+                config("id-1", "USER_REGISTRATION", "auth-service", false, "2024-01-15T10:35:00") + "," +
+                config("id-3", "ORDER_CREATED", "order-service", true, "2024-01-15T10:35:00") +
+                "]"));
+
+        // When
+        client.refresh();
+        client.refresh();
+
+        // Then
+        assertThat(client.isEnabled("USER_REGISTRATION", "auth-service")).isFalse();
+        assertThat(client.isEnabled("ORDER_CREATED", "order-service")).isTrue();
+        assertThat(client.snapshot().size()).isEqualTo(2);
+
+        server.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest delta = server.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(delta).isNotNull();
+        assertThat(delta.getPath()).isEqualTo("/api/v1/event-config/changes?since=2024-01-15T10%3A29%3A55");
+    }
+
+    @Test
+    @DisplayName("Should move config to new key when eventType changes")
+    void refresh_Delta_KeyChanged_RemovesOldKey() {
+        // Given
+        server.enqueue(json("[" +
+                config("id-1", "USER_REGISTRATION", "auth-service", true, "2024-01-15T10:30:00") +
+                "]"));
+        server.enqueue(json("[" +
+                config("id-1", "USER_SIGNUP", "auth-service", true, "2024-01-15T10:40:00") +
+                "]"));
+
+        // When
+        client.refresh();
+        client.refresh();
+
+        // Then
+        assertThat(client.get("USER_REGISTRATION", "auth-service")).isNull();
+        assertThat(client.isEnabled("USER_SIGNUP", "auth-service")).isTrue();
+        assertThat(client.snapshot().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep last known snapshot when service is unavailable")
+    void refresh_ServiceUnavailable_KeepsSnapshot() {
+        // Given
+        server.enqueue(json("[" +
+                config("id-1", "USER_REGISTRATION", "auth-service", true, "2024-01-15T10:30:00") +
+                "]"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        boolean first = client.refresh();
+        boolean second = client.refresh();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(client.isEnabled("USER_REGISTRATION", "auth-service")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should start with empty snapshot when service is unreachable")
+    void start_ServiceUnreachable_EmptySnapshot() throws IOException {
+        // Given
+        server.shutdown();
+
+        // When
+        client.start();
+
+        // Then
+        assertThat(client.snapshot().size()).isZero();
+        assertThat(client.snapshot().fetchedAt()).isNull();
+        assertThat(client.isEnabled("USER_REGISTRATION", "auth-service")).isFalse();
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    private static String config(String id, String eventType, String source, boolean enabled, String updatedAt) {
+        return String.format(
+                "{\"id\":\"%s\",\"eventType\":\"%s\",\"source\":\"%s\",\"enabled\":%s," +
+                        "\"createdAt\":\"2024-01-15T10:00:00\",\"updatedAt\":\"%s\"}",
+                id, eventType, source, enabled, updatedAt);
+    }
+}
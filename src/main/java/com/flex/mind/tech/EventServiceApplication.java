@@ -1,12 +1,47 @@
 package com.flex.mind.tech;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.service.importer.EventConfigImporter;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class EventServiceApplication {
 
-    public static void main(String[] args) {
-        SpringApplication.run(EventServiceApplication.class, args);
+    private static final String IMPORT_OPTION = "import";
+    private static final String RESUME_AFTER_OPTION = "resume-after";
+
+    public static void main(String[] args) throws Exception {
+        ApplicationArguments arguments = new DefaultApplicationArguments(args);
+        if (!arguments.containsOption(IMPORT_OPTION)) {
+            SpringApplication.run(EventServiceApplication.class, args);
+            return;
+        }
+
+        // --import=<file> [--resume-after=<line>]: run the bulk import without the web server and exit
+        SpringApplication application = new SpringApplication(EventServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        int exitCode;
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            Path file = Path.of(arguments.getOptionValues(IMPORT_OPTION).get(0));
+            List<String> resumeAfter = arguments.getOptionValues(RESUME_AFTER_OPTION);
+            EventConfigImportReportDto report = context.getBean(EventConfigImporter.class).importFile(
+                    file, resumeAfter == null ? 0 : Long.parseLong(resumeAfter.get(0)));
+            System.out.println(context.getBean(ObjectMapper.class)
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(report));
+            exitCode = report.getFailed() > 0 ? 1 : 0;
+        }
+        System.exit(exitCode);
     }
 }
@@ -0,0 +1,33 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Merge concurrent key lookups against the storage strategy into batched queries.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the first key of a batch waits for company before the batch is sent.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * A batch is sent as soon as it holds this many distinct keys.
+     */
+    private int maxBatchSize = 128;
+
+    /**
+     * Batched queries allowed in flight at the same time.
+     */
+    private int maxConcurrentBatches = 4;
+}
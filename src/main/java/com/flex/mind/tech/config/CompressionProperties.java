@@ -0,0 +1,21 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.compression")
+public class CompressionProperties {
+
+    /**
+     * Serve gzip-encoded cached responses to clients that accept it.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Responses smaller than this are sent uncompressed.
+     */
+    private int minResponseSize = 2048;
+}
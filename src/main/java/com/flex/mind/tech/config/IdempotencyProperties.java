@@ -0,0 +1,39 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Answer a repeated {@code POST} carrying the same Idempotency-Key with the first response instead of
+     * executing it again.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a completed response is replayed for; clients must not retry with the same key after it.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Keys remembered at once. Requests with a new key beyond it are executed without deduplication.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Longest accepted Idempotency-Key; together with {@code max-entries} this bounds the memory held.
+     */
+    private int maxKeyLength = 128;
+
+    /**
+     * How often expired keys are swept.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+}
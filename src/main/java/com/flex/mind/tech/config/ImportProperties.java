@@ -0,0 +1,31 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    /**
+     * Valid rows written per bulk request.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Bulk requests one import may have outstanding; the file is not read further while all are busy.
+     */
+    private int maxInFlightBatches = 4;
+
+    /**
+     * Row errors listed in the report; later errors are only counted.
+     */
+    private int maxReportedErrors = 1000;
+
+    /**
+     * Rows read between progress log lines.
+     */
+    private long progressInterval = 100_000;
+}
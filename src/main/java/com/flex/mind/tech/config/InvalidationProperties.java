@@ -0,0 +1,41 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.invalidation")
+public class InvalidationProperties {
+
+    /**
+     * Propagate invalidations between replicas. Local listeners are notified either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Mongo: capped collection used when change streams are unavailable (standalone server).
+     */
+    private String cappedCollection = "event_config_invalidations";
+
+    private long cappedCollectionSizeBytes = 1024 * 1024;
+
+    /**
+     * Elasticsearch: how often the sequence document is polled.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Elasticsearch: how long a taken sequence number may stay without its change document before
+     * replicas give the change up as lost and invalidate everything.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Delay before reopening a failed change stream or tailable cursor.
+     */
+    private Duration retryDelay = Duration.ofSeconds(1);
+}
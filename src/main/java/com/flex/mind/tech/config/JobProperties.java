@@ -0,0 +1,45 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobProperties {
+
+    /**
+     * Worker threads running jobs accepted with {@code Prefer: respond-async}.
+     */
+    private int workers = 2;
+
+    /**
+     * Jobs that may wait for a worker. Submissions beyond it are refused with {@code 503} right away
+     * instead of holding the connection.
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * {@code Retry-After} sent with a refused submission.
+     */
+    private Duration retryAfter = Duration.ofSeconds(30);
+
+    /**
+     * How long a finished job stays queryable.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Finished jobs kept at most; the oldest are forgotten first.
+     */
+    private int maxRetained = 1000;
+
+    /**
+     * Directory for request bodies of accepted imports until their job has read them; the system temp
+     * directory when unset.
+     */
+    private String spoolDirectory;
+}
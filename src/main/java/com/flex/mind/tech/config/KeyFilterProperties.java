@@ -0,0 +1,36 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.key-filter")
+public class KeyFilterProperties {
+
+    /**
+     * Answer "definitely not there" duplicate probes on create from a Bloom filter of
+     * (eventType, source) keys instead of querying the store.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Keys the first filter stage is sized for; the filter grows past it in doubling stages.
+     */
+    private int initialCapacity = 10_000;
+
+    /**
+     * Target false-positive probability across all stages.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * How often the filter is rebuilt from the store to drop keys that no longer exist. Keys written
+     * by other replicas arrive through the invalidation bus; with {@code app.invalidation.enabled=false}
+     * the filter is not used at all, since a rebuild alone would miss them for up to this long.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
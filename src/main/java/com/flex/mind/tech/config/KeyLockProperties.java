@@ -0,0 +1,23 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.key-locks")
+public class KeyLockProperties {
+
+    /**
+     * Serialize creates and updates of the same (eventType, source) key within this instance, so
+     * concurrent duplicates wait for the first write instead of racing it to the store.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of lock stripes, rounded up to a power of two. Distinct keys sharing a stripe also wait
+     * for each other, so this should be well above the number of concurrent writers.
+     */
+    private int stripes = 1024;
+}
@@ -0,0 +1,21 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.lookup-cache")
+public class LookupCacheProperties {
+
+    /**
+     * Serve keys of a batch lookup from memory, including keys known to be absent.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached keys; beyond it the least recently used keys are evicted.
+     */
+    private int maxEntries = 100_000;
+}
@@ -0,0 +1,40 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.matching")
+public class MatchingProperties {
+
+    /**
+     * How long after an invalidation the compiled index is rebuilt; further writes within the window
+     * share the same rebuild. Matches may see the previous snapshot for this long.
+     */
+    private Duration rebuildDelay = Duration.ofMillis(100);
+
+    /**
+     * Periodic full rebuild, a safety net for invalidations that were missed.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * Events parsed into one chunk of an NDJSON match stream; chunks are matched and encoded in parallel.
+     */
+    private int streamChunkSize = 1024;
+
+    /**
+     * Threads shared by all NDJSON match streams for matching and encoding chunks.
+     */
+    private int streamParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Chunks one stream may have parsed but not yet written; bounds its memory to about
+     * {@code streamChunkSize * streamMaxInFlightChunks} events and applies backpressure to the reader.
+     */
+    private int streamMaxInFlightChunks = 2 * Runtime.getRuntime().availableProcessors();
+}
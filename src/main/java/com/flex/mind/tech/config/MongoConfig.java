@@ -0,0 +1,37 @@
+package com.flex.mind.tech.config;
+
+import com.flex.mind.tech.repository.codec.EventConfigMongoCodec;
+import com.flex.mind.tech.repository.codec.EventConfigMongoReadConverter;
+import com.flex.mind.tech.repository.codec.EventConfigMongoWriteConverter;
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+/**
+ * Hand-written mapping for EventConfigMongo: repository reads and writes go through the
+ * converters instead of reflection, direct driver access can decode with the codec.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new EventConfigMongoReadConverter(),
+                new EventConfigMongoWriteConverter()
+        ));
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer eventConfigCodecCustomizer() {
+        return settings -> settings.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new EventConfigMongoCodec()),
+                MongoClientSettings.getDefaultCodecRegistry()
+        ));
+    }
+}
@@ -0,0 +1,54 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * When Elasticsearch writes become visible to searches. MongoDB writes are visible once acknowledged, so
+ * these settings only apply to {@code app.storage.type=elasticsearch}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.refresh")
+public class RefreshProperties {
+
+    /**
+     * Refresh policy of {@code POST /event-config}.
+     */
+    private Policy create = Policy.WAIT_FOR;
+
+    /**
+     * Refresh policy of {@code PUT /event-config/{id}}.
+     */
+    private Policy update = Policy.WAIT_FOR;
+
+    /**
+     * Refresh policy of bulk writes: import, source sync and write-behind flushes. Their invalidations are
+     * published only once searches see the writes, with one shared {@code _refresh} if needed.
+     */
+    private Policy bulk = Policy.NONE;
+
+    /**
+     * The index {@code refresh_interval}. A {@code Consistency-Token} older than this needs no refresh.
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    public enum Policy {
+        /**
+         * Return once indexed; searches see the write after the next scheduled refresh.
+         */
+        NONE,
+        /**
+         * Return once a scheduled refresh made the write searchable, without forcing one.
+         */
+        WAIT_FOR,
+        /**
+         * Refresh the affected shards right after the write. Costly under load: every write creates a
+         * small segment.
+         */
+        IMMEDIATE
+    }
+}
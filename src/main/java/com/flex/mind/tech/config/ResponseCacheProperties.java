@@ -0,0 +1,27 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Serve repeated list queries from pre-serialized response bytes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of distinct filter/content-type combinations kept; beyond it the least recently used
+     * are evicted.
+     */
+    private int maxEntries = 1024;
+
+    /**
+     * Responses larger than this are not cached.
+     */
+    private int maxEntryBytes = 8 * 1024 * 1024;
+}
@@ -0,0 +1,34 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.suggest")
+public class SuggestProperties {
+
+    /**
+     * Answer suggestions from an in-memory sorted index of distinct values; the store is only
+     * queried while the index is being (re)built.
+     */
+    private boolean inMemory = true;
+
+    /**
+     * Distinct values per field above which the in-memory index is not kept.
+     */
+    private int maxValues = 1_000_000;
+
+    /**
+     * How often the in-memory index is rebuilt to drop values no config uses anymore.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Largest accepted {@code limit}.
+     */
+    private int maxLimit = 100;
+}
@@ -0,0 +1,35 @@
+package com.flex.mind.tech.config;
+
+import com.flex.mind.tech.config.converter.EventConfigProtobufHttpMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Content negotiation for binary formats. JSON stays the default; clients opt in through Accept:
+ * {@code application/x-jackson-smile}, {@code application/cbor} or {@code application/x-protobuf}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+
+        // Same modules and features as the JSON mapper, so @JsonFormat and JavaTimeModule apply
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().smile().build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().cbor().build()));
+        converters.add(new EventConfigProtobufHttpMessageConverter());
+    }
+}
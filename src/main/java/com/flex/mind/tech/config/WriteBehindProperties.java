@@ -0,0 +1,49 @@
+package com.flex.mind.tech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Accept enable/disable toggles sent with {@code Prefer: respond-async} into an in-memory buffer
+     * and write them to the store in bulk. Without it every toggle is a synchronous update.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Longest time a buffered toggle waits before it is flushed.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Buffered configs that trigger an immediate flush; also the size of one bulk request.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Buffered configs above which toggles are written synchronously instead.
+     */
+    private int maxPending = 10_000;
+
+    private Durability durability = Durability.MEMORY;
+
+    public enum Durability {
+        /**
+         * Answer {@code 202} once the toggle is buffered. Toggles still buffered when the process dies are
+         * lost; failed flushes are retried.
+         */
+        MEMORY,
+        /**
+         * Answer {@code 200} once the bulk write carrying the toggle succeeded: toggles are still coalesced
+         * and batched, but nothing acknowledged can be lost.
+         */
+        FLUSH
+    }
+}
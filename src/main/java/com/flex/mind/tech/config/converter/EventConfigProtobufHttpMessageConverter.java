@@ -0,0 +1,142 @@
+package com.flex.mind.tech.config.converter;
+
+import com.flex.mind.tech.model.proto.EventConfigProto;
+import com.flex.mind.tech.model.response.ErrorResponseDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.google.protobuf.Message;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * Writes event configuration responses as Protobuf messages described in {@code event_config.proto}.
+ * <p>
+ * Write-only: requests are still accepted as JSON, Smile or CBOR.
+ */
+public class EventConfigProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    public EventConfigProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EventConfigResponseDto.class.isAssignableFrom(clazz)
+                || ErrorResponseDto.class.isAssignableFrom(clazz)
+                || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            return element instanceof Class<?> elementClass
+                    && EventConfigResponseDto.class.isAssignableFrom(elementClass);
+        }
+        Class<?> target = type instanceof Class<?> typeClass ? typeClass : clazz;
+        return target != null
+                && (EventConfigResponseDto.class.isAssignableFrom(target)
+                || ErrorResponseDto.class.isAssignableFrom(target));
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        // The message is built once: Content-Length is taken from the encoded bytes rather than from
+        // getContentLength, which would build it a second time
+        byte[] encoded = toMessage(body).toByteArray();
+        outputMessage.getHeaders().setContentLength(encoded.length);
+        outputMessage.getBody().write(encoded);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    public static Message toMessage(Object body) {
+        if (body instanceof EventConfigResponseDto dto) {
+            return toProto(dto);
+        }
+        if (body instanceof ErrorResponseDto error) {
+            return toProto(error);
+        }
+        if (body instanceof Collection<?> collection) {
+            EventConfigProto.EventConfigList.Builder list = EventConfigProto.EventConfigList.newBuilder();
+            for (Object item : collection) {
+                list.addItems(toProto((EventConfigResponseDto) item));
+            }
+            return list.build();
+        }
+        throw new HttpMessageNotWritableException("Unsupported protobuf body: " + body.getClass().getName());
+    }
+
+    private static EventConfigProto.EventConfig toProto(EventConfigResponseDto dto) {
+        EventConfigProto.EventConfig.Builder builder = EventConfigProto.EventConfig.newBuilder()
+                .setEnabled(Boolean.TRUE.equals(dto.getEnabled()))
+                .setCreatedAt(epochSeconds(dto.getCreatedAt()))
+                .setUpdatedAt(epochSeconds(dto.getUpdatedAt()));
+        if (dto.getId() != null) {
+            builder.setId(dto.getId());
+        }
+        if (dto.getEventType() != null) {
+            builder.setEventType(dto.getEventType());
+        }
+        if (dto.getSource() != null) {
+            builder.setSource(dto.getSource());
+        }
+        if (dto.getVersion() != null) {
+            builder.setVersion(dto.getVersion());
+        }
+        return builder.build();
+    }
+
+    private static EventConfigProto.ErrorResponse toProto(ErrorResponseDto error) {
+        EventConfigProto.ErrorResponse.Builder builder = EventConfigProto.ErrorResponse.newBuilder()
+                .setTimestamp(epochSeconds(error.getTimestamp()));
+        if (error.getCode() != null) {
+            builder.setCode(error.getCode());
+        }
+        if (error.getMessage() != null) {
+            builder.setMessage(error.getMessage());
+        }
+        if (error.getDetails() != null) {
+            builder.setDetails(error.getDetails());
+        }
+        if (error.getPath() != null) {
+            builder.setPath(error.getPath());
+        }
+        return builder.build();
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : 0L;
+    }
+}
@@ -5,4 +5,10 @@ public final class ApiConstant {
     }
 
     public static final String API_PREFIX = "/event-config";
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String PREFER = "Prefer";
+    public static final String PREFERENCE_APPLIED = "Preference-Applied";
+    public static final String RESPOND_ASYNC = "respond-async";
+    public static final String CONSISTENCY_TOKEN = "Consistency-Token";
 }
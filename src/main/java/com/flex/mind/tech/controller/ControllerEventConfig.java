@@ -1,7 +1,13 @@
 package com.flex.mind.tech.controller;
 
+import com.flex.mind.tech.model.request.EventConfigLookupRequestDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.request.EventConfigSourceStateDto;
+import com.flex.mind.tech.model.request.EventMatchRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.model.response.EventMatchResultDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -9,16 +15,27 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.flex.mind.tech.constant.ApiConstant.API_PREFIX;
+import static com.flex.mind.tech.constant.ApiConstant.CONSISTENCY_TOKEN;
+import static com.flex.mind.tech.constant.ApiConstant.IDEMPOTENCY_KEY;
+import static com.flex.mind.tech.constant.ApiConstant.PREFER;
 
 @Tag(name = "Event Controller", description = "Управление Event")
 @RequestMapping(API_PREFIX)
@@ -26,33 +43,67 @@ public interface ControllerEventConfig {
 
     @Operation(
             summary = "Create EventConfig",
-            description = "Creates f new event configuration"
+            description = "Creates f new event configuration; a retry with the same Idempotency-Key and body "
+                    + "returns the first response instead of creating again"
     )
     @ApiResponses( value = {
             @ApiResponse(responseCode = "201", description = "Event configuration created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different body")
     })
     @PostMapping
-    ResponseEntity<EventConfigResponseDto> createEventConfig(@Valid @RequestBody EventConfigRequestDto eventDto);
+    ResponseEntity<EventConfigResponseDto> createEventConfig(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody EventConfigRequestDto eventDto
+    );
 
     @Operation(
             summary = "Update EventConfig",
-            description = "Updates an existing event configuration by ID"
+            description = "Updates an existing event configuration by ID; with If-Match set to a previously "
+                    + "returned ETag the update applies only if the configuration is still at that version. "
+                    + "With Prefer: respond-async and the write-behind buffer enabled, an enable/disable toggle "
+                    + "is buffered and written to the store in bulk shortly after"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event configuration updated successfully"),
+            @ApiResponse(responseCode = "202",
+                    description = "Toggle buffered; the body is the state reads now see, without an ETag until stored"),
             @ApiResponse(responseCode = "404", description = "Event Configuration not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input date")
+            @ApiResponse(responseCode = "400", description = "Invalid input date"),
+            @ApiResponse(responseCode = "409", description = "Modified concurrently while updating without If-Match"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the stored version")
     })
     @PutMapping("/{id}")
     ResponseEntity<EventConfigResponseDto> updateEventConfig(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer,
             @Valid @RequestBody EventConfigRequestDto eventDto
     );
 
+    @Operation(
+            summary = "Sync source state",
+            description = "Brings the configurations of a source to the submitted complete set: missing ones are "
+                    + "created, changed ones updated and unlisted ones disabled; unchanged ones are not written. "
+                    + "With Prefer: respond-async the sync runs as a background job"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Source synchronized, see the counts of applied changes"),
+            @ApiResponse(responseCode = "202", description = "Sync queued, poll the returned job"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "503", description = "Job queue full, retry after Retry-After seconds")
+    })
+    @PutMapping("/sources/{source}/state")
+    ResponseEntity<?> syncSourceState(
+            @PathVariable String source,
+            @RequestHeader(value = PREFER, required = false) String prefer,
+            @Valid @RequestBody EventConfigSourceStateDto stateDto
+    );
+
     @Operation(
             summary = "Get EventConfigs",
-            description = "Retrives a list event configurations with optional filtering"
+            description = "Retrives a list event configurations with optional filtering; with a Consistency-Token "
+                    + "from a write the list includes that write"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event configurations retrieved successfully"),
@@ -62,8 +113,139 @@ public interface ControllerEventConfig {
     })
     @GetMapping
     ResponseEntity<List<EventConfigResponseDto>> getEventConfigs(
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestHeader(value = CONSISTENCY_TOKEN, required = false) String consistencyToken
+    );
+
+    @Operation(
+            summary = "Get EventConfig facets",
+            description = "Counts event configurations per eventType, source and enabled flag, with the list filters"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping("/facets")
+    ResponseEntity<EventConfigFacetsResponseDto> getEventConfigFacets(
             @RequestParam(required = false) String eventType,
             @RequestParam(required = false) String source,
             @RequestParam(required = false) Boolean enabled
     );
+
+    @Operation(
+            summary = "Suggest EventConfig values",
+            description = "Autocompletes eventType or source: distinct values starting with the prefix, sorted ascending"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching values retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or limit out of range")
+    })
+    @GetMapping("/suggest")
+    ResponseEntity<List<String>> suggest(
+            @RequestParam String field,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    );
+
+    @Operation(
+            summary = "Lookup EventConfigs",
+            description = "Retrieves the event configurations for many (eventType, source) keys in one request"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching event configurations, unknown keys omitted"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PostMapping("/lookup")
+    ResponseEntity<List<EventConfigResponseDto>> lookupEventConfigs(
+            @Valid @RequestBody EventConfigLookupRequestDto lookupDto
+    );
+
+    @Operation(
+            summary = "Match events",
+            description = "Returns the enabled configuration for each event of the batch, in request order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching decisions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PostMapping(value = "/match", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<EventMatchResultDto>> matchEvents(
+            @Valid @RequestBody EventMatchRequestDto matchDto
+    );
+
+    @Operation(
+            summary = "Match event stream",
+            description = "Matches an NDJSON stream of events, writing one NDJSON decision per event as it is read"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching decisions streamed successfully")
+    })
+    @PostMapping(value = "/match", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> matchEventStream(InputStream events);
+
+    @Operation(
+            summary = "Import EventConfigs",
+            description = "Bulk-imports NDJSON or CSV (eventType,source,enabled) configurations; rows whose key "
+                    + "already exists are skipped, invalid rows are reported. With Prefer: respond-async the import "
+                    + "runs as a background job and the report becomes the job result"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for row outcomes"),
+            @ApiResponse(responseCode = "202", description = "Import queued, poll the returned job"),
+            @ApiResponse(responseCode = "400", description = "Unsupported content type or CSV header"),
+            @ApiResponse(responseCode = "503", description = "Job queue full, retry after Retry-After seconds")
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    ResponseEntity<?> importEventConfigs(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "0") long resumeAfter,
+            @RequestHeader(value = PREFER, required = false) String prefer,
+            InputStream body
+    ) throws IOException;
+
+    @Operation(
+            summary = "Get job",
+            description = "Status, progress and, once finished, result or error of a job accepted with "
+                    + "Prefer: respond-async"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Unknown job or finished longer than the retention ago")
+    })
+    @GetMapping("/jobs/{id}")
+    ResponseEntity<EventConfigJobDto> getJob(@PathVariable String id);
+
+    @Operation(
+            summary = "Get EventConfig changes",
+            description = "Retrieves event configurations updated at or after the given timestamp (all when omitted); "
+                    + "with a Consistency-Token from a write the result includes that write"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changed event configurations retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping("/changes")
+    ResponseEntity<List<EventConfigResponseDto>> getEventConfigChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = CONSISTENCY_TOKEN, required = false) String consistencyToken
+    );
+
+    @Operation(
+            summary = "Get EventConfigs (raw)",
+            description = "Same as Get EventConfigs, streamed as JSON directly from the stored documents"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event configurations streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping(value = "/raw", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<StreamingResponseBody> getEventConfigsRaw(
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestHeader(value = CONSISTENCY_TOKEN, required = false) String consistencyToken
+    );
 }
@@ -0,0 +1,124 @@
+package com.flex.mind.tech.controller.filter;
+
+import com.flex.mind.tech.config.CompressionProperties;
+import com.flex.mind.tech.service.cache.CachedResponse;
+import com.flex.mind.tech.service.cache.EventConfigResponseCache;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+import static com.flex.mind.tech.constant.ApiConstant.API_PREFIX;
+import static com.flex.mind.tech.constant.ApiConstant.CONSISTENCY_TOKEN;
+
+/**
+ * Serves {@code GET /event-config} from {@link EventConfigResponseCache}.
+ * <p>
+ * A hit is written straight to the servlet output stream without touching the controller, the
+ * mapper or Jackson. A miss runs the normal chain and stores the encoded body on the way out.
+ * Clients sending {@code Accept-Encoding: gzip} get the entry's cached gzip form once the body
+ * reaches {@code app.compression.min-response-size}. While toggles wait in the write-behind buffer the cache is
+ * bypassed, since entries hold the stored state and the buffered one is only applied by the service. So are
+ * requests carrying a {@code Consistency-Token}, which must reach the store after it caught up with the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventConfigResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String[] FILTER_PARAMS = {"eventType", "source", "enabled"};
+
+    private final EventConfigResponseCache responseCache;
+    private final CompressionProperties compressionProperties;
+    private final EventConfigWriteBehindBuffer writeBehind;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCache.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !API_PREFIX.equals(request.getServletPath())
+                || !writeBehind.isEmpty()
+                || request.getHeader(CONSISTENCY_TOKEN) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = cacheKey(request);
+        boolean gzip = acceptsGzip(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            writeCached(cached, gzip, response);
+            return;
+        }
+
+        long generation = responseCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        CachedResponse computed = new CachedResponse(wrapper.getContentAsByteArray(), wrapper.getContentType());
+        responseCache.put(key, generation, computed);
+        // The wrapper only buffered the body; write the (possibly compressed) entry instead of copying it
+        writeCached(computed, gzip, response);
+    }
+
+    private void writeCached(CachedResponse cached, boolean gzip, HttpServletResponse response) throws IOException {
+        byte[] body = cached.getBody();
+        if (gzip && body.length >= compressionProperties.getMinResponseSize()) {
+            body = cached.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        if (!compressionProperties.isEnabled()) {
+            return false;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(64);
+        for (String param : FILTER_PARAMS) {
+            String[] values = request.getParameterValues(param);
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+            key.append('\u0000');
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        key.append(accept != null ? accept : "*/*");
+        return key.toString();
+    }
+}
@@ -1,17 +1,37 @@
 package com.flex.mind.tech.controller.impl;
 
 import com.flex.mind.tech.controller.ControllerEventConfig;
+import com.flex.mind.tech.model.request.EventConfigLookupRequestDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.request.EventConfigSourceStateDto;
+import com.flex.mind.tech.model.request.EventMatchRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.model.response.EventConfigSyncResultDto;
+import com.flex.mind.tech.model.response.EventMatchResultDto;
 import com.flex.mind.tech.service.ServiceEventConfig;
+import com.flex.mind.tech.service.consistency.ConsistencyToken;
+import com.flex.mind.tech.service.importer.ImportFormat;
+import com.flex.mind.tech.service.writebehind.WriteBehindResult;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.flex.mind.tech.constant.ApiConstant.CONSISTENCY_TOKEN;
+import static com.flex.mind.tech.constant.ApiConstant.PREFERENCE_APPLIED;
+import static com.flex.mind.tech.constant.ApiConstant.RESPOND_ASYNC;
+
 @RestController
 @RequiredArgsConstructor
 @Validated
@@ -20,26 +40,187 @@ public class ControllerEventConfigImpl implements ControllerEventConfig {
     private final ServiceEventConfig serviceEventConfig;
 
     @Override
-    public ResponseEntity<EventConfigResponseDto> createEventConfig(EventConfigRequestDto eventDto) {
-        EventConfigResponseDto response = serviceEventConfig.createEventConfig(eventDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<EventConfigResponseDto> createEventConfig(String idempotencyKey,
+                                                                    EventConfigRequestDto eventDto) {
+        EventConfigResponseDto response = serviceEventConfig.createEventConfig(eventDto, idempotencyKey);
+        return withETag(written(ResponseEntity.status(HttpStatus.CREATED)), response);
     }
 
     @Override
     public ResponseEntity<EventConfigResponseDto> updateEventConfig(
             String id,
+            String ifMatch,
+            String prefer,
             EventConfigRequestDto eventDto
     ) {
-        EventConfigResponseDto eventConfigRequestDto = serviceEventConfig.updateEventConfig(id, eventDto);
-        return ResponseEntity.ok(eventConfigRequestDto);
+        if (prefersAsync(prefer)) {
+            WriteBehindResult result =
+                    serviceEventConfig.updateEventConfigDeferred(id, eventDto, expectedVersion(ifMatch));
+            if (!result.stored()) {
+                // No ETag: the buffered toggle has no stored version until it is flushed
+                return ResponseEntity.accepted().header(PREFERENCE_APPLIED, RESPOND_ASYNC).body(result.config());
+            }
+            return withETag(written(ResponseEntity.ok()), result.config());
+        }
+        EventConfigResponseDto eventConfigRequestDto =
+                serviceEventConfig.updateEventConfig(id, eventDto, expectedVersion(ifMatch));
+        return withETag(written(ResponseEntity.ok()), eventConfigRequestDto);
+    }
+
+    /**
+     * Adds the token a client sends back to read what this response acknowledged.
+     */
+    private static ResponseEntity.BodyBuilder written(ResponseEntity.BodyBuilder response) {
+        return response.header(CONSISTENCY_TOKEN, ConsistencyToken.now().toString());
+    }
+
+    private void awaitWrites(String consistencyToken) {
+        if (consistencyToken != null) {
+            serviceEventConfig.awaitConsistency(ConsistencyToken.parse(consistencyToken));
+        }
+    }
+
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            int parameters = preference.indexOf(';');
+            String name = parameters >= 0 ? preference.substring(0, parameters) : preference;
+            if (name.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<EventConfigResponseDto> withETag(ResponseEntity.BodyBuilder response,
+                                                                   EventConfigResponseDto config) {
+        if (config.getVersion() != null) {
+            response.eTag('"' + config.getVersion() + '"');
+        }
+        return response.body(config);
+    }
+
+    /**
+     * The version named by an If-Match header, or {@code null} when there is no precondition. Weak tags
+     * are kept as they are, so under the strong comparison If-Match requires they never match.
+     */
+    static String expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        if (ifMatch.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("If-Match must name a single ETag");
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+
+    @Override
+    public ResponseEntity<?> syncSourceState(String source, String prefer, EventConfigSourceStateDto stateDto) {
+        if (prefersAsync(prefer)) {
+            EventConfigJobDto job = serviceEventConfig.submitSourceStateSync(source, stateDto.getConfigs());
+            return accepted(job);
+        }
+        EventConfigSyncResultDto result = serviceEventConfig.syncSourceState(source, stateDto.getConfigs());
+        return written(ResponseEntity.ok()).body(result);
     }
 
     @Override
     public ResponseEntity<List<EventConfigResponseDto>> getEventConfigs(
             String eventType,
             String source,
-            Boolean enabled) {
+            Boolean enabled,
+            String consistencyToken) {
+        awaitWrites(consistencyToken);
         List<EventConfigResponseDto> response = serviceEventConfig.getEventConfigs(eventType, source, enabled);
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public ResponseEntity<EventConfigFacetsResponseDto> getEventConfigFacets(
+            String eventType,
+            String source,
+            Boolean enabled) {
+        EventConfigFacetsResponseDto response = serviceEventConfig.getEventConfigFacets(eventType, source, enabled);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<List<String>> suggest(String field, String prefix, int limit) {
+        List<String> response = serviceEventConfig.suggest(field, prefix, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<List<EventConfigResponseDto>> lookupEventConfigs(EventConfigLookupRequestDto lookupDto) {
+        List<EventConfigResponseDto> response = serviceEventConfig.lookupEventConfigs(lookupDto.getKeys());
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<List<EventMatchResultDto>> matchEvents(EventMatchRequestDto matchDto) {
+        List<EventMatchResultDto> response = serviceEventConfig.matchEvents(matchDto.getEvents());
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> matchEventStream(InputStream events) {
+        StreamingResponseBody body = out -> serviceEventConfig.matchEventStream(events, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<?> importEventConfigs(
+            String contentType,
+            long resumeAfter,
+            String prefer,
+            InputStream body) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+        if (prefersAsync(prefer)) {
+            EventConfigJobDto job = serviceEventConfig.submitImport(body, format, resumeAfter);
+            return accepted(job);
+        }
+        EventConfigImportReportDto report = serviceEventConfig.importEventConfigs(body, format, resumeAfter);
+        return written(ResponseEntity.ok()).body(report);
+    }
+
+    @Override
+    public ResponseEntity<EventConfigJobDto> getJob(String id) {
+        EventConfigJobDto job = serviceEventConfig.getJob(id);
+        return ResponseEntity.ok(job);
+    }
+
+    private static ResponseEntity<EventConfigJobDto> accepted(EventConfigJobDto job) {
+        return ResponseEntity.accepted()
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(job);
+    }
+
+    @Override
+    public ResponseEntity<List<EventConfigResponseDto>> getEventConfigChanges(LocalDateTime since,
+                                                                              String consistencyToken) {
+        awaitWrites(consistencyToken);
+        List<EventConfigResponseDto> response = serviceEventConfig.getEventConfigChanges(since);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> getEventConfigsRaw(
+            String eventType,
+            String source,
+            Boolean enabled,
+            String consistencyToken) {
+        awaitWrites(consistencyToken);
+        StreamingResponseBody body = out -> serviceEventConfig.writeEventConfigsJson(eventType, source, enabled, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,39 @@
+package com.flex.mind.tech.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one log line per error code through per interval and counts the rest, so a retry storm
+ * does not turn into a logging storm.
+ */
+class ErrorLogLimiter {
+
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogLimiter(long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    /**
+     * @return {@code -1} if the event must not be logged, otherwise the number of events
+     * suppressed since the previous logged one
+     */
+    long tryAcquire(String code) {
+        Window window = windows.computeIfAbsent(code, key -> new Window());
+        long now = System.nanoTime();
+        long opened = window.openedAt.get();
+        if (now - opened >= intervalNanos && window.openedAt.compareAndSet(opened, now)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private final class Window {
+        private final AtomicLong openedAt = new AtomicLong(System.nanoTime() - intervalNanos);
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -1,7 +1,11 @@
 package com.flex.mind.tech.exception;
 
+/**
+ * Expected outcome of a create conflict. Stackless: it is thrown on a hot path by retrying
+ * clients and the trace never carries information beyond the message.
+ */
 public class EventConfigAlreadyExistsException extends RuntimeException{
     public EventConfigAlreadyExistsException(String message) {
-        super (message);
+        super (message, null, false, false);
     }
 }
@@ -1,8 +1,12 @@
 package com.flex.mind.tech.exception;
 
+/**
+ * Expected outcome of an update for an unknown id. Stackless for the same reason as
+ * {@link EventConfigAlreadyExistsException}.
+ */
 public class EventConfigNotFoundException extends RuntimeException {
 
     public EventConfigNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
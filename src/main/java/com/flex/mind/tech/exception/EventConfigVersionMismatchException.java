@@ -0,0 +1,12 @@
+package com.flex.mind.tech.exception;
+
+/**
+ * Expected outcome of an update whose If-Match no longer names the stored version. Stackless for the
+ * same reason as {@link EventConfigAlreadyExistsException}.
+ */
+public class EventConfigVersionMismatchException extends RuntimeException {
+
+    public EventConfigVersionMismatchException(String message) {
+        super(message, null, false, false);
+    }
+}
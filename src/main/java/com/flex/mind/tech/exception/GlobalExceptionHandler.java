@@ -2,33 +2,87 @@ package com.flex.mind.tech.exception;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.flex.mind.tech.model.response.ErrorResponseDto;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Log4j2
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String ALREADY_EXISTS_CODE = "EVENT_CONFIG_ALREADY_EXISTS";
+    private static final String ALREADY_EXISTS_DETAILS =
+            "Configuration with this eventType and source combination already exists";
+    private static final String NOT_FOUND_CODE = "EVENT_CONFIG_NOT_FOUND";
+    private static final String NOT_FOUND_DETAILS = "No event configuration found with the provided ID";
+    private static final String VERSION_MISMATCH_CODE = "EVENT_CONFIG_VERSION_MISMATCH";
+    private static final String VERSION_MISMATCH_DETAILS =
+            "The configuration was modified since it was read; fetch it again and retry with its ETag";
+    private static final String CONCURRENT_UPDATE_CODE = "EVENT_CONFIG_CONCURRENT_UPDATE";
+    private static final String CONCURRENT_UPDATE_DETAILS = "The configuration was modified concurrently; retry";
+    private static final String IDEMPOTENCY_KEY_REUSED_CODE = "IDEMPOTENCY_KEY_REUSED";
+    private static final String IDEMPOTENCY_KEY_REUSED_DETAILS =
+            "The Idempotency-Key was already used for a different request; send a new key for a new request";
+    private static final String JOB_QUEUE_FULL_CODE = "JOB_QUEUE_FULL";
+    private static final String JOB_QUEUE_FULL_DETAILS =
+            "All workers are busy and the job queue is full; retry after the Retry-After delay";
+    private static final String JOB_NOT_FOUND_CODE = "JOB_NOT_FOUND";
+    private static final String JOB_NOT_FOUND_DETAILS = "No job with the provided ID, or it finished too long ago";
+
+    // Conflicts and not-founds are expected under client retries: log at most once per second per code
+    private final ErrorLogLimiter domainErrorLogLimiter = new ErrorLogLimiter(1000);
+
+    private volatile Tick clock = new Tick(-1, null);
+    // Last response built per code: clients retrying the same failing request
+    // within a second share it, as its path and timestamp are the only per-request fields
+    private final Map<String, ErrorResponseDto> lastResponses = new ConcurrentHashMap<>();
+
     @ExceptionHandler(EventConfigAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDto> handleEventConfigAlreadyExists(
             EventConfigAlreadyExistsException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
-        log.warn("Event configuration already exists: {}", ex.getMessage());
+        logLimited(ALREADY_EXISTS_CODE, "Event configuration already exists: {} ({} similar suppressed)", ex);
 
         ErrorResponseDto errorResponse = createErrorResponse(
-                "EVENT_CONFIG_ALREADY_EXISTS",
+                ALREADY_EXISTS_CODE,
                 ex.getMessage(),
-                "Configuration with this eventType and source combination already exists",
+                ALREADY_EXISTS_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * A create that lost the race to the store's unique (eventType, source) index after passing the
+     * existence check, for example against another replica.
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<ErrorResponseDto> handleDuplicateKey(
+            DuplicateKeyException ex,
+            HttpServletRequest request) {
+
+        logLimited(ALREADY_EXISTS_CODE, "Event configuration already exists: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                ALREADY_EXISTS_CODE,
+                "EventConfig already exists",
+                ALREADY_EXISTS_DETAILS,
                 request
         );
 
@@ -38,14 +92,101 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(EventConfigNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleEventConfigNotFound(
             EventConfigNotFoundException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
-        log.warn("Event configuration not found: {}", ex.getMessage());
+        logLimited(NOT_FOUND_CODE, "Event configuration not found: {} ({} similar suppressed)", ex);
 
         ErrorResponseDto errorResponse = createErrorResponse(
-                "EVENT_CONFIG_NOT_FOUND",
+                NOT_FOUND_CODE,
                 ex.getMessage(),
-                "No event configuration found with the provided ID",
+                NOT_FOUND_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(EventConfigVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleEventConfigVersionMismatch(
+            EventConfigVersionMismatchException ex,
+            HttpServletRequest request) {
+
+        logLimited(VERSION_MISMATCH_CODE, "Event configuration version mismatch: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                VERSION_MISMATCH_CODE,
+                ex.getMessage(),
+                VERSION_MISMATCH_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        logLimited(CONCURRENT_UPDATE_CODE, "Concurrent event configuration update: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                CONCURRENT_UPDATE_CODE,
+                "Event config was modified concurrently",
+                CONCURRENT_UPDATE_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyKeyReused(
+            IdempotencyKeyReusedException ex,
+            HttpServletRequest request) {
+
+        logLimited(IDEMPOTENCY_KEY_REUSED_CODE, "Idempotency key reused: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                IDEMPOTENCY_KEY_REUSED_CODE,
+                ex.getMessage(),
+                IDEMPOTENCY_KEY_REUSED_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ErrorResponseDto> handleJobQueueFull(
+            JobQueueFullException ex,
+            HttpServletRequest request) {
+
+        logLimited(JOB_QUEUE_FULL_CODE, "Job refused: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                JOB_QUEUE_FULL_CODE,
+                ex.getMessage(),
+                JOB_QUEUE_FULL_DETAILS,
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleJobNotFound(
+            JobNotFoundException ex,
+            HttpServletRequest request) {
+
+        logLimited(JOB_NOT_FOUND_CODE, "Job not found: {} ({} similar suppressed)", ex);
+
+        ErrorResponseDto errorResponse = createErrorResponse(
+                JOB_NOT_FOUND_CODE,
+                ex.getMessage(),
+                JOB_NOT_FOUND_DETAILS,
                 request
         );
 
@@ -55,7 +196,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationErrors(
             MethodArgumentNotValidException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
         log.warn("Validation error: {}", ex.getMessage());
 
@@ -76,7 +217,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDto> handleIllegalArgument(
             IllegalArgumentException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
         log.warn("Invalid argument: {}", ex.getMessage());
 
@@ -93,7 +234,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGeneralException(
             Exception ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
         log.error("Unexpected error occurred: ", ex);
 
@@ -110,7 +251,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponseDto> handleInvalidJson(
             HttpMessageNotReadableException ex,
-            WebRequest request) {
+            HttpServletRequest request) {
 
         log.warn("Invalid JSON format: {}", ex.getMessage());
 
@@ -134,17 +275,46 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
-    private ErrorResponseDto createErrorResponse(String code, String message, String details, WebRequest request) {
-        return ErrorResponseDto.builder()
+    private ErrorResponseDto createErrorResponse(String code, String message, String details, HttpServletRequest request) {
+        LocalDateTime timestamp = now();
+        String path = request.getRequestURI();
+        ErrorResponseDto last = lastResponses.get(code);
+        if (last != null && last.getTimestamp() == timestamp && Objects.equals(last.getPath(), path)
+                && Objects.equals(last.getMessage(), message) && Objects.equals(last.getDetails(), details)) {
+            return last;
+        }
+        ErrorResponseDto response = ErrorResponseDto.builder()
                 .code(code)
                 .message(message)
                 .details(details)
-                .timestamp(LocalDateTime.now())
-                .path(extractPath(request))
+                .timestamp(timestamp)
+                .path(path)
                 .build();
+        lastResponses.put(code, response);
+        return response;
+    }
+
+    private void logLimited(String code, String pattern, RuntimeException ex) {
+        long suppressed = domainErrorLogLimiter.tryAcquire(code);
+        if (suppressed >= 0) {
+            log.warn(pattern, ex.getMessage(), suppressed);
+        }
+    }
+
+    /**
+     * Timestamps are serialized with second precision, so one LocalDateTime per second is enough; the same
+     * instance is returned throughout the second.
+     */
+    private LocalDateTime now() {
+        long second = System.currentTimeMillis() / 1000;
+        Tick tick = clock;
+        if (tick.second() != second) {
+            tick = new Tick(second, LocalDateTime.now().withNano(0));
+            clock = tick;
+        }
+        return tick.value();
     }
 
-    private String extractPath(WebRequest request) {
-        return request.getDescription(false).replace("uri=", "");
+    private record Tick(long second, LocalDateTime value) {
     }
 }
\ No newline at end of file
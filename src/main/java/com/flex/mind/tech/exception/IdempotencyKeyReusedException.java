@@ -0,0 +1,12 @@
+package com.flex.mind.tech.exception;
+
+/**
+ * An Idempotency-Key was sent again with a different request body. Stackless for the same reason as
+ * {@link EventConfigAlreadyExistsException}.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.flex.mind.tech.exception;
+
+/**
+ * The job ID is unknown or its retention has passed. Stackless for the same reason as
+ * {@link EventConfigAlreadyExistsException}.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.flex.mind.tech.exception;
+
+import lombok.Getter;
+
+/**
+ * Every worker is busy and the job queue is full. Stackless for the same reason as
+ * {@link EventConfigAlreadyExistsException}.
+ */
+@Getter
+public class JobQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public JobQueueFullException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -10,6 +10,10 @@ import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 
 import java.time.LocalDateTime;
 
@@ -19,15 +23,30 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Document(indexName = "event_configs")
+@Setting(settingPath = "elasticsearch/event-config-settings.json")
 public class EventConfigElastic {
 
+    /**
+     * Case-sensitive edge n-grams (1..{@value #PREFIX_MAX_LENGTH} chars) of the keyword value, for suggestions.
+     */
+    public static final String PREFIX_SUFFIX = "prefix";
+    public static final int PREFIX_MAX_LENGTH = 64;
+
     @Id
     private String id;
 
-    @Field(type = FieldType.Keyword)
+    @MultiField(
+            mainField = @Field(type = FieldType.Keyword),
+            otherFields = @InnerField(suffix = PREFIX_SUFFIX, type = FieldType.Text,
+                    analyzer = "prefix_index", searchAnalyzer = "keyword")
+    )
     private String eventType;
 
-    @Field(type = FieldType.Keyword)
+    @MultiField(
+            mainField = @Field(type = FieldType.Keyword),
+            otherFields = @InnerField(suffix = PREFIX_SUFFIX, type = FieldType.Text,
+                    analyzer = "prefix_index", searchAnalyzer = "keyword")
+    )
     private String source;
 
     @Field(type = FieldType.Boolean)
@@ -38,4 +57,10 @@ public class EventConfigElastic {
 
     @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second)
     private LocalDateTime updatedAt;
+
+    /**
+     * Filled on reads and not stored in {@code _source}; a save carrying it is rejected if the
+     * document was written since it was read.
+     */
+    private SeqNoPrimaryTerm seqNoPrimaryTerm;
 }
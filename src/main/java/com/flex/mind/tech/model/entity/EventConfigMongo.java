@@ -8,6 +8,7 @@ import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -50,4 +51,11 @@ public class EventConfigMongo {
     @LastModifiedDate
     @Field("updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Incremented by every write; saves are conditional on the value that was read.
+     */
+    @Version
+    @Field("version")
+    private Long version;
 }
@@ -8,6 +8,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 
 @Mapper(
         componentModel = "spring",
@@ -27,15 +28,15 @@ public interface EventConfigMapper {
 
     EventConfigResponseDto toResponseDto(EventConfigMongo entity);
 
+    @Mapping(target = "version", source = "seqNoPrimaryTerm")
     EventConfigResponseDto toResponseDto(EventConfigElastic entity);
 
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "updatedAt", ignore = true)
-    void updateMongoEntity(@MappingTarget EventConfigMongo entity, EventConfigRequestDto requestDto);
-
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "updatedAt", ignore = true)
-    void updateElasticEntity(@MappingTarget EventConfigElastic entity, EventConfigRequestDto requestDto);
+    /**
+     * Elasticsearch version token, {@code <seqNo>-<primaryTerm>}.
+     */
+    default String toVersion(SeqNoPrimaryTerm seqNoPrimaryTerm) {
+        return seqNoPrimaryTerm != null
+                ? seqNoPrimaryTerm.sequenceNumber() + "-" + seqNoPrimaryTerm.primaryTerm()
+                : null;
+    }
 }
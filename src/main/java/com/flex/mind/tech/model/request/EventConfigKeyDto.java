@@ -0,0 +1,24 @@
+package com.flex.mind.tech.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Natural key of an event configuration")
+public class EventConfigKeyDto {
+
+    @NotBlank(message = "Event type cannot be blank")
+    @Schema(description = "Type of the event", example = "USER_REGISTRATION", required = true)
+    private String eventType;
+
+    @NotBlank(message = "Source cannot be blank")
+    @Schema(description = "Source system of the event", example = "auth-service", required = true)
+    private String source;
+}
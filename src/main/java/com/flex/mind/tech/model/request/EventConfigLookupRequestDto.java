@@ -0,0 +1,25 @@
+package com.flex.mind.tech.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for looking up many event configurations by key")
+public class EventConfigLookupRequestDto {
+
+    @NotEmpty(message = "Keys cannot be empty")
+    @Size(max = 1000, message = "At most 1000 keys per lookup")
+    @Schema(description = "Keys to look up; unknown keys are omitted from the response", required = true)
+    private List<@Valid EventConfigKeyDto> keys;
+}
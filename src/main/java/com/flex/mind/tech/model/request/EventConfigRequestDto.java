@@ -3,6 +3,7 @@ package com.flex.mind.tech.model.request;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,15 +16,22 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Request DTO for creating or updating event configuration")
 public class EventConfigRequestDto {
 
+    /**
+     * A literal, {@code prefix*}, {@code *suffix} or a lone {@code *}.
+     */
+    public static final String GLOB = "^(\\*|\\*?[^*]+|[^*]+\\*)$";
+
     @Schema(description = "Event configuration ID (auto-generated if not provided)", example = "507f1f77bcf86cd799439011")
     private String id;
 
     @NotBlank(message = "Event type cannot be blank")
-    @Schema(description = "Type of the event", example = "USER_REGISTRATION", required = true)
+    @Pattern(regexp = GLOB, message = "Event type may use * only as the whole value, a prefix* or a *suffix")
+    @Schema(description = "Type of the event, or a pattern such as USER_* or *", example = "USER_REGISTRATION", required = true)
     private String eventType;
 
     @NotBlank(message = "Source cannot be blank")
-    @Schema(description = "Source system of the event", example = "auth-service", required = true)
+    @Pattern(regexp = GLOB, message = "Source may use * only as the whole value, a prefix* or a *suffix")
+    @Schema(description = "Source system of the event, or a pattern such as payments-* or *-service", example = "auth-service", required = true)
     private String source;
 
     @NotNull(message = "Enabled flag cannot be null")
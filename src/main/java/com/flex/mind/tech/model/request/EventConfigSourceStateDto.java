@@ -0,0 +1,25 @@
+package com.flex.mind.tech.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Complete desired set of configurations for one source")
+public class EventConfigSourceStateDto {
+
+    @NotNull(message = "Configs cannot be null")
+    @Size(max = 10000, message = "At most 10000 configs per source")
+    @Schema(description = "Every config the source should have; stored configs not listed are disabled", required = true)
+    private List<@Valid EventConfigStateEntryDto> configs;
+}
@@ -0,0 +1,28 @@
+package com.flex.mind.tech.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Desired configuration of one event type within a source")
+public class EventConfigStateEntryDto {
+
+    @NotBlank(message = "Event type cannot be blank")
+    @Pattern(regexp = EventConfigRequestDto.GLOB,
+            message = "Event type may use * only as the whole value, a prefix* or a *suffix")
+    @Schema(description = "Type of the event, or a pattern such as USER_* or *", example = "USER_REGISTRATION", required = true)
+    private String eventType;
+
+    @NotNull(message = "Enabled flag cannot be null")
+    @Schema(description = "Whether the event configuration is enabled", example = "true", required = true)
+    private Boolean enabled;
+}
@@ -0,0 +1,25 @@
+package com.flex.mind.tech.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for matching a batch of events against the enabled configurations")
+public class EventMatchRequestDto {
+
+    @NotEmpty(message = "Events cannot be empty")
+    @Size(max = 10000, message = "At most 10000 events per batch")
+    @Schema(description = "Events to match, identified by eventType and source", required = true)
+    private List<@Valid EventConfigKeyDto> events;
+}
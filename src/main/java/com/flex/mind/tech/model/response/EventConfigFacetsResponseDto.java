@@ -0,0 +1,29 @@
+package com.flex.mind.tech.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Counts of event configurations per field value")
+public class EventConfigFacetsResponseDto {
+
+    @Schema(description = "Number of matching configurations", example = "42")
+    private long total;
+
+    @Schema(description = "Counts per event type", example = "{\"USER_REGISTRATION\": 3}")
+    private Map<String, Long> eventType;
+
+    @Schema(description = "Counts per source system", example = "{\"auth-service\": 5}")
+    private Map<String, Long> source;
+
+    @Schema(description = "Counts per enabled flag", example = "{\"true\": 40, \"false\": 2}")
+    private Map<String, Long> enabled;
+}
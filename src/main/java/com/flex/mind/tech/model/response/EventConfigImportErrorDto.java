@@ -0,0 +1,21 @@
+package com.flex.mind.tech.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A row that could not be imported")
+public class EventConfigImportErrorDto {
+
+    @Schema(description = "Line number in the imported file", example = "42")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "source: Source cannot be blank")
+    private String message;
+}
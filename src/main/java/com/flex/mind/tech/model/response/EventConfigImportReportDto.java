@@ -0,0 +1,39 @@
+package com.flex.mind.tech.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk import")
+public class EventConfigImportReportDto {
+
+    @Schema(description = "Data rows read after the resume point", example = "100000")
+    private long rowsRead;
+
+    @Schema(description = "Configurations written", example = "99000")
+    private long imported;
+
+    @Schema(description = "Rows skipped because the key is already stored or repeated earlier in the file", example = "990")
+    private long skipped;
+
+    @Schema(description = "Rows rejected by parsing or validation, or lost with a failed bulk write", example = "10")
+    private long failed;
+
+    @Schema(description = "Every row up to this line is done; pass it as resumeAfter to continue an interrupted import",
+            example = "100001")
+    private long checkpoint;
+
+    @Schema(description = "Wall-clock duration in milliseconds", example = "5321")
+    private long durationMillis;
+
+    @Schema(description = "First row errors, up to app.import.max-reported-errors")
+    private List<EventConfigImportErrorDto> errors;
+}
@@ -0,0 +1,58 @@
+package com.flex.mind.tech.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Mutation accepted with Prefer: respond-async and executed in the background")
+public class EventConfigJobDto {
+
+    @Schema(description = "Job ID to poll at /event-config/jobs/{id}", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String id;
+
+    @Schema(description = "Operation the job runs", example = "IMPORT")
+    private Type type;
+
+    @Schema(description = "Current state of the job", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Items processed so far: rows read for imports, configurations written for syncs",
+            example = "250000")
+    private long processed;
+
+    @Schema(description = "Time the job was accepted", example = "2024-01-15T10:30:00")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Time a worker started the job", example = "2024-01-15T10:30:01")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Time the job succeeded or failed", example = "2024-01-15T10:31:12")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Response the synchronous call would have returned: the import report with its row "
+            + "errors, or the sync counts; set once the job succeeded")
+    private Object result;
+
+    @Schema(description = "Why the job failed", example = "Timed out after 30000 ms")
+    private String error;
+
+    public enum Type {
+        IMPORT,
+        SOURCE_SYNC
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -42,4 +42,8 @@ public class EventConfigResponseDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     @JsonProperty("updatedAt")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Opaque version of the stored document, also sent as the ETag", example = "3")
+    @JsonProperty("version")
+    private String version;
 }
@@ -0,0 +1,34 @@
+package com.flex.mind.tech.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Changes applied to bring a source to its desired state")
+public class EventConfigSyncResultDto {
+
+    @Schema(description = "Source that was synchronized", example = "auth-service")
+    private String source;
+
+    @Schema(description = "Configurations created", example = "2")
+    private int inserted;
+
+    @Schema(description = "Listed configurations whose enabled flag was changed", example = "1")
+    private int updated;
+
+    @Schema(description = "Stored configurations not listed in the desired state and now disabled", example = "1")
+    private int disabled;
+
+    @Schema(description = "Configurations already in the desired state and left untouched", example = "40")
+    private int unchanged;
+
+    @Schema(description = "Configurations changed concurrently since they were read and left as they are; sync again to apply",
+            example = "0")
+    private int conflicted;
+}
@@ -0,0 +1,28 @@
+package com.flex.mind.tech.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Matching decision for one event")
+public class EventMatchResultDto {
+
+    @Schema(description = "Type of the event", example = "USER_REGISTRATION")
+    @JsonProperty("eventType")
+    private String eventType;
+
+    @Schema(description = "Source system of the event", example = "auth-service")
+    @JsonProperty("source")
+    private String source;
+
+    @Schema(description = "Enabled configuration matching the event, null when the event should not notify")
+    @JsonProperty("config")
+    private EventConfigResponseDto config;
+}
@@ -6,6 +6,7 @@ import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -50,4 +51,6 @@ public interface EventConfigElasticsearchRepository extends ElasticsearchReposit
 
     @Query("{\"match_all\":{}}")
     List<EventConfigElastic> findAll();;
+
+    List<EventConfigElastic> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
 }
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -26,4 +27,6 @@ public interface EventConfigMongoRepository extends MongoRepository<EventConfigM
     List<EventConfigMongo> findByEnabled(Boolean enabled);
 
     List<EventConfigMongo> findAll();
+
+    List<EventConfigMongo> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
 }
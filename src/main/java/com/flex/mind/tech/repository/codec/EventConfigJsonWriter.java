@@ -0,0 +1,166 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.CREATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ENABLED;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.EVENT_TYPE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ID;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.SOURCE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.UPDATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.VERSION;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.fromEpochMillis;
+
+/**
+ * Writes stored event configs straight into the response JSON, in the same shape as
+ * {@link com.flex.mind.tech.model.response.EventConfigResponseDto}, without building entities or DTOs.
+ * <p>
+ * Mongo documents are read from their raw BSON bytes and renamed on the fly ({@code event_type} to
+ * {@code eventType}, {@code _id} to {@code id}, ...); Elasticsearch {@code _source} objects are copied
+ * token by token. Unknown fields such as {@code _class} are dropped. Not thread-safe: one instance per response.
+ */
+public class EventConfigJsonWriter {
+
+    private final JsonGenerator generator;
+    // yyyy-MM-ddTHH:mm:ss, reused for every date written
+    private final char[] dateBuffer = new char[19];
+
+    public EventConfigJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    public void writeBson(RawBsonDocument document) throws IOException {
+        try (BsonReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            generator.writeStartObject();
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                switch (name) {
+                    case ID -> {
+                        generator.writeFieldName("id");
+                        if (reader.getCurrentBsonType() == BsonType.OBJECT_ID) {
+                            generator.writeString(reader.readObjectId().toHexString());
+                        } else {
+                            writeBsonString(reader);
+                        }
+                    }
+                    case EVENT_TYPE -> {
+                        generator.writeFieldName("eventType");
+                        writeBsonString(reader);
+                    }
+                    case SOURCE -> {
+                        generator.writeFieldName("source");
+                        writeBsonString(reader);
+                    }
+                    case ENABLED -> {
+                        generator.writeFieldName("enabled");
+                        if (reader.getCurrentBsonType() == BsonType.NULL) {
+                            reader.readNull();
+                            generator.writeNull();
+                        } else {
+                            generator.writeBoolean(reader.readBoolean());
+                        }
+                    }
+                    case CREATED_AT -> {
+                        generator.writeFieldName("createdAt");
+                        writeBsonDate(reader);
+                    }
+                    case UPDATED_AT -> {
+                        generator.writeFieldName("updatedAt");
+                        writeBsonDate(reader);
+                    }
+                    case VERSION -> {
+                        generator.writeFieldName("version");
+                        writeBsonVersion(reader);
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Copies an Elasticsearch {@code _source} object, adding the hit's id and its {@code seqNo-primaryTerm}
+     * version. The parser must be positioned on its {@code START_OBJECT}; on return it is positioned on the
+     * matching {@code END_OBJECT}.
+     */
+    public void writeSource(String id, String version, JsonParser source) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        while (source.nextToken() == JsonToken.FIELD_NAME) {
+            String name = source.currentName();
+            source.nextToken();
+            switch (name) {
+                case "eventType", "source", "enabled", "createdAt", "updatedAt" -> {
+                    generator.writeFieldName(name);
+                    generator.copyCurrentStructure(source);
+                }
+                default -> source.skipChildren();
+            }
+        }
+        if (version != null) {
+            generator.writeStringField("version", version);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeBsonString(BsonReader reader) throws IOException {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            generator.writeNull();
+        } else {
+            generator.writeString(reader.readString());
+        }
+    }
+
+    // The response carries the numeric @Version as a string, like the DTO mapping does
+    private void writeBsonVersion(BsonReader reader) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case INT64 -> generator.writeString(Long.toString(reader.readInt64()));
+            case INT32 -> generator.writeString(Integer.toString(reader.readInt32()));
+            default -> {
+                reader.skipValue();
+                generator.writeNull();
+            }
+        }
+    }
+
+    private void writeBsonDate(BsonReader reader) throws IOException {
+        if (reader.getCurrentBsonType() != BsonType.DATE_TIME) {
+            reader.skipValue();
+            generator.writeNull();
+            return;
+        }
+        LocalDateTime dateTime = fromEpochMillis(reader.readDateTime());
+        writeDigits(dateTime.getYear(), 0, 4);
+        dateBuffer[4] = '-';
+        writeDigits(dateTime.getMonthValue(), 5, 2);
+        dateBuffer[7] = '-';
+        writeDigits(dateTime.getDayOfMonth(), 8, 2);
+        dateBuffer[10] = 'T';
+        writeDigits(dateTime.getHour(), 11, 2);
+        dateBuffer[13] = ':';
+        writeDigits(dateTime.getMinute(), 14, 2);
+        dateBuffer[16] = ':';
+        writeDigits(dateTime.getSecond(), 17, 2);
+        generator.writeString(dateBuffer, 0, dateBuffer.length);
+    }
+
+    private void writeDigits(int value, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            dateBuffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
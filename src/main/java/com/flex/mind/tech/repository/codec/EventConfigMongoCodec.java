@@ -0,0 +1,87 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.CREATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ENABLED;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.EVENT_TYPE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ID;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.SOURCE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.UPDATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.VERSION;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.fromEpochMillis;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.toEpochMillis;
+
+/**
+ * Streams {@link EventConfigMongo} directly to and from BSON, with no intermediate
+ * {@link org.bson.Document} and no reflection. Unknown fields (e.g. {@code _class}) are skipped.
+ */
+public class EventConfigMongoCodec implements Codec<EventConfigMongo> {
+
+    @Override
+    public EventConfigMongo decode(BsonReader reader, DecoderContext decoderContext) {
+        EventConfigMongo entity = new EventConfigMongo();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case ID -> entity.setId(reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString());
+                case EVENT_TYPE -> entity.setEventType(reader.readString());
+                case SOURCE -> entity.setSource(reader.readString());
+                case ENABLED -> entity.setEnabled(reader.readBoolean());
+                case CREATED_AT -> entity.setCreatedAt(fromEpochMillis(reader.readDateTime()));
+                case UPDATED_AT -> entity.setUpdatedAt(fromEpochMillis(reader.readDateTime()));
+                case VERSION -> entity.setVersion(reader.getCurrentBsonType() == BsonType.INT32
+                        ? reader.readInt32()
+                        : reader.readInt64());
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return entity;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, EventConfigMongo value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.getId() != null) {
+            writer.writeString(ID, value.getId());
+        }
+        if (value.getEventType() != null) {
+            writer.writeString(EVENT_TYPE, value.getEventType());
+        }
+        if (value.getSource() != null) {
+            writer.writeString(SOURCE, value.getSource());
+        }
+        if (value.getEnabled() != null) {
+            writer.writeBoolean(ENABLED, value.getEnabled());
+        }
+        if (value.getCreatedAt() != null) {
+            writer.writeDateTime(CREATED_AT, toEpochMillis(value.getCreatedAt()));
+        }
+        if (value.getUpdatedAt() != null) {
+            writer.writeDateTime(UPDATED_AT, toEpochMillis(value.getUpdatedAt()));
+        }
+        if (value.getVersion() != null) {
+            writer.writeInt64(VERSION, value.getVersion());
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<EventConfigMongo> getEncoderClass() {
+        return EventConfigMongo.class;
+    }
+}
@@ -0,0 +1,41 @@
+package com.flex.mind.tech.repository.codec;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Stored field names of {@link com.flex.mind.tech.model.entity.EventConfigMongo} and the
+ * LocalDateTime/Date conversion Spring Data uses for them, shared by the codec and converters.
+ */
+public final class EventConfigMongoFields {
+
+    public static final String ID = "_id";
+    public static final String EVENT_TYPE = "event_type";
+    public static final String SOURCE = "source";
+    public static final String ENABLED = "enabled";
+    public static final String CREATED_AT = "created_at";
+    public static final String UPDATED_AT = "updated_at";
+    public static final String VERSION = "version";
+
+    private EventConfigMongoFields() {
+    }
+
+    // Same zone handling as Spring Data's Jsr310Converters, so documents stay interchangeable
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    static LocalDateTime fromDate(Date date) {
+        return date != null ? fromEpochMillis(date.getTime()) : null;
+    }
+
+    static Date toDate(LocalDateTime dateTime) {
+        return dateTime != null ? new Date(toEpochMillis(dateTime)) : null;
+    }
+}
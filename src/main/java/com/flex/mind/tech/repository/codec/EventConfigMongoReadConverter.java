@@ -0,0 +1,36 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.CREATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ENABLED;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.EVENT_TYPE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ID;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.SOURCE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.UPDATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.VERSION;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.fromDate;
+
+/**
+ * Replaces MappingMongoConverter's reflective entity instantiation for repository reads.
+ */
+@ReadingConverter
+public class EventConfigMongoReadConverter implements Converter<Document, EventConfigMongo> {
+
+    @Override
+    public EventConfigMongo convert(Document source) {
+        Object id = source.get(ID);
+        return EventConfigMongo.builder()
+                .id(id != null ? id.toString() : null)
+                .eventType(source.getString(EVENT_TYPE))
+                .source(source.getString(SOURCE))
+                .enabled(source.getBoolean(ENABLED))
+                .createdAt(fromDate(source.getDate(CREATED_AT)))
+                .updatedAt(fromDate(source.getDate(UPDATED_AT)))
+                .version(source.get(VERSION) instanceof Number version ? version.longValue() : null)
+                .build();
+    }
+}
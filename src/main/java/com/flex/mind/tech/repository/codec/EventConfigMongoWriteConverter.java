@@ -0,0 +1,42 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.CREATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ENABLED;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.EVENT_TYPE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.ID;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.SOURCE;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.UPDATED_AT;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.VERSION;
+import static com.flex.mind.tech.repository.codec.EventConfigMongoFields.toDate;
+
+/**
+ * Replaces MappingMongoConverter's reflective property access for repository writes.
+ * Null fields are omitted, as the default converter does.
+ */
+@WritingConverter
+public class EventConfigMongoWriteConverter implements Converter<EventConfigMongo, Document> {
+
+    @Override
+    public Document convert(EventConfigMongo source) {
+        Document document = new Document();
+        putIfNotNull(document, ID, source.getId());
+        putIfNotNull(document, EVENT_TYPE, source.getEventType());
+        putIfNotNull(document, SOURCE, source.getSource());
+        putIfNotNull(document, ENABLED, source.getEnabled());
+        putIfNotNull(document, CREATED_AT, toDate(source.getCreatedAt()));
+        putIfNotNull(document, UPDATED_AT, toDate(source.getUpdatedAt()));
+        putIfNotNull(document, VERSION, source.getVersion());
+        return document;
+    }
+
+    private static void putIfNotNull(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+}
@@ -1,23 +1,108 @@
 package com.flex.mind.tech.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flex.mind.tech.config.JobProperties;
+import com.flex.mind.tech.config.SuggestProperties;
 import com.flex.mind.tech.exception.EventConfigAlreadyExistsException;
+import com.flex.mind.tech.exception.EventConfigNotFoundException;
+import com.flex.mind.tech.exception.EventConfigVersionMismatchException;
+import com.flex.mind.tech.exception.JobNotFoundException;
+import com.flex.mind.tech.exception.JobQueueFullException;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.request.EventConfigStateEntryDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.model.response.EventConfigSyncResultDto;
+import com.flex.mind.tech.model.response.EventMatchResultDto;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.service.cache.EventConfigFacetsCache;
+import com.flex.mind.tech.service.cache.EventConfigLookupCache;
+import com.flex.mind.tech.service.consistency.ConsistencyToken;
+import com.flex.mind.tech.service.idempotency.EventConfigIdempotencyStore;
+import com.flex.mind.tech.service.importer.EventConfigImporter;
+import com.flex.mind.tech.service.importer.ImportFormat;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.job.EventConfigJobExecutor;
+import com.flex.mind.tech.service.keyfilter.EventConfigKeyFilter;
+import com.flex.mind.tech.service.lock.EventConfigKeyLocks;
+import com.flex.mind.tech.service.matching.CompiledEventConfigIndex;
+import com.flex.mind.tech.service.matching.EventConfigMatchingEngine;
+import com.flex.mind.tech.service.matching.EventMatchStreamProcessor;
+import com.flex.mind.tech.service.strategy.EventConfigBulkResult;
 import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.suggest.EventConfigSuggestIndex;
+import com.flex.mind.tech.service.suggest.SuggestField;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import com.flex.mind.tech.service.writebehind.WriteBehindResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 public class ServiceEventConfig {
 
     private final EventConfigStorageStrategy storageStrategy;
+    private final EventConfigInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final EventConfigKeyFilter keyFilter;
+    private final EventConfigLookupCache lookupCache;
+    private final EventConfigFacetsCache facetsCache;
+    private final EventConfigSuggestIndex suggestIndex;
+    private final SuggestProperties suggestProperties;
+    private final EventConfigMatchingEngine matchingEngine;
+    private final EventMatchStreamProcessor matchStreamProcessor;
+    private final EventConfigImporter importer;
+    private final EventConfigKeyLocks keyLocks;
+    private final EventConfigWriteBehindBuffer writeBehind;
+    private final EventConfigIdempotencyStore idempotencyStore;
+    private final EventConfigJobExecutor jobExecutor;
+    private final JobProperties jobProperties;
 
+    /**
+     * {@link #createEventConfig(EventConfigRequestDto)} at most once per {@code idempotencyKey}: a retry with the
+     * same key and body gets the first response back, a concurrent one waits for it.
+     */
+    public EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto, String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, requestDto, () -> createEventConfig(requestDto));
+    }
+
+    /**
+     * Creates the config while holding its key lock, so a concurrent duplicate on this instance waits
+     * and then fails the existence check instead of racing the write.
+     */
     public EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto) {
-        if (storageStrategy.existsByEventTypeAndSource(requestDto.getEventType(), requestDto.getSource())) {
+        return keyLocks.withLock(requestDto.getEventType(), requestDto.getSource(), () -> create(requestDto));
+    }
+
+    private EventConfigResponseDto create(EventConfigRequestDto requestDto) {
+        if (exists(requestDto.getEventType(), requestDto.getSource())) {
             throw new EventConfigAlreadyExistsException("EventConfig already exists");
         }
 
@@ -28,14 +113,488 @@ public class ServiceEventConfig {
                 .enabled(requestDto.getEnabled())
                 .build();
 
-        return storageStrategy.createEventConfig(requestWithId);
+        EventConfigResponseDto created = storageStrategy.createEventConfig(requestWithId);
+        invalidationBus.publish(created);
+        return created;
     }
 
-    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto) {
-        return storageStrategy.updateEventConfig(id, requestDto);
+    private boolean exists(String eventType, String source) {
+        if (!keyFilter.mightContain(eventType, source)) {
+            return false;
+        }
+        boolean exists = storageStrategy.existsByEventTypeAndSource(eventType, source);
+        if (!exists) {
+            keyFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    /**
+     * Updates the config unless the request matches its stored fields, in which case the stored config is
+     * returned without a write, an updatedAt change or an invalidation. Runs under the locks of both the
+     * stored key and the requested one, so a rename is serialized with creates and deferred toggles of
+     * either key.
+     *
+     * @param expectedVersion version from the client's If-Match, or {@code null} to update whatever is stored
+     */
+    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto,
+                                                    String expectedVersion) {
+        // Most updates keep the key, so the first attempt only locks the requested one
+        EventConfigKeyDto requested = new EventConfigKeyDto(requestDto.getEventType(), requestDto.getSource());
+        KeyedUpdate result = keyLocks.withLock(requestDto.getEventType(), requestDto.getSource(),
+                () -> update(id, requestDto, expectedVersion, requested, null));
+        return result.updated() != null ? result.updated() : rename(id, requestDto, expectedVersion, result.read());
+    }
+
+    /**
+     * Updates a config read under another key than the requested one, holding the locks of both. The write
+     * stays conditional on the version read, so a config changed in between fails it as any concurrent
+     * write does.
+     */
+    private EventConfigResponseDto rename(String id, EventConfigRequestDto requestDto, String expectedVersion,
+                                          EventConfigResponseDto read) {
+        EventConfigKeyDto stored = new EventConfigKeyDto(read.getEventType(), read.getSource());
+        return keyLocks.withLocks(stored.getEventType(), stored.getSource(),
+                requestDto.getEventType(), requestDto.getSource(),
+                () -> update(id, requestDto, expectedVersion, stored, read)).updated();
+    }
+
+    /**
+     * @param locked key whose lock is held along with the requested one's; a config stored under any other
+     *               key is returned unwritten
+     * @param read   the config as already read, or {@code null} to read it
+     */
+    private KeyedUpdate update(String id, EventConfigRequestDto requestDto, String expectedVersion,
+                               EventConfigKeyDto locked, EventConfigResponseDto read) {
+        writeBehind.supersede(id);
+        EventConfigResponseDto current = read != null ? read : storageStrategy.findById(id)
+                .orElseThrow(() -> new EventConfigNotFoundException("Event config not found with id: " + id));
+        if (!Objects.equals(current.getEventType(), locked.getEventType())
+                || !Objects.equals(current.getSource(), locked.getSource())) {
+            return new KeyedUpdate(null, current);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw versionMismatch(id, expectedVersion);
+        }
+        if (Objects.equals(current.getEventType(), requestDto.getEventType())
+                && Objects.equals(current.getSource(), requestDto.getSource())
+                && Objects.equals(current.getEnabled(), requestDto.getEnabled())) {
+            return new KeyedUpdate(current, current);
+        }
+
+        EventConfigResponseDto updated;
+        try {
+            // Conditional on the version just read, so the store is not read a second time
+            updated = storageStrategy.updateEventConfig(id, requestDto, current.getVersion());
+        } catch (OptimisticLockingFailureException e) {
+            // Without If-Match the caller asked for no precondition; the 409 tells it the race was lost
+            if (expectedVersion == null) {
+                throw e;
+            }
+            throw versionMismatch(id, expectedVersion);
+        }
+        invalidationBus.publish(updated);
+        return new KeyedUpdate(updated, current);
+    }
+
+    /**
+     * Hands an enable/disable toggle to the write-behind buffer, which stores it with the next bulk flush.
+     * Updates that change the key, carry a version precondition or find the buffer disabled or full go through
+     * {@link #updateEventConfig} instead. The toggle is read and buffered under the key lock, which every
+     * synchronous update of the config also holds, renames included, so the two cannot interleave.
+     */
+    public WriteBehindResult updateEventConfigDeferred(String id, EventConfigRequestDto requestDto,
+                                                       String expectedVersion) {
+        if (!writeBehind.isEnabled() || expectedVersion != null) {
+            return new WriteBehindResult(updateEventConfig(id, requestDto, expectedVersion), true);
+        }
+        Deferral deferral = keyLocks.withLock(requestDto.getEventType(), requestDto.getSource(),
+                () -> defer(id, requestDto));
+        if (deferral.renamed() != null) {
+            return new WriteBehindResult(rename(id, requestDto, null, deferral.renamed()), true);
+        }
+        if (deferral.flushed() == null || !writeBehind.isDurable()) {
+            return deferral.result();
+        }
+        // Waits for the flush outside the lock
+        try {
+            return new WriteBehindResult(deferral.flushed().join(), true);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Deferral defer(String id, EventConfigRequestDto requestDto) {
+        EventConfigResponseDto stored = storageStrategy.findById(id)
+                .orElseThrow(() -> new EventConfigNotFoundException("Event config not found with id: " + id));
+        if (!Objects.equals(stored.getEventType(), requestDto.getEventType())
+                || !Objects.equals(stored.getSource(), requestDto.getSource())) {
+            return new Deferral(null, null, stored);
+        }
+        EventConfigResponseDto current = writeBehind.overlay(stored);
+        if (current == stored && Objects.equals(stored.getEnabled(), requestDto.getEnabled())) {
+            return new Deferral(new WriteBehindResult(stored, true), null, null);
+        }
+
+        EventConfigResponseDto toggled = EventConfigResponseDto.builder()
+                .id(current.getId())
+                .eventType(current.getEventType())
+                .source(current.getSource())
+                .enabled(requestDto.getEnabled())
+                .createdAt(current.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .version(current.getVersion())
+                .build();
+        CompletableFuture<EventConfigResponseDto> flushed = writeBehind.offer(toggled);
+        if (flushed == null) {
+            // The key lock held here is the stored one
+            EventConfigResponseDto updated = update(id, requestDto, null,
+                    new EventConfigKeyDto(stored.getEventType(), stored.getSource()), null).updated();
+            return new Deferral(new WriteBehindResult(updated, true), null, null);
+        }
+        // The matching index has to see the buffered state before the flush publishes it
+        matchingEngine.scheduleRebuild();
+        return new Deferral(new WriteBehindResult(toggled, false), flushed, null);
+    }
+
+    private static EventConfigVersionMismatchException versionMismatch(String id, String expectedVersion) {
+        return new EventConfigVersionMismatchException(
+                "Event config " + id + " is no longer at version " + expectedVersion);
+    }
+
+    /**
+     * Makes the stored configs of {@code source} match {@code desired}: listed event types without a config
+     * are inserted, listed ones with a different enabled flag are updated and stored ones not listed are
+     * disabled. The diff is written in one bulk request; configs already in the desired state are neither
+     * rewritten nor invalidated, so a source that is already in sync costs one read.
+     */
+    public EventConfigSyncResultDto syncSourceState(String source, List<EventConfigStateEntryDto> desired) {
+        return syncSourceState(source, validateSourceState(source, desired));
+    }
+
+    /**
+     * {@link #syncSourceState} as a background job. The desired state is validated before the job is queued.
+     *
+     * @throws JobQueueFullException if the job queue is full
+     */
+    public EventConfigJobDto submitSourceStateSync(String source, List<EventConfigStateEntryDto> desired) {
+        Map<String, Boolean> desiredEnabled = validateSourceState(source, desired);
+        return jobExecutor.submit(EventConfigJobDto.Type.SOURCE_SYNC, processed -> {
+            EventConfigSyncResultDto result = syncSourceState(source, desiredEnabled);
+            processed.set(result.getInserted() + result.getUpdated() + result.getDisabled() + result.getUnchanged());
+            return result;
+        });
+    }
+
+    private static Map<String, Boolean> validateSourceState(String source, List<EventConfigStateEntryDto> desired) {
+        if (source.isBlank() || !source.matches(EventConfigRequestDto.GLOB)) {
+            throw new IllegalArgumentException("Invalid source: " + source);
+        }
+        Map<String, Boolean> desiredEnabled = new LinkedHashMap<>();
+        for (EventConfigStateEntryDto entry : desired) {
+            if (desiredEnabled.put(entry.getEventType(), entry.getEnabled()) != null) {
+                throw new IllegalArgumentException("Duplicate eventType in desired state: " + entry.getEventType());
+            }
+        }
+        return desiredEnabled;
+    }
+
+    private EventConfigSyncResultDto syncSourceState(String source, Map<String, Boolean> desiredEnabled) {
+        List<EventConfigResponseDto> updates = new ArrayList<>();
+        Set<String> stored = new HashSet<>();
+        int updated = 0;
+        int disabled = 0;
+        int unchanged = 0;
+        for (EventConfigResponseDto config : storageStrategy.getEventConfigs(null, source, null)) {
+            // The desired state is authoritative over toggles still waiting in the write-behind buffer
+            writeBehind.supersede(config.getId());
+            // A duplicate of an already seen key counts as unlisted
+            Boolean wanted = stored.add(config.getEventType()) ? desiredEnabled.get(config.getEventType()) : null;
+            boolean target = wanted != null && wanted;
+            if (Boolean.valueOf(target).equals(config.getEnabled())) {
+                unchanged++;
+                continue;
+            }
+            updates.add(EventConfigResponseDto.builder()
+                    .id(config.getId())
+                    .eventType(config.getEventType())
+                    .source(config.getSource())
+                    .enabled(target)
+                    .createdAt(config.getCreatedAt())
+                    .updatedAt(config.getUpdatedAt())
+                    .version(config.getVersion())
+                    .build());
+            if (wanted != null) {
+                updated++;
+            } else {
+                disabled++;
+            }
+        }
+
+        List<EventConfigRequestDto> inserts = new ArrayList<>();
+        desiredEnabled.forEach((eventType, enabled) -> {
+            if (!stored.contains(eventType)) {
+                inserts.add(EventConfigRequestDto.builder()
+                        .id(UUID.randomUUID().toString())
+                        .eventType(eventType)
+                        .source(source)
+                        .enabled(enabled)
+                        .build());
+            }
+        });
+
+        int conflicted = 0;
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            EventConfigBulkResult result = storageStrategy.applyChanges(inserts, updates);
+            try {
+                // Bulk writes skip the refresh by default; invalidated caches must not reload the old state
+                storageStrategy.awaitSearchable(Instant.now());
+            } finally {
+                result.written().forEach(invalidationBus::publish);
+            }
+            // Changed concurrently since the read above; left to the concurrent write
+            Set<String> conflicts = new HashSet<>(result.conflicts());
+            for (EventConfigResponseDto update : updates) {
+                if (conflicts.contains(update.getId())) {
+                    conflicted++;
+                    if (desiredEnabled.containsKey(update.getEventType())) {
+                        updated--;
+                    } else {
+                        disabled--;
+                    }
+                }
+            }
+        }
+        return EventConfigSyncResultDto.builder()
+                .source(source)
+                .inserted(inserts.size())
+                .updated(updated)
+                .disabled(disabled)
+                .unchanged(unchanged)
+                .conflicted(conflicted)
+                .build();
+    }
+
+    /**
+     * Returns once reads from the store see the writes {@code token} was issued for.
+     */
+    public void awaitConsistency(ConsistencyToken token) {
+        storageStrategy.awaitSearchable(token.writtenAt());
     }
 
     public List<EventConfigResponseDto> getEventConfigs(String eventType, String source, Boolean enabled) {
-        return storageStrategy.getEventConfigs(eventType, source, enabled);
+        if (writeBehind.isEmpty()) {
+            return storageStrategy.getEventConfigs(eventType, source, enabled);
+        }
+        // Buffered toggles may move configs in or out of the enabled filter
+        return writeBehind.overlay(storageStrategy.getEventConfigs(eventType, source, null), enabled);
+    }
+
+    public EventConfigFacetsResponseDto getEventConfigFacets(String eventType, String source, Boolean enabled) {
+        if (!writeBehind.isEmpty()) {
+            // Neither the store nor the cache counts buffered toggles yet
+            return countFacets(getEventConfigs(eventType, source, enabled));
+        }
+        EventConfigFacetsResponseDto cached = facetsCache.get(eventType, source, enabled);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = facetsCache.generation();
+        EventConfigFacetsResponseDto facets = storageStrategy.getEventConfigFacets(eventType, source, enabled);
+        facetsCache.put(eventType, source, enabled, generation, facets);
+        return facets;
+    }
+
+    private static EventConfigFacetsResponseDto countFacets(List<EventConfigResponseDto> configs) {
+        Map<String, Long> eventTypes = new HashMap<>();
+        Map<String, Long> sources = new HashMap<>();
+        Map<String, Long> enabled = new HashMap<>();
+        for (EventConfigResponseDto config : configs) {
+            eventTypes.merge(config.getEventType(), 1L, Long::sum);
+            sources.merge(config.getSource(), 1L, Long::sum);
+            enabled.merge(String.valueOf(config.getEnabled()), 1L, Long::sum);
+        }
+        return EventConfigFacetsResponseDto.builder()
+                .total(configs.size())
+                .eventType(eventTypes)
+                .source(sources)
+                .enabled(enabled)
+                .build();
+    }
+
+    /**
+     * Distinct values of {@code field} starting with {@code prefix} (case-sensitive), sorted ascending.
+     * Served from the in-memory index when it is built, otherwise by a prefix query on the store.
+     */
+    public List<String> suggest(String field, String prefix, int limit) {
+        SuggestField suggestField = SuggestField.fromFieldName(field);
+        if (limit < 1 || limit > suggestProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + suggestProperties.getMaxLimit());
+        }
+        String normalizedPrefix = prefix != null ? prefix : "";
+
+        List<String> values = suggestIndex.suggest(suggestField, normalizedPrefix, limit);
+        if (values != null) {
+            return values;
+        }
+        return storageStrategy.suggestValues(suggestField, normalizedPrefix, limit);
+    }
+
+    /**
+     * Configs for the given keys in request order, duplicates and unknown keys dropped. Cached keys
+     * are answered locally, the rest with one store query.
+     */
+    public List<EventConfigResponseDto> lookupEventConfigs(List<EventConfigKeyDto> keys) {
+        Set<EventConfigKeyDto> distinct = new LinkedHashSet<>(keys);
+        Map<EventConfigKeyDto, EventConfigResponseDto> found = new HashMap<>();
+        List<EventConfigKeyDto> misses = new ArrayList<>();
+        for (EventConfigKeyDto key : distinct) {
+            Optional<EventConfigResponseDto> cached = lookupCache.get(key);
+            if (cached == null) {
+                misses.add(key);
+            } else {
+                cached.ifPresent(config -> found.put(key, config));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long generation = lookupCache.generation();
+            Map<EventConfigKeyDto, EventConfigResponseDto> loaded = new HashMap<>();
+            for (EventConfigResponseDto config : storageStrategy.findByKeys(misses)) {
+                loaded.put(new EventConfigKeyDto(config.getEventType(), config.getSource()), config);
+            }
+            for (EventConfigKeyDto key : misses) {
+                EventConfigResponseDto config = loaded.get(key);
+                lookupCache.put(key, generation, config);
+                if (config != null) {
+                    found.put(key, config);
+                }
+            }
+        }
+
+        List<EventConfigResponseDto> result = new ArrayList<>(found.size());
+        for (EventConfigKeyDto key : distinct) {
+            EventConfigResponseDto config = found.get(key);
+            if (config != null) {
+                result.add(writeBehind.overlay(config));
+            }
+        }
+        return result;
+    }
+
+    public List<EventConfigResponseDto> getEventConfigChanges(LocalDateTime since) {
+        if (since == null) {
+            return writeBehind.overlay(storageStrategy.getEventConfigs(null, null, null), null);
+        }
+        return writeBehind.overlay(storageStrategy.getEventConfigsUpdatedSince(since), null);
+    }
+
+    /**
+     * Streams the filtered configs as a JSON array straight from storage, without entities or DTOs. While
+     * toggles are buffered the configs are read as DTOs instead, so the buffered state is included.
+     */
+    public void writeEventConfigsJson(String eventType, String source, Boolean enabled,
+                                      OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            if (writeBehind.isEmpty()) {
+                storageStrategy.writeRawEventConfigs(eventType, source, enabled, new EventConfigJsonWriter(generator));
+            } else {
+                for (EventConfigResponseDto config : getEventConfigs(eventType, source, enabled)) {
+                    generator.writeObject(config);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * The enabled config for each event, in request order, from the in-memory matching index.
+     */
+    public List<EventMatchResultDto> matchEvents(List<EventConfigKeyDto> events) {
+        CompiledEventConfigIndex index = matchingEngine.index();
+        List<EventMatchResultDto> results = new ArrayList<>(events.size());
+        for (EventConfigKeyDto event : events) {
+            results.add(new EventMatchResultDto(event.getEventType(), event.getSource(),
+                    index.match(event.getEventType(), event.getSource())));
+        }
+        return results;
+    }
+
+    /**
+     * Matches an NDJSON event stream, writing NDJSON decisions in input order as they are ready.
+     */
+    public void matchEventStream(InputStream in, OutputStream out) throws IOException {
+        matchStreamProcessor.process(in, out);
+    }
+
+    /**
+     * Bulk-imports an NDJSON or CSV body, continuing after line {@code resumeAfter}.
+     */
+    public EventConfigImportReportDto importEventConfigs(InputStream in, ImportFormat format, long resumeAfter)
+            throws IOException {
+        return importer.importConfigs(in, format, resumeAfter);
+    }
+
+    /**
+     * {@link #importEventConfigs} as a background job. The body is spooled to a temporary file first so the
+     * request can complete; the job reports the rows read so far as its progress.
+     *
+     * @throws JobQueueFullException if the job queue is full
+     */
+    public EventConfigJobDto submitImport(InputStream in, ImportFormat format, long resumeAfter) throws IOException {
+        if (!jobExecutor.hasCapacity()) {
+            // Checked up front so a rejected import does not spool its body first
+            throw jobExecutor.queueFull();
+        }
+        Path spool = spoolImportBody(in);
+        try {
+            return jobExecutor.submit(EventConfigJobDto.Type.IMPORT, processed -> {
+                try (InputStream body = Files.newInputStream(spool)) {
+                    return importer.importConfigs(body, format, resumeAfter, processed::set);
+                } finally {
+                    Files.deleteIfExists(spool);
+                }
+            });
+        } catch (JobQueueFullException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+    }
+
+    private Path spoolImportBody(InputStream in) throws IOException {
+        String directory = jobProperties.getSpoolDirectory();
+        Path spool = directory != null
+                ? Files.createTempFile(Path.of(directory), "event-config-import-", ".tmp")
+                : Files.createTempFile("event-config-import-", ".tmp");
+        try {
+            Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        return spool;
+    }
+
+    public EventConfigJobDto getJob(String id) {
+        return jobExecutor.get(id)
+                .orElseThrow(() -> new JobNotFoundException("Job not found with id: " + id));
+    }
+
+    /**
+     * @param renamed the config as read when the update turned out to rename it, written by {@link #rename}
+     *                instead
+     */
+    private record Deferral(WriteBehindResult result, CompletableFuture<EventConfigResponseDto> flushed,
+                            EventConfigResponseDto renamed) {
+    }
+
+    /**
+     * @param updated the written or unchanged config, or {@code null} if it is stored under a key whose lock
+     *                was not held
+     * @param read    the config as read
+     */
+    private record KeyedUpdate(EventConfigResponseDto updated, EventConfigResponseDto read) {
     }
 }
@@ -0,0 +1,51 @@
+package com.flex.mind.tech.service.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully encoded response body together with the headers needed to replay it.
+ * <p>
+ * The gzip form is produced on first request and kept alongside the plain body, so each distinct
+ * payload is compressed at most once no matter how often it is served.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CachedResponse {
+
+    private final byte[] body;
+    private final String contentType;
+
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] gzipBody;
+
+    public byte[] getGzipBody() {
+        byte[] compressed = gzipBody;
+        if (compressed == null) {
+            synchronized (this) {
+                compressed = gzipBody;
+                if (compressed == null) {
+                    compressed = gzip(body);
+                    gzipBody = compressed;
+                }
+            }
+        }
+        return compressed;
+    }
+
+    private static byte[] gzip(byte[] source) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, source.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+            gzip.write(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
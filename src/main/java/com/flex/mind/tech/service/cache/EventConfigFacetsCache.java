@@ -0,0 +1,81 @@
+package com.flex.mind.tech.service.cache;
+
+import com.flex.mind.tech.config.ResponseCacheProperties;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Facet counts per filter combination, valid until the next write. Shares the size limit and the
+ * on/off switch of {@link EventConfigResponseCache}, and likewise evicts the least recently used
+ * combination when full.
+ */
+@Component
+public class EventConfigFacetsCache {
+
+    private final ResponseCacheProperties properties;
+    private final LruMap<String, EventConfigFacetsResponseDto> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventConfigFacetsCache(ResponseCacheProperties properties,
+                                  EventConfigInvalidationBus invalidationBus,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LruMap<>(properties::getMaxEntries);
+        this.hits = Counter.builder("event.config.facets.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("event.config.facets.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(invalidation -> clear());
+    }
+
+    public EventConfigFacetsResponseDto get(String eventType, String source, Boolean enabled) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        EventConfigFacetsResponseDto cached = entries.get(key(eventType, source, enabled));
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before computing the facets.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String eventType, String source, Boolean enabled, long expectedGeneration,
+                    EventConfigFacetsResponseDto facets) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = key(eventType, source, enabled);
+        entries.put(key, facets);
+        if (generation.get() != expectedGeneration) {
+            entries.remove(key, facets);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private static String key(String eventType, String source, Boolean enabled) {
+        return eventType + '\u0000' + source + '\u0000' + enabled;
+    }
+}
@@ -0,0 +1,109 @@
+package com.flex.mind.tech.service.cache;
+
+import com.flex.mind.tech.config.LookupCacheProperties;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key cache for batch lookups. Absent keys are cached as {@link Optional#empty()}, since the
+ * router mostly asks for the same small set of pairs, configured or not. Beyond {@code max-entries}
+ * the least recently used keys are evicted, so a burst of one-off keys cannot freeze the cache.
+ * <p>
+ * An invalidation evicts the written key and whatever key the same config id was cached under
+ * before, which covers updates that change eventType or source. The generation counter works as in
+ * {@link EventConfigResponseCache}.
+ */
+@Component
+public class EventConfigLookupCache {
+
+    private final LookupCacheProperties properties;
+    private final LruMap<EventConfigKeyDto, Optional<EventConfigResponseDto>> entries;
+    private final LruMap<String, EventConfigKeyDto> keysById;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventConfigLookupCache(LookupCacheProperties properties,
+                                  EventConfigInvalidationBus invalidationBus,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LruMap<>(properties::getMaxEntries);
+        this.keysById = new LruMap<>(properties::getMaxEntries);
+        this.hits = Counter.builder("event.config.lookup.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("event.config.lookup.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("event.config.lookup.cache.size", entries, LruMap::size)
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(this::evict);
+    }
+
+    /**
+     * @return {@code null} on a miss, an empty optional for a key known to be absent
+     */
+    public Optional<EventConfigResponseDto> get(EventConfigKeyDto key) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        Optional<EventConfigResponseDto> cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before loading from the store.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(EventConfigKeyDto key, long expectedGeneration, EventConfigResponseDto config) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Optional<EventConfigResponseDto> value = Optional.ofNullable(config);
+        entries.put(key, value);
+        if (config != null) {
+            keysById.put(config.getId(), key);
+        }
+        // A write raced with this load: drop it unless the slot was already refilled
+        if (generation.get() != expectedGeneration) {
+            entries.remove(key, value);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        keysById.clear();
+    }
+
+    private void evict(EventConfigInvalidation invalidation) {
+        if (invalidation.isAll()) {
+            clear();
+            return;
+        }
+        generation.incrementAndGet();
+        entries.remove(new EventConfigKeyDto(invalidation.getEventType(), invalidation.getSource()));
+        EventConfigKeyDto previous = keysById.remove(invalidation.getId());
+        if (previous != null) {
+            entries.remove(previous);
+        }
+    }
+}
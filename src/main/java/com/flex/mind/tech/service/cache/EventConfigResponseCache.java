@@ -0,0 +1,82 @@
+package com.flex.mind.tech.service.cache;
+
+import com.flex.mind.tech.config.ResponseCacheProperties;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of encoded list responses keyed by filter combination and content type.
+ * <p>
+ * Any write clears the whole cache: a single config can appear under many filter combinations, so
+ * precise eviction would cost more than re-encoding on the next miss. A generation counter keeps a
+ * response computed before a write from being stored after it. Beyond {@code max-entries} the least
+ * recently used combinations are evicted.
+ */
+@Component
+public class EventConfigResponseCache {
+
+    private final ResponseCacheProperties properties;
+    private final LruMap<String, CachedResponse> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventConfigResponseCache(ResponseCacheProperties properties,
+                                    EventConfigInvalidationBus invalidationBus,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LruMap<>(properties::getMaxEntries);
+        this.hits = Counter.builder("event.config.response.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("event.config.response.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("event.config.response.cache.size", entries, LruMap::size)
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(invalidation -> clear());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before producing the response.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, long expectedGeneration, CachedResponse response) {
+        if (response.getBody().length > properties.getMaxEntryBytes()) {
+            return;
+        }
+        entries.put(key, response);
+        // A write raced with this response: drop it unless the slot was already refilled
+        if (generation.get() != expectedGeneration) {
+            entries.remove(key, response);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
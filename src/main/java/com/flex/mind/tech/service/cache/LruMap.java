@@ -0,0 +1,53 @@
+package com.flex.mind.tech.service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Size-bounded map that evicts the least recently used entry once {@code maxEntries} is exceeded,
+ * so a full cache keeps admitting the keys that are asked for now.
+ * <p>
+ * Reads reorder entries, so every access takes the map's monitor; the critical sections are a
+ * single hash lookup and a relink.
+ */
+final class LruMap<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * @param maxEntries read on every insert, so a changed limit applies without a restart
+     */
+    LruMap(IntSupplier maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries.getAsInt();
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    synchronized boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
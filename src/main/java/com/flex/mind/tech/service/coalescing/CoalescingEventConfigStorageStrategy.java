@@ -0,0 +1,160 @@
+package com.flex.mind.tech.service.coalescing;
+
+import com.flex.mind.tech.config.CoalescingProperties;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.service.strategy.EventConfigBulkResult;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.suggest.SuggestField;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Storage strategy seen by the rest of the application when coalescing is enabled.
+ * <p>
+ * Key lookups ({@link #existsByEventTypeAndSource} and {@link #findByKeys}) from concurrent requests
+ * are merged by {@link EventConfigKeyBatcher} into batched {@code findByKeys} calls on the real
+ * strategy; everything else is passed straight through.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingEventConfigStorageStrategy implements EventConfigStorageStrategy {
+
+    private final EventConfigStorageStrategy delegate;
+    private final EventConfigKeyBatcher batcher;
+
+    public CoalescingEventConfigStorageStrategy(@Qualifier(STORE) EventConfigStorageStrategy delegate,
+                                                CoalescingProperties properties,
+                                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.batcher = new EventConfigKeyBatcher(properties, delegate::findByKeys, meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        batcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        batcher.stop();
+    }
+
+    @Override
+    public boolean existsByEventTypeAndSource(String eventType, String source) {
+        if (eventType == null || source == null) {
+            return delegate.existsByEventTypeAndSource(eventType, source);
+        }
+        return join(batcher.load(new EventConfigKeyDto(eventType, source))) != null;
+    }
+
+    @Override
+    public List<EventConfigResponseDto> findByKeys(Collection<EventConfigKeyDto> keys) {
+        List<CompletableFuture<EventConfigResponseDto>> futures = new ArrayList<>(keys.size());
+        for (EventConfigKeyDto key : keys) {
+            futures.add(batcher.load(key));
+        }
+        List<EventConfigResponseDto> found = new ArrayList<>(futures.size());
+        for (CompletableFuture<EventConfigResponseDto> future : futures) {
+            EventConfigResponseDto config = join(future);
+            if (config != null) {
+                found.add(config);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto) {
+        return delegate.createEventConfig(requestDto);
+    }
+
+    @Override
+    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto,
+                                                    String expectedVersion) {
+        return delegate.updateEventConfig(id, requestDto, expectedVersion);
+    }
+
+    @Override
+    public int insertAll(List<EventConfigRequestDto> requestDtos) {
+        return delegate.insertAll(requestDtos);
+    }
+
+    @Override
+    public EventConfigBulkResult applyChanges(List<EventConfigRequestDto> inserts,
+                                              List<EventConfigResponseDto> updates) {
+        return delegate.applyChanges(inserts, updates);
+    }
+
+    @Override
+    public Optional<EventConfigResponseDto> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<EventConfigResponseDto> getEventConfigs(String eventType, String source, Boolean enabled) {
+        return delegate.getEventConfigs(eventType, source, enabled);
+    }
+
+    @Override
+    public EventConfigFacetsResponseDto getEventConfigFacets(String eventType, String source, Boolean enabled) {
+        return delegate.getEventConfigFacets(eventType, source, enabled);
+    }
+
+    @Override
+    public List<String> suggestValues(SuggestField field, String prefix, int limit) {
+        return delegate.suggestValues(field, prefix, limit);
+    }
+
+    @Override
+    public List<EventConfigResponseDto> getEventConfigsUpdatedSince(LocalDateTime since) {
+        return delegate.getEventConfigsUpdatedSince(since);
+    }
+
+    @Override
+    public void writeRawEventConfigs(String eventType, String source, Boolean enabled,
+                                     EventConfigJsonWriter writer) throws IOException {
+        delegate.writeRawEventConfigs(eventType, source, enabled, writer);
+    }
+
+    @Override
+    public void forEachEventConfigKey(BiConsumer<String, String> consumer) throws IOException {
+        delegate.forEachEventConfigKey(consumer);
+    }
+
+    @Override
+    public void awaitSearchable(Instant writtenAt) {
+        delegate.awaitSearchable(writtenAt);
+    }
+
+    private static EventConfigResponseDto join(CompletableFuture<EventConfigResponseDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.flex.mind.tech.service.coalescing;
+
+import com.flex.mind.tech.config.CoalescingProperties;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style batcher for key lookups.
+ * <p>
+ * {@link #load} registers the key and returns a future. A dispatcher thread waits for the first key,
+ * keeps collecting for {@code window} or until {@code maxBatchSize} keys are queued, then runs one
+ * batched query for all of them on a small pool. A key that is still queued is not queued again:
+ * later callers share the first caller's future (single-flight). Keys leave the join map when their
+ * batch is dispatched, so a caller arriving after that, possibly right after a write, starts a fresh
+ * lookup instead of receiving a result the store may have produced before the write.
+ * <p>
+ * Every future is completed: with the lookup result, with the store failure, or exceptionally when
+ * the batcher is stopped or cannot run the batch.
+ */
+@Log4j2
+public class EventConfigKeyBatcher {
+
+    private final CoalescingProperties properties;
+    private final Function<Collection<EventConfigKeyDto>, List<EventConfigResponseDto>> batchLoader;
+
+    private final Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> queued = new ConcurrentHashMap<>();
+    private final BlockingQueue<EventConfigKeyDto> queue = new LinkedBlockingQueue<>();
+    private final Semaphore batchPermits;
+    private final ExecutorService batchExecutor;
+
+    private final Counter requestedKeys;
+    private final Counter deduplicatedKeys;
+    private final Counter batches;
+    private final DistributionSummary batchSize;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public EventConfigKeyBatcher(CoalescingProperties properties,
+                                 Function<Collection<EventConfigKeyDto>, List<EventConfigResponseDto>> batchLoader,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.batchLoader = batchLoader;
+        this.batchPermits = new Semaphore(properties.getMaxConcurrentBatches());
+        this.batchExecutor = Executors.newFixedThreadPool(properties.getMaxConcurrentBatches(),
+                Thread.ofPlatform().name("event-config-batch-", 0).daemon(true).factory());
+
+        this.requestedKeys = Counter.builder("event.config.coalescing.keys")
+                .description("Keys requested through the batcher")
+                .register(meterRegistry);
+        this.deduplicatedKeys = Counter.builder("event.config.coalescing.deduplicated")
+                .description("Requests that joined a lookup still queued")
+                .register(meterRegistry);
+        this.batches = Counter.builder("event.config.coalescing.batches")
+                .description("Batched store queries issued")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("event.config.coalescing.batch.size")
+                .description("Distinct keys per batched store query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform()
+                .name("event-config-batch-dispatcher")
+                .daemon(true)
+                .start(this::dispatchLoop);
+    }
+
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        for (Runnable pending : batchExecutor.shutdownNow()) {
+            if (pending instanceof BatchTask task) {
+                fail(task.batch.values(), stopped());
+            }
+        }
+        failQueued();
+    }
+
+    /**
+     * @return future completed with the config, or with {@code null} if the key does not exist
+     */
+    public CompletableFuture<EventConfigResponseDto> load(EventConfigKeyDto key) {
+        requestedKeys.increment();
+        if (!running) {
+            return CompletableFuture.failedFuture(stopped());
+        }
+        CompletableFuture<EventConfigResponseDto> created = new CompletableFuture<>();
+        CompletableFuture<EventConfigResponseDto> existing = queued.putIfAbsent(key, created);
+        if (existing != null) {
+            deduplicatedKeys.increment();
+            return existing;
+        }
+        queue.add(key);
+        // stop() may have drained the queue between the check above and the registration
+        if (!running) {
+            failQueued();
+        }
+        return created;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> batch = new LinkedHashMap<>();
+            try {
+                take(batch, queue.take());
+                long deadline = System.nanoTime() + properties.getWindow().toNanos();
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    EventConfigKeyDto next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    take(batch, next);
+                }
+                batchPermits.acquire();
+                try {
+                    batchExecutor.execute(new BatchTask(batch));
+                } catch (RuntimeException e) {
+                    batchPermits.release();
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                fail(batch.values(), stopped());
+            } catch (RuntimeException e) {
+                log.error("Batch dispatch failed", e);
+                fail(batch.values(), e);
+            }
+        }
+        failQueued();
+    }
+
+    /**
+     * Moves a queued key into the batch being collected; from here on new callers no longer join it.
+     */
+    private void take(Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> batch, EventConfigKeyDto key) {
+        CompletableFuture<EventConfigResponseDto> future = queued.remove(key);
+        if (future == null) {
+            return;
+        }
+        CompletableFuture<EventConfigResponseDto> first = batch.putIfAbsent(key, future);
+        if (first != null) {
+            // Queued again after its first copy was taken, but still before the query runs
+            first.whenComplete((config, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(config);
+                }
+            });
+        }
+    }
+
+    private void runBatch(Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> batch) {
+        batches.increment();
+        batchSize.record(batch.size());
+        Map<EventConfigKeyDto, EventConfigResponseDto> found = new HashMap<>();
+        try {
+            for (EventConfigResponseDto config : batchLoader.apply(batch.keySet())) {
+                found.put(new EventConfigKeyDto(config.getEventType(), config.getSource()), config);
+            }
+        } catch (RuntimeException e) {
+            fail(batch.values(), e);
+            return;
+        }
+        batch.forEach((key, future) -> future.complete(found.get(key)));
+    }
+
+    private void failQueued() {
+        for (EventConfigKeyDto key : queued.keySet()) {
+            CompletableFuture<EventConfigResponseDto> future = queued.remove(key);
+            if (future != null) {
+                future.completeExceptionally(stopped());
+            }
+        }
+    }
+
+    private static void fail(Collection<CompletableFuture<EventConfigResponseDto>> futures, Throwable error) {
+        for (CompletableFuture<EventConfigResponseDto> future : futures) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Key lookup batcher is stopped");
+    }
+
+    private final class BatchTask implements Runnable {
+
+        private final Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> batch;
+
+        private BatchTask(Map<EventConfigKeyDto, CompletableFuture<EventConfigResponseDto>> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runBatch(batch);
+            } finally {
+                batchPermits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.flex.mind.tech.service.consistency;
+
+import java.time.Instant;
+
+/**
+ * Read-your-writes token: returned in {@code Consistency-Token} by writes and sent back on reads that
+ * must see them. It carries only the time the write was acknowledged, so any instance can honour it.
+ *
+ * @param writtenAt when the write was acknowledged
+ */
+public record ConsistencyToken(Instant writtenAt) {
+
+    public static ConsistencyToken now() {
+        return new ConsistencyToken(Instant.now());
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} was not issued by {@link #toString()}
+     */
+    public static ConsistencyToken parse(String token) {
+        try {
+            return new ConsistencyToken(Instant.ofEpochMilli(Long.parseLong(token.trim(), Character.MAX_RADIX)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid Consistency-Token: " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(writtenAt.toEpochMilli(), Character.MAX_RADIX);
+    }
+}
@@ -0,0 +1,172 @@
+package com.flex.mind.tech.service.idempotency;
+
+import com.flex.mind.tech.config.IdempotencyProperties;
+import com.flex.mind.tech.exception.IdempotencyKeyReusedException;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key store for {@code POST /event-config}.
+ * <p>
+ * The first request with a key runs and leaves a future under it; retries with the same key and body get
+ * that future's response without touching the store, waiting for it if the first request is still running.
+ * Failed executions are forgotten so a retry runs again. Completed responses expire after
+ * {@code app.idempotency.ttl}; at most {@code max-entries} keys of at most {@code max-key-length} characters
+ * are held.
+ */
+@Component
+public class EventConfigIdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    private final Counter hits;
+    private final Counter waits;
+    private final Counter misses;
+    private final Counter bypassed;
+    private final Counter reused;
+
+    public EventConfigIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-idempotency-sweeper").daemon(true).factory());
+
+        this.hits = requests("hit", meterRegistry);
+        this.waits = requests("wait", meterRegistry);
+        this.misses = requests("miss", meterRegistry);
+        this.bypassed = requests("bypassed", meterRegistry);
+        this.reused = requests("reused", meterRegistry);
+        Gauge.builder("event.config.idempotency.keys", entries, Map::size)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("event.config.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Runs {@code action} once per key: a retry with the same key and request gets the first response.
+     *
+     * @param key the client's Idempotency-Key, or {@code null} to just run {@code action}
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public EventConfigResponseDto execute(String key, EventConfigRequestDto request,
+                                          Supplier<EventConfigResponseDto> action) {
+        if (key == null || !properties.isEnabled()) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be 1 to " + properties.getMaxKeyLength() + " characters");
+        }
+        String fingerprint = fingerprint(request);
+
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.isExpired(System.nanoTime())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (existing != null) {
+                return replay(key, existing, fingerprint);
+            }
+            if (entries.size() >= properties.getMaxEntries()) {
+                bypassed.increment();
+                return action.get();
+            }
+            Entry created = new Entry(fingerprint);
+            if (entries.putIfAbsent(key, created) == null) {
+                misses.increment();
+                return run(key, created, action);
+            }
+        }
+    }
+
+    private EventConfigResponseDto replay(String key, Entry entry, String fingerprint) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            reused.increment();
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was used for a different request");
+        }
+        (entry.response.isDone() ? hits : waits).increment();
+        try {
+            return entry.response.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private EventConfigResponseDto run(String key, Entry entry, Supplier<EventConfigResponseDto> action) {
+        EventConfigResponseDto response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Waiting duplicates share the failure, later retries run again
+            entries.remove(key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        entry.expiresAt = System.nanoTime() + properties.getTtl().toNanos();
+        entry.response.complete(response);
+        return response;
+    }
+
+    void sweep() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private static String fingerprint(EventConfigRequestDto request) {
+        return request.getEventType() + '\u0000' + request.getSource() + '\u0000' + request.getEnabled();
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<EventConfigResponseDto> response = new CompletableFuture<>();
+        // Running executions never expire
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
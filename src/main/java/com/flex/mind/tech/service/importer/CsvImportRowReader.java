@@ -0,0 +1,110 @@
+package com.flex.mind.tech.service.importer;
+
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV with a header naming the eventType, source and enabled columns in any order.
+ * Fields may be quoted with {@code ""} escapes but may not span lines.
+ */
+final class CsvImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private long line;
+    private int eventTypeColumn = -1;
+    private int sourceColumn = -1;
+    private int enabledColumn = -1;
+
+    CsvImportRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            return;
+        }
+        List<String> columns = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; columns != null && i < columns.size(); i++) {
+            switch (columns.get(i).trim()) {
+                case "eventType" -> eventTypeColumn = i;
+                case "source" -> sourceColumn = i;
+                case "enabled" -> enabledColumn = i;
+                default -> {
+                    // Extra columns are ignored
+                }
+            }
+        }
+        if (eventTypeColumn < 0 || sourceColumn < 0 || enabledColumn < 0) {
+            throw new IllegalArgumentException("CSV header must name the eventType, source and enabled columns");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            List<String> fields = split(text);
+            if (fields == null) {
+                return ImportRow.failed(line, "Unterminated quoted field");
+            }
+            String enabled = field(fields, enabledColumn);
+            Boolean parsedEnabled = null;
+            if ("true".equalsIgnoreCase(enabled) || "false".equalsIgnoreCase(enabled)) {
+                parsedEnabled = Boolean.valueOf(enabled);
+            } else if (enabled != null && !enabled.isEmpty()) {
+                return ImportRow.failed(line, "enabled: expected true or false, got " + enabled);
+            }
+            return ImportRow.parsed(line, EventConfigRequestDto.builder()
+                    .eventType(field(fields, eventTypeColumn))
+                    .source(field(fields, sourceColumn))
+                    .enabled(parsedEnabled)
+                    .build());
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column) : null;
+    }
+
+    /**
+     * @return the fields of the line, or {@code null} if a quote is not closed
+     */
+    static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,258 @@
+package com.flex.mind.tech.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flex.mind.tech.config.ImportProperties;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigImportErrorDto;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.service.importer.ImportRowReader.ImportRow;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON or CSV configs into the store.
+ * <p>
+ * The calling thread parses and validates rows with the {@link EventConfigRequestDto} constraints and
+ * groups valid rows into batches of {@code app.import.batch-size}. Each batch is written with one
+ * unordered bulk insert on a shared pool; at most {@code app.import.max-in-flight-batches} per import
+ * are outstanding, after which reading waits. The store skips rows whose key is already stored, by an
+ * earlier batch or by anyone else, so memory stays bounded by the batches in flight whatever the file size.
+ * <p>
+ * Caches are invalidated once, when the import ends; until then other requests may not see the
+ * imported configs. The report's checkpoint is the last line before the first row that is not yet
+ * known to be done (or lost in a failed batch), so resuming after it repeats no completed work
+ * beyond what the store skips as already stored.
+ */
+@Log4j2
+@Service
+public class EventConfigImporter {
+
+    private final ImportProperties properties;
+    private final EventConfigStorageStrategy storageStrategy;
+    private final EventConfigInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExecutorService writers;
+    private final Counter importedRows;
+    private final Counter skippedRows;
+    private final Counter failedRows;
+
+    public EventConfigImporter(ImportProperties properties,
+                               EventConfigStorageStrategy storageStrategy,
+                               EventConfigInvalidationBus invalidationBus,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.storageStrategy = storageStrategy;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.writers = Executors.newFixedThreadPool(properties.getMaxInFlightBatches(),
+                Thread.ofPlatform().name("event-config-import-", 0).daemon(true).factory());
+
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.skippedRows = rowCounter(meterRegistry, "skipped");
+        this.failedRows = rowCounter(meterRegistry, "failed");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("event.config.import.rows")
+                .description("Rows processed by bulk imports")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        writers.shutdownNow();
+    }
+
+    public EventConfigImportReportDto importFile(Path file, long resumeAfter) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return importConfigs(in, ImportFormat.fromFileName(file.getFileName().toString()), resumeAfter);
+        }
+    }
+
+    /**
+     * @param resumeAfter lines up to and including this one are skipped, as given by a previous checkpoint
+     */
+    public EventConfigImportReportDto importConfigs(InputStream in, ImportFormat format, long resumeAfter)
+            throws IOException {
+        return importConfigs(in, format, resumeAfter, rowsRead -> {
+        });
+    }
+
+    /**
+     * @param progress receives the number of data rows read after the resume point, once per row
+     */
+    public EventConfigImportReportDto importConfigs(InputStream in, ImportFormat format, long resumeAfter,
+                                                    LongConsumer progress) throws IOException {
+        ImportRun run = new ImportRun();
+        Semaphore permits = new Semaphore(properties.getMaxInFlightBatches());
+        List<EventConfigRequestDto> batch = new ArrayList<>(properties.getBatchSize());
+        long batchFirstLine = 0;
+        long lastLine = resumeAfter;
+        long start = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            ImportRowReader rows = format.open(reader, objectMapper);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                if (row.line() <= resumeAfter) {
+                    continue;
+                }
+                lastLine = row.line();
+                long read = run.rowsRead.incrementAndGet();
+                progress.accept(read);
+                if (read % properties.getProgressInterval() == 0) {
+                    log.info("Import progress: {} rows read, {} imported, {} skipped, {} failed, checkpoint line {}",
+                            read, run.imported.get(), run.skipped.get(), run.failed.get(),
+                            run.checkpoint(batch.isEmpty() ? lastLine : batchFirstLine - 1));
+                }
+
+                String error = row.error() != null ? row.error() : validate(row.config());
+                if (error != null) {
+                    run.fail(row.line(), error, properties.getMaxReportedErrors());
+                    failedRows.increment();
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    batchFirstLine = row.line();
+                }
+                batch.add(EventConfigRequestDto.builder()
+                        .id(UUID.randomUUID().toString())
+                        .eventType(row.config().getEventType())
+                        .source(row.config().getSource())
+                        .enabled(row.config().getEnabled())
+                        .build());
+                if (batch.size() >= properties.getBatchSize()) {
+                    submit(run, permits, batch, batchFirstLine, row.line());
+                    batch = new ArrayList<>(properties.getBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(run, permits, batch, batchFirstLine, lastLine);
+            }
+            // Wait for the outstanding batches
+            permits.acquireUninterruptibly(properties.getMaxInFlightBatches());
+        } finally {
+            if (run.imported.get() > 0) {
+                try {
+                    // Caches cleared by publishAll reload from searches, which must find the imported configs
+                    storageStrategy.awaitSearchable(Instant.now());
+                } catch (RuntimeException e) {
+                    log.warn("Imported configs may not be searchable yet: {}", e.getMessage());
+                }
+                invalidationBus.publishAll();
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import finished in {} ms: {} rows read, {} imported, {} skipped, {} failed",
+                durationMillis, run.rowsRead.get(), run.imported.get(), run.skipped.get(), run.failed.get());
+        return EventConfigImportReportDto.builder()
+                .rowsRead(run.rowsRead.get())
+                .imported(run.imported.get())
+                .skipped(run.skipped.get())
+                .failed(run.failed.get())
+                .checkpoint(run.checkpoint(lastLine))
+                .durationMillis(durationMillis)
+                .errors(run.errors)
+                .build();
+    }
+
+    private String validate(EventConfigRequestDto config) {
+        Set<ConstraintViolation<EventConfigRequestDto>> violations = validator.validate(config);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void submit(ImportRun run, Semaphore permits, List<EventConfigRequestDto> batch,
+                        long firstLine, long lastLine) {
+        permits.acquireUninterruptibly();
+        run.unfinished.add(firstLine);
+        writers.execute(() -> {
+            try {
+                write(run, batch, firstLine, lastLine);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void write(ImportRun run, List<EventConfigRequestDto> batch, long firstLine, long lastLine) {
+        try {
+            int inserted = storageStrategy.insertAll(batch);
+            run.imported.addAndGet(inserted);
+            run.skipped.addAndGet(batch.size() - inserted);
+            importedRows.increment(inserted);
+            skippedRows.increment(batch.size() - inserted);
+            run.unfinished.remove(firstLine);
+        } catch (RuntimeException e) {
+            log.warn("Import batch for lines {}-{} failed: {}", firstLine, lastLine, e.getMessage());
+            run.failed.addAndGet(batch.size());
+            failedRows.increment(batch.size());
+            run.addError(firstLine, "Lines " + firstLine + "-" + lastLine + " not written: " + e.getMessage(),
+                    properties.getMaxReportedErrors());
+        }
+    }
+
+    private static final class ImportRun {
+
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        // First line of every batch that is in flight or failed
+        final ConcurrentSkipListSet<Long> unfinished = new ConcurrentSkipListSet<>();
+        final List<EventConfigImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, String message, int maxReportedErrors) {
+            failed.incrementAndGet();
+            addError(line, message, maxReportedErrors);
+        }
+
+        synchronized void addError(long line, String message, int maxReportedErrors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new EventConfigImportErrorDto(line, message));
+            }
+        }
+
+        long checkpoint(long doneThrough) {
+            Long firstUnfinished = unfinished.isEmpty() ? null : unfinished.first();
+            return firstUnfinished != null ? Math.min(doneThrough, firstUnfinished - 1) : doneThrough;
+        }
+    }
+}
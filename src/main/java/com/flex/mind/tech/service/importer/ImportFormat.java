@@ -0,0 +1,38 @@
+package com.flex.mind.tech.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * File formats accepted by the bulk import.
+ */
+public enum ImportFormat {
+
+    NDJSON,
+    CSV;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (TEXT_CSV.isCompatibleWith(mediaType)) {
+            return CSV;
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Import supports application/x-ndjson and text/csv, not: " + contentType);
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    ImportRowReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvImportRowReader(reader) : new NdjsonImportRowReader(reader, objectMapper);
+    }
+}
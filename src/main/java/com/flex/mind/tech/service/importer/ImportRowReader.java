@@ -0,0 +1,30 @@
+package com.flex.mind.tech.service.importer;
+
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+
+import java.io.IOException;
+
+/**
+ * Reads an import file one data row at a time.
+ */
+interface ImportRowReader {
+
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * A parsed row, or the reason it could not be parsed. {@code line} is the 1-based line in the file.
+     */
+    record ImportRow(long line, EventConfigRequestDto config, String error) {
+
+        static ImportRow parsed(long line, EventConfigRequestDto config) {
+            return new ImportRow(line, config, null);
+        }
+
+        static ImportRow failed(long line, String error) {
+            return new ImportRow(line, null, error);
+        }
+    }
+}
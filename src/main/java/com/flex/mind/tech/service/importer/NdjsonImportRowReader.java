@@ -0,0 +1,41 @@
+package com.flex.mind.tech.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line. Each line is parsed on its own so a malformed line only fails that row.
+ */
+final class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader rowReader;
+    private long line;
+
+    NdjsonImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.rowReader = objectMapper.readerFor(EventConfigRequestDto.class);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return ImportRow.parsed(line, rowReader.readValue(text));
+            } catch (JsonProcessingException e) {
+                return ImportRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.config.InvalidationProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Local listener registry, metrics and the lifecycle of the background receiver thread.
+ * Subclasses only decide how a change reaches the other replicas.
+ */
+@Log4j2
+public abstract class AbstractEventConfigInvalidationBus implements EventConfigInvalidationBus {
+
+    protected final String instanceId = UUID.randomUUID().toString();
+    protected final InvalidationProperties properties;
+
+    private final List<Consumer<EventConfigInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final Timer lagTimer;
+    private final Counter receivedCounter;
+
+    protected volatile boolean running;
+    private Thread receiver;
+
+    protected AbstractEventConfigInvalidationBus(InvalidationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.lagTimer = Timer.builder("event.config.invalidation.lag")
+                .description("Time between a write and its invalidation reaching this replica")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("event.config.invalidation.received")
+                .description("Invalidations received from the shared store")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(EventConfigResponseDto written) {
+        publishInvalidation(EventConfigInvalidation.of(written, instanceId));
+    }
+
+    @Override
+    public void publishAll() {
+        publishInvalidation(EventConfigInvalidation.all(Instant.now(), instanceId));
+    }
+
+    private void publishInvalidation(EventConfigInvalidation invalidation) {
+        dispatch(invalidation);
+        if (running) {
+            try {
+                publishRemote(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Failed to propagate invalidation for {}: {}", invalidation.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EventConfigInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Cross-instance invalidation is disabled");
+            return;
+        }
+        running = true;
+        receiver = Thread.ofPlatform()
+                .name("event-config-invalidation")
+                .daemon(true)
+                .start(this::receiveLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+    }
+
+    /**
+     * Called for changes observed in the shared store. Changes published by this instance were
+     * already dispatched locally and only contribute to the lag metric. Changes without an origin,
+     * such as change-stream events, are always dispatched, so a replica may see its own write twice;
+     * listeners only evict, which makes the repeat harmless.
+     */
+    protected void onRemote(EventConfigInvalidation invalidation) {
+        receivedCounter.increment();
+        if (invalidation.getOccurredAt() != null) {
+            lagTimer.record(Duration.between(invalidation.getOccurredAt(), Instant.now()));
+        }
+        if (!instanceId.equals(invalidation.getOrigin())) {
+            dispatch(invalidation);
+        }
+    }
+
+    protected void pauseBeforeRetry() {
+        try {
+            Thread.sleep(properties.getRetryDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void dispatch(EventConfigInvalidation invalidation) {
+        for (Consumer<EventConfigInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Invalidation listener failed for {}", invalidation, e);
+            }
+        }
+    }
+
+    /**
+     * Makes the change visible to other replicas.
+     */
+    protected abstract void publishRemote(EventConfigInvalidation invalidation);
+
+    /**
+     * Blocks on the shared store and feeds observed changes to {@link #onRemote} while {@link #running}.
+     */
+    protected abstract void receiveLoop();
+}
@@ -0,0 +1,276 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.flex.mind.tech.config.InvalidationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Elasticsearch invalidation bus.
+ * <p>
+ * Every write takes the next sequence number, the {@code _version} a bodiless index of the counter
+ * document returns, and stores its change as its own document under that number. Replicas poll the
+ * counter with a realtime GET and read every number past the last one they saw with a realtime
+ * {@code _mget}, so each change is dispatched individually and in order. A number whose document is
+ * still missing after {@code app.invalidation.gap-timeout}, because its writer failed in between,
+ * is dispatched as "invalidate all".
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "elasticsearch")
+public class ElasticsearchEventConfigInvalidationBus extends AbstractEventConfigInvalidationBus {
+
+    static final String INDEX = "event_config_invalidation";
+    static final String SEQUENCE_ID = "event_configs";
+    // Change documents kept behind the newest one; a replica further behind invalidates everything
+    static final long RETAINED = 10_000;
+    // Every this many writes, the writer deletes the change documents that fell out of retention
+    private static final long PRUNE_EVERY = 1_000;
+    private static final int MGET_SIZE = 500;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final RestClient restClient;
+
+    // Receiver thread only
+    private long lastSeq = -1;
+    private long gapSeq = -1;
+    private long gapSince;
+
+    public ElasticsearchEventConfigInvalidationBus(InvalidationProperties properties,
+                                                   MeterRegistry meterRegistry,
+                                                   RestClient restClient) {
+        super(properties, meterRegistry);
+        this.restClient = restClient;
+    }
+
+    @Override
+    protected void publishRemote(EventConfigInvalidation invalidation) {
+        try {
+            long seq = nextSeq();
+            Request request = new Request("PUT", "/" + INDEX + "/_create/" + seq);
+            request.setJsonEntity(json(generator -> {
+                generator.writeNumberField("seq", seq);
+                generator.writeStringField("configId", invalidation.getId());
+                generator.writeStringField("eventType", invalidation.getEventType());
+                generator.writeStringField("source", invalidation.getSource());
+                generator.writeStringField("origin", invalidation.getOrigin());
+                generator.writeNumberField("at", invalidation.getOccurredAt().toEpochMilli());
+            }));
+            restClient.performRequest(request);
+            if (seq % PRUNE_EVERY == 0 && seq > RETAINED) {
+                prune(seq - RETAINED);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void receiveLoop() {
+        while (running) {
+            try {
+                long head = headSeq();
+                if (lastSeq < 0) {
+                    lastSeq = head;
+                } else {
+                    readUpTo(head);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Failed to poll invalidations: {}", e.getMessage());
+                }
+            }
+
+            try {
+                Thread.sleep(properties.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Dispatches the changes after {@link #lastSeq} up to {@code head}, stopping at a number whose
+     * document is not written yet.
+     */
+    private void readUpTo(long head) throws IOException {
+        while (lastSeq < head) {
+            if (head - lastSeq > RETAINED) {
+                log.warn("{} invalidations behind, past retention; invalidating everything", head - lastSeq);
+                onRemote(EventConfigInvalidation.all(Instant.now(), null));
+                lastSeq = head;
+                return;
+            }
+            List<EventConfigInvalidation> changes = read(lastSeq + 1, Math.min(head, lastSeq + MGET_SIZE));
+            for (EventConfigInvalidation change : changes) {
+                if (change == null && !gapExpired(lastSeq + 1)) {
+                    return;
+                }
+                onRemote(change != null ? change : EventConfigInvalidation.all(Instant.now(), null));
+                lastSeq++;
+            }
+        }
+    }
+
+    private boolean gapExpired(long seq) {
+        long now = System.nanoTime();
+        if (gapSeq != seq) {
+            gapSeq = seq;
+            gapSince = now;
+        }
+        if (now - gapSince < properties.getGapTimeout().toNanos()) {
+            return false;
+        }
+        log.warn("Invalidation {} was never written; invalidating everything", seq);
+        return true;
+    }
+
+    private long nextSeq() throws IOException {
+        Request request = new Request("PUT", "/" + INDEX + "/_doc/" + SEQUENCE_ID);
+        request.addParameter("filter_path", "_version");
+        request.setJsonEntity("{}");
+        return readVersion(restClient.performRequest(request));
+    }
+
+    private long headSeq() throws IOException {
+        Request request = new Request("GET", "/" + INDEX + "/_doc/" + SEQUENCE_ID);
+        request.addParameter("_source", "false");
+        request.addParameter("filter_path", "_version");
+        try {
+            return readVersion(restClient.performRequest(request));
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() == 404) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    private static long readVersion(Response response) throws IOException {
+        try (InputStream content = response.getEntity().getContent();
+             JsonParser parser = JSON_FACTORY.createParser(content)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("_version".equals(name)) {
+                    return parser.getLongValue();
+                }
+                parser.skipChildren();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The changes numbered {@code from} to {@code to}, in order, with {@code null} for numbers without a document.
+     */
+    private List<EventConfigInvalidation> read(long from, long to) throws IOException {
+        Request request = new Request("POST", "/" + INDEX + "/_mget");
+        request.addParameter("filter_path", "docs.found,docs._source");
+        request.setJsonEntity(json(generator -> {
+            generator.writeArrayFieldStart("ids");
+            for (long seq = from; seq <= to; seq++) {
+                generator.writeString(String.valueOf(seq));
+            }
+            generator.writeEndArray();
+        }));
+        Response response = restClient.performRequest(request);
+
+        // { "docs": [ { "found": true, "_source": {...} }, { "found": false }, ... ] }, in request order
+        List<EventConfigInvalidation> changes = new ArrayList<>((int) (to - from + 1));
+        try (InputStream content = response.getEntity().getContent();
+             JsonParser parser = JSON_FACTORY.createParser(content)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                if (!"docs".equals(parser.currentName())) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    EventConfigInvalidation change = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        if ("_source".equals(name)) {
+                            change = readChange(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    changes.add(change);
+                }
+            }
+        }
+        return changes;
+    }
+
+    // Positioned on the _source START_OBJECT, left on its END_OBJECT
+    private static EventConfigInvalidation readChange(JsonParser parser) throws IOException {
+        EventConfigInvalidation.EventConfigInvalidationBuilder change = EventConfigInvalidation.builder();
+        Instant occurredAt = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "configId" -> change.id(parser.getValueAsString());
+                case "eventType" -> change.eventType(parser.getValueAsString());
+                case "source" -> change.source(parser.getValueAsString());
+                case "origin" -> change.origin(parser.getValueAsString());
+                case "at" -> occurredAt = Instant.ofEpochMilli(parser.getLongValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return change.occurredAt(occurredAt != null ? occurredAt : Instant.now()).build();
+    }
+
+    private void prune(long upTo) throws IOException {
+        Request request = new Request("POST", "/" + INDEX + "/_delete_by_query");
+        request.addParameter("conflicts", "proceed");
+        request.addParameter("wait_for_completion", "false");
+        request.setJsonEntity(json(generator -> {
+            generator.writeObjectFieldStart("query");
+            generator.writeObjectFieldStart("range");
+            generator.writeObjectFieldStart("seq");
+            generator.writeNumberField("lte", upTo);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }));
+        restClient.performRequest(request);
+    }
+
+    private static String json(JsonBody body) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            body.write(generator);
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Notification that an event configuration was written.
+ * <p>
+ * {@code id}, {@code eventType} and {@code source} describe the written document and are all
+ * {@code null} when the change could not be identified, in which case listeners must drop
+ * everything they cache.
+ */
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+public class EventConfigInvalidation {
+
+    private final String id;
+    private final String eventType;
+    private final String source;
+    private final Instant occurredAt;
+    private final String origin;
+
+    public static EventConfigInvalidation of(EventConfigResponseDto config, String origin) {
+        return EventConfigInvalidation.builder()
+                .id(config.getId())
+                .eventType(config.getEventType())
+                .source(config.getSource())
+                .occurredAt(Instant.now())
+                .origin(origin)
+                .build();
+    }
+
+    public static EventConfigInvalidation all(Instant occurredAt, String origin) {
+        return new EventConfigInvalidation(null, null, null, occurredAt, origin);
+    }
+
+    public boolean isAll() {
+        return id == null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates event configuration writes to every replica so in-process caches can be evicted.
+ */
+public interface EventConfigInvalidationBus {
+
+    /**
+     * Notifies local listeners immediately and forwards the change to the other replicas.
+     */
+    void publish(EventConfigResponseDto written);
+
+    /**
+     * Like {@link #publish} for bulk writes too large to announce config by config: listeners drop
+     * everything they derived from the store.
+     */
+    void publishAll();
+
+    void subscribe(Consumer<EventConfigInvalidation> listener);
+
+    /**
+     * @return whether writes made by other replicas currently reach this one's listeners
+     */
+    boolean isRunning();
+}
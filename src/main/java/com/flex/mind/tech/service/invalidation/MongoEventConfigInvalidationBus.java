@@ -0,0 +1,196 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.config.InvalidationProperties;
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import com.mongodb.CursorType;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo invalidation bus.
+ * <p>
+ * Tails a change stream on {@code event_configs}, so every write is observed without an extra
+ * publish step. Change streams require a replica set; on a standalone server the bus falls back to
+ * a capped collection that writers append to and every replica tails.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "mongodb", matchIfMissing = true)
+public class MongoEventConfigInvalidationBus extends AbstractEventConfigInvalidationBus {
+
+    /**
+     * "The $changeStream stage is only supported on replica sets".
+     */
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile boolean cappedMode;
+
+    /**
+     * Token of the last change dispatched from the change stream; only touched by the receiver thread.
+     * Kept across cursor failures so a reopened stream continues where the failed one stopped.
+     */
+    private BsonDocument resumeToken;
+
+    public MongoEventConfigInvalidationBus(InvalidationProperties properties,
+                                           MeterRegistry meterRegistry,
+                                           MongoTemplate mongoTemplate) {
+        super(properties, meterRegistry);
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    protected void publishRemote(EventConfigInvalidation invalidation) {
+        if (!cappedMode) {
+            return;
+        }
+        mongoTemplate.getCollection(properties.getCappedCollection()).insertOne(new Document()
+                .append("config_id", invalidation.getId())
+                .append("event_type", invalidation.getEventType())
+                .append("source", invalidation.getSource())
+                .append("origin", invalidation.getOrigin())
+                .append("at", Date.from(invalidation.getOccurredAt())));
+    }
+
+    @Override
+    protected void receiveLoop() {
+        while (running && !cappedMode) {
+            try {
+                tailChangeStream();
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.info("Change streams unavailable, falling back to capped collection {}",
+                            properties.getCappedCollection());
+                    cappedMode = true;
+                } else {
+                    log.warn("Change stream failed, retrying: {}", e.getMessage());
+                    pauseBeforeRetry();
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Change stream failed, retrying: {}", e.getMessage());
+                    pauseBeforeRetry();
+                }
+            }
+        }
+
+        ObjectId lastSeen = null;
+        while (running) {
+            try {
+                lastSeen = tailCappedCollection(lastSeen);
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Tailable cursor on {} failed, retrying: {}", properties.getCappedCollection(), e.getMessage());
+                }
+            }
+            pauseBeforeRetry();
+        }
+    }
+
+    private void tailChangeStream() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(EventConfigMongo.class));
+
+        var stream = collection.watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    continue;
+                }
+                onRemote(toInvalidation(change));
+                resumeToken = change.getResumeToken();
+            }
+        }
+    }
+
+    private EventConfigInvalidation toInvalidation(ChangeStreamDocument<Document> change) {
+        Instant occurredAt = change.getWallTime() != null
+                ? Instant.ofEpochMilli(change.getWallTime().getValue())
+                : Instant.now();
+
+        BsonValue key = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (key == null || !key.isString()) {
+            return EventConfigInvalidation.all(occurredAt, null);
+        }
+
+        Document document = change.getFullDocument();
+        return EventConfigInvalidation.builder()
+                .id(key.asString().getValue())
+                .eventType(document != null ? document.getString("event_type") : null)
+                .source(document != null ? document.getString("source") : null)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private ObjectId tailCappedCollection(ObjectId lastSeen) {
+        MongoCollection<Document> collection = ensureCappedCollection();
+
+        if (lastSeen == null) {
+            Document newest = collection.find().sort(Sorts.descending("$natural")).first();
+            lastSeen = newest != null ? newest.getObjectId("_id") : new ObjectId();
+        }
+
+        try (MongoCursor<Document> cursor = collection.find(Filters.gt("_id", lastSeen))
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(1, TimeUnit.SECONDS)
+                .noCursorTimeout(true)
+                .iterator()) {
+            while (running) {
+                Document entry = cursor.tryNext();
+                if (entry == null) {
+                    continue;
+                }
+                lastSeen = entry.getObjectId("_id");
+                Date at = entry.getDate("at");
+                onRemote(EventConfigInvalidation.builder()
+                        .id(entry.getString("config_id"))
+                        .eventType(entry.getString("event_type"))
+                        .source(entry.getString("source"))
+                        .origin(entry.getString("origin"))
+                        .occurredAt(at != null ? at.toInstant() : Instant.now())
+                        .build());
+            }
+        }
+        return lastSeen;
+    }
+
+    private MongoCollection<Document> ensureCappedCollection() {
+        String name = properties.getCappedCollection();
+        if (!mongoTemplate.collectionExists(name)) {
+            MongoCollection<Document> created = mongoTemplate.createCollection(name,
+                    CollectionOptions.empty().capped().size(properties.getCappedCollectionSizeBytes()));
+            // Tailable cursors on an empty capped collection are closed immediately by the server
+            created.insertOne(new Document("at", new Date()));
+            return created;
+        }
+        return mongoTemplate.getCollection(name);
+    }
+}
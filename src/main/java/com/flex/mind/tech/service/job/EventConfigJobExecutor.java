@@ -0,0 +1,189 @@
+package com.flex.mind.tech.service.job;
+
+import com.flex.mind.tech.config.JobProperties;
+import com.flex.mind.tech.exception.JobQueueFullException;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs mutations accepted with {@code Prefer: respond-async} on a fixed worker pool fed by a bounded queue.
+ * <p>
+ * Admission is decided by queue depth: when every worker is busy and {@code app.jobs.queue-capacity} jobs
+ * are waiting, {@link #submit} fails at once with {@link JobQueueFullException} instead of letting the
+ * request time out. Jobs stay queryable for {@code app.jobs.retention} after they finish.
+ */
+@Log4j2
+@Component
+public class EventConfigJobExecutor {
+
+    private final JobProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService sweeper;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public EventConfigJobExecutor(JobProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.workers = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("event-config-job-", 0).daemon(true).factory());
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-job-sweeper").daemon(true).factory());
+
+        Gauge.builder("event.config.jobs.queued", workers, pool -> pool.getQueue().size())
+                .description("Jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("event.config.jobs.running", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs being executed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1000, properties.getRetention().toMillis() / 10);
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        sweeper.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Stopping with {} jobs still queued or running", workers.getQueue().size() + workers.getActiveCount());
+        }
+    }
+
+    /**
+     * A job body. {@code processed} is reported as the job's progress while it runs.
+     */
+    @FunctionalInterface
+    public interface Task {
+        Object run(AtomicLong processed) throws Exception;
+    }
+
+    /**
+     * Whether a job submitted now would be admitted; lets callers skip expensive preparation when it would not.
+     */
+    public boolean hasCapacity() {
+        return workers.getQueue().remainingCapacity() > 0 || workers.getActiveCount() < workers.getMaximumPoolSize();
+    }
+
+    /**
+     * Queues {@code task} and returns its job in state {@link EventConfigJobDto.Status#QUEUED}.
+     *
+     * @throws JobQueueFullException if the queue is full
+     */
+    public EventConfigJobDto submit(EventConfigJobDto.Type type, Task task) {
+        Job job = new Job(UUID.randomUUID().toString(), type);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            meterRegistry.counter("event.config.jobs.submitted", "type", type.name(), "result", "rejected").increment();
+            throw queueFull();
+        }
+        meterRegistry.counter("event.config.jobs.submitted", "type", type.name(), "result", "accepted").increment();
+        if (jobs.size() > properties.getMaxRetained()) {
+            sweeper.execute(this::sweep);
+        }
+        return job.toDto();
+    }
+
+    public JobQueueFullException queueFull() {
+        return new JobQueueFullException("Job queue is full, retry later", properties.getRetryAfter().toSeconds());
+    }
+
+    public Optional<EventConfigJobDto> get(String id) {
+        Job job = jobs.get(id);
+        return job != null ? Optional.of(job.toDto()) : Optional.empty();
+    }
+
+    private void run(Job job, Task task) {
+        job.startedAt = LocalDateTime.now();
+        job.status = EventConfigJobDto.Status.RUNNING;
+        long start = System.nanoTime();
+        EventConfigJobDto.Status outcome;
+        try {
+            job.result = task.run(job.processed);
+            outcome = EventConfigJobDto.Status.SUCCEEDED;
+        } catch (Exception e) {
+            log.warn("{} job {} failed: {}", job.type, job.id, e.getMessage());
+            job.error = e.getMessage();
+            outcome = EventConfigJobDto.Status.FAILED;
+        }
+        job.finishedAt = LocalDateTime.now();
+        // Written last so a reader that sees the outcome also sees the result and finish time
+        job.status = outcome;
+        meterRegistry.timer("event.config.jobs.duration", "type", job.type.name(), "status", outcome.name())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    void sweep() {
+        LocalDateTime expired = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expired));
+        int excess = jobs.size() - properties.getMaxRetained();
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(job -> job.finishedAt != null)
+                    .sorted(Comparator.comparing((Job job) -> job.finishedAt))
+                    .limit(excess)
+                    .toList()
+                    .forEach(job -> jobs.remove(job.id));
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final EventConfigJobDto.Type type;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private volatile EventConfigJobDto.Status status = EventConfigJobDto.Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private Job(String id, EventConfigJobDto.Type type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        private EventConfigJobDto toDto() {
+            // Status first: see run()
+            EventConfigJobDto.Status current = status;
+            return EventConfigJobDto.builder()
+                    .id(id)
+                    .type(type)
+                    .status(current)
+                    .processed(processed.get())
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.flex.mind.tech.service.keyfilter;
+
+import com.flex.mind.tech.config.KeyFilterProperties;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of existing (eventType, source) keys in front of
+ * {@link EventConfigStorageStrategy#existsByEventTypeAndSource}.
+ * <p>
+ * Built from a projection-only key scan at startup and then every {@code app.key-filter.rebuild-interval},
+ * which also drops keys that were renamed away. Writes on any replica are added through the invalidation
+ * bus. While no filter is available (first build running, or a coalesced invalidation made it unreliable)
+ * every probe is answered "maybe", so callers fall back to the store. The same holds while the bus is
+ * not running: writes of other replicas would then only show up at the next rebuild, and a negative
+ * answer could let a duplicate through.
+ */
+@Log4j2
+@Component
+public class EventConfigKeyFilter {
+
+    private final KeyFilterProperties properties;
+    private final EventConfigStorageStrategy storageStrategy;
+    private final EventConfigInvalidationBus invalidationBus;
+    private final ScheduledExecutorService rebuilder;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private final Timer rebuildTimer;
+    private final AtomicLong resets = new AtomicLong();
+
+    private volatile ScalableBloomFilter filter;
+    // Receives concurrent additions while a rebuild scans the store
+    private volatile ScalableBloomFilter building;
+
+    public EventConfigKeyFilter(KeyFilterProperties properties,
+                                EventConfigStorageStrategy storageStrategy,
+                                EventConfigInvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.storageStrategy = storageStrategy;
+        this.invalidationBus = invalidationBus;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-key-filter").daemon(true).factory());
+
+        this.negatives = Counter.builder("event.config.key.filter.checks")
+                .description("Duplicate probes answered by the key filter")
+                .tag("result", "negative")
+                .register(meterRegistry);
+        this.positives = Counter.builder("event.config.key.filter.checks")
+                .description("Duplicate probes answered by the key filter")
+                .tag("result", "positive")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("event.config.key.filter.false.positives")
+                .description("Positive answers the store then reported as absent")
+                .register(meterRegistry);
+        Gauge.builder("event.config.key.filter.false.positive.rate", this, EventConfigKeyFilter::observedFalsePositiveRate)
+                .description("Share of positive answers that were false")
+                .register(meterRegistry);
+        Gauge.builder("event.config.key.filter.expected.false.positive.rate", this,
+                        keyFilter -> keyFilter.filter != null ? keyFilter.filter.expectedFalsePositiveRate() : Double.NaN)
+                .description("False-positive probability implied by the current fill")
+                .register(meterRegistry);
+        Gauge.builder("event.config.key.filter.keys", this,
+                        keyFilter -> keyFilter.filter != null ? keyFilter.filter.size() : Double.NaN)
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("event.config.key.filter.rebuild")
+                .description("Time to rebuild the key filter from the store")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!invalidationBus.isRunning()) {
+            log.info("Key filter is off: without the invalidation bus it cannot see writes of other replicas");
+            return;
+        }
+        long intervalMillis = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * @return {@code false} only if the key is definitely not stored
+     */
+    public boolean mightContain(String eventType, String source) {
+        ScalableBloomFilter current = filter;
+        if (current == null || !invalidationBus.isRunning()) {
+            return true;
+        }
+        if (current.mightContain(hash(eventType, source))) {
+            positives.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * Reports that the store did not have a key {@link #mightContain} answered positively for.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void add(String eventType, String source) {
+        long hash = hash(eventType, source);
+        // Read building first: a rebuild publishes the new filter before clearing building
+        ScalableBloomFilter next = building;
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            current.put(hash);
+        }
+        if (next != null && next != current) {
+            next.put(hash);
+        }
+    }
+
+    void rebuild() {
+        ScalableBloomFilter current = filter;
+        int capacity = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(properties.getInitialCapacity(), current != null ? current.size() : 0));
+        ScalableBloomFilter next = new ScalableBloomFilter(capacity, properties.getFalsePositiveRate());
+        long epoch = resets.get();
+        building = next;
+        long start = System.nanoTime();
+        try {
+            storageStrategy.forEachEventConfigKey((eventType, source) -> next.put(hash(eventType, source)));
+            // A reset during the scan queued another rebuild; this one may have missed its keys
+            if (resets.get() != epoch) {
+                return;
+            }
+            filter = next;
+            log.debug("Key filter rebuilt with {} keys in {} stage(s)", next.size(), next.stageCount());
+        } catch (Exception e) {
+            log.warn("Key filter rebuild failed, keeping the previous filter: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onInvalidation(EventConfigInvalidation invalidation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            // Unknown keys may have been written elsewhere: stop answering until rebuilt
+            resets.incrementAndGet();
+            filter = null;
+            rebuilder.execute(this::rebuild);
+            return;
+        }
+        add(invalidation.getEventType(), invalidation.getSource());
+    }
+
+    private double observedFalsePositiveRate() {
+        double positive = positives.count();
+        return positive == 0 ? 0 : falsePositives.count() / positive;
+    }
+
+    // FNV-1a over both strings with a separator, finished with the murmur3 64-bit mix
+    public static long hash(String eventType, String source) {
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, eventType);
+        hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+        hash = fnv(hash, source);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long fnv(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xFFFE) * 0x100000001b3L;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,141 @@
+package com.flex.mind.tech.service.keyfilter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe scalable Bloom filter (Almeida et al.) over pre-computed 64-bit hashes.
+ * <p>
+ * Starts with one stage sized for {@code initialCapacity} keys. Once a stage is full a new one with
+ * twice the capacity and half the false-positive probability is appended, so the compound
+ * probability stays below the configured rate no matter how many keys are added.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        stages.add(new Stage(Math.max(initialCapacity, 64), falsePositiveRate * (1 - TIGHTENING)));
+    }
+
+    public boolean mightContain(long hash) {
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code false} if the key was (probably) present already and nothing was added
+     */
+    public boolean put(long hash) {
+        if (mightContain(hash)) {
+            return false;
+        }
+        while (true) {
+            Stage last = stages.get(stages.size() - 1);
+            if (last.tryReserve()) {
+                last.put(hash);
+                return true;
+            }
+            grow(last);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.size();
+        }
+        return size;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Compound false-positive probability implied by the current fill of every stage.
+     */
+    public double expectedFalsePositiveRate() {
+        double allMiss = 1;
+        for (Stage stage : stages) {
+            allMiss *= 1 - stage.expectedFalsePositiveRate();
+        }
+        return 1 - allMiss;
+    }
+
+    private synchronized void grow(Stage full) {
+        if (stages.get(stages.size() - 1) == full) {
+            stages.add(new Stage(full.capacity * GROWTH, full.falsePositiveRate * TIGHTENING));
+        }
+    }
+
+    private static final class Stage {
+
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicInteger reserved = new AtomicInteger();
+
+        private Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((optimalBits + 63) >>> 6));
+            this.bitCount = (long) bits.length() << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        boolean tryReserve() {
+            if (reserved.get() >= capacity) {
+                return false;
+            }
+            return reserved.incrementAndGet() <= capacity;
+        }
+
+        int size() {
+            return Math.min(reserved.get(), capacity);
+        }
+
+        // Kirsch-Mitzenmacher: k indexes derived from the two halves of one 64-bit hash
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * size() / bitCount), hashCount);
+        }
+    }
+}
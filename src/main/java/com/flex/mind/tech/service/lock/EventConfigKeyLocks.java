@@ -0,0 +1,130 @@
+package com.flex.mind.tech.service.lock;
+
+import com.flex.mind.tech.config.KeyLockProperties;
+import com.flex.mind.tech.service.keyfilter.EventConfigKeyFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed table of {@link ReentrantLock}s striped by the hash of an (eventType, source) key.
+ * <p>
+ * Mutations of the same key on this instance run one at a time, mutations of different keys only wait
+ * for each other when they share a stripe. The locks park virtual threads instead of pinning their
+ * carrier, unlike {@code synchronized}. They do nothing across replicas: the store's unique index and
+ * versioned saves still decide there.
+ */
+@Component
+public class EventConfigKeyLocks {
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    private final Counter uncontended;
+    private final Counter contended;
+    private final Timer waitTimer;
+
+    public EventConfigKeyLocks(KeyLockProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        int size = properties.getStripes() <= 1 ? 1 : Integer.highestOneBit(properties.getStripes() - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+
+        this.uncontended = Counter.builder("event.config.key.lock.acquisitions")
+                .description("Key lock acquisitions")
+                .tag("result", "uncontended")
+                .register(meterRegistry);
+        this.contended = Counter.builder("event.config.key.lock.acquisitions")
+                .description("Key lock acquisitions")
+                .tag("result", "contended")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("event.config.key.lock.wait")
+                .description("Time contended acquisitions waited for their stripe")
+                .register(meterRegistry);
+        Gauge.builder("event.config.key.lock.queued", this, EventConfigKeyLocks::queuedThreads)
+                .description("Threads currently waiting for a key lock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} holding the stripe of the (eventType, source) key.
+     */
+    public <T> T withLock(String eventType, String source, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        ReentrantLock lock = stripes[stripe(eventType, source)];
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} holding the stripes of both keys, taken in stripe order so that two callers locking
+     * the same pair of stripes cannot deadlock, or the one stripe they share.
+     */
+    public <T> T withLocks(String eventType, String source, String otherEventType, String otherSource,
+                           Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        int stripe = stripe(eventType, source);
+        int otherStripe = stripe(otherEventType, otherSource);
+        if (stripe == otherStripe) {
+            return withLock(eventType, source, action);
+        }
+        ReentrantLock first = stripes[Math.min(stripe, otherStripe)];
+        ReentrantLock second = stripes[Math.max(stripe, otherStripe)];
+        acquire(first);
+        try {
+            acquire(second);
+            try {
+                return action.get();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    int stripe(String eventType, String source) {
+        return (int) EventConfigKeyFilter.hash(eventType, source) & mask;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            uncontended.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        contended.increment();
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private double queuedThreads() {
+        int queued = 0;
+        for (ReentrantLock stripe : stripes) {
+            queued += stripe.getQueueLength();
+        }
+        return queued;
+    }
+}
@@ -0,0 +1,154 @@
+package com.flex.mind.tech.service.matching;
+
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+
+import java.util.Collection;
+
+/**
+ * Immutable open-addressing hash table from (eventType, source) to the config that decides the key.
+ * <p>
+ * Keys live in parallel arrays next to their full 32-bit hash, so a lookup computes the two
+ * (cached) {@link String#hashCode()}s, probes linearly at a load factor of at most 0.5 and only
+ * calls {@code equals} on a hash hit. Nothing is allocated per lookup.
+ * <p>
+ * Configs whose eventType or source is a {@link GlobPattern} are only consulted when no literal
+ * config exists for the key. They are resolved by eventType first and then by source, each in
+ * {@link GlobIndex} precedence (exact, longest prefix, longest suffix, {@code *}), so
+ * {@code USER_LOGIN/payments-*} beats {@code USER_*}/{@code payments-api}.
+ * <p>
+ * Disabled configs are compiled too and take part in that precedence: a disabled
+ * {@code USER_LOGIN/payments-legacy} opts its key out of an enabled {@code USER_LOGIN/payments-*}.
+ */
+public final class CompiledEventConfigIndex {
+
+    private static final GlobIndex.Resolver<EventConfigResponseDto, Object, EventConfigResponseDto> CONFIG =
+            (config, unused) -> config;
+    private static final GlobIndex.Resolver<GlobIndex<EventConfigResponseDto>, String, EventConfigResponseDto> BY_SOURCE =
+            (bySource, source) -> bySource.resolve(source, null, CONFIG);
+
+    private final int mask;
+    private final int[] hashes;
+    private final String[] eventTypes;
+    private final String[] sources;
+    private final EventConfigResponseDto[] configs;
+    // Only written by compile, before the index is published
+    private GlobIndex<GlobIndex<EventConfigResponseDto>> patterns;
+    // Enabled configs among the winners of their key
+    private int size;
+
+    private CompiledEventConfigIndex(int capacity) {
+        this.mask = capacity - 1;
+        this.hashes = new int[capacity];
+        this.eventTypes = new String[capacity];
+        this.sources = new String[capacity];
+        this.configs = new EventConfigResponseDto[capacity];
+    }
+
+    /**
+     * Compiles the configs; when a key occurs twice the most recently updated config wins.
+     */
+    public static CompiledEventConfigIndex compile(Collection<EventConfigResponseDto> configs) {
+        int capacity = Integer.highestOneBit(Math.max(2, configs.size()) * 2 - 1) << 1;
+        CompiledEventConfigIndex index = new CompiledEventConfigIndex(capacity);
+        for (EventConfigResponseDto config : configs) {
+            if (config.getEventType() == null || config.getSource() == null) {
+                continue;
+            }
+            EventConfigResponseDto replaced = GlobPattern.isPattern(config.getEventType())
+                    || GlobPattern.isPattern(config.getSource())
+                    ? index.insertPattern(config)
+                    : index.insert(config);
+            if (replaced != config) {
+                index.size += (isEnabled(config) ? 1 : 0) - (isEnabled(replaced) ? 1 : 0);
+            }
+        }
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the config deciding the key if it is enabled, or {@code null}
+     */
+    public EventConfigResponseDto match(String eventType, String source) {
+        if (eventType == null || source == null) {
+            return null;
+        }
+        int hash = hash(eventType, source);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            EventConfigResponseDto config = configs[slot];
+            if (config == null) {
+                return patterns != null ? enabledOrNull(patterns.resolve(eventType, source, BY_SOURCE)) : null;
+            }
+            if (hashes[slot] == hash && eventTypes[slot].equals(eventType) && sources[slot].equals(source)) {
+                return enabledOrNull(config);
+            }
+        }
+    }
+
+    /**
+     * @return the config that no longer counts for the key: {@code null} if the key is new, the previous
+     * config if {@code config} replaced it, else {@code config} itself
+     */
+    private EventConfigResponseDto insertPattern(EventConfigResponseDto config) {
+        if (patterns == null) {
+            patterns = new GlobIndex<>();
+        }
+        GlobIndex<EventConfigResponseDto> bySource =
+                patterns.computeIfAbsent(GlobPattern.of(config.getEventType()), GlobIndex::new);
+        GlobPattern sourcePattern = GlobPattern.of(config.getSource());
+        EventConfigResponseDto existing = bySource.get(sourcePattern);
+        if (existing == null || isNewer(config, existing)) {
+            bySource.put(sourcePattern, config);
+            return existing;
+        }
+        return config;
+    }
+
+    /**
+     * @see #insertPattern
+     */
+    private EventConfigResponseDto insert(EventConfigResponseDto config) {
+        String eventType = config.getEventType();
+        String source = config.getSource();
+        int hash = hash(eventType, source);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            EventConfigResponseDto existing = configs[slot];
+            if (existing == null) {
+                hashes[slot] = hash;
+                eventTypes[slot] = eventType;
+                sources[slot] = source;
+                configs[slot] = config;
+                return null;
+            }
+            if (hashes[slot] == hash && eventTypes[slot].equals(eventType) && sources[slot].equals(source)) {
+                if (isNewer(config, existing)) {
+                    configs[slot] = config;
+                    return existing;
+                }
+                return config;
+            }
+        }
+    }
+
+    private static boolean isEnabled(EventConfigResponseDto config) {
+        return config != null && Boolean.TRUE.equals(config.getEnabled());
+    }
+
+    private static EventConfigResponseDto enabledOrNull(EventConfigResponseDto config) {
+        return isEnabled(config) ? config : null;
+    }
+
+    private static boolean isNewer(EventConfigResponseDto candidate, EventConfigResponseDto existing) {
+        return candidate.getUpdatedAt() != null
+                && (existing.getUpdatedAt() == null || candidate.getUpdatedAt().isAfter(existing.getUpdatedAt()));
+    }
+
+    static int hash(String eventType, String source) {
+        int hash = eventType.hashCode() * 0x9E3779B9 + source.hashCode();
+        // Spread the high bits into the slot index
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,124 @@
+package com.flex.mind.tech.service.matching;
+
+import com.flex.mind.tech.config.MatchingProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the {@link CompiledEventConfigIndex} of all configs that event matching runs against.
+ * <p>
+ * The first match compiles the index synchronously if the startup build has not finished. Afterwards
+ * writes on any replica schedule one debounced rebuild per {@code app.matching.rebuild-delay}, during
+ * which matches keep using the previous snapshot. Toggles still waiting in the write-behind buffer are
+ * compiled in with their buffered state and schedule a rebuild the same way.
+ */
+@Log4j2
+@Component
+public class EventConfigMatchingEngine {
+
+    private final MatchingProperties properties;
+    private final EventConfigStorageStrategy storageStrategy;
+    private final EventConfigWriteBehindBuffer writeBehind;
+    private final ScheduledExecutorService rebuilder;
+    private final Timer rebuildTimer;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile CompiledEventConfigIndex index;
+
+    public EventConfigMatchingEngine(MatchingProperties properties,
+                                     EventConfigStorageStrategy storageStrategy,
+                                     EventConfigInvalidationBus invalidationBus,
+                                     EventConfigWriteBehindBuffer writeBehind,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.storageStrategy = storageStrategy;
+        this.writeBehind = writeBehind;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-matching").daemon(true).factory());
+        this.rebuildTimer = Timer.builder("event.config.matching.rebuild")
+                .description("Time to load and compile the matching index")
+                .register(meterRegistry);
+        Gauge.builder("event.config.matching.configs", this,
+                        engine -> engine.index != null ? engine.index.size() : Double.NaN)
+                .description("Enabled configs in the compiled matching index")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * The current snapshot, compiled on the calling thread if none exists yet.
+     */
+    public CompiledEventConfigIndex index() {
+        CompiledEventConfigIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                rebuild();
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Schedules a debounced rebuild, as a write does, for changes that reach no invalidation yet.
+     */
+    public void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuildQuietly, properties.getRebuildDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void rebuild() {
+        rebuildScheduled.set(false);
+        long start = System.nanoTime();
+        try {
+            // Disabled configs are loaded too: they opt their keys out of enabled patterns
+            List<EventConfigResponseDto> configs = storageStrategy.getEventConfigs(null, null, null);
+            index = CompiledEventConfigIndex.compile(writeBehind.overlay(configs, null));
+        } finally {
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Matching index rebuild failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void onInvalidation(EventConfigInvalidation invalidation) {
+        scheduleRebuild();
+    }
+}
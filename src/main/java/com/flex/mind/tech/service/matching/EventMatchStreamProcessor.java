@@ -0,0 +1,216 @@
+package com.flex.mind.tech.service.matching;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flex.mind.tech.config.MatchingProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches an NDJSON event stream against one snapshot of the compiled index.
+ * <p>
+ * The calling thread parses events incrementally into chunks and hands each chunk to a shared pool
+ * that matches it and encodes its NDJSON decisions. Encoded chunks are written back in input order;
+ * once {@code app.matching.stream-max-in-flight-chunks} are pending the reader first writes the oldest,
+ * so memory stays bounded and a slow client slows down parsing. Throughput is logged per stream.
+ */
+@Log4j2
+@Component
+public class EventMatchStreamProcessor {
+
+    private final MatchingProperties properties;
+    private final EventConfigMatchingEngine matchingEngine;
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter configWriter;
+    private final ExecutorService workers;
+    private final Counter events;
+    private final Counter matches;
+    private final Timer streamTimer;
+
+    public EventMatchStreamProcessor(MatchingProperties properties,
+                                     EventConfigMatchingEngine matchingEngine,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.matchingEngine = matchingEngine;
+        this.jsonFactory = objectMapper.getFactory();
+        this.configWriter = objectMapper.writerFor(EventConfigResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.workers = Executors.newFixedThreadPool(properties.getStreamParallelism(),
+                Thread.ofPlatform().name("event-match-stream-", 0).daemon(true).factory());
+
+        this.events = Counter.builder("event.config.matching.stream.events")
+                .description("Events read from NDJSON match streams")
+                .register(meterRegistry);
+        this.matches = Counter.builder("event.config.matching.stream.matches")
+                .description("Streamed events that matched an enabled config")
+                .register(meterRegistry);
+        this.streamTimer = Timer.builder("event.config.matching.stream")
+                .description("Duration of NDJSON match streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reads NDJSON events from {@code in} and writes one NDJSON decision per event to {@code out}.
+     * Fields other than eventType and source are ignored; events missing either never match.
+     *
+     * @return the number of events processed
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        CompiledEventConfigIndex index = matchingEngine.index();
+        long start = System.nanoTime();
+        long total = 0;
+        long matched = 0;
+        Deque<Future<EncodedChunk>> inFlight = new ArrayDeque<>();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            EventChunk chunk;
+            while ((chunk = readChunk(parser)) != null) {
+                if (inFlight.size() >= properties.getStreamMaxInFlightChunks()) {
+                    matched += writeOldest(inFlight, out);
+                }
+                EventChunk submitted = chunk;
+                inFlight.add(workers.submit(() -> encode(index, submitted)));
+                total += chunk.size();
+            }
+            while (!inFlight.isEmpty()) {
+                matched += writeOldest(inFlight, out);
+            }
+            out.flush();
+        } finally {
+            inFlight.forEach(pending -> pending.cancel(true));
+            long elapsed = System.nanoTime() - start;
+            streamTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            events.increment(total);
+            matches.increment(matched);
+            log.info("Match stream: {} events, {} matched in {} ms ({} events/s)", total, matched,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), elapsed > 0 ? total * 1_000_000_000L / elapsed : total);
+        }
+        return total;
+    }
+
+    private EventChunk readChunk(JsonParser parser) throws IOException {
+        int capacity = properties.getStreamChunkSize();
+        String[] eventTypes = null;
+        String[] sources = null;
+        int size = 0;
+        JsonToken token;
+        while (size < capacity && (token = parser.nextToken()) != null) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected one JSON object per line, got " + token);
+            }
+            if (eventTypes == null) {
+                eventTypes = new String[capacity];
+                sources = new String[capacity];
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("eventType".equals(field)) {
+                    eventTypes[size] = scalarValue(parser);
+                } else if ("source".equals(field)) {
+                    sources[size] = scalarValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            size++;
+        }
+        return size > 0 ? new EventChunk(eventTypes, sources, size) : null;
+    }
+
+    // An object or array is no key: it is skipped whole and left null, so the event matches no config
+    private static String scalarValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private EncodedChunk encode(CompiledEventConfigIndex index, EventChunk chunk) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunk.size() * 96);
+        // Configs repeat heavily within a chunk; serialize each one once
+        Map<EventConfigResponseDto, String> encodedConfigs = new IdentityHashMap<>();
+        int matched = 0;
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.setRootValueSeparator(null);
+            for (int i = 0; i < chunk.size(); i++) {
+                EventConfigResponseDto config = index.match(chunk.eventTypes()[i], chunk.sources()[i]);
+                generator.writeStartObject();
+                generator.writeStringField("eventType", chunk.eventTypes()[i]);
+                generator.writeStringField("source", chunk.sources()[i]);
+                generator.writeFieldName("config");
+                if (config != null) {
+                    matched++;
+                    generator.writeRawValue(encodedConfigs.computeIfAbsent(config, this::toJson));
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return new EncodedChunk(buffer.toByteArray(), matched);
+    }
+
+    private String toJson(EventConfigResponseDto config) {
+        try {
+            return configWriter.writeValueAsString(config);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int writeOldest(Deque<Future<EncodedChunk>> inFlight, OutputStream out) throws IOException {
+        EncodedChunk encoded;
+        try {
+            encoded = inFlight.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while matching the event stream", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("Failed to match the event stream", e.getCause());
+        }
+        out.write(encoded.ndjson());
+        return encoded.matched();
+    }
+
+    private record EventChunk(String[] eventTypes, String[] sources, int size) {
+    }
+
+    private record EncodedChunk(byte[] ndjson, int matched) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.flex.mind.tech.service.matching;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Values keyed by {@link GlobPattern}, resolved for a concrete key in precedence order: the exact
+ * entry, then prefix patterns longest first, then suffix patterns longest first, then {@code *}.
+ * <p>
+ * Prefix and suffix patterns sit in character tries (suffixes reversed), so a resolution walks the
+ * key at most once per trie however many patterns are stored.
+ */
+final class GlobIndex<V> {
+
+    /**
+     * Maps a candidate value to a result, or {@code null} to continue with the next candidate.
+     * Kept non-capturing so resolving allocates nothing.
+     */
+    @FunctionalInterface
+    interface Resolver<V, A, R> {
+        R resolve(V value, A argument);
+    }
+
+    private final Map<String, V> exact = new HashMap<>();
+    private final Node<V> prefixes = new Node<>();
+    private final Node<V> suffixes = new Node<>();
+    private V any;
+
+    V computeIfAbsent(GlobPattern pattern, Supplier<V> factory) {
+        return switch (pattern.kind()) {
+            case EXACT -> exact.computeIfAbsent(pattern.literal(), literal -> factory.get());
+            case PREFIX -> prefixes.descend(pattern.literal(), false).computeIfAbsent(factory);
+            case SUFFIX -> suffixes.descend(pattern.literal(), true).computeIfAbsent(factory);
+            case ANY -> any != null ? any : (any = factory.get());
+        };
+    }
+
+    V get(GlobPattern pattern) {
+        return switch (pattern.kind()) {
+            case EXACT -> exact.get(pattern.literal());
+            case PREFIX -> valueOf(prefixes.find(pattern.literal(), false));
+            case SUFFIX -> valueOf(suffixes.find(pattern.literal(), true));
+            case ANY -> any;
+        };
+    }
+
+    void put(GlobPattern pattern, V value) {
+        switch (pattern.kind()) {
+            case EXACT -> exact.put(pattern.literal(), value);
+            case PREFIX -> prefixes.descend(pattern.literal(), false).value = value;
+            case SUFFIX -> suffixes.descend(pattern.literal(), true).value = value;
+            case ANY -> any = value;
+        }
+    }
+
+    <A, R> R resolve(String key, A argument, Resolver<? super V, A, R> resolver) {
+        V exactValue = exact.get(key);
+        if (exactValue != null) {
+            R result = resolver.resolve(exactValue, argument);
+            if (result != null) {
+                return result;
+            }
+        }
+        R result = resolvePath(prefixes, key, 0, false, argument, resolver);
+        if (result == null) {
+            result = resolvePath(suffixes, key, 0, true, argument, resolver);
+        }
+        if (result == null && any != null) {
+            result = resolver.resolve(any, argument);
+        }
+        return result;
+    }
+
+    private static <V> V valueOf(Node<V> node) {
+        return node != null ? node.value : null;
+    }
+
+    // Deepest (longest) match first: recurse along the key, then try this node on the way back
+    private static <V, A, R> R resolvePath(Node<V> node, String key, int depth, boolean reversed,
+                                           A argument, Resolver<? super V, A, R> resolver) {
+        if (depth < key.length()) {
+            Node<V> child = node.child(key.charAt(reversed ? key.length() - 1 - depth : depth));
+            if (child != null) {
+                R result = resolvePath(child, key, depth + 1, reversed, argument, resolver);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return depth > 0 && node.value != null ? resolver.resolve(node.value, argument) : null;
+    }
+
+    private static final class Node<V> {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private char[] labels = NO_LABELS;
+        private Node<V>[] children;
+        private V value;
+
+        Node<V> child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node<V> find(String literal, boolean reversed) {
+            Node<V> node = this;
+            for (int i = 0; i < literal.length() && node != null; i++) {
+                node = node.child(literal.charAt(reversed ? literal.length() - 1 - i : i));
+            }
+            return node;
+        }
+
+        Node<V> descend(String literal, boolean reversed) {
+            Node<V> node = this;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.childOrCreate(literal.charAt(reversed ? literal.length() - 1 - i : i));
+            }
+            return node;
+        }
+
+        V computeIfAbsent(Supplier<V> factory) {
+            if (value == null) {
+                value = factory.get();
+            }
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<V> childOrCreate(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            char[] grownLabels = new char[labels.length + 1];
+            Node<V>[] grownChildren = new Node[labels.length + 1];
+            System.arraycopy(labels, 0, grownLabels, 0, insertAt);
+            System.arraycopy(labels, insertAt, grownLabels, insertAt + 1, labels.length - insertAt);
+            if (children != null) {
+                System.arraycopy(children, 0, grownChildren, 0, insertAt);
+                System.arraycopy(children, insertAt, grownChildren, insertAt + 1, labels.length - insertAt);
+            }
+            grownLabels[insertAt] = label;
+            Node<V> child = new Node<>();
+            grownChildren[insertAt] = child;
+            labels = grownLabels;
+            children = grownChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.flex.mind.tech.service.matching;
+
+/**
+ * An eventType or source value as a pattern: a literal, {@code prefix*}, {@code *suffix} or {@code *}.
+ * Values with {@code *} anywhere else are taken literally; the request DTO rejects them.
+ */
+public record GlobPattern(Kind kind, String literal) {
+
+    public enum Kind {
+        EXACT, PREFIX, SUFFIX, ANY
+    }
+
+    private static final char WILDCARD = '*';
+
+    public static GlobPattern of(String value) {
+        int length = value.length();
+        if (length == 1 && value.charAt(0) == WILDCARD) {
+            return new GlobPattern(Kind.ANY, "");
+        }
+        int wildcard = value.indexOf(WILDCARD);
+        if (wildcard == length - 1 && length > 1) {
+            return new GlobPattern(Kind.PREFIX, value.substring(0, length - 1));
+        }
+        if (wildcard == 0 && value.indexOf(WILDCARD, 1) < 0) {
+            return new GlobPattern(Kind.SUFFIX, value.substring(1));
+        }
+        return new GlobPattern(Kind.EXACT, value);
+    }
+
+    public static boolean isPattern(String value) {
+        return value.indexOf(WILDCARD) >= 0 && of(value).kind != Kind.EXACT;
+    }
+}
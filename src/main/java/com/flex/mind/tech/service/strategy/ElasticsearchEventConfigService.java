@@ -1,52 +1,495 @@
 package com.flex.mind.tech.service.strategy;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.flex.mind.tech.config.RefreshProperties;
+import com.flex.mind.tech.exception.EventConfigAlreadyExistsException;
 import com.flex.mind.tech.exception.EventConfigNotFoundException;
 import com.flex.mind.tech.model.entity.EventConfigElastic;
 import com.flex.mind.tech.model.mapper.EventConfigMapper;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
 import com.flex.mind.tech.repository.EventConfigElasticsearchRepository;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.service.suggest.SuggestField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Component
+@Qualifier(EventConfigStorageStrategy.STORE)
 @RequiredArgsConstructor
 @Log4j2
 @ConditionalOnProperty(name = "app.storage.type", havingValue = "elasticsearch")
 public class ElasticsearchEventConfigService implements EventConfigStorageStrategy {
 
+    private static final String INDEX = "event_configs";
+    private static final int SCROLL_PAGE_SIZE = 1000;
+    private static final String SCROLL_KEEP_ALIVE = "1m";
+    private static final String SCROLL_FILTER_PATH = "_scroll_id,hits.hits._id,hits.hits._seq_no,hits.hits._primary_term,hits.hits._source";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String[] FACET_FIELDS = {"eventType", "source", "enabled"};
+    // Upper bound of distinct values reported per facet
+    private static final int FACET_SIZE = 10_000;
+    // Format of the date fields, see EventConfigElastic
+    private static final DateTimeFormatter DATE_HOUR_MINUTE_SECOND = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
     private final EventConfigElasticsearchRepository repository;
     private final EventConfigMapper mapper;
+    private final RestClient restClient;
+    private final ElasticsearchOperations operations;
+    private final RefreshProperties refreshProperties;
+
+    // Start time (epoch millis) of the latest refresh this instance forced and saw complete
+    private final AtomicLong refreshedFrom = new AtomicLong();
+    private final AtomicReference<PendingRefresh> pendingRefresh = new AtomicReference<>();
+    // Whether the suggest sub-field exists, per keyword field; indices created before it was added lack it
+    private final Map<String, Boolean> prefixFieldMapped = new ConcurrentHashMap<>();
 
+    /**
+     * Stored under an id derived from the key rather than the given one, see {@link #createAll}.
+     *
+     * @throws EventConfigAlreadyExistsException if a config of the key is already stored
+     */
     @Override
     public EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto) {
-        EventConfigElastic entity = mapper.toElasticEntity(requestDto);
-        entity.setCreatedAt(LocalDateTime.now());
-        entity.setUpdatedAt(LocalDateTime.now());
+        EventConfigElastic entity = newEntity(requestDto, LocalDateTime.now());
+        List<EventConfigElastic> duplicates = new ArrayList<>(0);
+        List<EventConfigResponseDto> created;
+        try {
+            created = createAll(List.of(entity), refreshProperties.getCreate(), duplicates);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create event config", e);
+        }
+        if (!duplicates.isEmpty()) {
+            throw new EventConfigAlreadyExistsException("EventConfig already exists");
+        }
+        return created.get(0);
+    }
+
+    /**
+     * One partial {@code _update} conditional on the expected seqNo/primaryTerm, which also returns the
+     * updated {@code _source}.
+     */
+    @Override
+    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto,
+                                                    String expectedVersion) {
+        Request request = new Request("POST", "/" + INDEX + "/_update/" + id);
+        if (expectedVersion != null) {
+            SeqNoPrimaryTerm version = parseVersion(expectedVersion);
+            request.addParameter("if_seq_no", String.valueOf(version.sequenceNumber()));
+            request.addParameter("if_primary_term", String.valueOf(version.primaryTerm()));
+        }
+        request.addParameter("refresh", refreshParameter(refreshProperties.getUpdate()));
+        request.addParameter("_source", "true");
+        request.addParameter("filter_path", "_seq_no,_primary_term,get._source");
+        // Answered with their status instead of a ResponseException
+        request.addParameter("ignore", "404,409");
+
+        EventConfigElastic updated;
+        try {
+            request.setJsonEntity(json(generator -> {
+                generator.writeObjectFieldStart("doc");
+                generator.writeStringField("eventType", requestDto.getEventType());
+                generator.writeStringField("source", requestDto.getSource());
+                if (requestDto.getEnabled() != null) {
+                    generator.writeBooleanField("enabled", requestDto.getEnabled());
+                }
+                generator.writeStringField("updatedAt", DATE_HOUR_MINUTE_SECOND.format(LocalDateTime.now()));
+                generator.writeEndObject();
+            }));
+            Response response = restClient.performRequest(request);
+            int status = response.getStatusLine().getStatusCode();
+            if (status == 404) {
+                throw new EventConfigNotFoundException("Event config not found with id: " + id);
+            }
+            if (status == 409) {
+                throw new OptimisticLockingFailureException(
+                        "Event config " + id + " is no longer at version " + expectedVersion);
+            }
+            updated = readUpdated(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update event config " + id, e);
+        }
+        updated.setId(id);
+        return mapper.toResponseDto(updated);
+    }
+
+    // { "_seq_no": n, "_primary_term": n, "get": { "_source": {...} } }
+    private static EventConfigElastic readUpdated(Response response) throws IOException {
+        EventConfigElastic entity = new EventConfigElastic();
+        long seqNo = -1;
+        long primaryTerm = -1;
+        try (InputStream content = response.getEntity().getContent();
+             JsonParser parser = JSON_FACTORY.createParser(content)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "_seq_no" -> seqNo = parser.getLongValue();
+                    case "_primary_term" -> primaryTerm = parser.getLongValue();
+                    case "get" -> {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            parser.nextToken();
+                            if ("_source".equals(parser.currentName())) {
+                                readSource(parser, entity);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (seqNo >= 0) {
+            entity.setSeqNoPrimaryTerm(new SeqNoPrimaryTerm(seqNo, primaryTerm));
+        }
+        return entity;
+    }
+
+    // Positioned on the _source START_OBJECT, left on its END_OBJECT
+    private static void readSource(JsonParser parser, EventConfigElastic entity) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "eventType" -> entity.setEventType(parser.getValueAsString());
+                case "source" -> entity.setSource(parser.getValueAsString());
+                case "enabled" -> entity.setEnabled(parser.currentToken() == JsonToken.VALUE_NULL
+                        ? null : parser.getValueAsBoolean());
+                case "createdAt" -> entity.setCreatedAt(parseDate(parser.getValueAsString()));
+                case "updatedAt" -> entity.setUpdatedAt(parseDate(parser.getValueAsString()));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        return value != null ? LocalDateTime.parse(value, DATE_HOUR_MINUTE_SECOND) : null;
+    }
+
+    private static String refreshParameter(RefreshProperties.Policy policy) {
+        return switch (policy) {
+            case NONE -> "false";
+            case WAIT_FOR -> "wait_for";
+            case IMMEDIATE -> "true";
+        };
+    }
+
+    private static SeqNoPrimaryTerm parseVersion(String version) {
+        int separator = version.indexOf('-');
+        try {
+            return new SeqNoPrimaryTerm(Long.parseLong(version.substring(0, separator)),
+                    Long.parseLong(version.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new OptimisticLockingFailureException("Not a version of this store: " + version);
+        }
+    }
 
-        EventConfigElastic saved = repository.save(entity);
-        return mapper.toResponseDto(saved);
+    /**
+     * Created under ids derived from their keys, see {@link #createAll}, so configs whose key is already
+     * stored or repeated in the list are skipped by the index itself.
+     */
+    @Override
+    public int insertAll(List<EventConfigRequestDto> requestDtos) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventConfigElastic> entities = new ArrayList<>(requestDtos.size());
+        for (EventConfigRequestDto requestDto : requestDtos) {
+            entities.add(newEntity(requestDto, now));
+        }
+        try {
+            return createAll(entities, refreshProperties.getBulk(), new ArrayList<>()).size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to insert event configs", e);
+        }
     }
 
     @Override
-    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto) {
-        EventConfigElastic existing = repository.findById(id)
-                .orElseThrow(() -> new EventConfigNotFoundException("Event config not found with id: " + id));
+    public EventConfigBulkResult applyChanges(List<EventConfigRequestDto> inserts,
+                                              List<EventConfigResponseDto> updates) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventConfigResponseDto> written = new ArrayList<>(inserts.size() + updates.size());
+        if (!inserts.isEmpty()) {
+            List<EventConfigElastic> entities = new ArrayList<>(inserts.size());
+            for (EventConfigRequestDto requestDto : inserts) {
+                entities.add(newEntity(requestDto, now));
+            }
+            try {
+                // A key created concurrently keeps the concurrent config
+                written.addAll(createAll(entities, refreshProperties.getBulk(), new ArrayList<>()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to insert event configs", e);
+            }
+        }
+        List<String> conflicts = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            try {
+                updateEnabled(updates, now, written, conflicts);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to update event configs", e);
+            }
+        }
+        return new EventConfigBulkResult(written, conflicts);
+    }
 
-        existing.setEventType(requestDto.getEventType());
-        existing.setSource(requestDto.getSource());
-        existing.setEnabled(requestDto.getEnabled());
-        existing.setUpdatedAt(LocalDateTime.now());
+    /**
+     * One {@code _bulk} of partial updates of {@code enabled} and {@code updatedAt}, each conditional on the
+     * seqNo/primaryTerm its config was read at: a concurrent rename or toggle makes the update fail with 409,
+     * which is reported as a conflict instead of being overwritten.
+     */
+    private void updateEnabled(List<EventConfigResponseDto> updates, LocalDateTime now,
+                               List<EventConfigResponseDto> written, List<String> conflicts) throws IOException {
+        String updatedAt = DATE_HOUR_MINUTE_SECOND.format(now);
+        StringBuilder body = new StringBuilder();
+        for (EventConfigResponseDto config : updates) {
+            body.append(json(generator -> {
+                generator.writeObjectFieldStart("update");
+                generator.writeStringField("_id", config.getId());
+                if (config.getVersion() != null) {
+                    SeqNoPrimaryTerm version = parseVersion(config.getVersion());
+                    generator.writeNumberField("if_seq_no", version.sequenceNumber());
+                    generator.writeNumberField("if_primary_term", version.primaryTerm());
+                }
+                generator.writeEndObject();
+            })).append('\n');
+            body.append(json(generator -> {
+                generator.writeObjectFieldStart("doc");
+                generator.writeBooleanField("enabled", Boolean.TRUE.equals(config.getEnabled()));
+                generator.writeStringField("updatedAt", updatedAt);
+                generator.writeEndObject();
+            })).append('\n');
+        }
 
-        EventConfigElastic updated = repository.save(existing);
-        return mapper.toResponseDto(updated);
+        List<BulkItem> results = bulk(body.toString(), refreshProperties.getBulk());
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            EventConfigResponseDto config = updates.get(i);
+            BulkItem result = results.get(i);
+            if (result.status() / 100 == 2) {
+                written.add(EventConfigResponseDto.builder()
+                        .id(config.getId())
+                        .eventType(config.getEventType())
+                        .source(config.getSource())
+                        .enabled(config.getEnabled())
+                        .createdAt(config.getCreatedAt())
+                        .updatedAt(now)
+                        .version(result.version())
+                        .build());
+            } else if (result.status() == 409 || result.status() == 404) {
+                conflicts.add(config.getId());
+            } else {
+                failures.add(config.getId() + ": " + result.error());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new DataAccessResourceFailureException("Failed to update " + failures.size()
+                    + " event configs: " + String.join(", ", failures));
+        }
+    }
+
+    /**
+     * Creates the entities with {@code op_type=create} under ids derived from their keys, so the index itself
+     * rejects a second config of a key, whether it comes from another replica or from the same batch. Ids are
+     * kept when a config is renamed, so the id of a key may be held by a config of another key: such entities
+     * are retried under the key's next candidate id until they are created or meet a config of their key.
+     *
+     * @param duplicates receives the entities whose key is already stored
+     * @return the created configs with their versions
+     */
+    private List<EventConfigResponseDto> createAll(List<EventConfigElastic> entities, RefreshProperties.Policy policy,
+                                                   List<EventConfigElastic> duplicates) throws IOException {
+        List<EventConfigResponseDto> created = new ArrayList<>(entities.size());
+        List<EventConfigElastic> pending = entities;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            StringBuilder body = new StringBuilder();
+            for (EventConfigElastic entity : pending) {
+                entity.setId(keyId(entity.getEventType(), entity.getSource(), attempt));
+                body.append(json(generator -> {
+                    generator.writeObjectFieldStart("create");
+                    generator.writeStringField("_id", entity.getId());
+                    generator.writeEndObject();
+                })).append('\n');
+                body.append(json(generator -> writeSource(generator, entity))).append('\n');
+            }
+
+            List<BulkItem> results = bulk(body.toString(), policy);
+            List<EventConfigElastic> taken = new ArrayList<>();
+            List<String> failures = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                EventConfigElastic entity = pending.get(i);
+                BulkItem result = results.get(i);
+                if (result.status() / 100 == 2) {
+                    entity.setSeqNoPrimaryTerm(parseVersion(result.version()));
+                    created.add(mapper.toResponseDto(entity));
+                } else if (result.status() == 409) {
+                    taken.add(entity);
+                } else {
+                    failures.add(entity.getEventType() + "/" + entity.getSource() + ": " + result.error());
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new DataAccessResourceFailureException("Failed to create " + failures.size()
+                        + " event configs: " + String.join(", ", failures));
+            }
+            if (taken.isEmpty()) {
+                break;
+            }
+
+            // Gets by id are realtime, so the holders are visible even before a refresh
+            Map<String, EventConfigElastic> holders = new HashMap<>();
+            repository.findAllById(taken.stream().map(EventConfigElastic::getId).toList())
+                    .forEach(holder -> holders.put(holder.getId(), holder));
+            pending = new ArrayList<>();
+            for (EventConfigElastic entity : taken) {
+                EventConfigElastic holder = holders.get(entity.getId());
+                if (holder != null && Objects.equals(holder.getEventType(), entity.getEventType())
+                        && Objects.equals(holder.getSource(), entity.getSource())) {
+                    duplicates.add(entity);
+                } else {
+                    pending.add(entity);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Name-based UUID of the key, so ids keep the format of the ones assigned elsewhere.
+     *
+     * @param attempt 0 for the key's own id, higher for the ones used while lower ones are held by renamed configs
+     */
+    static String keyId(String eventType, String source, int attempt) {
+        String name = eventType + '\0' + source + (attempt == 0 ? "" : "\0" + attempt);
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    // Same fields and date format as the entity mapping writes
+    private static void writeSource(JsonGenerator generator, EventConfigElastic entity) throws IOException {
+        generator.writeStringField("eventType", entity.getEventType());
+        generator.writeStringField("source", entity.getSource());
+        if (entity.getEnabled() != null) {
+            generator.writeBooleanField("enabled", entity.getEnabled());
+        }
+        generator.writeStringField("createdAt", DATE_HOUR_MINUTE_SECOND.format(entity.getCreatedAt()));
+        generator.writeStringField("updatedAt", DATE_HOUR_MINUTE_SECOND.format(entity.getUpdatedAt()));
+    }
+
+    /**
+     * Sends a {@code _bulk} request and returns the outcome of each action, in request order.
+     */
+    private List<BulkItem> bulk(String body, RefreshProperties.Policy policy) throws IOException {
+        Request request = new Request("POST", "/" + INDEX + "/_bulk");
+        request.addParameter("refresh", refreshParameter(policy));
+        request.addParameter("filter_path", "items.*._seq_no,items.*._primary_term,items.*.status,items.*.error.type");
+        request.setJsonEntity(body);
+        Response response = restClient.performRequest(request);
+
+        // { "items": [ { "<action>": { "_seq_no": n, "_primary_term": n, "status": n, "error": {...} } }, ... ] }
+        List<BulkItem> results = new ArrayList<>();
+        try (InputStream content = response.getEntity().getContent();
+             JsonParser parser = JSON_FACTORY.createParser(content)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                if (!"items".equals(parser.currentName())) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parser.nextToken();
+                    parser.nextToken();
+                    results.add(readBulkItem(parser));
+                    parser.nextToken();
+                }
+            }
+        }
+        return results;
+    }
+
+    // Positioned on the item's action object: { "_seq_no": n, "_primary_term": n, "status": n, "error": {...} }
+    private static BulkItem readBulkItem(JsonParser parser) throws IOException {
+        long seqNo = -1;
+        long primaryTerm = -1;
+        int status = 0;
+        String error = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "_seq_no" -> seqNo = parser.getLongValue();
+                case "_primary_term" -> primaryTerm = parser.getLongValue();
+                case "status" -> status = parser.getIntValue();
+                case "error" -> {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        parser.nextToken();
+                        if ("type".equals(field)) {
+                            error = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new BulkItem(status, seqNo >= 0 ? seqNo + "-" + primaryTerm : null, error);
+    }
+
+    private EventConfigElastic newEntity(EventConfigRequestDto requestDto, LocalDateTime now) {
+        EventConfigElastic entity = mapper.toElasticEntity(requestDto);
+        entity.setId(requestDto.getId());
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return entity;
+    }
+
+    @Override
+    public Optional<EventConfigResponseDto> findById(String id) {
+        return repository.findById(id).map(mapper::toResponseDto);
     }
 
     @Override
@@ -89,4 +532,496 @@ public class ElasticsearchEventConfigService implements EventConfigStorageStrate
     public boolean existsByEventTypeAndSource(String eventType, String source) {
         return repository.existsByEventTypeAndSource(eventType, source);
     }
+
+    @Override
+    public List<EventConfigResponseDto> findByKeys(Collection<EventConfigKeyDto> keys) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(bool -> {
+                    for (EventConfigKeyDto key : keys) {
+                        bool.should(branch -> branch.bool(pair -> pair
+                                .filter(f -> f.term(t -> t.field("eventType").value(key.getEventType())))
+                                .filter(f -> f.term(t -> t.field("source").value(key.getSource())))));
+                    }
+                    return bool.minimumShouldMatch("1");
+                }))
+                .withMaxResults(keys.size())
+                .build();
+        return operations.search(query, EventConfigElastic.class).stream()
+                .map(SearchHit::getContent)
+                .map(mapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EventConfigResponseDto> getEventConfigsUpdatedSince(LocalDateTime since) {
+        return repository.findByUpdatedAtGreaterThanEqual(since).stream()
+                .map(mapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void writeRawEventConfigs(String eventType, String source, Boolean enabled,
+                                     EventConfigJsonWriter writer) throws IOException {
+        scroll(searchBody(eventType, source, enabled, true), writer::writeSource);
+    }
+
+    @Override
+    public void forEachEventConfigKey(BiConsumer<String, String> consumer) throws IOException {
+        scroll(searchBody(null, null, null, false, "eventType", "source"), (id, version, source) -> {
+            String eventType = null;
+            String eventSource = null;
+            while (source.nextToken() == JsonToken.FIELD_NAME) {
+                String name = source.currentName();
+                source.nextToken();
+                if ("eventType".equals(name)) {
+                    eventType = source.getValueAsString();
+                } else if ("source".equals(name)) {
+                    eventSource = source.getValueAsString();
+                } else {
+                    source.skipChildren();
+                }
+            }
+            consumer.accept(eventType, eventSource);
+        });
+    }
+
+    /**
+     * Writes older than {@code app.refresh.interval} were made searchable by the scheduled refresh. For newer
+     * ones the index is refreshed, unless a refresh that started after the write already completed; callers
+     * arriving while such a refresh runs wait for it instead of starting their own.
+     */
+    @Override
+    public void awaitSearchable(Instant writtenAt) {
+        long now = System.currentTimeMillis();
+        long written = Math.min(writtenAt.toEpochMilli(), now);
+        if (now - written >= refreshProperties.getInterval().toMillis()) {
+            return;
+        }
+        while (refreshedFrom.get() < written) {
+            PendingRefresh current = pendingRefresh.get();
+            if (current != null && current.startedAt() >= written) {
+                try {
+                    current.done().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                return;
+            }
+            PendingRefresh refresh = new PendingRefresh(System.currentTimeMillis(), new CompletableFuture<>());
+            if (pendingRefresh.compareAndSet(current, refresh)) {
+                refresh(refresh);
+                return;
+            }
+        }
+    }
+
+    private void refresh(PendingRefresh refresh) {
+        try {
+            restClient.performRequest(new Request("POST", "/" + INDEX + "/_refresh"));
+            refreshedFrom.accumulateAndGet(refresh.startedAt(), Math::max);
+            refresh.done().complete(null);
+        } catch (IOException e) {
+            UncheckedIOException failure = new UncheckedIOException("Failed to refresh " + INDEX, e);
+            refresh.done().completeExceptionally(failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            refresh.done().completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingRefresh.compareAndSet(refresh, null);
+        }
+    }
+
+    @Override
+    public EventConfigFacetsResponseDto getEventConfigFacets(String eventType, String source, Boolean enabled) {
+        Request request = new Request("POST", "/" + INDEX + "/_search");
+        request.addParameter("filter_path",
+                "hits.total.value,aggregations.*.buckets.key,aggregations.*.buckets.key_as_string,"
+                        + "aggregations.*.buckets.doc_count");
+        EventConfigFacetsResponseDto facets = EventConfigFacetsResponseDto.builder()
+                .eventType(new TreeMap<>())
+                .source(new TreeMap<>())
+                .enabled(new TreeMap<>())
+                .build();
+        try {
+            request.setJsonEntity(json(generator -> {
+                generator.writeNumberField("size", 0);
+                generator.writeBooleanField("track_total_hits", true);
+                writeQuery(generator, eventType, source, enabled);
+                generator.writeObjectFieldStart("aggs");
+                for (String field : FACET_FIELDS) {
+                    generator.writeObjectFieldStart(field);
+                    generator.writeObjectFieldStart("terms");
+                    generator.writeStringField("field", field);
+                    generator.writeNumberField("size", FACET_SIZE);
+                    generator.writeEndObject();
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+            }));
+            Response response = restClient.performRequest(request);
+            try (InputStream body = response.getEntity().getContent();
+                 JsonParser parser = JSON_FACTORY.createParser(body)) {
+                readFacets(parser, facets);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to aggregate event configs", e);
+        }
+        return facets;
+    }
+
+    @Override
+    public List<String> suggestValues(SuggestField field, String prefix, int limit) {
+        String keywordField = field.getFieldName();
+        boolean ngramLookup = !prefix.isEmpty() && prefix.length() <= EventConfigElastic.PREFIX_MAX_LENGTH
+                && prefixFieldMapped.computeIfAbsent(keywordField, this::isPrefixFieldMapped);
+        Request request = new Request("POST", "/" + INDEX + "/_search");
+        request.addParameter("filter_path", "aggregations.values.buckets.key");
+        Map<String, Long> values = new LinkedHashMap<>();
+        try {
+            request.setJsonEntity(json(generator -> {
+                generator.writeNumberField("size", 0);
+                generator.writeObjectFieldStart("query");
+                if (prefix.isEmpty()) {
+                    generator.writeObjectFieldStart("match_all");
+                    generator.writeEndObject();
+                } else if (ngramLookup) {
+                    // Exact lookup of the indexed edge n-gram
+                    generator.writeObjectFieldStart("term");
+                    generator.writeStringField(keywordField + "." + EventConfigElastic.PREFIX_SUFFIX, prefix);
+                    generator.writeEndObject();
+                } else {
+                    generator.writeObjectFieldStart("prefix");
+                    generator.writeStringField(keywordField, prefix);
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+                generator.writeObjectFieldStart("aggs");
+                generator.writeObjectFieldStart("values");
+                generator.writeObjectFieldStart("terms");
+                generator.writeStringField("field", keywordField);
+                generator.writeNumberField("size", limit);
+                generator.writeObjectFieldStart("order");
+                generator.writeStringField("_key", "asc");
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }));
+            Response response = restClient.performRequest(request);
+            try (InputStream body = response.getEntity().getContent();
+                 JsonParser parser = JSON_FACTORY.createParser(body)) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    if (!"aggregations".equals(parser.currentName())) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        parser.nextToken();
+                        readBuckets(parser, values);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to suggest " + keywordField + " values", e);
+        }
+        return new ArrayList<>(values.keySet());
+    }
+
+    /**
+     * Checks that every index behind {@code event_configs} maps the edge n-gram sub-field of
+     * {@code keywordField}. A term query on a missing field matches nothing, so without it suggestions
+     * fall back to a {@code prefix} query on the keyword field.
+     */
+    private boolean isPrefixFieldMapped(String keywordField) {
+        String prefixField = keywordField + "." + EventConfigElastic.PREFIX_SUFFIX;
+        Request request = new Request("GET", "/" + INDEX + "/_mapping/field/" + prefixField);
+        boolean mapped;
+        try {
+            Response response = restClient.performRequest(request);
+            try (InputStream body = response.getEntity().getContent();
+                 JsonParser parser = JSON_FACTORY.createParser(body)) {
+                mapped = readFieldMapped(parser, prefixField);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the mapping of " + prefixField, e);
+        }
+        if (!mapped) {
+            log.warn("{} is not mapped in {}; suggestions use prefix queries until the index is recreated",
+                    prefixField, INDEX);
+        }
+        return mapped;
+    }
+
+    // { "<index>": { "mappings": { "<field>": { ... } } }, ... }; indices lacking the field have no entry
+    private static boolean readFieldMapped(JsonParser parser, String field) throws IOException {
+        int indices = 0;
+        int mapped = 0;
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            indices++;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (!"mappings".equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (field.equals(parser.currentName())) {
+                        mapped++;
+                    }
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+        }
+        return indices > 0 && mapped == indices;
+    }
+
+    // { "hits": { "total": { "value": n } }, "aggregations": { "<field>": { "buckets": [ ... ] } } }
+    private static void readFacets(JsonParser parser, EventConfigFacetsResponseDto facets) throws IOException {
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String section = parser.currentName();
+            parser.nextToken();
+            if ("hits".equals(section)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    if (!"total".equals(parser.currentName())) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        parser.nextToken();
+                        if ("value".equals(parser.currentName())) {
+                            facets.setTotal(parser.getLongValue());
+                        }
+                    }
+                }
+            } else if ("aggregations".equals(section)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    readBuckets(parser, switch (field) {
+                        case "eventType" -> facets.getEventType();
+                        case "source" -> facets.getSource();
+                        default -> facets.getEnabled();
+                    });
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readBuckets(JsonParser parser, Map<String, Long> counts) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            if (!"buckets".equals(parser.currentName())) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String key = null;
+                String keyAsString = null;
+                long count = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    switch (name) {
+                        case "key" -> key = parser.getText();
+                        case "key_as_string" -> keyAsString = parser.getText();
+                        case "doc_count" -> count = parser.getLongValue();
+                        default -> parser.skipChildren();
+                    }
+                }
+                // Boolean terms come back as 1/0 with the readable form in key_as_string
+                counts.put(keyAsString != null ? keyAsString : key, count);
+            }
+        }
+    }
+
+    private void scroll(String searchBody, HitHandler handler) throws IOException {
+        Request request = new Request("POST", "/" + INDEX + "/_search");
+        request.addParameter("scroll", SCROLL_KEEP_ALIVE);
+        request.addParameter("filter_path", SCROLL_FILTER_PATH);
+        request.setJsonEntity(searchBody);
+
+        String scrollId = null;
+        try {
+            while (true) {
+                Response response = restClient.performRequest(request);
+                ScrollPage page = readScrollPage(response, handler);
+                String pageScrollId = page.scrollId();
+                scrollId = pageScrollId;
+                if (pageScrollId == null || page.hits() < SCROLL_PAGE_SIZE) {
+                    return;
+                }
+                request = new Request("POST", "/_search/scroll");
+                request.addParameter("filter_path", SCROLL_FILTER_PATH);
+                request.setJsonEntity(json(generator -> {
+                    generator.writeStringField("scroll", SCROLL_KEEP_ALIVE);
+                    generator.writeStringField("scroll_id", pageScrollId);
+                }));
+            }
+        } finally {
+            clearScroll(scrollId);
+        }
+    }
+
+    private ScrollPage readScrollPage(Response response, HitHandler handler) throws IOException {
+        String scrollId = null;
+        int hits = 0;
+        try (InputStream body = response.getEntity().getContent();
+             JsonParser parser = JSON_FACTORY.createParser(body)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("_scroll_id".equals(name)) {
+                    scrollId = parser.getText();
+                } else if ("hits".equals(name)) {
+                    hits = readHits(parser, handler);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new ScrollPage(scrollId, hits);
+    }
+
+    // Positioned on the outer "hits" object: { "hits": [ { "_id": ..., "_seq_no": n, "_primary_term": n,
+    // "_source": {...} }, ... ] }; Elasticsearch writes a hit's metadata before its _source
+    private int readHits(JsonParser parser, HitHandler handler) throws IOException {
+        int hits = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (!"hits".equals(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String id = null;
+                long seqNo = -1;
+                long primaryTerm = -1;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "_id" -> id = parser.getText();
+                        case "_seq_no" -> seqNo = parser.getLongValue();
+                        case "_primary_term" -> primaryTerm = parser.getLongValue();
+                        case "_source" -> handler.onHit(id, seqNo >= 0 ? seqNo + "-" + primaryTerm : null, parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        try {
+            Request request = new Request("DELETE", "/_search/scroll");
+            request.setJsonEntity(json(generator -> generator.writeStringField("scroll_id", scrollId)));
+            restClient.performRequest(request);
+        } catch (IOException e) {
+            log.warn("Failed to clear scroll context: {}", e.getMessage());
+        }
+    }
+
+    private static String searchBody(String eventType, String source, Boolean enabled, boolean versions,
+                                     String... sourceFields) throws IOException {
+        return json(generator -> {
+            generator.writeNumberField("size", SCROLL_PAGE_SIZE);
+            if (versions) {
+                generator.writeBooleanField("seq_no_primary_term", true);
+            }
+            if (sourceFields.length > 0) {
+                generator.writeArrayFieldStart("_source");
+                for (String field : sourceFields) {
+                    generator.writeString(field);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeArrayFieldStart("sort");
+            generator.writeString("_doc");
+            generator.writeEndArray();
+            writeQuery(generator, eventType, source, enabled);
+        });
+    }
+
+    private static void writeQuery(JsonGenerator generator, String eventType, String source,
+                                   Boolean enabled) throws IOException {
+        generator.writeObjectFieldStart("query");
+        generator.writeObjectFieldStart("bool");
+        generator.writeArrayFieldStart("filter");
+        if (eventType != null) {
+            writeTerm(generator, "eventType", eventType);
+        }
+        if (source != null) {
+            writeTerm(generator, "source", source);
+        }
+        if (enabled != null) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("term");
+            generator.writeBooleanField("enabled", enabled);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static void writeTerm(JsonGenerator generator, String field, String value) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("term");
+        generator.writeStringField(field, value);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static String json(JsonBody body) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            body.write(generator);
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Consumes one hit; {@code version} is its {@code seqNo-primaryTerm}, or {@code null} when the search did
+     * not ask for it, and {@code source} is positioned on the {@code _source} START_OBJECT and must be
+     * left on its END_OBJECT.
+     */
+    @FunctionalInterface
+    private interface HitHandler {
+        void onHit(String id, String version, JsonParser source) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private record ScrollPage(String scrollId, int hits) {
+    }
+
+    private record PendingRefresh(long startedAt, CompletableFuture<Void> done) {
+    }
+
+    private record BulkItem(int status, String version, String error) {
+    }
 }
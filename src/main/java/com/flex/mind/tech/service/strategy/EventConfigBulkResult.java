@@ -0,0 +1,14 @@
+package com.flex.mind.tech.service.strategy;
+
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link EventConfigStorageStrategy#applyChanges}.
+ *
+ * @param written   the inserted and updated configs as now stored
+ * @param conflicts ids of updates left unwritten because their config changed or disappeared since it was read
+ */
+public record EventConfigBulkResult(List<EventConfigResponseDto> written, List<String> conflicts) {
+}
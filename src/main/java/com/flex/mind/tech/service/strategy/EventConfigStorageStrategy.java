@@ -1,16 +1,99 @@
 package com.flex.mind.tech.service.strategy;
 
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.service.suggest.SuggestField;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 
 public interface EventConfigStorageStrategy {
+
+    /**
+     * Qualifier of the store-backed implementations, for decorators that wrap them.
+     */
+    String STORE = "eventConfigStore";
+
     EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto);
 
-    EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto);
+    /**
+     * Writes the request over the stored config in one conditional write, without reading it first.
+     *
+     * @param expectedVersion version the write is conditional on, normally the one the caller read, or
+     *                        {@code null} to write whatever is stored
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the stored version differs
+     * @throws com.flex.mind.tech.exception.EventConfigNotFoundException if no config has the id and no
+     *                                                                   version was expected
+     */
+    EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto, String expectedVersion);
+
+    /**
+     * Inserts new configs in one unordered bulk request, without refresh or per-document round trips.
+     * Configs whose key is already stored, or repeated earlier in the list, are skipped rather than failing
+     * the others.
+     *
+     * @return the number of configs inserted
+     */
+    int insertAll(List<EventConfigRequestDto> requestDtos);
+
+    /**
+     * Applies a computed diff in bulk: inserts new configs with their given ids and sets the enabled flag
+     * of existing ones by id, leaving their other fields untouched. An update carrying a version is only
+     * applied while the stored config is still at that version; otherwise it is reported as a conflict
+     * rather than overwriting a concurrent write.
+     *
+     * @param updates stored configs carrying the enabled flag to write
+     */
+    EventConfigBulkResult applyChanges(List<EventConfigRequestDto> inserts, List<EventConfigResponseDto> updates);
+
+    Optional<EventConfigResponseDto> findById(String id);
 
     List<EventConfigResponseDto> getEventConfigs(String eventType, String source, Boolean enabled);
 
     boolean existsByEventTypeAndSource(String eventType, String source);
+
+    /**
+     * Counts per eventType, source and enabled flag under the same filters as {@link #getEventConfigs},
+     * computed by the store without transferring the documents.
+     */
+    EventConfigFacetsResponseDto getEventConfigFacets(String eventType, String source, Boolean enabled);
+
+    /**
+     * Up to {@code limit} distinct values of the field starting with {@code prefix}, in ascending order.
+     */
+    List<String> suggestValues(SuggestField field, String prefix, int limit);
+
+    /**
+     * Configs matching any of the keys, fetched in a single query. Keys without a config are skipped.
+     */
+    List<EventConfigResponseDto> findByKeys(Collection<EventConfigKeyDto> keys);
+
+    List<EventConfigResponseDto> getEventConfigsUpdatedSince(LocalDateTime since);
+
+    /**
+     * Same selection as {@link #getEventConfigs}, but hands every stored document to the writer
+     * in its raw storage form instead of mapping it to an entity and a DTO.
+     */
+    void writeRawEventConfigs(String eventType, String source, Boolean enabled,
+                              EventConfigJsonWriter writer) throws IOException;
+
+    /**
+     * Feeds the (eventType, source) key of every stored config to the consumer, reading only those two fields.
+     */
+    void forEachEventConfigKey(BiConsumer<String, String> consumer) throws IOException;
+
+    /**
+     * Returns once searches see every write acknowledged at or before {@code writtenAt}. Stores whose writes
+     * are searchable as soon as they are acknowledged return at once.
+     */
+    default void awaitSearchable(Instant writtenAt) {
+    }
 }
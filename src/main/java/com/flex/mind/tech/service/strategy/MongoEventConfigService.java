@@ -3,27 +3,89 @@ package com.flex.mind.tech.service.strategy;
 import com.flex.mind.tech.exception.EventConfigNotFoundException;
 import com.flex.mind.tech.model.entity.EventConfigMongo;
 import com.flex.mind.tech.model.mapper.EventConfigMapper;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
 import com.flex.mind.tech.repository.EventConfigMongoRepository;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.repository.codec.EventConfigMongoFields;
+import com.flex.mind.tech.service.suggest.SuggestField;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Component
+@Qualifier(EventConfigStorageStrategy.STORE)
 @RequiredArgsConstructor
 @Log4j2
 @ConditionalOnProperty(name = "app.storage.type", havingValue = "mongodb", matchIfMissing = true)
 public class MongoEventConfigService implements EventConfigStorageStrategy {
 
+    // Write error code of a unique index violation
+    private static final int DUPLICATE_KEY = 11000;
+
     private final EventConfigMongoRepository repository;
     private final EventConfigMapper mapper;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Gives documents written before versioning version 0: a versioned save of a document without
+     * one would be taken for an insert.
+     */
+    @PostConstruct
+    public void backfillVersions() {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                Update.update("version", 0L),
+                EventConfigMongo.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Initialized the version of {} event configs", updated);
+        }
+    }
 
     @Override
     public EventConfigResponseDto createEventConfig(EventConfigRequestDto requestDto) {
@@ -36,19 +98,164 @@ public class MongoEventConfigService implements EventConfigStorageStrategy {
     }
 
     @Override
-    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto) {
-        EventConfigMongo existing = repository.findById(id)
-                .orElseThrow(() -> new EventConfigNotFoundException("Event config not found with id: " + id));
-
-        existing.setEventType(requestDto.getEventType());
-        existing.setSource(requestDto.getSource());
-        existing.setEnabled(requestDto.getEnabled());
-        existing.setUpdatedAt(LocalDateTime.now());
+    public EventConfigResponseDto updateEventConfig(String id, EventConfigRequestDto requestDto,
+                                                    String expectedVersion) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(parseVersion(expectedVersion)));
+        }
+        Update update = new Update()
+                .set("eventType", requestDto.getEventType())
+                .set("source", requestDto.getSource())
+                .set("enabled", requestDto.getEnabled())
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
 
-        EventConfigMongo updated = repository.save(existing);
+        EventConfigMongo updated = mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), EventConfigMongo.class);
+        if (updated == null) {
+            if (expectedVersion == null) {
+                throw new EventConfigNotFoundException("Event config not found with id: " + id);
+            }
+            throw new OptimisticLockingFailureException(
+                    "Event config " + id + " is no longer at version " + expectedVersion);
+        }
         return mapper.toResponseDto(updated);
     }
 
+    private static long parseVersion(String version) {
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new OptimisticLockingFailureException("Not a version of this store: " + version);
+        }
+    }
+
+    /**
+     * Configs whose key is already stored or repeated in the list are rejected by the unique key index;
+     * the write is unordered, so the others are still inserted.
+     */
+    @Override
+    public int insertAll(List<EventConfigRequestDto> requestDtos) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventConfigMongo> entities = new ArrayList<>(requestDtos.size());
+        for (EventConfigRequestDto requestDto : requestDtos) {
+            entities.add(newEntity(requestDto, now));
+        }
+        Set<Integer> duplicates = new HashSet<>();
+        executeSkippingDuplicates(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventConfigMongo.class)
+                .insert(entities), duplicates);
+        return entities.size() - duplicates.size();
+    }
+
+    @Override
+    public EventConfigBulkResult applyChanges(List<EventConfigRequestDto> inserts,
+                                              List<EventConfigResponseDto> updates) {
+        // Millisecond precision as stored, so findConflicts can recognise the updates it wrote
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<EventConfigResponseDto> written = new ArrayList<>(inserts.size() + updates.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventConfigMongo.class);
+        List<EventConfigMongo> entities = new ArrayList<>(inserts.size());
+        for (EventConfigRequestDto requestDto : inserts) {
+            EventConfigMongo entity = newEntity(requestDto, now);
+            bulk.insert(entity);
+            entities.add(entity);
+        }
+        for (EventConfigResponseDto config : updates) {
+            Criteria criteria = Criteria.where("id").is(config.getId());
+            if (config.getVersion() != null) {
+                criteria = criteria.and("version").is(parseVersion(config.getVersion()));
+            }
+            bulk.updateOne(Query.query(criteria),
+                    Update.update("enabled", config.getEnabled()).set("updatedAt", now).inc("version", 1));
+        }
+        // Inserts come first, so their bulk indexes are their list indexes
+        Set<Integer> duplicates = new HashSet<>();
+        BulkWriteResult result = executeSkippingDuplicates(bulk, duplicates);
+        for (int i = 0; i < entities.size(); i++) {
+            // A key created concurrently keeps the concurrent config
+            if (!duplicates.contains(i)) {
+                written.add(mapper.toResponseDto(entities.get(i)));
+            }
+        }
+
+        Set<String> conflicts = result.getMatchedCount() < updates.size() ? findConflicts(updates, now) : Set.of();
+        for (EventConfigResponseDto config : updates) {
+            if (!conflicts.contains(config.getId())) {
+                written.add(EventConfigResponseDto.builder()
+                        .id(config.getId())
+                        .eventType(config.getEventType())
+                        .source(config.getSource())
+                        .enabled(config.getEnabled())
+                        .createdAt(config.getCreatedAt())
+                        .updatedAt(now)
+                        // Exact: the update only matched the version it was read at, and $inc moved it by one
+                        .version(config.getVersion() != null
+                                ? String.valueOf(parseVersion(config.getVersion()) + 1)
+                                : null)
+                        .build());
+            }
+        }
+        return new EventConfigBulkResult(written, List.copyOf(conflicts));
+    }
+
+    /**
+     * Executes an unordered bulk, collecting the indexes of the operations the unique key index rejected.
+     *
+     * @throws BulkOperationException if any operation failed for another reason
+     */
+    private static BulkWriteResult executeSkippingDuplicates(BulkOperations bulk, Set<Integer> duplicates) {
+        try {
+            return bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
+            }
+            return e.getResult();
+        }
+    }
+
+    /**
+     * Ids of the conditional updates that did not match: the bulk result only counts matches, so the configs
+     * are read back and an update counts as written if the config is at the next version with its updatedAt.
+     */
+    private Set<String> findConflicts(List<EventConfigResponseDto> updates, LocalDateTime writtenAt) {
+        Query query = Query.query(Criteria.where("id").in(updates.stream().map(EventConfigResponseDto::getId).toList()));
+        query.fields().include("version", "updatedAt");
+        Map<String, EventConfigMongo> stored = new HashMap<>();
+        for (EventConfigMongo config : mongoTemplate.find(query, EventConfigMongo.class)) {
+            stored.put(config.getId(), config);
+        }
+        Set<String> conflicts = new HashSet<>();
+        for (EventConfigResponseDto config : updates) {
+            EventConfigMongo current = stored.get(config.getId());
+            if (current == null || config.getVersion() != null
+                    && (!Objects.equals(current.getVersion(), parseVersion(config.getVersion()) + 1)
+                    || !writtenAt.equals(current.getUpdatedAt()))) {
+                conflicts.add(config.getId());
+            }
+        }
+        return conflicts;
+    }
+
+    private EventConfigMongo newEntity(EventConfigRequestDto requestDto, LocalDateTime now) {
+        EventConfigMongo entity = mapper.toMongoEntity(requestDto);
+        entity.setId(requestDto.getId());
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        // Bulk inserts bypass the template's version initialization
+        entity.setVersion(0L);
+        return entity;
+    }
+
+    @Override
+    public Optional<EventConfigResponseDto> findById(String id) {
+        return repository.findById(id).map(mapper::toResponseDto);
+    }
+
     @Override
     public List<EventConfigResponseDto> getEventConfigs(String eventType, String source, Boolean enabled) {
         List<EventConfigMongo> entities = findWithFilters(eventType, source, enabled);
@@ -85,4 +292,147 @@ public class MongoEventConfigService implements EventConfigStorageStrategy {
     public boolean existsByEventTypeAndSource(String eventType, String source) {
         return repository.existsByEventTypeAndSource(eventType, source);
     }
+
+    @Override
+    public List<EventConfigResponseDto> findByKeys(Collection<EventConfigKeyDto> keys) {
+        // One equality branch per pair, each served by the (event_type, source) index
+        Criteria[] branches = keys.stream()
+                .map(key -> Criteria.where("eventType").is(key.getEventType()).and("source").is(key.getSource()))
+                .toArray(Criteria[]::new);
+        return mongoTemplate.find(new Query(new Criteria().orOperator(branches)), EventConfigMongo.class).stream()
+                .map(mapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EventConfigResponseDto> getEventConfigsUpdatedSince(LocalDateTime since) {
+        return repository.findByUpdatedAtGreaterThanEqual(since).stream()
+                .map(mapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void writeRawEventConfigs(String eventType, String source, Boolean enabled,
+                                     EventConfigJsonWriter writer) throws IOException {
+        try (MongoCursor<RawBsonDocument> cursor = rawCollection()
+                .find(filter(eventType, source, enabled))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                writer.writeBson(cursor.next());
+            }
+        }
+    }
+
+    @Override
+    public void forEachEventConfigKey(BiConsumer<String, String> consumer) {
+        try (MongoCursor<RawBsonDocument> cursor = rawCollection()
+                .find()
+                .projection(Projections.fields(
+                        Projections.include(EventConfigMongoFields.EVENT_TYPE, EventConfigMongoFields.SOURCE),
+                        Projections.excludeId()))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                RawBsonDocument key = cursor.next();
+                consumer.accept(stringValue(key.get(EventConfigMongoFields.EVENT_TYPE)),
+                        stringValue(key.get(EventConfigMongoFields.SOURCE)));
+            }
+        }
+    }
+
+    @Override
+    public EventConfigFacetsResponseDto getEventConfigFacets(String eventType, String source, Boolean enabled) {
+        // Only the three grouped fields leave the $match stage; the server returns one small document
+        List<Bson> pipeline = List.of(
+                Aggregates.match(filter(eventType, source, enabled)),
+                Aggregates.project(Projections.fields(
+                        Projections.include(EventConfigMongoFields.EVENT_TYPE, EventConfigMongoFields.SOURCE,
+                                EventConfigMongoFields.ENABLED),
+                        Projections.excludeId())),
+                Aggregates.facet(
+                        countBy("eventType", EventConfigMongoFields.EVENT_TYPE),
+                        countBy("source", EventConfigMongoFields.SOURCE),
+                        countBy("enabled", EventConfigMongoFields.ENABLED)));
+
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(EventConfigMongo.class))
+                .aggregate(pipeline)
+                .first();
+        Map<String, Long> enabledCounts = facetCounts(result, "enabled");
+        return EventConfigFacetsResponseDto.builder()
+                .total(enabledCounts.values().stream().mapToLong(Long::longValue).sum())
+                .eventType(facetCounts(result, "eventType"))
+                .source(facetCounts(result, "source"))
+                .enabled(enabledCounts)
+                .build();
+    }
+
+    @Override
+    public List<String> suggestValues(SuggestField field, String prefix, int limit) {
+        String stored = field == SuggestField.EVENT_TYPE ? EventConfigMongoFields.EVENT_TYPE : EventConfigMongoFields.SOURCE;
+        List<Bson> pipeline = new ArrayList<>(5);
+        // An anchored regex without metacharacters becomes a range scan on the single-field index
+        pipeline.add(Aggregates.match(prefix.isEmpty()
+                ? Filters.ne(stored, null)
+                : Filters.regex(stored, "^" + escapeRegex(prefix))));
+        pipeline.add(Aggregates.project(Projections.fields(Projections.include(stored), Projections.excludeId())));
+        pipeline.add(Aggregates.group("$" + stored));
+        pipeline.add(Aggregates.sort(Sorts.ascending("_id")));
+        pipeline.add(Aggregates.limit(limit));
+
+        List<String> values = new ArrayList<>(limit);
+        for (Document value : mongoTemplate.getCollection(mongoTemplate.getCollectionName(EventConfigMongo.class))
+                .aggregate(pipeline)) {
+            values.add(value.getString("_id"));
+        }
+        return values;
+    }
+
+    private static String escapeRegex(String literal) {
+        StringBuilder escaped = new StringBuilder(literal.length() + 8);
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if ("\\.^$|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static Facet countBy(String name, String field) {
+        return new Facet(name, Aggregates.group("$" + field, Accumulators.sum("count", 1)));
+    }
+
+    private static Map<String, Long> facetCounts(Document result, String facet) {
+        Map<String, Long> counts = new TreeMap<>();
+        if (result == null) {
+            return counts;
+        }
+        for (Document bucket : result.getList(facet, Document.class)) {
+            counts.put(String.valueOf(bucket.get("_id")), ((Number) bucket.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private static Bson filter(String eventType, String source, Boolean enabled) {
+        List<Bson> filters = new ArrayList<>(3);
+        if (eventType != null) {
+            filters.add(Filters.eq(EventConfigMongoFields.EVENT_TYPE, eventType));
+        }
+        if (source != null) {
+            filters.add(Filters.eq(EventConfigMongoFields.SOURCE, source));
+        }
+        if (enabled != null) {
+            filters.add(Filters.eq(EventConfigMongoFields.ENABLED, enabled));
+        }
+        return filters.isEmpty() ? new BsonDocument() : Filters.and(filters);
+    }
+
+    private MongoCollection<RawBsonDocument> rawCollection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(EventConfigMongo.class))
+                .withDocumentClass(RawBsonDocument.class);
+    }
+
+    private static String stringValue(BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
 }
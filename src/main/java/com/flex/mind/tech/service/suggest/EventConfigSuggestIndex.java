@@ -0,0 +1,158 @@
+package com.flex.mind.tech.service.suggest;
+
+import com.flex.mind.tech.config.SuggestProperties;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory prefix indexes over the distinct eventType and source values.
+ * <p>
+ * Built from the key scan at startup and every {@code app.suggest.rebuild-interval}; new values
+ * written on any replica are inserted as they arrive on the invalidation bus. Returns {@code null}
+ * while no index is available so the caller can fall back to the store.
+ */
+@Log4j2
+@Component
+public class EventConfigSuggestIndex {
+
+    private final SuggestProperties properties;
+    private final EventConfigStorageStrategy storageStrategy;
+    private final ScheduledExecutorService rebuilder;
+    private final Timer rebuildTimer;
+    private final AtomicLong resets = new AtomicLong();
+
+    private volatile Indexes indexes;
+    // Values written while a rebuild scans the store, merged into its result; guarded by this
+    private final Set<String> writtenEventTypes = new HashSet<>();
+    private final Set<String> writtenSources = new HashSet<>();
+    private boolean rebuilding;
+
+    public EventConfigSuggestIndex(SuggestProperties properties,
+                                   EventConfigStorageStrategy storageStrategy,
+                                   EventConfigInvalidationBus invalidationBus,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.storageStrategy = storageStrategy;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-suggest-index").daemon(true).factory());
+        this.rebuildTimer = Timer.builder("event.config.suggest.index.rebuild")
+                .description("Time to rebuild the in-memory suggestion index from the store")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isInMemory()) {
+            return;
+        }
+        long intervalMillis = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * @return sorted matches, or {@code null} if the in-memory index is not available
+     */
+    public List<String> suggest(SuggestField field, String prefix, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return null;
+        }
+        return current.of(field).complete(prefix, limit);
+    }
+
+    void rebuild() {
+        long epoch = resets.get();
+        synchronized (this) {
+            rebuilding = true;
+            writtenEventTypes.clear();
+            writtenSources.clear();
+        }
+        Set<String> eventTypes = new HashSet<>();
+        Set<String> sources = new HashSet<>();
+        long start = System.nanoTime();
+        try {
+            storageStrategy.forEachEventConfigKey((eventType, source) -> {
+                if (eventType != null) {
+                    eventTypes.add(eventType);
+                }
+                if (source != null) {
+                    sources.add(source);
+                }
+            });
+            synchronized (this) {
+                eventTypes.addAll(writtenEventTypes);
+                sources.addAll(writtenSources);
+                if (eventTypes.size() > properties.getMaxValues() || sources.size() > properties.getMaxValues()) {
+                    log.info("Too many distinct values for the in-memory suggestion index, using the store");
+                    indexes = null;
+                } else if (resets.get() == epoch) {
+                    // Otherwise a reset during the scan queued another rebuild that will publish
+                    indexes = new Indexes(PrefixIndex.of(eventTypes), PrefixIndex.of(sources));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Suggestion index rebuild failed, keeping the previous index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+            }
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void onInvalidation(EventConfigInvalidation invalidation) {
+        if (!properties.isInMemory()) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            resets.incrementAndGet();
+            indexes = null;
+            rebuilder.execute(this::rebuild);
+            return;
+        }
+        if (rebuilding) {
+            if (invalidation.getEventType() != null) {
+                writtenEventTypes.add(invalidation.getEventType());
+            }
+            if (invalidation.getSource() != null) {
+                writtenSources.add(invalidation.getSource());
+            }
+        }
+        Indexes current = indexes;
+        if (current == null) {
+            return;
+        }
+        indexes = new Indexes(
+                invalidation.getEventType() != null ? current.eventTypes().with(invalidation.getEventType()) : current.eventTypes(),
+                invalidation.getSource() != null ? current.sources().with(invalidation.getSource()) : current.sources());
+    }
+
+    private record Indexes(PrefixIndex eventTypes, PrefixIndex sources) {
+
+        PrefixIndex of(SuggestField field) {
+            return field == SuggestField.EVENT_TYPE ? eventTypes : sources;
+        }
+    }
+}
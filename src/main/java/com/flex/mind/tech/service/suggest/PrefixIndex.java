@@ -0,0 +1,59 @@
+package com.flex.mind.tech.service.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable sorted array of distinct values answering prefix queries with a binary search for the
+ * first candidate and a scan of at most {@code limit} entries after it.
+ */
+public final class PrefixIndex {
+
+    private final String[] values;
+
+    private PrefixIndex(String[] values) {
+        this.values = values;
+    }
+
+    public static PrefixIndex of(Collection<String> distinctValues) {
+        String[] values = distinctValues.toArray(String[]::new);
+        Arrays.sort(values);
+        return new PrefixIndex(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean contains(String value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /**
+     * @return a copy that also holds {@code value}, or this index if it is already present
+     */
+    public PrefixIndex with(String value) {
+        int position = Arrays.binarySearch(values, value);
+        if (position >= 0) {
+            return this;
+        }
+        int insertAt = -position - 1;
+        String[] copy = new String[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, insertAt);
+        copy[insertAt] = value;
+        System.arraycopy(values, insertAt, copy, insertAt + 1, values.length - insertAt);
+        return new PrefixIndex(copy);
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        int position = Arrays.binarySearch(values, prefix);
+        int from = position >= 0 ? position : -position - 1;
+        List<String> matches = new ArrayList<>(Math.min(limit, values.length - from));
+        for (int i = from; i < values.length && matches.size() < limit && values[i].startsWith(prefix); i++) {
+            matches.add(values[i]);
+        }
+        return matches;
+    }
+}
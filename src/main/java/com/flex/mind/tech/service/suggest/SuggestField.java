@@ -0,0 +1,26 @@
+package com.flex.mind.tech.service.suggest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fields that support prefix suggestions, by their API name.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SuggestField {
+
+    EVENT_TYPE("eventType"),
+    SOURCE("source");
+
+    private final String fieldName;
+
+    public static SuggestField fromFieldName(String fieldName) {
+        for (SuggestField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Suggestions are supported for eventType and source, not: " + fieldName);
+    }
+}
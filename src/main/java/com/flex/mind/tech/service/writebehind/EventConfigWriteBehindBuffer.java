@@ -0,0 +1,349 @@
+package com.flex.mind.tech.service.writebehind;
+
+import com.flex.mind.tech.config.WriteBehindProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigBulkResult;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalescing write-behind buffer for enable/disable toggles.
+ * <p>
+ * Each config id holds at most one buffered state; a newer toggle replaces it, so a config flipped many
+ * times between flushes costs one write. A single flusher thread writes the buffer with
+ * {@link EventConfigStorageStrategy#applyChanges} every {@code app.write-behind.flush-interval}, or as soon as
+ * {@code max-batch-size} configs are waiting, and publishes the invalidations once the bulk write succeeded.
+ * A toggle is written only if its config is still at the version it was buffered on; one that lost to a
+ * synchronous write in between is dropped and fails its durable caller with a conflict.
+ * Until then {@link #overlay} lets reads on this instance see the buffered state; other replicas see the
+ * toggle after the flush.
+ */
+@Log4j2
+@Component
+public class EventConfigWriteBehindBuffer {
+
+    private final WriteBehindProperties properties;
+    private final EventConfigStorageStrategy storageStrategy;
+    private final EventConfigInvalidationBus invalidationBus;
+    private final ScheduledExecutorService flusher;
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    // Drained entries stay visible to overlay() until their bulk write is stored and published
+    private final ConcurrentHashMap<String, Pending> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter buffered;
+    private final Counter coalesced;
+    private final Counter bypassed;
+    private final Counter flushFailures;
+    private final Counter conflicts;
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+
+    public EventConfigWriteBehindBuffer(WriteBehindProperties properties,
+                                        EventConfigStorageStrategy storageStrategy,
+                                        EventConfigInvalidationBus invalidationBus,
+                                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.storageStrategy = storageStrategy;
+        this.invalidationBus = invalidationBus;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-config-write-behind").daemon(true).factory());
+
+        this.buffered = Counter.builder("event.config.write.behind.toggles")
+                .description("Toggles offered to the write-behind buffer")
+                .tag("result", "buffered")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("event.config.write.behind.toggles")
+                .description("Toggles offered to the write-behind buffer")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("event.config.write.behind.toggles")
+                .description("Toggles offered to the write-behind buffer")
+                .tag("result", "bypassed")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("event.config.write.behind.flush.failures")
+                .description("Bulk writes of buffered toggles that failed")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("event.config.write.behind.conflicts")
+                .description("Buffered toggles dropped because their config changed before the flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("event.config.write.behind.flush")
+                .description("Duration of one bulk write of buffered toggles")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("event.config.write.behind.lag")
+                .description("Time from buffering a config to storing it")
+                .register(meterRegistry);
+        Gauge.builder("event.config.write.behind.pending", this, buffer -> buffer.pending.size())
+                .description("Configs waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        log.info("Write-behind buffer enabled: flush every {} ms or at {} configs, durability {}",
+                intervalMillis, properties.getMaxBatchSize(), properties.getDurability());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        // Last attempt to store what was acknowledged but not flushed yet
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Dropping {} buffered toggles that could not be flushed on shutdown", pending.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean isDurable() {
+        return properties.getDurability() == WriteBehindProperties.Durability.FLUSH;
+    }
+
+    /**
+     * Buffers {@code config} as the latest state of its id.
+     *
+     * @return completed with the stored config once a flush wrote it, or {@code null} when the buffer is full
+     * and the caller has to write synchronously
+     */
+    public CompletableFuture<EventConfigResponseDto> offer(EventConfigResponseDto config) {
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(config.getId())) {
+            bypassed.increment();
+            return null;
+        }
+        AtomicBoolean replaced = new AtomicBoolean();
+        Pending entry = pending.compute(config.getId(), (id, previous) -> {
+            if (previous == null) {
+                return new Pending(config, new CompletableFuture<>(), System.nanoTime());
+            }
+            replaced.set(true);
+            return new Pending(config, previous.stored(), previous.enqueuedAt());
+        });
+        (replaced.get() ? coalesced : buffered).increment();
+
+        if (pending.size() >= properties.getMaxBatchSize() && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+        return entry.stored();
+    }
+
+    /**
+     * The buffered state of {@code stored}'s id if there is one, else {@code stored}.
+     */
+    public EventConfigResponseDto overlay(EventConfigResponseDto stored) {
+        if (stored == null || isEmpty()) {
+            return stored;
+        }
+        Pending entry = pending.get(stored.getId());
+        if (entry == null) {
+            entry = inFlight.get(stored.getId());
+        }
+        return entry != null ? entry.config() : stored;
+    }
+
+    /**
+     * {@link #overlay(EventConfigResponseDto)} for every config, dropping those whose buffered state no longer
+     * matches the {@code enabled} filter. Configs only the buffered state would let through are missing, so
+     * callers filtering on {@code enabled} must read the store unfiltered while {@link #isEmpty()} is false.
+     */
+    public List<EventConfigResponseDto> overlay(List<EventConfigResponseDto> stored, Boolean enabled) {
+        if (isEmpty()) {
+            return stored;
+        }
+        List<EventConfigResponseDto> result = new ArrayList<>(stored.size());
+        for (EventConfigResponseDto config : stored) {
+            EventConfigResponseDto current = overlay(config);
+            if (enabled == null || enabled.equals(current.getEnabled())) {
+                result.add(current);
+            }
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty() && inFlight.isEmpty();
+    }
+
+    /**
+     * Drops the buffered toggle of {@code id} ahead of a synchronous write of the config, and waits for one
+     * that is already being flushed, so the synchronous write lands last.
+     */
+    public void supersede(String id) {
+        if (isEmpty()) {
+            return;
+        }
+        Pending dropped = pending.remove(id);
+        if (dropped != null) {
+            dropped.stored().complete(dropped.config());
+        }
+        Pending flushing = inFlight.get(id);
+        if (flushing != null) {
+            try {
+                flushing.stored().get(Math.max(1000, properties.getFlushInterval().toMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Failed or slow flush: a requeued entry is dropped below and the synchronous write still wins
+            }
+            Pending requeued = pending.remove(id);
+            if (requeued != null) {
+                requeued.stored().complete(requeued.config());
+            }
+        }
+    }
+
+    void flush() {
+        flushScheduled.set(false);
+        List<Pending> batch;
+        do {
+            batch = drain(properties.getMaxBatchSize());
+        } while (!batch.isEmpty() && write(batch));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed", e);
+        }
+    }
+
+    private List<Pending> drain(int max) {
+        List<Pending> batch = new ArrayList<>(Math.min(max, pending.size()));
+        Iterator<String> ids = pending.keySet().iterator();
+        while (ids.hasNext() && batch.size() < max) {
+            String id = ids.next();
+            Pending entry;
+            // Publish to inFlight before leaving pending so overlay() never falls back to the store
+            do {
+                entry = pending.get(id);
+                if (entry == null) {
+                    break;
+                }
+                inFlight.put(id, entry);
+            } while (!pending.remove(id, entry));
+            if (entry != null) {
+                batch.add(entry);
+            }
+        }
+        return batch;
+    }
+
+    private boolean write(List<Pending> batch) {
+        List<EventConfigResponseDto> updates = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            updates.add(entry.config());
+        }
+
+        EventConfigBulkResult result;
+        long start = System.nanoTime();
+        try {
+            result = storageStrategy.applyChanges(List.of(), updates);
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            log.warn("Write-behind flush of {} configs failed: {}", batch.size(), e.getMessage());
+            for (Pending entry : batch) {
+                String id = entry.config().getId();
+                if (isDurable()) {
+                    entry.stored().completeExceptionally(e);
+                } else {
+                    // Retried with the next flush unless a newer toggle took its place
+                    pending.putIfAbsent(id, entry);
+                }
+                inFlight.remove(id, entry);
+            }
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            // Invalidated caches reload with searches; entries stay in inFlight until those see the flush
+            storageStrategy.awaitSearchable(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Flushed toggles may not be searchable yet: {}", e.getMessage());
+        }
+        Map<String, EventConfigResponseDto> written = new HashMap<>();
+        for (EventConfigResponseDto stored : result.written()) {
+            written.put(stored.getId(), stored);
+        }
+        long now = System.nanoTime();
+        for (Pending entry : batch) {
+            String id = entry.config().getId();
+            EventConfigResponseDto stored = written.get(id);
+            inFlight.remove(id, entry);
+            if (stored == null) {
+                // Changed by a synchronous write since it was buffered; that write wins
+                conflicts.increment();
+                log.warn("Dropping buffered toggle of event config {}: changed since version {}",
+                        id, entry.config().getVersion());
+                entry.stored().completeExceptionally(new OptimisticLockingFailureException(
+                        "Event config " + id + " changed before its buffered toggle was stored"));
+                continue;
+            }
+            invalidationBus.publish(stored);
+            rebase(entry.config().getVersion(), stored);
+            entry.stored().complete(stored);
+            lagTimer.record(now - entry.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Moves a toggle buffered on top of the one just flushed, and so still carrying the version it was based
+     * on, to the version that is now stored, so its conditional write does not conflict with our own flush.
+     */
+    private void rebase(String flushedVersion, EventConfigResponseDto stored) {
+        pending.computeIfPresent(stored.getId(), (id, next) -> {
+            if (!Objects.equals(next.config().getVersion(), flushedVersion)) {
+                return next;
+            }
+            EventConfigResponseDto config = next.config();
+            return new Pending(EventConfigResponseDto.builder()
+                    .id(config.getId())
+                    .eventType(config.getEventType())
+                    .source(config.getSource())
+                    .enabled(config.getEnabled())
+                    .createdAt(config.getCreatedAt())
+                    .updatedAt(config.getUpdatedAt())
+                    .version(stored.getVersion())
+                    .build(), next.stored(), next.enqueuedAt());
+        });
+    }
+
+    private record Pending(EventConfigResponseDto config, CompletableFuture<EventConfigResponseDto> stored,
+                           long enqueuedAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.flex.mind.tech.service.writebehind;
+
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+
+/**
+ * Outcome of a toggle offered to {@link EventConfigWriteBehindBuffer}.
+ *
+ * @param config the state readers now see
+ * @param stored whether {@code config} is already in the store, rather than only buffered
+ */
+public record WriteBehindResult(EventConfigResponseDto config, boolean stored) {
+}
@@ -0,0 +1,128 @@
+package com.flex.mind.tech.benchmark;
+
+import com.flex.mind.tech.config.KeyLockProperties;
+import com.flex.mind.tech.service.lock.EventConfigKeyLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write throughput (operations per second) of 1 to 64 concurrent writers, each holding a key lock around
+ * a simulated store round trip. {@code stripedLocks} uses {@link EventConfigKeyLocks}, {@code singleLock}
+ * the instance-wide lock a plain {@code synchronized} service method would amount to. With
+ * {@code keys=1} every writer hits the same key and both serialize; with 4096 keys only the striped table
+ * scales with the writer count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyLockBenchmark {
+
+    private static final int OPERATIONS = 4096;
+    private static final long STORE_WORK_TOKENS = 2_000;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    private int writers;
+
+    @Param({"1", "4096"})
+    private int keys;
+
+    private EventConfigKeyLocks keyLocks;
+    private ReentrantLock singleLock;
+    private String[] eventTypes;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keyLocks = new EventConfigKeyLocks(new KeyLockProperties(), new SimpleMeterRegistry());
+        singleLock = new ReentrantLock();
+        eventTypes = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            eventTypes[i] = "EVENT_TYPE_" + i;
+        }
+        executor = Executors.newFixedThreadPool(writers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void stripedLocks() throws Exception {
+        run(writer -> {
+            String source = "service-" + writer;
+            return i -> keyLocks.withLock(eventTypes[i % keys], source, KeyLockBenchmark::storeWrite);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void singleLock() throws Exception {
+        run(writer -> i -> {
+            singleLock.lock();
+            try {
+                return storeWrite();
+            } finally {
+                singleLock.unlock();
+            }
+        });
+    }
+
+    private void run(WriterFactory factory) throws InterruptedException, ExecutionException {
+        int perWriter = OPERATIONS / writers;
+        List<Future<?>> futures = new ArrayList<>(writers);
+        for (int writer = 0; writer < writers; writer++) {
+            // One shared source per run makes keys=1 a true single-key workload
+            Operation operation = factory.create(keys == 1 ? 0 : writer);
+            int offset = writer * perWriter;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    operation.apply(offset + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static Boolean storeWrite() {
+        Blackhole.consumeCPU(STORE_WORK_TOKENS);
+        return Boolean.TRUE;
+    }
+
+    private interface WriterFactory {
+        Operation create(int writer);
+    }
+
+    private interface Operation {
+        Object apply(int i);
+    }
+}
@@ -0,0 +1,104 @@
+package com.flex.mind.tech.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flex.mind.tech.config.MatchingProperties;
+import com.flex.mind.tech.config.WriteBehindProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.matching.EventConfigMatchingEngine;
+import com.flex.mind.tech.service.matching.EventMatchStreamProcessor;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end NDJSON match stream throughput (events per second) for a 200k-event body, with the
+ * matching and encoding pool at one thread and at all cores. Output is discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchStreamBenchmark {
+
+    private static final int EVENTS = 200_000;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private byte[] body;
+    private EventMatchStreamProcessor processor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        List<EventConfigResponseDto> configs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            configs.add(EventConfigResponseDto.builder().id(String.valueOf(i)).eventType("EVENT_TYPE_" + (i % 100))
+                    .source("service-" + i).enabled(true).createdAt(now).updatedAt(now).build());
+        }
+        EventConfigStorageStrategy storageStrategy = Mockito.mock(EventConfigStorageStrategy.class);
+        Mockito.when(storageStrategy.getEventConfigs(null, null, null)).thenReturn(configs);
+
+        MatchingProperties properties = new MatchingProperties();
+        if (parallelism > 0) {
+            properties.setStreamParallelism(parallelism);
+            properties.setStreamMaxInFlightChunks(2 * parallelism);
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventConfigInvalidationBus invalidationBus = Mockito.mock(EventConfigInvalidationBus.class);
+        EventConfigMatchingEngine engine = new EventConfigMatchingEngine(properties, storageStrategy, invalidationBus,
+                new EventConfigWriteBehindBuffer(new WriteBehindProperties(), storageStrategy, invalidationBus,
+                        meterRegistry),
+                meterRegistry);
+        processor = new EventMatchStreamProcessor(properties, engine,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+
+        StringBuilder ndjson = new StringBuilder(EVENTS * 96);
+        for (int i = 0; i < EVENTS; i++) {
+            int config = (i * 7919) % 10_000;
+            ndjson.append("{\"eventType\":\"EVENT_TYPE_").append(config % 100)
+                    .append("\",\"source\":\"").append(i % 2 == 0 ? "service-" : "unknown-").append(config)
+                    .append("\",\"payload\":{\"userId\":").append(i).append("}}\n");
+        }
+        body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processor.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long process() throws IOException {
+        return processor.process(new ByteArrayInputStream(body), OutputStream.nullOutputStream());
+    }
+}
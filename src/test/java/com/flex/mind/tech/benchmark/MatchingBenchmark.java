@@ -0,0 +1,131 @@
+package com.flex.mind.tech.benchmark;
+
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.matching.CompiledEventConfigIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded event matching throughput (events per second) of the compiled index, against the
+ * per-event key object and HashMap lookup downstream consumers use today. Half of the events miss.
+ * {@code compiledIndexPatterns} resolves every event through 1000 prefix and 1000 suffix source patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingBenchmark {
+
+    private static final int EVENTS = 4096;
+
+    @Param({"10000"})
+    private int configs;
+
+    private String[] eventTypes;
+    private String[] sources;
+    private CompiledEventConfigIndex index;
+    private CompiledEventConfigIndex patternIndex;
+    private String[] patternSources;
+    private Map<EventConfigKeyDto, EventConfigResponseDto> map;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        List<EventConfigResponseDto> enabled = new ArrayList<>(configs);
+        map = new HashMap<>();
+        for (int i = 0; i < configs; i++) {
+            EventConfigResponseDto config = EventConfigResponseDto.builder()
+                    .id(String.valueOf(i))
+                    .eventType("EVENT_TYPE_" + (i % 100))
+                    .source("service-" + i)
+                    .enabled(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            enabled.add(config);
+            map.put(new EventConfigKeyDto(config.getEventType(), config.getSource()), config);
+        }
+        index = CompiledEventConfigIndex.compile(enabled);
+
+        List<EventConfigResponseDto> withPatterns = new ArrayList<>(enabled);
+        for (int i = 0; i < 1000; i++) {
+            withPatterns.add(EventConfigResponseDto.builder().id("p" + i).eventType("EVENT_TYPE_" + (i % 100))
+                    .source("team-" + i + "-*").enabled(true).updatedAt(now).build());
+            withPatterns.add(EventConfigResponseDto.builder().id("s" + i).eventType("EVENT_TYPE_" + (i % 100))
+                    .source("*-" + i + "-worker").enabled(true).updatedAt(now).build());
+        }
+        patternIndex = CompiledEventConfigIndex.compile(withPatterns);
+
+        Random random = new Random(42);
+        eventTypes = new String[EVENTS];
+        sources = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            int config = random.nextInt(configs);
+            eventTypes[i] = "EVENT_TYPE_" + (config % 100);
+            // Every other event comes from a source without a config
+            sources[i] = (i % 2 == 0 ? "service-" : "unknown-") + config;
+        }
+        patternSources = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            int pattern = Integer.parseInt(eventTypes[i].substring("EVENT_TYPE_".length())) + 100 * random.nextInt(10);
+            patternSources[i] = i % 2 == 0 ? "team-" + pattern + "-api" : "eu-" + pattern + "-worker";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int compiledIndex() {
+        int matched = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            if (index.match(eventTypes[i], sources[i]) != null) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int compiledIndexPatterns() {
+        int matched = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            if (patternIndex.match(eventTypes[i], patternSources[i]) != null) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int hashMapWithKeyObjects() {
+        int matched = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            if (map.get(new EventConfigKeyDto(eventTypes[i], sources[i])) != null) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
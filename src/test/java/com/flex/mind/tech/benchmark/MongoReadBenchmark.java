@@ -0,0 +1,119 @@
+package com.flex.mind.tech.benchmark;
+
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import com.flex.mind.tech.repository.codec.EventConfigMongoCodec;
+import com.flex.mind.tech.repository.codec.EventConfigMongoReadConverter;
+import com.flex.mind.tech.repository.codec.EventConfigMongoWriteConverter;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a result set of EventConfigMongo from raw BSON, as the driver receives it:
+ * <ul>
+ *     <li>{@code reflective} - DocumentCodec + default MappingMongoConverter (previous behaviour)</li>
+ *     <li>{@code converter} - DocumentCodec + EventConfigMongoReadConverter (repository path now)</li>
+ *     <li>{@code codec} - EventConfigMongoCodec straight from BSON (direct driver access)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MongoReadBenchmark {
+
+    @Param({"10000"})
+    private int documents;
+
+    private List<ByteBuffer> rawDocuments;
+    private MappingMongoConverter reflectiveConverter;
+    private MappingMongoConverter customConverter;
+    private DocumentCodec documentCodec;
+    private EventConfigMongoCodec entityCodec;
+    private DecoderContext decoderContext;
+
+    @Setup
+    public void setUp() {
+        documentCodec = new DocumentCodec();
+        entityCodec = new EventConfigMongoCodec();
+        decoderContext = DecoderContext.builder().build();
+        reflectiveConverter = converter(new MongoCustomConversions(List.of()));
+        customConverter = converter(new MongoCustomConversions(List.of(
+                new EventConfigMongoReadConverter(), new EventConfigMongoWriteConverter())));
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        rawDocuments = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            EventConfigMongo entity = EventConfigMongo.builder()
+                    .id("550e8400-e29b-41d4-a716-" + String.format("%012d", i))
+                    .eventType("EVENT_TYPE_" + (i % 100))
+                    .source("service-" + (i % 37))
+                    .enabled(i % 3 != 0)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build();
+            Document stored = new Document();
+            reflectiveConverter.write(entity, stored);
+            rawDocuments.add(new RawBsonDocument(stored, documentCodec).getByteBuffer().asNIO());
+        }
+    }
+
+    private static MappingMongoConverter converter(MongoCustomConversions conversions) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) {
+        for (ByteBuffer raw : rawDocuments) {
+            Document document = documentCodec.decode(new BsonBinaryReader(raw.duplicate()), decoderContext);
+            blackhole.consume(reflectiveConverter.read(EventConfigMongo.class, document));
+        }
+    }
+
+    @Benchmark
+    public void converter(Blackhole blackhole) {
+        for (ByteBuffer raw : rawDocuments) {
+            Document document = documentCodec.decode(new BsonBinaryReader(raw.duplicate()), decoderContext);
+            blackhole.consume(customConverter.read(EventConfigMongo.class, document));
+        }
+    }
+
+    @Benchmark
+    public void codec(Blackhole blackhole) {
+        for (ByteBuffer raw : rawDocuments) {
+            blackhole.consume(entityCodec.decode(new BsonBinaryReader(raw.duplicate()), decoderContext));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.flex.mind.tech.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flex.mind.tech.config.converter.EventConfigProtobufHttpMessageConverter;
+import com.flex.mind.tech.model.proto.EventConfigProto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a getEventConfigs response in every negotiable format.
+ * Payload sizes are printed once per fork during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<EventConfigResponseDto>> LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000"})
+    private int size;
+
+    private List<EventConfigResponseDto> configs;
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private ObjectMapper cbor;
+    private byte[] jsonBytes;
+    private byte[] smileBytes;
+    private byte[] cborBytes;
+    private byte[] protobufBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        configs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            configs.add(EventConfigResponseDto.builder()
+                    .id("550e8400-e29b-41d4-a716-" + String.format("%012d", i))
+                    .eventType("EVENT_TYPE_" + (i % 100))
+                    .source("service-" + (i % 37))
+                    .enabled(i % 3 != 0)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+        }
+
+        json = configure(new ObjectMapper());
+        smile = configure(new SmileMapper());
+        cbor = configure(new CBORMapper());
+
+        jsonBytes = json.writeValueAsBytes(configs);
+        smileBytes = smile.writeValueAsBytes(configs);
+        cborBytes = cbor.writeValueAsBytes(configs);
+        protobufBytes = EventConfigProtobufHttpMessageConverter.toMessage(configs).toByteArray();
+
+        System.out.printf("%nPayload bytes for %d configs: json=%d smile=%d cbor=%d protobuf=%d%n",
+                size, jsonBytes.length, smileBytes.length, cborBytes.length, protobufBytes.length);
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws IOException {
+        return json.writeValueAsBytes(configs);
+    }
+
+    @Benchmark
+    public byte[] serializeSmile() throws IOException {
+        return smile.writeValueAsBytes(configs);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws IOException {
+        return cbor.writeValueAsBytes(configs);
+    }
+
+    @Benchmark
+    public byte[] serializeProtobuf() {
+        return EventConfigProtobufHttpMessageConverter.toMessage(configs).toByteArray();
+    }
+
+    @Benchmark
+    public List<EventConfigResponseDto> deserializeJson() throws IOException {
+        return json.readValue(jsonBytes, LIST);
+    }
+
+    @Benchmark
+    public List<EventConfigResponseDto> deserializeSmile() throws IOException {
+        return smile.readValue(smileBytes, LIST);
+    }
+
+    @Benchmark
+    public List<EventConfigResponseDto> deserializeCbor() throws IOException {
+        return cbor.readValue(cborBytes, LIST);
+    }
+
+    @Benchmark
+    public EventConfigProto.EventConfigList deserializeProtobuf() throws IOException {
+        return EventConfigProto.EventConfigList.parseFrom(protobufBytes);
+    }
+}
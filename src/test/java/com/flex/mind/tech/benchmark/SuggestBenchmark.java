@@ -0,0 +1,68 @@
+package com.flex.mind.tech.benchmark;
+
+import com.flex.mind.tech.service.suggest.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory suggestion lookups against a {@link PrefixIndex} of distinct values, compared with the
+ * linear scan it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<String> values;
+    private PrefixIndex index;
+
+    @Setup
+    public void setUp() {
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add("EVENT_TYPE_" + String.format("%06d", i * 7919 % size));
+        }
+        index = PrefixIndex.of(values);
+    }
+
+    @Benchmark
+    public List<String> completeIndex() {
+        return index.complete("EVENT_TYPE_0421", 10);
+    }
+
+    @Benchmark
+    public List<String> completeScan() {
+        List<String> matches = new ArrayList<>();
+        for (String value : values) {
+            if (value.startsWith("EVENT_TYPE_0421")) {
+                matches.add(value);
+            }
+        }
+        matches.sort(null);
+        return matches.subList(0, Math.min(10, matches.size()));
+    }
+
+    @Benchmark
+    public PrefixIndex insert() {
+        return index.with("EVENT_TYPE_0421X");
+    }
+}
@@ -0,0 +1,108 @@
+package com.flex.mind.tech.config.converter;
+
+import com.flex.mind.tech.model.proto.EventConfigProto;
+import com.flex.mind.tech.model.response.ErrorResponseDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventConfigProtobufHttpMessageConverter Unit Tests")
+class EventConfigProtobufHttpMessageConverterTest {
+
+    private EventConfigProtobufHttpMessageConverter converter;
+    private EventConfigResponseDto responseDto;
+    private LocalDateTime fixedTime;
+
+    @BeforeEach
+    void setUp() {
+        converter = new EventConfigProtobufHttpMessageConverter();
+        fixedTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+        responseDto = EventConfigResponseDto.builder()
+                .id("507f1f77bcf86cd799439011")
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(true)
+                .createdAt(fixedTime)
+                .updatedAt(fixedTime)
+                .version("3")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write list of configs as EventConfigList")
+    void write_List_Success() throws IOException {
+        // Given
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        var listType = new ParameterizedTypeReference<List<EventConfigResponseDto>>() {
+        }.getType();
+
+        // When
+        converter.write(List.of(responseDto), listType,
+                EventConfigProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+
+        // Then
+        EventConfigProto.EventConfigList parsed = EventConfigProto.EventConfigList.parseFrom(output.getBodyAsBytes());
+        assertThat(parsed.getItemsCount()).isEqualTo(1);
+        EventConfigProto.EventConfig item = parsed.getItems(0);
+        assertThat(item.getId()).isEqualTo("507f1f77bcf86cd799439011");
+        assertThat(item.getEventType()).isEqualTo("USER_REGISTRATION");
+        assertThat(item.getSource()).isEqualTo("auth-service");
+        assertThat(item.getEnabled()).isTrue();
+        assertThat(item.getCreatedAt()).isEqualTo(fixedTime.toEpochSecond(ZoneOffset.UTC));
+        assertThat(item.getVersion()).isEqualTo("3");
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+        assertThat(output.getHeaders().getContentType().isCompatibleWith(
+                EventConfigProtobufHttpMessageConverter.APPLICATION_PROTOBUF)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write error responses")
+    void write_ErrorResponse_Success() throws IOException {
+        // Given
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        ErrorResponseDto error = ErrorResponseDto.builder()
+                .code("EVENT_CONFIG_NOT_FOUND")
+                .message("Event config not found")
+                .timestamp(fixedTime)
+                .path("/event-config/1")
+                .build();
+
+        // When
+        converter.write(error, ErrorResponseDto.class,
+                EventConfigProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+
+        // Then
+        EventConfigProto.ErrorResponse parsed = EventConfigProto.ErrorResponse.parseFrom(output.getBodyAsBytes());
+        assertThat(parsed.getCode()).isEqualTo("EVENT_CONFIG_NOT_FOUND");
+        assertThat(parsed.getDetails()).isEmpty();
+        assertThat(parsed.getPath()).isEqualTo("/event-config/1");
+    }
+
+    @Test
+    @DisplayName("Should only write supported types and never read")
+    void canReadWrite_SupportedTypes() {
+        var listType = new ParameterizedTypeReference<List<EventConfigResponseDto>>() {
+        }.getType();
+        var stringListType = new ParameterizedTypeReference<List<String>>() {
+        }.getType();
+        MediaType protobuf = EventConfigProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+
+        assertThat(converter.canWrite(listType, List.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(EventConfigResponseDto.class, EventConfigResponseDto.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(stringListType, List.class, protobuf)).isFalse();
+        assertThat(converter.canWrite(listType, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(EventConfigResponseDto.class, null, protobuf)).isFalse();
+    }
+}
@@ -1,24 +1,43 @@
 package com.flex.mind.tech.controller;
 
 import com.flex.mind.tech.controller.impl.ControllerEventConfigImpl;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.request.EventConfigLookupRequestDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.request.EventConfigSourceStateDto;
+import com.flex.mind.tech.model.request.EventConfigStateEntryDto;
+import com.flex.mind.tech.model.request.EventMatchRequestDto;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.model.response.EventConfigSyncResultDto;
+import com.flex.mind.tech.model.response.EventMatchResultDto;
 import com.flex.mind.tech.service.ServiceEventConfig;
+import com.flex.mind.tech.service.consistency.ConsistencyToken;
+import com.flex.mind.tech.service.importer.ImportFormat;
+import com.flex.mind.tech.service.writebehind.WriteBehindResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +46,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -72,11 +92,11 @@ class ControllerEventConfigImplTest {
     @DisplayName("Should create event config successfully")
     void createEventConfig_Success() {
         // Given
-        when(serviceEventConfig.createEventConfig(any(EventConfigRequestDto.class)))
+        when(serviceEventConfig.createEventConfig(any(EventConfigRequestDto.class), isNull()))
                 .thenReturn(responseDto);
 
         // When
-        ResponseEntity<EventConfigResponseDto> result = controller.createEventConfig(requestDto);
+        ResponseEntity<EventConfigResponseDto> result = controller.createEventConfig(null, requestDto);
 
         // Then
         assertThat(result).isNotNull();
@@ -91,7 +111,7 @@ class ControllerEventConfigImplTest {
         assertThat(body.getCreatedAt()).isEqualTo(fixedTime);
         assertThat(body.getUpdatedAt()).isEqualTo(fixedTime);
 
-        verify(serviceEventConfig, times(1)).createEventConfig(requestDto);
+        verify(serviceEventConfig, times(1)).createEventConfig(requestDto, null);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -104,15 +124,31 @@ class ControllerEventConfigImplTest {
                 .source(null)
                 .build();
 
-        when(serviceEventConfig.createEventConfig(invalidDto))
+        when(serviceEventConfig.createEventConfig(invalidDto, null))
                 .thenThrow(new IllegalArgumentException("Invalid request data"));
 
         // When & Then
-        assertThatThrownBy(() -> controller.createEventConfig(invalidDto))
+        assertThatThrownBy(() -> controller.createEventConfig(null, invalidDto))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Invalid request data");
 
-        verify(serviceEventConfig, times(1)).createEventConfig(invalidDto);
+        verify(serviceEventConfig, times(1)).createEventConfig(invalidDto, null);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should pass the Idempotency-Key to the service")
+    void createEventConfig_IdempotencyKey_Passed() {
+        // Given
+        when(serviceEventConfig.createEventConfig(requestDto, "retry-1")).thenReturn(responseDto);
+
+        // When
+        ResponseEntity<EventConfigResponseDto> result = controller.createEventConfig("retry-1", requestDto);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody()).isEqualTo(responseDto);
+        verify(serviceEventConfig).createEventConfig(requestDto, "retry-1");
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -120,15 +156,15 @@ class ControllerEventConfigImplTest {
     @DisplayName("Should handle null request in createEventConfig")
     void createEventConfig_WithNullRequest_ThrowsException() {
         // Given
-        when(serviceEventConfig.createEventConfig(null))
+        when(serviceEventConfig.createEventConfig(null, null))
                 .thenThrow(new IllegalArgumentException("Request cannot be null"));
 
         // When & Then
-        assertThatThrownBy(() -> controller.createEventConfig(null))
+        assertThatThrownBy(() -> controller.createEventConfig(null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Request cannot be null");
 
-        verify(serviceEventConfig, times(1)).createEventConfig(null);
+        verify(serviceEventConfig, times(1)).createEventConfig(null, null);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -153,11 +189,11 @@ class ControllerEventConfigImplTest {
                 .source("auth-service")
                 .build();
 
-        when(serviceEventConfig.updateEventConfig(eq(eventId), any(EventConfigRequestDto.class)))
+        when(serviceEventConfig.updateEventConfig(eq(eventId), any(EventConfigRequestDto.class), isNull()))
                 .thenReturn(updatedResponse);
 
         // When
-        ResponseEntity<EventConfigResponseDto> result = controller.updateEventConfig(eventId, updateRequest);
+        ResponseEntity<EventConfigResponseDto> result = controller.updateEventConfig(eventId, null, null, updateRequest);
 
         // Then
         assertThat(result).isNotNull();
@@ -172,7 +208,7 @@ class ControllerEventConfigImplTest {
         assertThat(body.getCreatedAt()).isEqualTo(fixedTime);
         assertThat(body.getUpdatedAt()).isEqualTo(updateTime);
 
-        verify(serviceEventConfig, times(1)).updateEventConfig(eventId, updateRequest);
+        verify(serviceEventConfig, times(1)).updateEventConfig(eventId, updateRequest, null);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -181,15 +217,15 @@ class ControllerEventConfigImplTest {
     void updateEventConfig_WithEmptyId_ThrowsException() {
         // Given
         String emptyId = "";
-        when(serviceEventConfig.updateEventConfig(eq(emptyId), any(EventConfigRequestDto.class)))
+        when(serviceEventConfig.updateEventConfig(eq(emptyId), any(EventConfigRequestDto.class), isNull()))
                 .thenThrow(new IllegalArgumentException("ID cannot be empty"));
 
         // When & Then
-        assertThatThrownBy(() -> controller.updateEventConfig(emptyId, requestDto))
+        assertThatThrownBy(() -> controller.updateEventConfig(emptyId, null, null, requestDto))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("ID cannot be empty");
 
-        verify(serviceEventConfig, times(1)).updateEventConfig(emptyId, requestDto);
+        verify(serviceEventConfig, times(1)).updateEventConfig(emptyId, requestDto, null);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -226,7 +262,7 @@ class ControllerEventConfigImplTest {
 
         // When
         ResponseEntity<List<EventConfigResponseDto>> result =
-                controller.getEventConfigs(eventType, source, enabled);
+                controller.getEventConfigs(eventType, source, enabled, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -284,7 +320,7 @@ class ControllerEventConfigImplTest {
 
         // When
         ResponseEntity<List<EventConfigResponseDto>> result =
-                controller.getEventConfigs(null, null, null);
+                controller.getEventConfigs(null, null, null, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -300,6 +336,27 @@ class ControllerEventConfigImplTest {
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
+    @Test
+    @DisplayName("Should issue a consistency token on writes and wait for it on reads")
+    void consistencyToken_IssuedOnWrite_AwaitedOnRead() {
+        // Given
+        when(serviceEventConfig.createEventConfig(requestDto, null)).thenReturn(responseDto);
+        when(serviceEventConfig.getEventConfigs(null, null, null)).thenReturn(List.of(responseDto));
+
+        // When
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        String token = controller.createEventConfig(null, requestDto).getHeaders().getFirst("Consistency-Token");
+        ResponseEntity<List<EventConfigResponseDto>> result = controller.getEventConfigs(null, null, null, token);
+
+        // Then
+        assertThat(result.getBody()).containsExactly(responseDto);
+        ArgumentCaptor<ConsistencyToken> awaited = ArgumentCaptor.forClass(ConsistencyToken.class);
+        verify(serviceEventConfig).awaitConsistency(awaited.capture());
+        assertThat(awaited.getValue().writtenAt()).isBetween(before, Instant.now());
+        assertThatThrownBy(() -> controller.getEventConfigs(null, null, null, "not a token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("Should get filtered event configs with partial parameters")
     void getEventConfigs_WithPartialParameters_Success() {
@@ -312,7 +369,7 @@ class ControllerEventConfigImplTest {
 
         // When
         ResponseEntity<List<EventConfigResponseDto>> result =
-                controller.getEventConfigs(eventType, null, null);
+                controller.getEventConfigs(eventType, null, null, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -337,7 +394,7 @@ class ControllerEventConfigImplTest {
 
         // When
         ResponseEntity<List<EventConfigResponseDto>> result =
-                controller.getEventConfigs("UNKNOWN_TYPE", "unknown-service", true);
+                controller.getEventConfigs("UNKNOWN_TYPE", "unknown-service", true, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -355,15 +412,15 @@ class ControllerEventConfigImplTest {
     @DisplayName("Should handle service exception in createEventConfig")
     void createEventConfig_ServiceException_ThrowsException() {
         // Given
-        when(serviceEventConfig.createEventConfig(any(EventConfigRequestDto.class)))
+        when(serviceEventConfig.createEventConfig(any(EventConfigRequestDto.class), isNull()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // When & Then
-        assertThatThrownBy(() -> controller.createEventConfig(requestDto))
+        assertThatThrownBy(() -> controller.createEventConfig(null, requestDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Database connection failed");
 
-        verify(serviceEventConfig, times(1)).createEventConfig(requestDto);
+        verify(serviceEventConfig, times(1)).createEventConfig(requestDto, null);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
@@ -372,15 +429,199 @@ class ControllerEventConfigImplTest {
     void updateEventConfig_ServiceException_ThrowsException() {
         // Given
         String eventId = "507f1f77bcf86cd799439011";
-        when(serviceEventConfig.updateEventConfig(eq(eventId), any(EventConfigRequestDto.class)))
+        when(serviceEventConfig.updateEventConfig(eq(eventId), any(EventConfigRequestDto.class), isNull()))
                 .thenThrow(new RuntimeException("Event config not found"));
 
         // When & Then
-        assertThatThrownBy(() -> controller.updateEventConfig(eventId, requestDto))
+        assertThatThrownBy(() -> controller.updateEventConfig(eventId, null, null, requestDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Event config not found");
 
-        verify(serviceEventConfig, times(1)).updateEventConfig(eventId, requestDto);
+        verify(serviceEventConfig, times(1)).updateEventConfig(eventId, requestDto, null);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should look up event configs by keys")
+    void lookupEventConfigs_Success() {
+        // Given
+        List<EventConfigKeyDto> keys = List.of(new EventConfigKeyDto("USER_REGISTRATION", "auth-service"));
+        EventConfigLookupRequestDto lookupDto = new EventConfigLookupRequestDto(keys);
+        when(serviceEventConfig.lookupEventConfigs(keys)).thenReturn(List.of(responseDto));
+
+        // When
+        ResponseEntity<List<EventConfigResponseDto>> result = controller.lookupEventConfigs(lookupDto);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).containsExactly(responseDto);
+        verify(serviceEventConfig, times(1)).lookupEventConfigs(keys);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should match a batch of events")
+    void matchEvents_Success() {
+        // Given
+        List<EventConfigKeyDto> events = List.of(new EventConfigKeyDto("USER_REGISTRATION", "auth-service"));
+        List<EventMatchResultDto> results = List.of(
+                new EventMatchResultDto("USER_REGISTRATION", "auth-service", responseDto));
+        when(serviceEventConfig.matchEvents(events)).thenReturn(results);
+
+        // When
+        ResponseEntity<List<EventMatchResultDto>> result = controller.matchEvents(new EventMatchRequestDto(events));
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(results);
+        verify(serviceEventConfig, times(1)).matchEvents(events);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the update and return the new ETag")
+    void updateEventConfig_IfMatch_ReturnsETag() {
+        // Given
+        responseDto.setVersion("8");
+        when(serviceEventConfig.updateEventConfig("id-1", requestDto, "7")).thenReturn(responseDto);
+
+        // When
+        ResponseEntity<EventConfigResponseDto> result = controller.updateEventConfig("id-1", "\"7\"", null, requestDto);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"8\"");
+        verify(serviceEventConfig, times(1)).updateEventConfig("id-1", requestDto, "7");
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should treat wildcard If-Match as unconditional and reject tag lists")
+    void updateEventConfig_IfMatchVariants() {
+        // Given
+        when(serviceEventConfig.updateEventConfig(eq("id-1"), eq(requestDto), isNull())).thenReturn(responseDto);
+
+        // When
+        controller.updateEventConfig("id-1", "*", null, requestDto);
+
+        // Then
+        verify(serviceEventConfig).updateEventConfig(eq("id-1"), eq(requestDto), isNull());
+        assertThatThrownBy(() -> controller.updateEventConfig("id-1", "\"3\", \"4\"", null, requestDto))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should answer 202 when a toggle sent with Prefer: respond-async was buffered")
+    void updateEventConfig_RespondAsync_Returns202() {
+        // Given
+        responseDto.setVersion("7");
+        when(serviceEventConfig.updateEventConfigDeferred("id-1", requestDto, null))
+                .thenReturn(new WriteBehindResult(responseDto, false));
+
+        // When
+        ResponseEntity<EventConfigResponseDto> result =
+                controller.updateEventConfig("id-1", null, "respond-async; wait=0", requestDto);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(result.getHeaders().getFirst("Preference-Applied")).isEqualTo("respond-async");
+        assertThat(result.getHeaders().getETag()).isNull();
+        assertThat(result.getBody()).isEqualTo(responseDto);
+        verify(serviceEventConfig).updateEventConfigDeferred("id-1", requestDto, null);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should sync the desired state of a source")
+    void syncSourceState_Success() {
+        // Given
+        List<EventConfigStateEntryDto> configs = List.of(new EventConfigStateEntryDto("USER_REGISTRATION", true));
+        EventConfigSyncResultDto syncResult = new EventConfigSyncResultDto("auth-service", 1, 0, 0, 0, 0);
+        when(serviceEventConfig.syncSourceState("auth-service", configs)).thenReturn(syncResult);
+
+        // When
+        ResponseEntity<?> result =
+                controller.syncSourceState("auth-service", null, new EventConfigSourceStateDto(configs));
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(syncResult);
+        verify(serviceEventConfig, times(1)).syncSourceState("auth-service", configs);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should import the body in the format of its content type")
+    void importEventConfigs_Success() throws Exception {
+        // Given
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        EventConfigImportReportDto report = EventConfigImportReportDto.builder()
+                .rowsRead(2)
+                .imported(2)
+                .checkpoint(3)
+                .errors(List.of())
+                .build();
+        when(serviceEventConfig.importEventConfigs(body, ImportFormat.CSV, 0)).thenReturn(report);
+
+        // When
+        ResponseEntity<?> result =
+                controller.importEventConfigs("text/csv; charset=UTF-8", 0, null, body);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(report);
+        verify(serviceEventConfig, times(1)).importEventConfigs(body, ImportFormat.CSV, 0);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should reject imports in unsupported formats")
+    void importEventConfigs_UnsupportedType_ThrowsException() {
+        assertThatThrownBy(() -> controller.importEventConfigs(
+                MediaType.APPLICATION_JSON_VALUE, 0, null, new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should queue the import as a job when the client prefers async")
+    void importEventConfigs_RespondAsync_Returns202WithJob() throws Exception {
+        // Given
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        EventConfigJobDto job = EventConfigJobDto.builder()
+                .id("job-1")
+                .type(EventConfigJobDto.Type.IMPORT)
+                .status(EventConfigJobDto.Status.QUEUED)
+                .build();
+        when(serviceEventConfig.submitImport(body, ImportFormat.NDJSON, 10)).thenReturn(job);
+
+        // When
+        ResponseEntity<?> result = controller.importEventConfigs(
+                MediaType.APPLICATION_NDJSON_VALUE, 10, "respond-async", body);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(result.getHeaders().getFirst("Preference-Applied")).isEqualTo("respond-async");
+        assertThat(result.getBody()).isEqualTo(job);
+        verify(serviceEventConfig, times(1)).submitImport(body, ImportFormat.NDJSON, 10);
+        verifyNoMoreInteractions(serviceEventConfig);
+    }
+
+    @Test
+    @DisplayName("Should stream raw event configs through the service")
+    void getEventConfigsRaw_StreamsBody() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> result = controller.getEventConfigsRaw("USER_REGISTRATION", null, true, null);
+        result.getBody().writeTo(out);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        verify(serviceEventConfig, times(1)).writeEventConfigsJson("USER_REGISTRATION", null, true, out);
         verifyNoMoreInteractions(serviceEventConfig);
     }
 
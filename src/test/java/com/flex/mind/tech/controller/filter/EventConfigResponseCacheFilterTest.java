@@ -0,0 +1,269 @@
+package com.flex.mind.tech.controller.filter;
+
+import com.flex.mind.tech.config.CompressionProperties;
+import com.flex.mind.tech.config.ResponseCacheProperties;
+import com.flex.mind.tech.config.WriteBehindProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.cache.EventConfigResponseCache;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigResponseCacheFilter Unit Tests")
+class EventConfigResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":\"1\",\"eventType\":\"USER_REGISTRATION\"}]";
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    private EventConfigResponseCacheFilter filter;
+    private ResponseCacheProperties cacheProperties;
+    private EventConfigWriteBehindBuffer writeBehind;
+    private CompressionProperties compressionProperties;
+    private Consumer<EventConfigInvalidation> invalidationListener;
+    private AtomicInteger chainInvocations;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new ResponseCacheProperties();
+        EventConfigResponseCache cache = new EventConfigResponseCache(
+                cacheProperties, invalidationBus, new SimpleMeterRegistry());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<EventConfigInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(listener.capture());
+        invalidationListener = listener.getValue();
+
+        compressionProperties = new CompressionProperties();
+        compressionProperties.setMinResponseSize(16);
+        writeBehind = new EventConfigWriteBehindBuffer(
+                new WriteBehindProperties(), storageStrategy, invalidationBus, new SimpleMeterRegistry());
+        filter = new EventConfigResponseCacheFilter(cache, compressionProperties, writeBehind);
+        chainInvocations = new AtomicInteger();
+        chain = (request, response) -> {
+            chainInvocations.incrementAndGet();
+            writeJson(response);
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve repeated request from cache without invoking the chain")
+    void doFilter_RepeatedRequest_ServedFromCache() throws Exception {
+        // When
+        MockHttpServletResponse first = execute(request("USER_REGISTRATION"));
+        MockHttpServletResponse second = execute(request("USER_REGISTRATION"));
+
+        // Then
+        assertThat(chainInvocations.get()).isEqualTo(1);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getContentLength()).isEqualTo(BODY.length());
+    }
+
+    @Test
+    @DisplayName("Should cache different filter combinations separately")
+    void doFilter_DifferentFilters_SeparateEntries() throws Exception {
+        // When
+        execute(request("USER_REGISTRATION"));
+        execute(request("USER_LOGIN"));
+
+        // Then
+        assertThat(chainInvocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used combination instead of refusing new ones when full")
+    void doFilter_CacheFull_EvictsLeastRecentlyUsed() throws Exception {
+        // Given
+        cacheProperties.setMaxEntries(1);
+        execute(request("USER_REGISTRATION"));
+
+        // When
+        execute(request("USER_LOGIN"));
+        execute(request("USER_LOGIN"));
+        int afterNewKey = chainInvocations.get();
+        execute(request("USER_REGISTRATION"));
+
+        // Then
+        assertThat(afterNewKey).isEqualTo(2);
+        assertThat(chainInvocations.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop cached responses on invalidation")
+    void doFilter_AfterInvalidation_Recomputes() throws Exception {
+        // Given
+        execute(request("USER_REGISTRATION"));
+
+        // When
+        invalidationListener.accept(EventConfigInvalidation.all(Instant.now(), null));
+        execute(request("USER_REGISTRATION"));
+
+        // Then
+        assertThat(chainInvocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache error responses")
+    void doFilter_ErrorResponse_NotCached() throws Exception {
+        // Given
+        chain = (request, response) -> {
+            chainInvocations.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+            writeJson(response);
+        };
+
+        // When
+        execute(request("USER_REGISTRATION"));
+        execute(request("USER_REGISTRATION"));
+
+        // Then
+        assertThat(chainInvocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should serve gzip body to clients accepting gzip on miss and hit")
+    void doFilter_AcceptsGzip_ServesCompressed() throws Exception {
+        // Given
+        MockHttpServletRequest first = request("USER_REGISTRATION");
+        first.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletRequest second = request("USER_REGISTRATION");
+        second.addHeader("Accept-Encoding", "gzip");
+
+        // When
+        MockHttpServletResponse missResponse = execute(first);
+        MockHttpServletResponse hitResponse = execute(second);
+
+        // Then
+        assertThat(chainInvocations.get()).isEqualTo(1);
+        assertThat(missResponse.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(hitResponse.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gunzip(missResponse.getContentAsByteArray())).isEqualTo(BODY);
+        assertThat(hitResponse.getContentAsByteArray()).isEqualTo(missResponse.getContentAsByteArray());
+        assertThat(hitResponse.getContentLength()).isEqualTo(hitResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should send small responses uncompressed")
+    void doFilter_BelowMinSize_Uncompressed() throws Exception {
+        // Given
+        compressionProperties.setMinResponseSize(BODY.length() + 1);
+        MockHttpServletRequest request = request("USER_REGISTRATION");
+        request.addHeader("Accept-Encoding", "gzip");
+
+        // When
+        MockHttpServletResponse response = execute(request);
+
+        // Then
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should not compress when gzip is refused with q=0")
+    void doFilter_GzipRefused_Uncompressed() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("USER_REGISTRATION");
+        request.addHeader("Accept-Encoding", "gzip;q=0, identity");
+
+        // When
+        MockHttpServletResponse response = execute(request);
+
+        // Then
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should skip non-list requests")
+    void shouldNotFilter_OtherEndpoints() {
+        MockHttpServletRequest put = new MockHttpServletRequest("PUT", "/api/v1/event-config");
+        put.setServletPath("/event-config");
+        MockHttpServletRequest changes = new MockHttpServletRequest("GET", "/api/v1/event-config/changes");
+        changes.setServletPath("/event-config/changes");
+
+        assertThat(filter.shouldNotFilter(put)).isTrue();
+        assertThat(filter.shouldNotFilter(changes)).isTrue();
+        assertThat(filter.shouldNotFilter(request("USER_REGISTRATION"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for reads that must see a write")
+    void shouldNotFilter_ConsistencyToken() {
+        // Given
+        MockHttpServletRequest request = request("USER_REGISTRATION");
+        request.addHeader("Consistency-Token", "lrq3k1z4");
+
+        // When & Then
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache while toggles wait in the write-behind buffer")
+    void shouldNotFilter_PendingToggles() {
+        // When
+        writeBehind.offer(EventConfigResponseDto.builder().id("1").enabled(false).build());
+
+        // Then
+        assertThat(filter.shouldNotFilter(request("USER_REGISTRATION"))).isTrue();
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String eventType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/event-config");
+        request.setContextPath("/api/v1");
+        request.setServletPath("/event-config");
+        request.addParameter("eventType", eventType);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void writeJson(ServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+}
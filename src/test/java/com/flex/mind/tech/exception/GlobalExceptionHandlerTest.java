@@ -0,0 +1,164 @@
+package com.flex.mind.tech.exception;
+
+import com.flex.mind.tech.model.response.ErrorResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GlobalExceptionHandler Unit Tests")
+class GlobalExceptionHandlerTest {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("PUT", "/api/v1/event-config/missing-id");
+    }
+
+    @Test
+    @DisplayName("Should map not found to 404 with request path")
+    void handleEventConfigNotFound_Returns404() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleEventConfigNotFound(
+                new EventConfigNotFoundException("Event config not found with id: missing-id"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        ErrorResponseDto body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getCode()).isEqualTo("EVENT_CONFIG_NOT_FOUND");
+        assertThat(body.getMessage()).isEqualTo("Event config not found with id: missing-id");
+        assertThat(body.getPath()).isEqualTo("/api/v1/event-config/missing-id");
+        assertThat(body.getTimestamp()).isNotNull();
+        assertThat(body.getTimestamp().getNano()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse the error body of a repeated failing request within the same second")
+    void repeatedError_SameSecond_SharesBody() {
+        // Given
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("version changed");
+        MockHttpServletRequest otherPath = new MockHttpServletRequest("PUT", "/api/v1/event-config/other-id");
+
+        // When
+        ErrorResponseDto first = handler.handleOptimisticLockingFailure(ex, request).getBody();
+        ErrorResponseDto repeated = handler.handleOptimisticLockingFailure(ex, request).getBody();
+        for (int attempt = 0; attempt < 3 && !first.getTimestamp().equals(repeated.getTimestamp()); attempt++) {
+            // Crossed a second boundary between the two calls
+            first = repeated;
+            repeated = handler.handleOptimisticLockingFailure(ex, request).getBody();
+        }
+        ErrorResponseDto other = handler.handleOptimisticLockingFailure(ex, otherPath).getBody();
+
+        // Then
+        assertThat(repeated).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(other.getPath()).isEqualTo("/api/v1/event-config/other-id");
+    }
+
+    @Test
+    @DisplayName("Should map conflict to 409")
+    void handleEventConfigAlreadyExists_Returns409() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleEventConfigAlreadyExists(
+                new EventConfigAlreadyExistsException("EventConfig already exists"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getCode()).isEqualTo("EVENT_CONFIG_ALREADY_EXISTS");
+    }
+
+    @Test
+    @DisplayName("Should map a create rejected by the unique key index to the same 409")
+    void handleDuplicateKey_Returns409() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDuplicateKey(
+                new DuplicateKeyException("E11000 duplicate key error collection: event_configs"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getCode()).isEqualTo("EVENT_CONFIG_ALREADY_EXISTS");
+        assertThat(response.getBody().getMessage()).isEqualTo("EventConfig already exists");
+    }
+
+    @Test
+    @DisplayName("Should map version mismatch to 412 and lost concurrent updates to 409")
+    void handleVersionConflicts_Returns412And409() {
+        // When
+        ResponseEntity<ErrorResponseDto> mismatch = handler.handleEventConfigVersionMismatch(
+                new EventConfigVersionMismatchException("Event config 1 is no longer at version 3"), request);
+        ResponseEntity<ErrorResponseDto> concurrent = handler.handleOptimisticLockingFailure(
+                new OptimisticLockingFailureException("version changed"), request);
+
+        // Then
+        assertThat(mismatch.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(mismatch.getBody().getCode()).isEqualTo("EVENT_CONFIG_VERSION_MISMATCH");
+        assertThat(concurrent.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(concurrent.getBody().getCode()).isEqualTo("EVENT_CONFIG_CONCURRENT_UPDATE");
+    }
+
+    @Test
+    @DisplayName("Should map a reused idempotency key to 422")
+    void handleIdempotencyKeyReused_Returns422() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleIdempotencyKeyReused(
+                new IdempotencyKeyReusedException("Idempotency-Key k was used for a different request"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(response.getBody().getCode()).isEqualTo("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    @DisplayName("Should map a full job queue to 503 with Retry-After and unknown jobs to 404")
+    void handleJobErrors_Returns503And404() {
+        // When
+        ResponseEntity<ErrorResponseDto> full = handler.handleJobQueueFull(
+                new JobQueueFullException("Job queue is full, retry later", 30), request);
+        ResponseEntity<ErrorResponseDto> missing = handler.handleJobNotFound(
+                new JobNotFoundException("Job not found with id: j1"), request);
+
+        // Then
+        assertThat(full.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(full.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(full.getBody().getCode()).isEqualTo("JOB_QUEUE_FULL");
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(missing.getBody().getCode()).isEqualTo("JOB_NOT_FOUND");
+    }
+
+    @Test
+    @DisplayName("Should create domain exceptions without stack traces")
+    void domainExceptions_AreStackless() {
+        assertThat(new EventConfigNotFoundException("missing").getStackTrace()).isEmpty();
+        assertThat(new EventConfigAlreadyExistsException("exists").getStackTrace()).isEmpty();
+        assertThat(new EventConfigVersionMismatchException("stale").getStackTrace()).isEmpty();
+        assertThat(new IdempotencyKeyReusedException("reused").getStackTrace()).isEmpty();
+        assertThat(new JobQueueFullException("full", 30).getStackTrace()).isEmpty();
+        assertThat(new JobNotFoundException("missing").getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should let one log line per code through and count the rest")
+    void errorLogLimiter_SuppressesWithinInterval() {
+        // Given
+        ErrorLogLimiter limiter = new ErrorLogLimiter(60_000);
+
+        // When & Then
+        assertThat(limiter.tryAcquire("EVENT_CONFIG_NOT_FOUND")).isZero();
+        assertThat(limiter.tryAcquire("EVENT_CONFIG_NOT_FOUND")).isEqualTo(-1);
+        assertThat(limiter.tryAcquire("EVENT_CONFIG_NOT_FOUND")).isEqualTo(-1);
+        assertThat(limiter.tryAcquire("EVENT_CONFIG_ALREADY_EXISTS")).isZero();
+    }
+}
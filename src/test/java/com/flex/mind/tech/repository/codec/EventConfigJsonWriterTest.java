@@ -0,0 +1,98 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventConfigJsonWriter Unit Tests")
+class EventConfigJsonWriterTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private StringWriter out;
+    private JsonGenerator generator;
+    private EventConfigJsonWriter writer;
+    private LocalDateTime fixedTime;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        out = new StringWriter();
+        generator = jsonFactory.createGenerator(out);
+        writer = new EventConfigJsonWriter(generator);
+        fixedTime = LocalDateTime.of(2024, 1, 5, 9, 7, 3);
+    }
+
+    @Test
+    @DisplayName("Should rename stored BSON fields and format dates like the response DTO")
+    void writeBson_RenamesFields() throws IOException {
+        // Given
+        Document stored = new Document("_id", "550e8400-e29b-41d4-a716-446655440000")
+                .append("event_type", "USER_REGISTRATION")
+                .append("source", "auth-service")
+                .append("enabled", true)
+                .append("created_at", EventConfigMongoFields.toDate(fixedTime))
+                .append("updated_at", EventConfigMongoFields.toDate(fixedTime.plusYears(1)))
+                .append("version", 3L)
+                .append("_class", "com.flex.mind.tech.model.entity.EventConfigMongo");
+
+        // When
+        writer.writeBson(new RawBsonDocument(stored, new DocumentCodec()));
+        generator.flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo("{\"id\":\"550e8400-e29b-41d4-a716-446655440000\","
+                + "\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\",\"enabled\":true,"
+                + "\"createdAt\":\"2024-01-05T09:07:03\",\"updatedAt\":\"2025-01-05T09:07:03\",\"version\":\"3\"}");
+    }
+
+    @Test
+    @DisplayName("Should write ObjectId as hex and keep nulls")
+    void writeBson_ObjectIdAndNulls() throws IOException {
+        // Given
+        ObjectId id = new ObjectId("507f1f77bcf86cd799439011");
+        Document stored = new Document("_id", id)
+                .append("event_type", "USER_LOGIN")
+                .append("source", null);
+
+        // When
+        writer.writeBson(new RawBsonDocument(stored, new DocumentCodec()));
+        generator.flush();
+
+        // Then
+        assertThat(out.toString())
+                .isEqualTo("{\"id\":\"507f1f77bcf86cd799439011\",\"eventType\":\"USER_LOGIN\",\"source\":null}");
+    }
+
+    @Test
+    @DisplayName("Should copy Elasticsearch _source with id and version and without _class")
+    void writeSource_CopiesKnownFields() throws IOException {
+        // Given
+        String source = "{\"_class\":\"com.flex.mind.tech.model.entity.EventConfigElastic\","
+                + "\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\",\"enabled\":false,"
+                + "\"createdAt\":\"2024-01-15T10:30:00\",\"extra\":{\"nested\":[1,2]}}";
+
+        // When
+        try (JsonParser parser = jsonFactory.createParser(source)) {
+            parser.nextToken();
+            writer.writeSource("es-1", "7-1", parser);
+        }
+        generator.flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo("{\"id\":\"es-1\",\"eventType\":\"USER_REGISTRATION\","
+                + "\"source\":\"auth-service\",\"enabled\":false,\"createdAt\":\"2024-01-15T10:30:00\",\"version\":\"7-1\"}");
+    }
+}
@@ -0,0 +1,123 @@
+package com.flex.mind.tech.repository.codec;
+
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventConfigMongo codec and converters Unit Tests")
+class EventConfigMongoCodecTest {
+
+    private EventConfigMongo entity;
+    private MappingMongoConverter defaultConverter;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime fixedTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        entity = EventConfigMongo.builder()
+                .id("550e8400-e29b-41d4-a716-446655440000")
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(true)
+                .createdAt(fixedTime)
+                .updatedAt(fixedTime.plusMinutes(5))
+                .version(3L)
+                .build();
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        defaultConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        defaultConverter.setCustomConversions(conversions);
+        defaultConverter.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Should write the same fields as the reflective converter")
+    void writeConverter_MatchesDefaultConverter() {
+        // Given
+        Document expected = new Document();
+        defaultConverter.write(entity, expected);
+        expected.remove("_class");
+
+        // When
+        Document actual = new EventConfigMongoWriteConverter().convert(entity);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should read documents written by the reflective converter")
+    void readConverter_ReadsDefaultConverterOutput() {
+        // Given
+        Document stored = new Document();
+        defaultConverter.write(entity, stored);
+
+        // When
+        EventConfigMongo read = new EventConfigMongoReadConverter().convert(stored);
+
+        // Then
+        assertThat(read).usingRecursiveComparison().isEqualTo(entity);
+    }
+
+    @Test
+    @DisplayName("Should round-trip through BSON and skip unknown fields")
+    void codec_RoundTrip_Success() {
+        // Given
+        EventConfigMongoCodec codec = new EventConfigMongoCodec();
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, entity, EncoderContext.builder().build());
+        }
+
+        // When
+        EventConfigMongo decoded;
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray()))) {
+            decoded = codec.decode(reader, DecoderContext.builder().build());
+        }
+
+        // Then
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(entity);
+    }
+
+    @Test
+    @DisplayName("Should decode documents containing _class and nulls")
+    void codec_DecodeDocumentWithExtraFields() {
+        // Given
+        Document stored = new Document();
+        defaultConverter.write(entity, stored);
+        stored.put("source", null);
+        RawBsonDocument raw = new RawBsonDocument(stored, new DocumentCodec());
+
+        // When
+        EventConfigMongo decoded;
+        try (BsonBinaryReader reader = new BsonBinaryReader(raw.getByteBuffer().asNIO())) {
+            decoded = new EventConfigMongoCodec().decode(reader, DecoderContext.builder().build());
+        }
+
+        // Then
+        assertThat(decoded.getId()).isEqualTo(entity.getId());
+        assertThat(decoded.getSource()).isNull();
+        assertThat(decoded.getCreatedAt()).isEqualTo(entity.getCreatedAt());
+    }
+}
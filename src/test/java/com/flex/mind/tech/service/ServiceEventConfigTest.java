@@ -1,31 +1,77 @@
 package com.flex.mind.tech.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flex.mind.tech.config.IdempotencyProperties;
+import com.flex.mind.tech.config.JobProperties;
+import com.flex.mind.tech.config.KeyLockProperties;
+import com.flex.mind.tech.config.SuggestProperties;
+import com.flex.mind.tech.config.WriteBehindProperties;
 import com.flex.mind.tech.exception.EventConfigAlreadyExistsException;
+import com.flex.mind.tech.exception.EventConfigNotFoundException;
+import com.flex.mind.tech.exception.EventConfigVersionMismatchException;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.request.EventConfigStateEntryDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.model.response.EventConfigSyncResultDto;
+import com.flex.mind.tech.model.response.EventMatchResultDto;
+import com.flex.mind.tech.service.cache.EventConfigFacetsCache;
+import com.flex.mind.tech.service.cache.EventConfigLookupCache;
+import com.flex.mind.tech.service.idempotency.EventConfigIdempotencyStore;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.job.EventConfigJobExecutor;
+import com.flex.mind.tech.service.keyfilter.EventConfigKeyFilter;
+import com.flex.mind.tech.service.lock.EventConfigKeyLocks;
+import com.flex.mind.tech.service.matching.CompiledEventConfigIndex;
+import com.flex.mind.tech.service.matching.EventConfigMatchingEngine;
+import com.flex.mind.tech.service.strategy.EventConfigBulkResult;
 import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.suggest.EventConfigSuggestIndex;
+import com.flex.mind.tech.service.suggest.SuggestField;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import com.flex.mind.tech.service.writebehind.WriteBehindResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatNoException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,6 +83,49 @@ class ServiceEventConfigTest {
     @Mock
     private EventConfigStorageStrategy storageStrategy;
 
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    @Mock
+    private EventConfigKeyFilter keyFilter;
+
+    @Mock
+    private EventConfigLookupCache lookupCache;
+
+    @Mock
+    private EventConfigFacetsCache facetsCache;
+
+    @Mock
+    private EventConfigSuggestIndex suggestIndex;
+
+    @Spy
+    private SuggestProperties suggestProperties = new SuggestProperties();
+
+    @Mock
+    private EventConfigMatchingEngine matchingEngine;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private EventConfigKeyLocks keyLocks = new EventConfigKeyLocks(new KeyLockProperties(), new SimpleMeterRegistry());
+
+    private final WriteBehindProperties writeBehindProperties = new WriteBehindProperties();
+
+    @Spy
+    private EventConfigWriteBehindBuffer writeBehind = new EventConfigWriteBehindBuffer(writeBehindProperties,
+            mock(EventConfigStorageStrategy.class), mock(EventConfigInvalidationBus.class), new SimpleMeterRegistry());
+
+    @Spy
+    private EventConfigIdempotencyStore idempotencyStore =
+            new EventConfigIdempotencyStore(new IdempotencyProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private EventConfigJobExecutor jobExecutor;
+
+    @Spy
+    private JobProperties jobProperties = new JobProperties();
+
     @InjectMocks
     private ServiceEventConfig service;
 
@@ -63,6 +152,9 @@ class ServiceEventConfigTest {
                 .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0))
                 .updatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0))
                 .build();
+
+        // Unless a test says otherwise the key filter cannot rule anything out
+        lenient().when(keyFilter.mightContain(any(), any())).thenReturn(true);
     }
 
     @Test
@@ -82,6 +174,7 @@ class ServiceEventConfigTest {
         // Verify interactions
         verify(storageStrategy, times(1)).existsByEventTypeAndSource(EVENT_TYPE, SOURCE);
         verify(storageStrategy, times(1)).createEventConfig(any(EventConfigRequestDto.class));
+        verify(invalidationBus, times(1)).publish(responseDto);
 
         // Verify that the request was enriched with generated ID
         ArgumentCaptor<EventConfigRequestDto> requestCaptor = ArgumentCaptor.forClass(EventConfigRequestDto.class);
@@ -95,6 +188,36 @@ class ServiceEventConfigTest {
         assertThat(capturedRequest.getSource()).isEqualTo(SOURCE);
         assertThat(capturedRequest.getEnabled()).isTrue();
     }
+    @Test
+    @DisplayName("Should skip the store probe when the key filter rules the key out")
+    void createEventConfig_KeyFilterNegative_SkipsExistenceCheck() {
+        // Given
+        when(keyFilter.mightContain(EVENT_TYPE, SOURCE)).thenReturn(false);
+        when(storageStrategy.createEventConfig(any(EventConfigRequestDto.class))).thenReturn(responseDto);
+
+        // When
+        EventConfigResponseDto result = service.createEventConfig(requestDto);
+
+        // Then
+        assertThat(result).isEqualTo(responseDto);
+        verify(storageStrategy, never()).existsByEventTypeAndSource(any(), any());
+        verify(keyFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("Should report a false positive when the store does not have the key")
+    void createEventConfig_KeyFilterFalsePositive_Recorded() {
+        // Given
+        when(storageStrategy.existsByEventTypeAndSource(EVENT_TYPE, SOURCE)).thenReturn(false);
+        when(storageStrategy.createEventConfig(any(EventConfigRequestDto.class))).thenReturn(responseDto);
+
+        // When
+        service.createEventConfig(requestDto);
+
+        // Then
+        verify(keyFilter, times(1)).recordFalsePositive();
+    }
+
     @Test
     @DisplayName("Should throw exception when event config already exists")
     void createEventConfig_AlreadyExists_ThrowsException() {
@@ -109,6 +232,7 @@ class ServiceEventConfigTest {
         // Verify interactions
         verify(storageStrategy, times(1)).existsByEventTypeAndSource(EVENT_TYPE, SOURCE);
         verify(storageStrategy, never()).createEventConfig(any(EventConfigRequestDto.class));
+        verify(invalidationBus, never()).publish(any());
     }
 
     @Test
@@ -186,10 +310,17 @@ class ServiceEventConfigTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(storageStrategy.updateEventConfig(eventId, updateRequest)).thenReturn(updatedResponse);
+        when(storageStrategy.findById(eventId)).thenReturn(Optional.of(EventConfigResponseDto.builder()
+                .id(eventId)
+                .eventType("USER_LOGIN")
+                .source("auth-service")
+                .enabled(true)
+                .version("2")
+                .build()));
+        when(storageStrategy.updateEventConfig(eventId, updateRequest, "2")).thenReturn(updatedResponse);
 
         // When
-        EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest);
+        EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -197,7 +328,12 @@ class ServiceEventConfigTest {
         assertThat(result.getEventType()).isEqualTo("USER_LOGOUT");
         assertThat(result.getEnabled()).isTrue();
 
-        verify(storageStrategy, times(1)).updateEventConfig(eventId, updateRequest);
+        // Conditional on the version read, without the store reading it again
+        verify(storageStrategy, times(1)).updateEventConfig(eventId, updateRequest, "2");
+        verify(storageStrategy, times(1)).findById(eventId);
+        // The rename holds the locks of both keys
+        verify(keyLocks).withLocks(eq("USER_LOGIN"), eq("auth-service"), eq("USER_LOGOUT"), eq("auth-service"), any());
+        verify(invalidationBus, times(1)).publish(updatedResponse);
     }
 
     @Test
@@ -205,15 +341,152 @@ class ServiceEventConfigTest {
     void updateEventConfig_StorageException_ThrowsException() {
         // Given
         String eventId = "existing-id";
-        when(storageStrategy.updateEventConfig(eventId, requestDto))
+        responseDto.setEnabled(false);
+        when(storageStrategy.findById(eventId)).thenReturn(Optional.of(responseDto));
+        when(storageStrategy.updateEventConfig(eventId, requestDto, null))
                 .thenThrow(new RuntimeException("Update operation failed"));
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Update operation failed");
 
-        verify(storageStrategy, times(1)).updateEventConfig(eventId, requestDto);
+        verify(storageStrategy, times(1)).updateEventConfig(eventId, requestDto, null);
+    }
+
+    @Test
+    @DisplayName("Should return the stored config without writing when the update changes nothing")
+    void updateEventConfig_Unchanged_SkipsWriteAndInvalidation() {
+        // Given
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+
+        // When
+        EventConfigResponseDto result = service.updateEventConfig(TEST_UUID, requestDto, null);
+
+        // Then
+        assertThat(result).isSameAs(responseDto);
+        verify(storageStrategy, never()).updateEventConfig(any(), any(), any());
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should buffer a deferred toggle and show it to reads before it is stored")
+    void updateEventConfigDeferred_Toggle_BufferedAndVisible() {
+        // Given
+        writeBehindProperties.setEnabled(true);
+        requestDto.setEnabled(false);
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(responseDto));
+
+        // When
+        WriteBehindResult result = service.updateEventConfigDeferred(TEST_UUID, requestDto, null);
+        List<EventConfigResponseDto> enabled = service.getEventConfigs(null, SOURCE, true);
+        List<EventConfigResponseDto> disabled = service.getEventConfigs(null, SOURCE, false);
+
+        // Then
+        assertThat(result.stored()).isFalse();
+        assertThat(result.config().getEnabled()).isFalse();
+        assertThat(enabled).isEmpty();
+        assertThat(disabled).extracting(EventConfigResponseDto::getId).containsExactly(TEST_UUID);
+        verify(keyLocks).withLock(eq(EVENT_TYPE), eq(SOURCE), any());
+        verify(matchingEngine).scheduleRebuild();
+        verify(storageStrategy, never()).updateEventConfig(any(), any(), any());
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should count facets and stream raw configs with the buffered state while toggles are pending")
+    void getEventConfigFacets_PendingToggle_CountsBufferedState() throws Exception {
+        // Given
+        writeBehindProperties.setEnabled(true);
+        requestDto.setEnabled(false);
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(responseDto));
+        service.updateEventConfigDeferred(TEST_UUID, requestDto, null);
+
+        // When
+        EventConfigFacetsResponseDto facets = service.getEventConfigFacets(null, SOURCE, null);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        service.writeEventConfigsJson(null, SOURCE, null, raw);
+
+        // Then
+        assertThat(facets.getTotal()).isEqualTo(1);
+        assertThat(facets.getEnabled()).containsExactlyEntriesOf(Map.of("false", 1L));
+        assertThat(raw.toString(StandardCharsets.UTF_8)).contains("\"enabled\":false");
+        verify(facetsCache, never()).get(any(), any(), any());
+        verify(storageStrategy, never()).getEventConfigFacets(any(), any(), any());
+        verify(storageStrategy, never()).writeRawEventConfigs(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should write a deferred update synchronously when it changes the key")
+    void updateEventConfigDeferred_KeyChange_WrittenSynchronously() {
+        // Given
+        writeBehindProperties.setEnabled(true);
+        requestDto.setSource("billing-service");
+        EventConfigResponseDto moved = EventConfigResponseDto.builder().id(TEST_UUID).source("billing-service").build();
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+        when(storageStrategy.updateEventConfig(TEST_UUID, requestDto, null)).thenReturn(moved);
+
+        // When
+        WriteBehindResult result = service.updateEventConfigDeferred(TEST_UUID, requestDto, null);
+
+        // Then
+        assertThat(result.stored()).isTrue();
+        assertThat(result.config()).isSameAs(moved);
+        verify(keyLocks).withLocks(eq(EVENT_TYPE), eq(SOURCE), eq(EVENT_TYPE), eq("billing-service"), any());
+        verify(storageStrategy, times(1)).findById(TEST_UUID);
+        verify(writeBehind, never()).offer(any());
+        verify(invalidationBus).publish(moved);
+    }
+
+    @Test
+    @DisplayName("Should reject an If-Match naming another version without writing")
+    void updateEventConfig_StaleIfMatch_ThrowsVersionMismatch() {
+        // Given
+        responseDto.setVersion("4");
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig(TEST_UUID, requestDto, "3"))
+                .isInstanceOf(EventConfigVersionMismatchException.class);
+        verify(storageStrategy, never()).updateEventConfig(any(), any(), any());
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should report a conditional write lost to a concurrent update as a version mismatch")
+    void updateEventConfig_ConcurrentWriteWithIfMatch_ThrowsVersionMismatch() {
+        // Given
+        responseDto.setVersion("3");
+        EventConfigRequestDto disable = EventConfigRequestDto.builder()
+                .eventType(EVENT_TYPE)
+                .source(SOURCE)
+                .enabled(false)
+                .build();
+        when(storageStrategy.findById(TEST_UUID)).thenReturn(Optional.of(responseDto));
+        when(storageStrategy.updateEventConfig(eq(TEST_UUID), eq(disable), any()))
+                .thenThrow(new OptimisticLockingFailureException("version changed"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig(TEST_UUID, disable, "3"))
+                .isInstanceOf(EventConfigVersionMismatchException.class);
+        assertThatThrownBy(() -> service.updateEventConfig(TEST_UUID, disable, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should throw not found when updating a missing config")
+    void updateEventConfig_NotFound_ThrowsException() {
+        // Given
+        when(storageStrategy.findById("missing-id")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig("missing-id", requestDto, null))
+                .isInstanceOf(EventConfigNotFoundException.class)
+                .hasMessage("Event config not found with id: missing-id");
+        verify(storageStrategy, never()).updateEventConfig(any(), any(), any());
     }
 
     @Test
@@ -328,6 +601,24 @@ class ServiceEventConfigTest {
         verify(storageStrategy, times(1)).getEventConfigs("EVENT", "service", true);
     }
 
+    @Test
+    @DisplayName("Should create once per Idempotency-Key and replay the response to retries")
+    void createEventConfig_IdempotencyKeyRetry_CreatedOnce() {
+        // Given
+        when(storageStrategy.existsByEventTypeAndSource(EVENT_TYPE, SOURCE)).thenReturn(false);
+        when(storageStrategy.createEventConfig(any(EventConfigRequestDto.class))).thenReturn(responseDto);
+
+        // When
+        EventConfigResponseDto first = service.createEventConfig(requestDto, "retry-1");
+        EventConfigResponseDto retry = service.createEventConfig(requestDto, "retry-1");
+
+        // Then
+        assertThat(retry).isSameAs(first);
+        verify(storageStrategy, times(1)).existsByEventTypeAndSource(EVENT_TYPE, SOURCE);
+        verify(storageStrategy, times(1)).createEventConfig(any(EventConfigRequestDto.class));
+        verify(invalidationBus, times(1)).publish(responseDto);
+    }
+
     @Test
     @DisplayName("Should handle null request in createEventConfig")
     void createEventConfig_NullRequest_ThrowsException() {
@@ -484,4 +775,298 @@ class ServiceEventConfigTest {
             verify(storageStrategy, never()).createEventConfig(any(EventConfigRequestDto.class));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return changes since timestamp")
+    void getEventConfigChanges_WithSince_Success() {
+        // Given
+        LocalDateTime since = LocalDateTime.of(2024, 1, 15, 10, 0, 0);
+        when(storageStrategy.getEventConfigsUpdatedSince(since)).thenReturn(List.of(responseDto));
+
+        // When
+        List<EventConfigResponseDto> result = service.getEventConfigChanges(since);
+
+        // Then
+        assertThat(result).containsExactly(responseDto);
+        verify(storageStrategy, times(1)).getEventConfigsUpdatedSince(since);
+        verify(storageStrategy, never()).getEventConfigs(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return all configs when since is not provided")
+    void getEventConfigChanges_WithoutSince_ReturnsAll() {
+        // Given
+        when(storageStrategy.getEventConfigs(null, null, null)).thenReturn(List.of(responseDto));
+
+        // When
+        List<EventConfigResponseDto> result = service.getEventConfigChanges(null);
+
+        // Then
+        assertThat(result).containsExactly(responseDto);
+        verify(storageStrategy, never()).getEventConfigsUpdatedSince(any());
+    }
+
+    @Test
+    @DisplayName("Should answer cached keys locally and load the rest with one query")
+    void lookupEventConfigs_MixedCacheHits_SingleStoreQuery() {
+        // Given
+        EventConfigKeyDto cachedKey = new EventConfigKeyDto(EVENT_TYPE, SOURCE);
+        EventConfigKeyDto absentKey = new EventConfigKeyDto("USER_LOGOUT", SOURCE);
+        EventConfigKeyDto loadedKey = new EventConfigKeyDto("USER_LOGIN", SOURCE);
+        EventConfigKeyDto unknownKey = new EventConfigKeyDto("ORDER_CREATED", "order-service");
+        EventConfigResponseDto loaded = EventConfigResponseDto.builder()
+                .id("id-2")
+                .eventType("USER_LOGIN")
+                .source(SOURCE)
+                .enabled(false)
+                .build();
+
+        when(lookupCache.get(cachedKey)).thenReturn(Optional.of(responseDto));
+        when(lookupCache.get(absentKey)).thenReturn(Optional.empty());
+        when(lookupCache.get(loadedKey)).thenReturn(null);
+        when(lookupCache.get(unknownKey)).thenReturn(null);
+        when(lookupCache.generation()).thenReturn(7L);
+        when(storageStrategy.findByKeys(List.of(loadedKey, unknownKey))).thenReturn(List.of(loaded));
+
+        // When
+        List<EventConfigResponseDto> result = service.lookupEventConfigs(
+                List.of(loadedKey, cachedKey, absentKey, unknownKey, loadedKey));
+
+        // Then
+        assertThat(result).containsExactly(loaded, responseDto);
+        verify(storageStrategy, times(1)).findByKeys(any());
+        verify(lookupCache).put(loadedKey, 7L, loaded);
+        verify(lookupCache).put(eq(unknownKey), eq(7L), isNull());
+    }
+
+    @Test
+    @DisplayName("Should not query the store when every key is cached")
+    void lookupEventConfigs_AllCached_NoStoreQuery() {
+        // Given
+        EventConfigKeyDto key = new EventConfigKeyDto(EVENT_TYPE, SOURCE);
+        when(lookupCache.get(key)).thenReturn(Optional.of(responseDto));
+
+        // When
+        List<EventConfigResponseDto> result = service.lookupEventConfigs(List.of(key));
+
+        // Then
+        assertThat(result).containsExactly(responseDto);
+        verify(storageStrategy, never()).findByKeys(any());
+        verify(lookupCache, never()).put(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should compute facets in the store and cache them")
+    void getEventConfigFacets_Miss_ComputesAndCaches() {
+        // Given
+        EventConfigFacetsResponseDto facets = EventConfigFacetsResponseDto.builder()
+                .total(1)
+                .eventType(Map.of(EVENT_TYPE, 1L))
+                .source(Map.of(SOURCE, 1L))
+                .enabled(Map.of("true", 1L))
+                .build();
+        when(facetsCache.generation()).thenReturn(3L);
+        when(storageStrategy.getEventConfigFacets(null, SOURCE, null)).thenReturn(facets);
+
+        // When
+        EventConfigFacetsResponseDto result = service.getEventConfigFacets(null, SOURCE, null);
+
+        // Then
+        assertThat(result).isEqualTo(facets);
+        verify(facetsCache).put(null, SOURCE, null, 3L, facets);
+    }
+
+    @Test
+    @DisplayName("Should serve cached facets without touching the store")
+    void getEventConfigFacets_Hit_SkipsStore() {
+        // Given
+        EventConfigFacetsResponseDto facets = EventConfigFacetsResponseDto.builder().total(5).build();
+        when(facetsCache.get(EVENT_TYPE, null, true)).thenReturn(facets);
+
+        // When
+        EventConfigFacetsResponseDto result = service.getEventConfigFacets(EVENT_TYPE, null, true);
+
+        // Then
+        assertThat(result).isSameAs(facets);
+        verify(storageStrategy, never()).getEventConfigFacets(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer suggestions from the in-memory index when it is built")
+    void suggest_IndexAvailable_SkipsStore() {
+        // Given
+        when(suggestIndex.suggest(SuggestField.SOURCE, "auth", 10)).thenReturn(List.of(SOURCE));
+
+        // When
+        List<String> result = service.suggest("source", "auth", 10);
+
+        // Then
+        assertThat(result).containsExactly(SOURCE);
+        verify(storageStrategy, never()).suggestValues(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the store while the index is unavailable")
+    void suggest_IndexUnavailable_QueriesStore() {
+        // Given
+        when(suggestIndex.suggest(SuggestField.EVENT_TYPE, "", 5)).thenReturn(null);
+        when(storageStrategy.suggestValues(SuggestField.EVENT_TYPE, "", 5)).thenReturn(List.of(EVENT_TYPE));
+
+        // When
+        List<String> result = service.suggest("eventType", null, 5);
+
+        // Then
+        assertThat(result).containsExactly(EVENT_TYPE);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and out-of-range limits")
+    void suggest_InvalidArguments_ThrowsException() {
+        assertThatThrownBy(() -> service.suggest("enabled", "t", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.suggest("source", "a", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.suggest("source", "a", suggestProperties.getMaxLimit() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(storageStrategy, never()).suggestValues(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should match each event of a batch against the compiled index in order")
+    void matchEvents_ReturnsDecisionPerEvent() {
+        // Given
+        when(matchingEngine.index()).thenReturn(CompiledEventConfigIndex.compile(List.of(responseDto)));
+        List<EventConfigKeyDto> events = List.of(
+                new EventConfigKeyDto(EVENT_TYPE, "billing-service"),
+                new EventConfigKeyDto(EVENT_TYPE, SOURCE));
+
+        // When
+        List<EventMatchResultDto> result = service.matchEvents(events);
+
+        // Then
+        assertThat(result).extracting(EventMatchResultDto::getConfig).containsExactly(null, responseDto);
+        assertThat(result.get(0).getSource()).isEqualTo("billing-service");
+        verify(storageStrategy, never()).findByKeys(any());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the source already matches the desired state")
+    void syncSourceState_InSync_NoWrites() {
+        // Given
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(responseDto));
+
+        // When
+        EventConfigSyncResultDto result = service.syncSourceState(SOURCE,
+                List.of(new EventConfigStateEntryDto(EVENT_TYPE, true)));
+
+        // Then
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getInserted() + result.getUpdated() + result.getDisabled()).isZero();
+        verify(storageStrategy, never()).applyChanges(anyList(), anyList());
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should apply only the inserts, updates and disables of the diff in one call")
+    @SuppressWarnings("unchecked")
+    void syncSourceState_Diff_AppliedInOneCall() {
+        // Given
+        EventConfigResponseDto login = EventConfigResponseDto.builder()
+                .id("login-id").eventType("USER_LOGIN").source(SOURCE).enabled(true).build();
+        EventConfigResponseDto logout = EventConfigResponseDto.builder()
+                .id("logout-id").eventType("USER_LOGOUT").source(SOURCE).enabled(true).build();
+        EventConfigResponseDto deleted = EventConfigResponseDto.builder()
+                .id("deleted-id").eventType("USER_DELETED").source(SOURCE).enabled(false).build();
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(responseDto, login, logout, deleted));
+        when(storageStrategy.applyChanges(anyList(), anyList())).thenReturn(
+                new EventConfigBulkResult(List.of(responseDto, login, logout), List.of()));
+
+        // When
+        EventConfigSyncResultDto result = service.syncSourceState(SOURCE, List.of(
+                new EventConfigStateEntryDto(EVENT_TYPE, true),
+                new EventConfigStateEntryDto("USER_LOGIN", false),
+                new EventConfigStateEntryDto("PASSWORD_RESET", true)));
+
+        // Then
+        assertThat(result).isEqualTo(new EventConfigSyncResultDto(SOURCE, 1, 1, 1, 2, 0));
+        ArgumentCaptor<List<EventConfigRequestDto>> inserts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<EventConfigResponseDto>> updates = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy, times(1)).applyChanges(inserts.capture(), updates.capture());
+        assertThat(inserts.getValue()).singleElement().satisfies(insert -> {
+            assertThat(insert.getEventType()).isEqualTo("PASSWORD_RESET");
+            assertThat(insert.getSource()).isEqualTo(SOURCE);
+            assertThat(insert.getId()).matches(UUID_REGEX);
+        });
+        assertThat(updates.getValue()).extracting(EventConfigResponseDto::getId, EventConfigResponseDto::getEnabled)
+                .containsExactly(tuple("login-id", false),
+                        tuple("logout-id", false));
+        InOrder published = inOrder(storageStrategy, invalidationBus);
+        published.verify(storageStrategy).awaitSearchable(any());
+        published.verify(invalidationBus, times(3)).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should write updates at the version they were read at and report the ones changed since")
+    @SuppressWarnings("unchecked")
+    void syncSourceState_ConcurrentChange_ReportedAsConflict() {
+        // Given
+        EventConfigResponseDto login = EventConfigResponseDto.builder()
+                .id("login-id").eventType("USER_LOGIN").source(SOURCE).enabled(true).version("3").build();
+        EventConfigResponseDto logout = EventConfigResponseDto.builder()
+                .id("logout-id").eventType("USER_LOGOUT").source(SOURCE).enabled(true).version("5").build();
+        EventConfigResponseDto disabledLogout = EventConfigResponseDto.builder()
+                .id("logout-id").eventType("USER_LOGOUT").source(SOURCE).enabled(false).version("6").build();
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(login, logout));
+        when(storageStrategy.applyChanges(anyList(), anyList()))
+                .thenReturn(new EventConfigBulkResult(List.of(disabledLogout), List.of("login-id")));
+
+        // When
+        EventConfigSyncResultDto result = service.syncSourceState(SOURCE,
+                List.of(new EventConfigStateEntryDto("USER_LOGIN", false)));
+
+        // Then
+        assertThat(result).isEqualTo(new EventConfigSyncResultDto(SOURCE, 0, 0, 1, 0, 1));
+        ArgumentCaptor<List<EventConfigResponseDto>> updates = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy, times(1)).applyChanges(anyList(), updates.capture());
+        assertThat(updates.getValue()).extracting(EventConfigResponseDto::getId, EventConfigResponseDto::getVersion)
+                .containsExactly(tuple("login-id", "3"), tuple("logout-id", "5"));
+        verify(invalidationBus, times(1)).publish(disabledLogout);
+    }
+
+    @Test
+    @DisplayName("Should reject desired states listing an event type twice")
+    void syncSourceState_DuplicateEventType_ThrowsException() {
+        assertThatThrownBy(() -> service.syncSourceState(SOURCE, List.of(
+                new EventConfigStateEntryDto(EVENT_TYPE, true),
+                new EventConfigStateEntryDto(EVENT_TYPE, false))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(storageStrategy, never()).getEventConfigs(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should validate an async source sync before queueing it and report the sync counts")
+    void submitSourceStateSync_ValidatesThenRunsAsJob() throws Exception {
+        // Given
+        EventConfigJobDto queued = EventConfigJobDto.builder()
+                .id("job-1").type(EventConfigJobDto.Type.SOURCE_SYNC).status(EventConfigJobDto.Status.QUEUED).build();
+        ArgumentCaptor<EventConfigJobExecutor.Task> task = ArgumentCaptor.forClass(EventConfigJobExecutor.Task.class);
+        when(jobExecutor.submit(eq(EventConfigJobDto.Type.SOURCE_SYNC), task.capture())).thenReturn(queued);
+        when(storageStrategy.getEventConfigs(null, SOURCE, null)).thenReturn(List.of(responseDto));
+
+        // When
+        assertThatThrownBy(() -> service.submitSourceStateSync(SOURCE, List.of(
+                new EventConfigStateEntryDto(EVENT_TYPE, true),
+                new EventConfigStateEntryDto(EVENT_TYPE, false))))
+                .isInstanceOf(IllegalArgumentException.class);
+        EventConfigJobDto job = service.submitSourceStateSync(SOURCE,
+                List.of(new EventConfigStateEntryDto(EVENT_TYPE, true)));
+        AtomicLong processed = new AtomicLong();
+        Object result = task.getValue().run(processed);
+
+        // Then
+        assertThat(job).isSameAs(queued);
+        verify(jobExecutor, times(1)).submit(any(), any());
+        assertThat(result).isEqualTo(new EventConfigSyncResultDto(SOURCE, 0, 0, 0, 1, 0));
+        assertThat(processed).hasValue(1);
+    }
+}
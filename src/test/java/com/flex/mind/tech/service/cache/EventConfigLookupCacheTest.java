@@ -0,0 +1,109 @@
+package com.flex.mind.tech.service.cache;
+
+import com.flex.mind.tech.config.LookupCacheProperties;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigLookupCache Unit Tests")
+class EventConfigLookupCacheTest {
+
+    private static final EventConfigKeyDto LOGIN = new EventConfigKeyDto("USER_LOGIN", "auth-service");
+    private static final EventConfigKeyDto LOGOUT = new EventConfigKeyDto("USER_LOGOUT", "auth-service");
+    private static final EventConfigKeyDto PAYMENT = new EventConfigKeyDto("PAYMENT", "billing-service");
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private EventConfigLookupCache cache;
+    private Consumer<EventConfigInvalidation> invalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        LookupCacheProperties properties = new LookupCacheProperties();
+        properties.setMaxEntries(2);
+        cache = new EventConfigLookupCache(properties, invalidationBus, new SimpleMeterRegistry());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<EventConfigInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(listener.capture());
+        invalidationListener = listener.getValue();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used key instead of refusing new keys when full")
+    void put_Full_EvictsLeastRecentlyUsed() {
+        // Given
+        cache.put(LOGIN, cache.generation(), config("1", LOGIN));
+        cache.put(LOGOUT, cache.generation(), null);
+        cache.get(LOGIN);
+
+        // When
+        cache.put(PAYMENT, cache.generation(), config("3", PAYMENT));
+
+        // Then
+        assertThat(cache.get(PAYMENT)).map(EventConfigResponseDto::getId).hasValue("3");
+        assertThat(cache.get(LOGIN)).map(EventConfigResponseDto::getId).hasValue("1");
+        assertThat(cache.get(LOGOUT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the key a config was cached under when its key changes")
+    void evict_KeyChanged_EvictsPreviousKey() {
+        // Given
+        cache.put(LOGIN, cache.generation(), config("1", LOGIN));
+        cache.put(LOGOUT, cache.generation(), null);
+
+        // When
+        invalidationListener.accept(EventConfigInvalidation.builder()
+                .id("1")
+                .eventType(LOGOUT.getEventType())
+                .source(LOGOUT.getSource())
+                .occurredAt(Instant.now())
+                .build());
+
+        // Then
+        assertThat(cache.get(LOGIN)).isNull();
+        assertThat(cache.get(LOGOUT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a load that raced with a write")
+    void put_StaleGeneration_NotStored() {
+        // Given
+        long generation = cache.generation();
+        invalidationListener.accept(EventConfigInvalidation.all(Instant.now(), null));
+
+        // When
+        cache.put(LOGIN, generation, config("1", LOGIN));
+
+        // Then
+        assertThat(cache.get(LOGIN)).isNull();
+    }
+
+    private static EventConfigResponseDto config(String id, EventConfigKeyDto key) {
+        return EventConfigResponseDto.builder()
+                .id(id)
+                .eventType(key.getEventType())
+                .source(key.getSource())
+                .enabled(true)
+                .build();
+    }
+}
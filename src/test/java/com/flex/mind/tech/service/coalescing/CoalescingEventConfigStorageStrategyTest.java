@@ -0,0 +1,203 @@
+package com.flex.mind.tech.service.coalescing;
+
+import com.flex.mind.tech.config.CoalescingProperties;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingEventConfigStorageStrategy Unit Tests")
+class CoalescingEventConfigStorageStrategyTest {
+
+    private static final String SOURCE = "auth-service";
+
+    @Mock
+    private EventConfigStorageStrategy delegate;
+
+    private CoalescingEventConfigStorageStrategy strategy;
+    private ExecutorService callers;
+    private AtomicInteger storeQueries;
+
+    @BeforeEach
+    void setUp() {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setWindow(Duration.ofMillis(50));
+        properties.setMaxBatchSize(100);
+        strategy = new CoalescingEventConfigStorageStrategy(delegate, properties, new SimpleMeterRegistry());
+        strategy.start();
+        callers = Executors.newFixedThreadPool(50);
+        storeQueries = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should merge concurrent existence checks into a few batched queries")
+    void existsByEventTypeAndSource_Concurrent_Batched() throws Exception {
+        // Given
+        when(delegate.findByKeys(any())).thenAnswer(invocation -> {
+            storeQueries.incrementAndGet();
+            Collection<EventConfigKeyDto> keys = invocation.getArgument(0);
+            return keys.stream()
+                    .filter(key -> key.getEventType().endsWith("0"))
+                    .map(key -> config(key.getEventType()))
+                    .toList();
+        });
+
+        // When
+        List<Future<Boolean>> results = runConcurrently(50, i -> () ->
+                strategy.existsByEventTypeAndSource("EVENT_" + i, SOURCE));
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            assertThat(results.get(i).get()).isEqualTo(i % 10 == 0);
+        }
+        assertThat(storeQueries.get()).isLessThanOrEqualTo(5);
+        verify(delegate, never()).existsByEventTypeAndSource(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should send identical concurrent lookups to the store once")
+    void findByKeys_IdenticalConcurrent_SingleFlight() throws Exception {
+        // Given
+        List<EventConfigKeyDto> loaded = new ArrayList<>();
+        when(delegate.findByKeys(any())).thenAnswer(invocation -> {
+            storeQueries.incrementAndGet();
+            synchronized (loaded) {
+                loaded.addAll(invocation.getArgument(0));
+            }
+            return List.of(config("USER_REGISTRATION"));
+        });
+
+        // When
+        List<Future<List<EventConfigResponseDto>>> results = runConcurrently(20, i -> () ->
+                strategy.findByKeys(List.of(new EventConfigKeyDto("USER_REGISTRATION", SOURCE))));
+
+        // Then
+        for (Future<List<EventConfigResponseDto>> result : results) {
+            assertThat(result.get()).extracting(EventConfigResponseDto::getEventType)
+                    .containsExactly("USER_REGISTRATION");
+        }
+        assertThat(loaded).hasSize(storeQueries.get());
+        assertThat(storeQueries.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should propagate store failures to every waiting caller")
+    void existsByEventTypeAndSource_StoreFailure_Propagated() {
+        // Given
+        when(delegate.findByKeys(any())).thenThrow(new IllegalStateException("Database connection failed"));
+
+        // When & Then
+        assertThatThrownBy(() -> strategy.existsByEventTypeAndSource("USER_REGISTRATION", SOURCE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Database connection failed");
+    }
+
+    @Test
+    @DisplayName("Should not hand a lookup already sent to the store to a caller arriving after a write")
+    void existsByEventTypeAndSource_AfterDispatch_StartsFreshLookup() throws Exception {
+        // Given
+        CountDownLatch firstQueryRunning = new CountDownLatch(1);
+        CountDownLatch releaseFirstQuery = new CountDownLatch(1);
+        when(delegate.findByKeys(any())).thenAnswer(invocation -> {
+            if (storeQueries.incrementAndGet() == 1) {
+                firstQueryRunning.countDown();
+                releaseFirstQuery.await();
+                return List.of();
+            }
+            return List.of(config("USER_REGISTRATION"));
+        });
+        Future<Boolean> beforeWrite = callers.submit(() ->
+                strategy.existsByEventTypeAndSource("USER_REGISTRATION", SOURCE));
+        assertThat(firstQueryRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: the config is written while the first query is running, then checked again
+        Future<Boolean> afterWrite = callers.submit(() ->
+                strategy.existsByEventTypeAndSource("USER_REGISTRATION", SOURCE));
+
+        // Then
+        assertThat(afterWrite.get(5, TimeUnit.SECONDS)).isTrue();
+        releaseFirstQuery.countDown();
+        assertThat(beforeWrite.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(storeQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail callers still waiting for a batch when stopped")
+    void existsByEventTypeAndSource_Stopped_FailsWaitingCallers() throws Exception {
+        // Given
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setWindow(Duration.ofSeconds(30));
+        CoalescingEventConfigStorageStrategy slow =
+                new CoalescingEventConfigStorageStrategy(delegate, properties, new SimpleMeterRegistry());
+        slow.start();
+        Future<Boolean> waiting = callers.submit(() -> slow.existsByEventTypeAndSource("USER_REGISTRATION", SOURCE));
+        Thread.sleep(50);
+
+        // When
+        slow.stop();
+
+        // Then
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        verify(delegate, never()).findByKeys(any());
+    }
+
+    private <T> List<Future<T>> runConcurrently(int count, IntFunction<Callable<T>> task) {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Callable<T> call = task.apply(i);
+            futures.add(callers.submit(() -> {
+                ready.await();
+                return call.call();
+            }));
+        }
+        ready.countDown();
+        return futures;
+    }
+
+    private static EventConfigResponseDto config(String eventType) {
+        return EventConfigResponseDto.builder()
+                .id(eventType.toLowerCase())
+                .eventType(eventType)
+                .source(SOURCE)
+                .enabled(true)
+                .build();
+    }
+}
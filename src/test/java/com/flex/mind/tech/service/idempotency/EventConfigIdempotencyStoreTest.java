@@ -0,0 +1,160 @@
+package com.flex.mind.tech.service.idempotency;
+
+import com.flex.mind.tech.config.IdempotencyProperties;
+import com.flex.mind.tech.exception.EventConfigAlreadyExistsException;
+import com.flex.mind.tech.exception.IdempotencyKeyReusedException;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventConfigIdempotencyStore Unit Tests")
+class EventConfigIdempotencyStoreTest {
+
+    private IdempotencyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EventConfigIdempotencyStore store;
+    private EventConfigRequestDto request;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new EventConfigIdempotencyStore(properties, meterRegistry);
+        request = EventConfigRequestDto.builder()
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(true)
+                .build();
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should replay the first response to a retry with the same key")
+    void execute_Retry_ReplaysResponse() {
+        // When
+        EventConfigResponseDto first = store.execute("key-1", request, this::create);
+        EventConfigResponseDto retry = store.execute("key-1", request, this::create);
+
+        // Then
+        assertThat(retry).isSameAs(first);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first execution")
+    void execute_ConcurrentDuplicate_WaitsForFirst() throws Exception {
+        // Given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            Future<EventConfigResponseDto> first = executor.submit(() -> store.execute("key-1", request, () -> {
+                running.countDown();
+                await(release);
+                return create();
+            }));
+            running.await(5, TimeUnit.SECONDS);
+            Future<EventConfigResponseDto> duplicate = executor.submit(() -> store.execute("key-1", request, this::create));
+            while (requests("wait") == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different body")
+    void execute_DifferentBody_Rejected() {
+        // Given
+        store.execute("key-1", request, this::create);
+        EventConfigRequestDto other = EventConfigRequestDto.builder()
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(false)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> store.execute("key-1", other, this::create))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(requests("reused")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget failed executions so the retry runs again")
+    void execute_Failure_NotRemembered() {
+        // When
+        assertThatThrownBy(() -> store.execute("key-1", request, () -> {
+            throw new EventConfigAlreadyExistsException("EventConfig already exists");
+        })).isInstanceOf(EventConfigAlreadyExistsException.class);
+        store.execute("key-1", request, this::create);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should expire responses after the TTL and skip deduplication when full")
+    void execute_ExpiredAndFull() {
+        // Given
+        properties.setTtl(Duration.ZERO);
+        store.execute("key-1", request, this::create);
+
+        // When
+        store.sweep();
+        properties.setMaxEntries(0);
+        store.execute("key-1", request, this::create);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(requests("bypassed")).isEqualTo(1);
+        assertThat(meterRegistry.get("event.config.idempotency.keys").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject over-long keys")
+    void execute_KeyTooLong_Rejected() {
+        assertThatThrownBy(() -> store.execute("k".repeat(129), request, this::create))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EventConfigResponseDto create() {
+        executions.incrementAndGet();
+        return EventConfigResponseDto.builder().id("id-" + executions.get()).build();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("event.config.idempotency.requests").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.flex.mind.tech.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flex.mind.tech.config.ImportProperties;
+import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigImportErrorDto;
+import com.flex.mind.tech.model.response.EventConfigImportReportDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigImporter Unit Tests")
+class EventConfigImporterTest {
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private EventConfigImporter importer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(2);
+        properties.setMaxInFlightBatches(2);
+        meterRegistry = new SimpleMeterRegistry();
+        importer = new EventConfigImporter(properties, storageStrategy, invalidationBus, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.stop();
+    }
+
+    @Test
+    @DisplayName("Should import valid NDJSON rows and report invalid, repeated and existing ones")
+    void importConfigs_Ndjson_ReportsEveryRow() throws Exception {
+        // Given
+        String body = """
+                {"eventType":"USER_REGISTRATION","source":"auth-service","enabled":true}
+                {"eventType":"USER_LOGIN","enabled":true}
+                {"eventType":
+                {"eventType":"USER_REGISTRATION","source":"auth-service","enabled":false}
+
+                {"eventType":"ORDER_CREATED","source":"order-service","enabled":true}
+                {"eventType":"USER_LOGOUT","source":"auth-service","enabled":false}
+                """;
+        givenStore("ORDER_CREATED/order-service");
+
+        // When
+        EventConfigImportReportDto report = importNdjson(body, 0);
+
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getCheckpoint()).isEqualTo(7);
+        assertThat(report.getErrors()).extracting(EventConfigImportErrorDto::getLine).containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("source: Source cannot be blank");
+        assertThat(report.getErrors().get(1).getMessage()).startsWith("Malformed JSON");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventConfigRequestDto>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy, times(2)).insertAll(inserts.capture());
+        List<EventConfigRequestDto> written = inserts.getAllValues().stream().flatMap(List::stream).toList();
+        assertThat(written).extracting(EventConfigRequestDto::getEventType)
+                .containsExactlyInAnyOrder("USER_REGISTRATION", "USER_REGISTRATION", "ORDER_CREATED", "USER_LOGOUT");
+        assertThat(written).allSatisfy(config -> assertThat(config.getId()).isNotBlank());
+        InOrder published = inOrder(storageStrategy, invalidationBus);
+        published.verify(storageStrategy).awaitSearchable(any());
+        published.verify(invalidationBus).publishAll();
+        assertThat(meterRegistry.get("event.config.import.rows").tag("result", "skipped").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should parse CSV with quoted fields and skip lines up to resumeAfter")
+    void importConfigs_Csv_ResumesAfterLine() throws Exception {
+        // Given
+        String body = """
+                source,eventType,enabled
+                auth-service,USER_REGISTRATION,true
+                "billing, eu",PAYMENT_FAILED,false
+                auth-service,USER_LOGIN,maybe
+                """;
+        givenStore();
+
+        // When
+        EventConfigImportReportDto report = importer.importConfigs(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV, 2);
+
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("enabled: expected true or false, got maybe");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventConfigRequestDto>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy).insertAll(inserts.capture());
+        assertThat(inserts.getValue()).singleElement().satisfies(config -> {
+            assertThat(config.getEventType()).isEqualTo("PAYMENT_FAILED");
+            assertThat(config.getSource()).isEqualTo("billing, eu");
+            assertThat(config.getEnabled()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep the checkpoint before a batch whose write failed")
+    void importConfigs_FailedBatch_CheckpointBeforeIt() throws Exception {
+        // Given
+        String body = """
+                {"eventType":"A","source":"s","enabled":true}
+                {"eventType":"B","source":"s","enabled":true}
+                """;
+        doThrow(new IllegalStateException("store unavailable")).when(storageStrategy).insertAll(anyList());
+
+        // When
+        EventConfigImportReportDto report = importNdjson(body, 0);
+
+        // Then
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getCheckpoint()).isZero();
+        assertThat(report.getErrors()).singleElement()
+                .extracting(EventConfigImportErrorDto::getMessage)
+                .isEqualTo("Lines 1-2 not written: store unavailable");
+        verify(invalidationBus, never()).publishAll();
+    }
+
+    @Test
+    @DisplayName("Should reject CSV without the required header columns")
+    void importConfigs_CsvWithoutHeader_ThrowsException() {
+        assertThatThrownBy(() -> importer.importConfigs(
+                new ByteArrayInputStream("USER_LOGIN,auth-service,true\n".getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.CSV, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Inserts like the stores do: configs whose key is already stored, as {@code eventType/source}, are skipped.
+     */
+    private void givenStore(String... storedKeys) {
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        stored.addAll(List.of(storedKeys));
+        when(storageStrategy.insertAll(anyList())).thenAnswer(invocation -> {
+            List<EventConfigRequestDto> configs = invocation.getArgument(0);
+            return (int) configs.stream()
+                    .filter(config -> stored.add(config.getEventType() + "/" + config.getSource()))
+                    .count();
+        });
+    }
+
+    private EventConfigImportReportDto importNdjson(String body, long resumeAfter) throws IOException {
+        return importer.importConfigs(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.NDJSON, resumeAfter);
+    }
+}
@@ -0,0 +1,320 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.config.InvalidationProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ElasticsearchEventConfigInvalidationBus Unit Tests")
+class ElasticsearchEventConfigInvalidationBusTest {
+
+    private static final Instant WRITTEN_AT = Instant.ofEpochMilli(1_000);
+    private static final Pattern ID = Pattern.compile("\"(\\d+)\"");
+
+    @Mock
+    private RestClient restClient;
+
+    // The invalidation index: the counter document's _version and the change documents by number
+    private final AtomicLong head = new AtomicLong();
+    private final Map<Long, String> changes = new ConcurrentHashMap<>();
+    private final List<String> writes = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean unavailable = new AtomicBoolean();
+    private final AtomicInteger polls = new AtomicInteger();
+    private final BlockingQueue<EventConfigInvalidation> received = new LinkedBlockingQueue<>();
+
+    private InvalidationProperties properties;
+    private ElasticsearchEventConfigInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InvalidationProperties();
+        properties.setPollInterval(Duration.ofMillis(1));
+        bus = new ElasticsearchEventConfigInvalidationBus(properties, new SimpleMeterRegistry(), restClient);
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("Should dispatch a change written by another replica")
+    void poll_SingleChange_DispatchesRecordedChange() throws Exception {
+        // Given
+        givenPolling(1);
+
+        // When
+        written(2, "2", "another-replica");
+
+        // Then
+        EventConfigInvalidation invalidation = received.poll(5, TimeUnit.SECONDS);
+        assertThat(invalidation).isNotNull();
+        assertThat(invalidation.isAll()).isFalse();
+        assertThat(invalidation.getId()).isEqualTo("2");
+        assertThat(invalidation.getEventType()).isEqualTo("USER_LOGIN");
+        assertThat(invalidation.getSource()).isEqualTo("auth-service");
+        assertThat(invalidation.getOccurredAt()).isEqualTo(WRITTEN_AT);
+    }
+
+    @Test
+    @DisplayName("Should dispatch each change when several writes happened between two polls")
+    void poll_SeveralChanges_DispatchesEachInOrder() throws Exception {
+        // Given
+        givenPolling(1);
+
+        // When
+        changes.put(2L, change(2, "2", "another-replica"));
+        changes.put(3L, change(3, "3", "another-replica"));
+        written(4, "4", "another-replica");
+
+        // Then
+        for (String id : List.of("2", "3", "4")) {
+            EventConfigInvalidation invalidation = received.poll(5, TimeUnit.SECONDS);
+            assertThat(invalidation).isNotNull();
+            assertThat(invalidation.isAll()).isFalse();
+            assertThat(invalidation.getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not dispatch a change recorded by this replica a second time")
+    void poll_OwnChange_NotDispatched() throws Exception {
+        // Given
+        givenPolling(1);
+
+        // When
+        written(2, "2", bus.instanceId);
+        awaitPoll();
+        written(3, "3", "another-replica");
+
+        // Then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("3");
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resume from the last seen number after failed polls")
+    void poll_Unavailable_ResumesFromLastSequence() throws Exception {
+        // Given
+        givenPolling(1);
+        unavailable.set(true);
+
+        // When
+        changes.put(2L, change(2, "2", "another-replica"));
+        written(3, "3", "another-replica");
+        awaitPoll();
+        assertThat(received).isEmpty();
+        unavailable.set(false);
+
+        // Then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("2");
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("Should wait for a taken number whose document is not written yet")
+    void poll_DocumentPending_WaitsForIt() throws Exception {
+        // Given
+        givenPolling(1);
+
+        // When
+        written(3, "3", "another-replica");
+        awaitPoll();
+        assertThat(received).isEmpty();
+        changes.put(2L, change(2, "2", "another-replica"));
+
+        // Then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("2");
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("Should invalidate everything for a number whose document never arrives")
+    void poll_DocumentLost_DispatchesAllAndMovesOn() throws Exception {
+        // Given
+        properties.setGapTimeout(Duration.ofMillis(20));
+        givenPolling(1);
+
+        // When
+        written(3, "3", "another-replica");
+
+        // Then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::isAll).isEqualTo(true);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("Should dispatch locally and store the change under the next number on publish")
+    void publish_Running_WritesChangeDocument() throws IOException {
+        // Given
+        givenStore();
+        bus.start();
+
+        // When
+        bus.publish(EventConfigResponseDto.builder().id("1").eventType("USER_LOGIN").source("auth-service").build());
+
+        // Then
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(0)).isEqualTo("PUT /event_config_invalidation/_doc/event_configs {}");
+        assertThat(writes.get(1))
+                .startsWith("PUT /event_config_invalidation/_create/1 {\"seq\":1,\"configId\":\"1\","
+                        + "\"eventType\":\"USER_LOGIN\",\"source\":\"auth-service\",\"origin\":\"" + bus.instanceId + "\"");
+        assertThat(received).singleElement().extracting(EventConfigInvalidation::getId).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should only dispatch locally when cross-instance invalidation is disabled")
+    void publish_Disabled_DispatchesLocallyOnly() throws IOException {
+        // Given
+        properties.setEnabled(false);
+        bus.start();
+
+        // When
+        bus.publish(EventConfigResponseDto.builder().id("1").eventType("USER_LOGIN").source("auth-service").build());
+
+        // Then
+        verify(restClient, never()).performRequest(any(Request.class));
+        assertThat(received).singleElement().extracting(EventConfigInvalidation::getId).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should keep dispatching to other listeners when one of them fails")
+    void publish_ListenerFails_OthersStillNotified() {
+        // Given
+        properties.setEnabled(false);
+        ElasticsearchEventConfigInvalidationBus isolated =
+                new ElasticsearchEventConfigInvalidationBus(properties, new SimpleMeterRegistry(), restClient);
+        isolated.subscribe(invalidation -> {
+            throw new IllegalStateException("listener failed");
+        });
+        isolated.subscribe(received::add);
+
+        // When
+        isolated.publishAll();
+
+        // Then
+        assertThat(received).singleElement().extracting(EventConfigInvalidation::isAll).isEqualTo(true);
+    }
+
+    /**
+     * Starts polling at {@code seq} and waits until the bus has read it as its baseline.
+     */
+    private void givenPolling(long seq) throws IOException, InterruptedException {
+        head.set(seq);
+        givenStore();
+        bus.start();
+        awaitPoll();
+    }
+
+    /**
+     * Serves the bus's requests from {@link #head} and {@link #changes}, recording the writes.
+     */
+    private void givenStore() throws IOException {
+        when(restClient.performRequest(any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            String endpoint = request.getEndpoint();
+            String body = body(request);
+            if (request.getMethod().equals("GET")) {
+                polls.incrementAndGet();
+                if (unavailable.get()) {
+                    throw new IOException("cluster unavailable");
+                }
+                return response("{\"_version\":" + head.get() + "}");
+            }
+            if (endpoint.endsWith("/_mget")) {
+                StringBuilder docs = new StringBuilder("{\"docs\":[");
+                Matcher ids = ID.matcher(body);
+                while (ids.find()) {
+                    String change = changes.get(Long.parseLong(ids.group(1)));
+                    docs.append(change != null ? "{\"found\":true,\"_source\":" + change + "}" : "{\"found\":false}")
+                            .append(',');
+                }
+                docs.setLength(docs.length() - 1);
+                return response(docs.append("]}").toString());
+            }
+            writes.add(request.getMethod() + " " + endpoint + " " + body);
+            if (endpoint.endsWith("/_doc/" + ElasticsearchEventConfigInvalidationBus.SEQUENCE_ID)) {
+                return response("{\"_version\":" + head.incrementAndGet() + "}");
+            }
+            // The bus does not read the response of change documents
+            return mock(Response.class);
+        });
+    }
+
+    /**
+     * Waits until the bus has completed a poll that started after this call.
+     */
+    private void awaitPoll() throws InterruptedException {
+        int target = polls.get() + 2;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (polls.get() < target) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The invalidation sequence was not polled");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private void written(long seq, String configId, String origin) {
+        changes.put(seq, change(seq, configId, origin));
+        head.set(seq);
+    }
+
+    private static String change(long seq, String configId, String origin) {
+        return "{\"seq\":" + seq + ",\"configId\":\"" + configId + "\",\"eventType\":\"USER_LOGIN\","
+                + "\"source\":\"auth-service\",\"origin\":\"" + origin + "\",\"at\":" + WRITTEN_AT.toEpochMilli() + "}";
+    }
+
+    private static String body(Request request) throws IOException {
+        if (request.getEntity() == null) {
+            return "";
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        request.getEntity().writeTo(body);
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Response response(String body) {
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return response;
+    }
+}
@@ -0,0 +1,255 @@
+package com.flex.mind.tech.service.invalidation;
+
+import com.flex.mind.tech.config.InvalidationProperties;
+import com.flex.mind.tech.model.entity.EventConfigMongo;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoEventConfigInvalidationBus Unit Tests")
+class MongoEventConfigInvalidationBusTest {
+
+    private static final String COLLECTION = "event_configs";
+    private static final String CAPPED_COLLECTION = "event_config_invalidations";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private ChangeStreamIterable<Document> stream;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> resumed;
+
+    @Mock
+    private MongoCollection<Document> capped;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private FindIterable<Document> find;
+
+    @Mock
+    private MongoCursor<Document> tail;
+
+    private final BlockingQueue<ChangeStreamDocument<Document>> changes = new LinkedBlockingQueue<>();
+    private final BlockingQueue<EventConfigInvalidation> received = new LinkedBlockingQueue<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoEventConfigInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setRetryDelay(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new MongoEventConfigInvalidationBus(properties, meterRegistry, mongoTemplate);
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("Should dispatch writes observed on the change stream")
+    void changeStream_Write_Dispatched() throws InterruptedException {
+        // Given
+        givenChangeStream();
+        when(stream.cursor()).thenReturn(cursor);
+        when(cursor.tryNext()).thenAnswer(next(changes));
+        bus.start();
+
+        // When
+        changes.add(change("1", "USER_LOGIN", "auth-service", token(1)));
+
+        // Then
+        EventConfigInvalidation invalidation = received.poll(5, TimeUnit.SECONDS);
+        assertThat(invalidation).isNotNull();
+        assertThat(invalidation.getId()).isEqualTo("1");
+        assertThat(invalidation.getEventType()).isEqualTo("USER_LOGIN");
+        assertThat(invalidation.getSource()).isEqualTo("auth-service");
+        assertThat(invalidation.getOccurredAt()).isEqualTo(Instant.ofEpochMilli(1_000));
+        assertThat(meterRegistry.counter("event.config.invalidation.received").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should dispatch a replica's own write again when it comes back through the change stream")
+    void changeStream_OwnWrite_DispatchedAgainWithoutOrigin() throws InterruptedException {
+        // Given
+        givenChangeStream();
+        when(stream.cursor()).thenReturn(cursor);
+        when(cursor.tryNext()).thenAnswer(next(changes));
+        bus.start();
+
+        // When
+        bus.publish(EventConfigResponseDto.builder().id("1").eventType("USER_LOGIN").source("auth-service").build());
+        changes.add(change("1", "USER_LOGIN", "auth-service", token(1)));
+
+        // Then
+        EventConfigInvalidation local = received.poll(5, TimeUnit.SECONDS);
+        EventConfigInvalidation echoed = received.poll(5, TimeUnit.SECONDS);
+        assertThat(local).isNotNull();
+        assertThat(local.getOrigin()).isEqualTo(bus.instanceId);
+        assertThat(echoed).isNotNull();
+        assertThat(echoed.getId()).isEqualTo("1");
+        assertThat(echoed.getOrigin()).isNull();
+        verify(mongoTemplate, never()).getCollection(CAPPED_COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Should resume the change stream after the last seen token when the cursor fails")
+    void changeStream_CursorFailure_ResumesAfterLastToken() throws InterruptedException {
+        // Given
+        BsonDocument lastToken = token(1);
+        ChangeStreamDocument<Document> beforeFailure = change("1", "USER_LOGIN", "auth-service", lastToken);
+        givenChangeStream();
+        when(stream.cursor()).thenReturn(cursor).thenReturn(resumed);
+        when(cursor.tryNext())
+                .thenReturn(beforeFailure)
+                .thenThrow(new MongoException("connection reset"));
+        when(resumed.tryNext()).thenAnswer(next(changes));
+
+        // When
+        bus.start();
+        changes.add(change("2", "USER_LOGOUT", "auth-service", token(2)));
+
+        // Then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("1");
+        assertThat(received.poll(5, TimeUnit.SECONDS)).extracting(EventConfigInvalidation::getId).isEqualTo("2");
+        verify(stream).resumeAfter(lastToken);
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the capped collection when change streams are not supported")
+    void changeStream_NotSupported_FallsBackToCappedCollection() throws InterruptedException {
+        // Given
+        BlockingQueue<Document> entries = new LinkedBlockingQueue<>();
+
+        givenChangeStream();
+        when(stream.cursor()).thenThrow(new MongoCommandException(new BsonDocument("code", new BsonInt32(40573))
+                .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets")),
+                new ServerAddress()));
+        when(mongoTemplate.collectionExists(CAPPED_COLLECTION)).thenReturn(true);
+        when(mongoTemplate.getCollection(CAPPED_COLLECTION)).thenReturn(capped);
+        when(capped.find()).thenReturn(find);
+        when(capped.find(any(Bson.class))).thenReturn(find);
+        when(find.first()).thenReturn(new Document("_id", new ObjectId()));
+        when(find.iterator()).thenReturn(tail);
+        when(tail.tryNext()).thenAnswer(next(entries));
+
+        bus.start();
+        verify(find, timeout(5_000)).iterator();
+
+        // When
+        bus.publish(EventConfigResponseDto.builder().id("1").eventType("USER_LOGIN").source("auth-service").build());
+        ArgumentCaptor<Document> published = ArgumentCaptor.forClass(Document.class);
+        verify(capped).insertOne(published.capture());
+        entries.add(published.getValue().append("_id", new ObjectId()));
+        entries.add(new Document("_id", new ObjectId())
+                .append("config_id", "2")
+                .append("event_type", "USER_LOGOUT")
+                .append("source", "auth-service")
+                .append("origin", "another-replica")
+                .append("at", new Date()));
+
+        // Then
+        EventConfigInvalidation local = received.poll(5, TimeUnit.SECONDS);
+        EventConfigInvalidation remote = received.poll(5, TimeUnit.SECONDS);
+        assertThat(published.getValue().getString("config_id")).isEqualTo("1");
+        assertThat(published.getValue().getString("origin")).isEqualTo(bus.instanceId);
+        assertThat(local).extracting(EventConfigInvalidation::getId).isEqualTo("1");
+        assertThat(remote).extracting(EventConfigInvalidation::getId).isEqualTo("2");
+        assertThat(remote.getOrigin()).isEqualTo("another-replica");
+        assertThat(received).isEmpty();
+        assertThat(meterRegistry.counter("event.config.invalidation.received").count()).isEqualTo(2);
+    }
+
+    private void givenChangeStream() {
+        when(mongoTemplate.getCollectionName(EventConfigMongo.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        when(collection.watch()).thenReturn(stream);
+    }
+
+    /**
+     * Stands in for {@code tryNext} with a server-side await: hands out queued items, otherwise
+     * returns {@code null} after a short wait.
+     */
+    private static <T> Answer<T> next(BlockingQueue<T> queue) {
+        return invocation -> {
+            try {
+                return queue.poll(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        };
+    }
+
+    private static BsonDocument token(int position) {
+        return new BsonDocument("_data", new BsonString("token-" + position));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(String id, String eventType, String source,
+                                                         BsonDocument resumeToken) {
+        // Lenient: the test may finish between the dispatch and the read of the resume token
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class,
+                withSettings().strictness(Strictness.LENIENT));
+        when(change.getResumeToken()).thenReturn(resumeToken);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(id)));
+        when(change.getFullDocument()).thenReturn(new Document("event_type", eventType).append("source", source));
+        when(change.getWallTime()).thenReturn(new BsonDateTime(1_000));
+        return change;
+    }
+}
@@ -0,0 +1,127 @@
+package com.flex.mind.tech.service.job;
+
+import com.flex.mind.tech.config.JobProperties;
+import com.flex.mind.tech.exception.JobQueueFullException;
+import com.flex.mind.tech.model.response.EventConfigJobDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventConfigJobExecutor Unit Tests")
+class EventConfigJobExecutorTest {
+
+    private JobProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EventConfigJobExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JobProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        properties.setRetryAfter(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new EventConfigJobExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.stop();
+    }
+
+    @Test
+    @DisplayName("Should run a job and expose its progress and result")
+    void submit_Success_ReportsResult() throws InterruptedException {
+        // When
+        EventConfigJobDto queued = executor.submit(EventConfigJobDto.Type.IMPORT, processed -> {
+            processed.set(42);
+            return "report";
+        });
+        EventConfigJobDto finished = await(queued.getId());
+
+        // Then
+        assertThat(queued.getStatus()).isIn(EventConfigJobDto.Status.QUEUED, EventConfigJobDto.Status.RUNNING,
+                EventConfigJobDto.Status.SUCCEEDED);
+        assertThat(finished.getStatus()).isEqualTo(EventConfigJobDto.Status.SUCCEEDED);
+        assertThat(finished.getProcessed()).isEqualTo(42);
+        assertThat(finished.getResult()).isEqualTo("report");
+        assertThat(finished.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should record the error of a failed job")
+    void submit_Failure_ReportsError() throws InterruptedException {
+        // When
+        EventConfigJobDto queued = executor.submit(EventConfigJobDto.Type.SOURCE_SYNC, processed -> {
+            throw new IllegalStateException("store unavailable");
+        });
+        EventConfigJobDto finished = await(queued.getId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(EventConfigJobDto.Status.FAILED);
+        assertThat(finished.getError()).isEqualTo("store unavailable");
+        assertThat(finished.getResult()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse jobs at once when every worker is busy and the queue is full")
+    void submit_QueueFull_ThrowsException() throws InterruptedException {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(EventConfigJobDto.Type.IMPORT, processed -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit(EventConfigJobDto.Type.IMPORT, processed -> null);
+
+        // When & Then
+        assertThat(executor.hasCapacity()).isFalse();
+        assertThatThrownBy(() -> executor.submit(EventConfigJobDto.Type.IMPORT, processed -> null))
+                .isInstanceOf(JobQueueFullException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+        assertThat(meterRegistry.counter("event.config.jobs.submitted", "type", "IMPORT", "result", "rejected")
+                .count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should forget finished jobs after the retention")
+    void sweep_Expired_RemovesFinishedJobs() throws InterruptedException {
+        // Given
+        EventConfigJobDto queued = executor.submit(EventConfigJobDto.Type.IMPORT, processed -> null);
+        await(queued.getId());
+        properties.setRetention(Duration.ZERO);
+
+        // When
+        Thread.sleep(5);
+        executor.sweep();
+
+        // Then
+        assertThat(executor.get(queued.getId())).isEmpty();
+    }
+
+    private EventConfigJobDto await(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            EventConfigJobDto job = executor.get(id).orElseThrow();
+            if (job.getStatus() == EventConfigJobDto.Status.SUCCEEDED
+                    || job.getStatus() == EventConfigJobDto.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Job " + id + " did not finish");
+    }
+}
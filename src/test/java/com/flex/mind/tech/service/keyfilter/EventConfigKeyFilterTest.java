@@ -0,0 +1,163 @@
+package com.flex.mind.tech.service.keyfilter;
+
+import com.flex.mind.tech.config.KeyFilterProperties;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigKeyFilter Unit Tests")
+class EventConfigKeyFilterTest {
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private EventConfigKeyFilter keyFilter;
+    private SimpleMeterRegistry meterRegistry;
+    private Consumer<EventConfigInvalidation> invalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        keyFilter = new EventConfigKeyFilter(new KeyFilterProperties(), storageStrategy, invalidationBus, meterRegistry);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<EventConfigInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(listener.capture());
+        invalidationListener = listener.getValue();
+        lenient().when(invalidationBus.isRunning()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyFilter.stop();
+    }
+
+    @Test
+    @DisplayName("Should answer maybe for everything until the first build")
+    void mightContain_BeforeBuild_AlwaysTrue() {
+        assertThat(keyFilter.mightContain("UNKNOWN", "nowhere")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rule out keys missing from the store scan")
+    void mightContain_AfterRebuild_DefiniteNegatives() throws Exception {
+        // When
+        rebuildWithStoredKeys();
+
+        // Then
+        assertThat(keyFilter.mightContain("USER_REGISTRATION", "auth-service")).isTrue();
+        assertThat(keyFilter.mightContain("USER_LOGIN", "auth-service")).isTrue();
+        assertThat(keyFilter.mightContain("ORDER_CREATED", "order-service")).isFalse();
+        assertThat(meterRegistry.get("event.config.key.filter.rebuild").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("event.config.key.filter.checks").tag("result", "negative").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should add keys written after the build from invalidations")
+    void onInvalidation_AddsWrittenKey() throws Exception {
+        // Given
+        rebuildWithStoredKeys();
+
+        // When
+        invalidationListener.accept(new EventConfigInvalidation(
+                "id-3", "ORDER_CREATED", "order-service", Instant.now(), "other-instance"));
+
+        // Then
+        assertThat(keyFilter.mightContain("ORDER_CREATED", "order-service")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the store after an unidentified invalidation")
+    void onInvalidation_All_DropsFilter() throws Exception {
+        // Given
+        rebuildWithStoredKeys();
+
+        // The rebuild queued by the reset must not repopulate before the assertion
+        lenient().doThrow(new IOException("store unavailable")).when(storageStrategy).forEachEventConfigKey(any());
+
+        // When
+        invalidationListener.accept(EventConfigInvalidation.all(Instant.now(), "other-instance"));
+
+        // Then
+        assertThat(keyFilter.mightContain("ORDER_CREATED", "order-service")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stay off while the invalidation bus is not running")
+    void mightContain_BusNotRunning_AlwaysTrue() throws Exception {
+        // Given
+        rebuildWithStoredKeys();
+        when(invalidationBus.isRunning()).thenReturn(false);
+
+        // When
+        keyFilter.start();
+
+        // Then
+        assertThat(keyFilter.mightContain("ORDER_CREATED", "order-service")).isTrue();
+        verify(storageStrategy, times(1)).forEachEventConfigKey(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate of a growing filter near the target")
+    void scalableBloomFilter_GrowsWithinTarget() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(EventConfigKeyFilter.hash("EVENT_" + i, "service"));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (filter.mightContain(EventConfigKeyFilter.hash("OTHER_" + i, "service"))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(filter.size()).isGreaterThan(19_600);
+        assertThat(falsePositives / 20_000.0).isLessThan(0.02);
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain(EventConfigKeyFilter.hash("EVENT_" + i, "service"))).isTrue();
+        }
+    }
+
+    private void rebuildWithStoredKeys() throws Exception {
+        doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(0);
+            consumer.accept("USER_REGISTRATION", "auth-service");
+            consumer.accept("USER_LOGIN", "auth-service");
+            return null;
+        }).when(storageStrategy).forEachEventConfigKey(any());
+        keyFilter.rebuild();
+    }
+}
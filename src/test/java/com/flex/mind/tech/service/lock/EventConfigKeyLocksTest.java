@@ -0,0 +1,175 @@
+package com.flex.mind.tech.service.lock;
+
+import com.flex.mind.tech.config.KeyLockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventConfigKeyLocks Unit Tests")
+class EventConfigKeyLocksTest {
+
+    private KeyLockProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KeyLockProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should run same-key actions one at a time and record the contention")
+    void withLock_SameKey_Serialized() throws Exception {
+        // Given
+        EventConfigKeyLocks locks = new EventConfigKeyLocks(properties, meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            Future<?> first = executor.submit(() -> locks.withLock("USER_REGISTRATION", "auth-service", () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                holding.countDown();
+                await(release);
+                return inside.decrementAndGet();
+            }));
+            holding.await(5, TimeUnit.SECONDS);
+            Future<?> second = executor.submit(() -> locks.withLock("USER_REGISTRATION", "auth-service", () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                return inside.decrementAndGet();
+            }));
+            while (meterRegistry.get("event.config.key.lock.queued").gauge().value() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(maxInside.get()).isEqualTo(1);
+        assertThat(counter("uncontended")).isEqualTo(1);
+        assertThat(counter("contended")).isEqualTo(1);
+        assertThat(meterRegistry.get("event.config.key.lock.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let a key on another stripe proceed while one is held")
+    void withLock_OtherStripe_NotBlocked() throws Exception {
+        // Given
+        EventConfigKeyLocks locks = new EventConfigKeyLocks(properties, meterRegistry);
+        String source = "auth-service";
+        while (locks.stripe("USER_LOGIN", source) == locks.stripe("USER_REGISTRATION", source)) {
+            source += "-1";
+        }
+        String otherSource = source;
+
+        // When
+        String result = locks.withLock("USER_REGISTRATION", "auth-service", () -> {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                return executor.submit(() -> locks.withLock("USER_LOGIN", otherSource, () -> "done"))
+                        .get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertThat(result).isEqualTo("done");
+        assertThat(counter("contended")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold both stripes of a key pair and take them in the same order from either side")
+    void withLocks_KeyPair_HoldsBothWithoutDeadlock() throws Exception {
+        // Given
+        EventConfigKeyLocks locks = new EventConfigKeyLocks(properties, meterRegistry);
+        String source = "auth-service";
+        while (locks.stripe("USER_LOGIN", source) == locks.stripe("USER_REGISTRATION", "auth-service")) {
+            source += "-1";
+        }
+        String otherSource = source;
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            List<Future<?>> renames = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                boolean forward = i % 2 == 0;
+                renames.add(executor.submit(() -> forward
+                        ? locks.withLocks("USER_REGISTRATION", "auth-service", "USER_LOGIN", otherSource,
+                                () -> maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max)
+                                        + inside.decrementAndGet())
+                        : locks.withLocks("USER_LOGIN", otherSource, "USER_REGISTRATION", "auth-service",
+                                () -> maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max)
+                                        + inside.decrementAndGet())));
+            }
+            for (Future<?> rename : renames) {
+                rename.get(5, TimeUnit.SECONDS);
+            }
+
+            // Then
+            assertThat(maxInside.get()).isEqualTo(1);
+            boolean otherKeyWaited = locks.withLocks("USER_REGISTRATION", "auth-service", "USER_LOGIN", otherSource,
+                    () -> {
+                        Future<String> other = executor.submit(
+                                () -> locks.withLock("USER_LOGIN", otherSource, () -> "done"));
+                        try {
+                            other.get(50, TimeUnit.MILLISECONDS);
+                            return false;
+                        } catch (TimeoutException e) {
+                            return true;
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+            assertThat(otherKeyWaited).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should round the stripe count up to a power of two and skip locking when disabled")
+    void stripes_RoundedAndDisabled() {
+        // Given
+        properties.setStripes(1000);
+        EventConfigKeyLocks rounded = new EventConfigKeyLocks(properties, meterRegistry);
+        KeyLockProperties disabledProperties = new KeyLockProperties();
+        disabledProperties.setEnabled(false);
+        EventConfigKeyLocks disabled = new EventConfigKeyLocks(disabledProperties, new SimpleMeterRegistry());
+
+        // When
+        String result = disabled.withLock("USER_REGISTRATION", "auth-service", () -> "done");
+
+        // Then
+        assertThat(rounded.stripeCount()).isEqualTo(1024);
+        assertThat(result).isEqualTo("done");
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("event.config.key.lock.acquisitions").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
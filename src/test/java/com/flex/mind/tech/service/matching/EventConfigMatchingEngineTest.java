@@ -0,0 +1,248 @@
+package com.flex.mind.tech.service.matching;
+
+import com.flex.mind.tech.config.MatchingProperties;
+import com.flex.mind.tech.config.WriteBehindProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import com.flex.mind.tech.service.writebehind.EventConfigWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigMatchingEngine Unit Tests")
+class EventConfigMatchingEngineTest {
+
+    private static final LocalDateTime FIXED_TIME = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private final WriteBehindProperties writeBehindProperties = new WriteBehindProperties();
+    private EventConfigWriteBehindBuffer writeBehind;
+    private EventConfigMatchingEngine engine;
+    private Consumer<EventConfigInvalidation> invalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = new MatchingProperties();
+        properties.setRebuildDelay(Duration.ofMillis(10));
+        writeBehindProperties.setEnabled(true);
+        writeBehind = new EventConfigWriteBehindBuffer(writeBehindProperties, storageStrategy, invalidationBus,
+                new SimpleMeterRegistry());
+        engine = new EventConfigMatchingEngine(properties, storageStrategy, invalidationBus, writeBehind,
+                new SimpleMeterRegistry());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<EventConfigInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(listener.capture());
+        invalidationListener = listener.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("Should match only enabled configs by exact key")
+    void compile_EnabledOnly_ExactMatch() {
+        // Given
+        EventConfigResponseDto registration = config("1", "USER_REGISTRATION", "auth-service", true, FIXED_TIME);
+        EventConfigResponseDto login = config("2", "USER_LOGIN", "auth-service", false, FIXED_TIME);
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(List.of(registration, login));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match("USER_REGISTRATION", "auth-service")).isSameAs(registration);
+        assertThat(index.match("USER_LOGIN", "auth-service")).isNull();
+        assertThat(index.match("USER_REGISTRATION", "billing-service")).isNull();
+        assertThat(index.match(null, "auth-service")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the most recently updated config for a duplicated key")
+    void compile_DuplicateKey_NewestWins() {
+        // Given
+        EventConfigResponseDto older = config("1", "USER_REGISTRATION", "auth-service", true, FIXED_TIME);
+        EventConfigResponseDto newer = config("2", "USER_REGISTRATION", "auth-service", true, FIXED_TIME.plusHours(1));
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(List.of(newer, older));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match("USER_REGISTRATION", "auth-service")).isSameAs(newer);
+    }
+
+    @Test
+    @DisplayName("Should resolve every key of a large index through probing")
+    void compile_ManyKeys_AllResolvable() {
+        // Given
+        List<EventConfigResponseDto> configs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            configs.add(config(String.valueOf(i), "EVENT_" + (i % 97), "service-" + i, true, FIXED_TIME));
+        }
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(configs);
+
+        // Then
+        assertThat(index.size()).isEqualTo(10_000);
+        for (EventConfigResponseDto config : configs) {
+            assertThat(index.match(config.getEventType(), new String(config.getSource()))).isSameAs(config);
+        }
+        assertThat(index.match("EVENT_0", "service-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve patterns by exact, longest prefix, longest suffix and then wildcard")
+    void compile_Patterns_PrecedenceOrder() {
+        // Given
+        EventConfigResponseDto exact = config("1", "PAYMENT_FAILED", "payments-api", true, FIXED_TIME);
+        EventConfigResponseDto longPrefix = config("2", "PAYMENT_FAILED", "payments-eu-*", true, FIXED_TIME);
+        EventConfigResponseDto shortPrefix = config("3", "PAYMENT_FAILED", "payments-*", true, FIXED_TIME);
+        EventConfigResponseDto suffix = config("4", "PAYMENT_FAILED", "*-gateway", true, FIXED_TIME);
+        EventConfigResponseDto any = config("5", "PAYMENT_FAILED", "*", true, FIXED_TIME);
+        EventConfigResponseDto typePrefix = config("6", "PAYMENT_*", "payments-api", true, FIXED_TIME);
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(
+                List.of(any, suffix, shortPrefix, longPrefix, exact, typePrefix));
+
+        // Then
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(index.match("PAYMENT_FAILED", "payments-api")).isSameAs(exact);
+        assertThat(index.match("PAYMENT_FAILED", "payments-eu-west")).isSameAs(longPrefix);
+        assertThat(index.match("PAYMENT_FAILED", "payments-gateway")).isSameAs(shortPrefix);
+        assertThat(index.match("PAYMENT_FAILED", "card-gateway")).isSameAs(suffix);
+        assertThat(index.match("PAYMENT_FAILED", "billing")).isSameAs(any);
+        assertThat(index.match("PAYMENT_REFUNDED", "payments-api")).isSameAs(typePrefix);
+        assertThat(index.match("PAYMENT_REFUNDED", "billing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back to a broader eventType pattern when the specific one has no source match")
+    void compile_Patterns_BacktrackOnEventType() {
+        // Given
+        EventConfigResponseDto specific = config("1", "USER_*", "auth-*", true, FIXED_TIME);
+        EventConfigResponseDto broad = config("2", "*", "billing", true, FIXED_TIME);
+        EventConfigResponseDto disabled = config("3", "USER_LOGOUT", "*", false, FIXED_TIME);
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(List.of(specific, broad, disabled));
+
+        // Then
+        assertThat(index.match("USER_LOGIN", "auth-service")).isSameAs(specific);
+        assertThat(index.match("USER_LOGIN", "billing")).isSameAs(broad);
+        assertThat(index.match("USER_LOGIN", "orders")).isNull();
+        assertThat(index.match("USER_LOGOUT", "billing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let a disabled config opt its keys out of an enabled broader pattern")
+    void compile_DisabledUnderEnabledPattern_OptsOut() {
+        // Given
+        EventConfigResponseDto wildcard = config("1", "USER_LOGIN", "payments-*", true, FIXED_TIME);
+        EventConfigResponseDto legacy = config("2", "USER_LOGIN", "payments-legacy", false, FIXED_TIME);
+        EventConfigResponseDto eu = config("3", "USER_LOGIN", "payments-eu-*", false, FIXED_TIME);
+
+        // When
+        CompiledEventConfigIndex index = CompiledEventConfigIndex.compile(List.of(wildcard, legacy, eu));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match("USER_LOGIN", "payments-api")).isSameAs(wildcard);
+        assertThat(index.match("USER_LOGIN", "payments-legacy")).isNull();
+        assertThat(index.match("USER_LOGIN", "payments-eu-west")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should parse only leading, trailing and lone wildcards as patterns")
+    void globPattern_Parse() {
+        assertThat(GlobPattern.of("payments-*")).isEqualTo(new GlobPattern(GlobPattern.Kind.PREFIX, "payments-"));
+        assertThat(GlobPattern.of("*-service")).isEqualTo(new GlobPattern(GlobPattern.Kind.SUFFIX, "-service"));
+        assertThat(GlobPattern.of("*")).isEqualTo(new GlobPattern(GlobPattern.Kind.ANY, ""));
+        assertThat(GlobPattern.of("auth-service").kind()).isEqualTo(GlobPattern.Kind.EXACT);
+        assertThat(GlobPattern.isPattern("pay*ments")).isFalse();
+        assertThat(GlobPattern.isPattern("*payments*")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compile on first use and recompile once after a burst of writes")
+    void index_AfterInvalidations_RebuildsOnce() {
+        // Given
+        EventConfigResponseDto registration = config("1", "USER_REGISTRATION", "auth-service", true, FIXED_TIME);
+        EventConfigResponseDto login = config("2", "USER_LOGIN", "auth-service", true, FIXED_TIME);
+        when(storageStrategy.getEventConfigs(null, null, null))
+                .thenReturn(List.of(registration))
+                .thenReturn(List.of(registration, login));
+        assertThat(engine.index().match("USER_LOGIN", "auth-service")).isNull();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            invalidationListener.accept(EventConfigInvalidation.of(login, "other-instance"));
+        }
+
+        // Then
+        verify(storageStrategy, timeout(2_000).times(2)).getEventConfigs(null, null, null);
+        assertThat(engine.index().match("USER_LOGIN", "auth-service")).isSameAs(login);
+        verify(storageStrategy, times(2)).getEventConfigs(null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should compile toggles waiting in the write-behind buffer with their buffered state")
+    void rebuild_PendingToggles_CompiledWithBufferedState() {
+        // Given
+        EventConfigResponseDto registration = config("1", "USER_REGISTRATION", "auth-service", true, FIXED_TIME);
+        EventConfigResponseDto login = config("2", "USER_LOGIN", "auth-service", false, FIXED_TIME);
+        when(storageStrategy.getEventConfigs(null, null, null)).thenReturn(List.of(registration, login));
+        writeBehind.offer(config("1", "USER_REGISTRATION", "auth-service", false, FIXED_TIME));
+        writeBehind.offer(config("2", "USER_LOGIN", "auth-service", true, FIXED_TIME));
+
+        // When
+        engine.rebuild();
+
+        // Then
+        assertThat(engine.index().match("USER_REGISTRATION", "auth-service")).isNull();
+        assertThat(engine.index().match("USER_LOGIN", "auth-service")).extracting(EventConfigResponseDto::getId)
+                .isEqualTo("2");
+    }
+
+    private static EventConfigResponseDto config(String id, String eventType, String source,
+                                                 boolean enabled, LocalDateTime updatedAt) {
+        return EventConfigResponseDto.builder()
+                .id(id)
+                .eventType(eventType)
+                .source(source)
+                .enabled(enabled)
+                .createdAt(FIXED_TIME)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
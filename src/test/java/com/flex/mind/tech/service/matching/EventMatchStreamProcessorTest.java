@@ -0,0 +1,133 @@
+package com.flex.mind.tech.service.matching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flex.mind.tech.config.MatchingProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventMatchStreamProcessor Unit Tests")
+class EventMatchStreamProcessorTest {
+
+    private static final String TEST_UUID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private EventConfigMatchingEngine matchingEngine;
+
+    private EventMatchStreamProcessor processor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = new MatchingProperties();
+        properties.setStreamChunkSize(3);
+        properties.setStreamParallelism(4);
+        properties.setStreamMaxInFlightChunks(2);
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new EventMatchStreamProcessor(properties, matchingEngine,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+
+        EventConfigResponseDto config = EventConfigResponseDto.builder()
+                .id(TEST_UUID)
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(true)
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0))
+                .build();
+        when(matchingEngine.index()).thenReturn(CompiledEventConfigIndex.compile(List.of(config)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    @DisplayName("Should write one NDJSON decision per streamed event")
+    void process_WritesNdjson() throws Exception {
+        // Given
+        String events = "{\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\",\"payload\":{\"a\":[1]}}\n"
+                + "{\"source\":\"auth-service\",\"eventType\":\"USER_LOGIN\"}\n";
+
+        // When
+        String[] lines = process(events).split("\n");
+
+        // Then
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\",\"config\":{\"id\":\"" + TEST_UUID + "\"");
+        assertThat(lines[0]).contains("\"createdAt\":\"2024-01-15T10:30:00\"");
+        assertThat(lines[1]).isEqualTo("{\"eventType\":\"USER_LOGIN\",\"source\":\"auth-service\",\"config\":null}");
+    }
+
+    @Test
+    @DisplayName("Should keep input order across many parallel chunks and count events")
+    void process_ManyChunks_PreservesOrder() throws Exception {
+        // Given
+        StringBuilder events = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String source = i % 2 == 0 ? "auth-service" : "source-" + i;
+            events.append("{\"eventType\":\"USER_REGISTRATION\",\"source\":\"").append(source).append("\"}\n");
+        }
+
+        // When
+        String[] lines = process(events.toString()).split("\n");
+
+        // Then
+        assertThat(lines).hasSize(1000);
+        for (int i = 1; i < 1000; i += 2) {
+            assertThat(lines[i]).isEqualTo("{\"eventType\":\"USER_REGISTRATION\",\"source\":\"source-" + i + "\",\"config\":null}");
+        }
+        assertThat(meterRegistry.get("event.config.matching.stream.events").counter().count()).isEqualTo(1000);
+        assertThat(meterRegistry.get("event.config.matching.stream.matches").counter().count()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should skip an object or array key and decide no config for that event")
+    void process_NonScalarKey_NoConfig() throws Exception {
+        // Given
+        String events = "{\"eventType\":{\"name\":\"USER_REGISTRATION\"},\"source\":\"auth-service\"}\n"
+                + "{\"eventType\":\"USER_REGISTRATION\",\"source\":[\"auth-service\"]}\n"
+                + "{\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\"}\n";
+
+        // When
+        String[] lines = process(events).split("\n");
+
+        // Then
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("{\"eventType\":null,\"source\":\"auth-service\",\"config\":null}");
+        assertThat(lines[1]).isEqualTo("{\"eventType\":\"USER_REGISTRATION\",\"source\":null,\"config\":null}");
+        assertThat(lines[2]).contains("\"config\":{\"id\":\"" + TEST_UUID + "\"");
+    }
+
+    @Test
+    @DisplayName("Should reject input that is not a sequence of JSON objects")
+    void process_NonObject_ThrowsException() {
+        assertThatThrownBy(() -> process("[1, 2]"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String process(String events) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        processor.process(new ByteArrayInputStream(events.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
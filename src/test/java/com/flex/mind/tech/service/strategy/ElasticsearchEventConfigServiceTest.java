@@ -1,11 +1,25 @@
 package com.flex.mind.tech.service.strategy;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.flex.mind.tech.config.RefreshProperties;
+import com.flex.mind.tech.exception.EventConfigAlreadyExistsException;
 import com.flex.mind.tech.exception.EventConfigNotFoundException;
 import com.flex.mind.tech.model.entity.EventConfigElastic;
 import com.flex.mind.tech.model.mapper.EventConfigMapper;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
+import com.flex.mind.tech.model.response.EventConfigFacetsResponseDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
 import com.flex.mind.tech.repository.EventConfigElasticsearchRepository;
+import com.flex.mind.tech.repository.codec.EventConfigJsonWriter;
+import com.flex.mind.tech.service.suggest.SuggestField;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicStatusLine;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,19 +27,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,6 +65,15 @@ class ElasticsearchEventConfigServiceTest {
     @Mock
     private EventConfigMapper mapper;
 
+    @Mock
+    private RestClient restClient;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Spy
+    private RefreshProperties refreshProperties = new RefreshProperties();
+
     @InjectMocks
     private ElasticsearchEventConfigService service;
 
@@ -79,7 +112,7 @@ class ElasticsearchEventConfigServiceTest {
 
     @Test
     @DisplayName("Should create event config successfully")
-    void createEventConfig_Success() {
+    void createEventConfig_Success() throws Exception {
         // Given
         EventConfigElastic entityToSave = EventConfigElastic.builder()
                 .eventType("USER_REGISTRATION")
@@ -87,18 +120,10 @@ class ElasticsearchEventConfigServiceTest {
                 .enabled(true)
                 .build();
 
-        EventConfigElastic savedEntity = EventConfigElastic.builder()
-                .id("generated-uuid")
-                .eventType("USER_REGISTRATION")
-                .source("auth-service")
-                .enabled(true)
-                .createdAt(fixedTime)
-                .updatedAt(fixedTime)
-                .build();
-
         when(mapper.toElasticEntity(requestDto)).thenReturn(entityToSave);
-        when(repository.save(any(EventConfigElastic.class))).thenReturn(savedEntity);
-        when(mapper.toResponseDto(savedEntity)).thenReturn(responseDto);
+        Response created = bulkResponse("{\"items\":[{\"create\":{\"_seq_no\":0,\"_primary_term\":1,\"status\":201}}]}");
+        when(restClient.performRequest(any(Request.class))).thenReturn(created);
+        when(mapper.toResponseDto(entityToSave)).thenReturn(responseDto);
 
         // When
         EventConfigResponseDto result = service.createEventConfig(requestDto);
@@ -108,45 +133,97 @@ class ElasticsearchEventConfigServiceTest {
         assertThat(result).isEqualTo(responseDto);
 
         verify(mapper, times(1)).toElasticEntity(requestDto);
-        verify(repository, times(1)).save(any(EventConfigElastic.class));
-        verify(mapper, times(1)).toResponseDto(savedEntity);
-
-        ArgumentCaptor<EventConfigElastic> entityCaptor = ArgumentCaptor.forClass(EventConfigElastic.class);
-        verify(repository).save(entityCaptor.capture());
-        EventConfigElastic capturedEntity = entityCaptor.getValue();
-
-        assertThat(capturedEntity.getId()).isNotNull();
-        assertThat(capturedEntity.getCreatedAt()).isNotNull();
-        assertThat(capturedEntity.getUpdatedAt()).isNotNull();
+        verify(mapper, times(1)).toResponseDto(entityToSave);
+        verify(operations, never()).save(any(EventConfigElastic.class));
+
+        assertThat(entityToSave.getId())
+                .isEqualTo(ElasticsearchEventConfigService.keyId("USER_REGISTRATION", "auth-service", 0));
+        assertThat(entityToSave.getSeqNoPrimaryTerm()).isEqualTo(new SeqNoPrimaryTerm(0, 1));
+        assertThat(entityToSave.getCreatedAt()).isNotNull();
+        assertThat(entityToSave.getUpdatedAt()).isNotNull();
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient).performRequest(request.capture());
+        assertThat(request.getValue().getEndpoint()).isEqualTo("/event_configs/_bulk");
+        assertThat(request.getValue().getParameters()).containsEntry("refresh", "wait_for");
+        String[] lines = sentLines(request.getValue());
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"create\":{\"_id\":\"" + entityToSave.getId() + "\"}}");
+        assertThat(lines[1]).matches("\\{\"eventType\":\"USER_REGISTRATION\",\"source\":\"auth-service\",\"enabled\":true,"
+                + "\"createdAt\":\"[0-9-]{10}T[0-9:]{8}\",\"updatedAt\":\"[0-9-]{10}T[0-9:]{8}\"}");
     }
 
     @Test
-    @DisplayName("Should update event config successfully")
-    void updateEventConfig_Success() {
+    @DisplayName("Should reject a create whose key id is held by a config of the same key")
+    void createEventConfig_KeyStored_ThrowsAlreadyExists() throws Exception {
         // Given
-        String eventId = "test-uuid-123";
-        EventConfigRequestDto updateRequest = EventConfigRequestDto.builder()
-                .eventType("USER_LOGIN")
+        EventConfigElastic entityToSave = EventConfigElastic.builder()
+                .eventType("USER_REGISTRATION")
                 .source("auth-service")
-                .enabled(false)
+                .enabled(true)
                 .build();
+        String keyId = ElasticsearchEventConfigService.keyId("USER_REGISTRATION", "auth-service", 0);
+        elasticEntity.setId(keyId);
 
-        EventConfigElastic existingEntity = EventConfigElastic.builder()
-                .id(eventId)
+        when(mapper.toElasticEntity(requestDto)).thenReturn(entityToSave);
+        Response taken = bulkResponse("{\"items\":[{\"create\":{\"status\":409,"
+                + "\"error\":{\"type\":\"version_conflict_engine_exception\"}}}]}");
+        when(restClient.performRequest(any(Request.class))).thenReturn(taken);
+        when(repository.findAllById(List.of(keyId))).thenReturn(List.of(elasticEntity));
+
+        // When & Then
+        assertThatThrownBy(() -> service.createEventConfig(requestDto))
+                .isInstanceOf(EventConfigAlreadyExistsException.class);
+
+        verify(restClient, times(1)).performRequest(any(Request.class));
+        verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
+    }
+
+    @Test
+    @DisplayName("Should move on to the next key id while the first is held by a renamed config")
+    void createEventConfig_KeyIdHeldByRenamedConfig_UsesNextId() throws Exception {
+        // Given
+        EventConfigElastic entityToSave = EventConfigElastic.builder()
                 .eventType("USER_REGISTRATION")
                 .source("auth-service")
                 .enabled(true)
-                .createdAt(fixedTime)
-                .updatedAt(fixedTime)
+                .build();
+        String keyId = ElasticsearchEventConfigService.keyId("USER_REGISTRATION", "auth-service", 0);
+        EventConfigElastic renamed = EventConfigElastic.builder()
+                .id(keyId)
+                .eventType("USER_LOGIN")
+                .source("auth-service")
                 .build();
 
-        EventConfigElastic updatedEntity = EventConfigElastic.builder()
-                .id(eventId)
+        when(mapper.toElasticEntity(requestDto)).thenReturn(entityToSave);
+        Response taken = bulkResponse("{\"items\":[{\"create\":{\"status\":409,"
+                + "\"error\":{\"type\":\"version_conflict_engine_exception\"}}}]}");
+        Response created = bulkResponse("{\"items\":[{\"create\":{\"_seq_no\":3,\"_primary_term\":1,\"status\":201}}]}");
+        when(restClient.performRequest(any(Request.class))).thenReturn(taken, created);
+        when(repository.findAllById(List.of(keyId))).thenReturn(List.of(renamed));
+        when(mapper.toResponseDto(entityToSave)).thenReturn(responseDto);
+
+        // When
+        EventConfigResponseDto result = service.createEventConfig(requestDto);
+
+        // Then
+        assertThat(result).isEqualTo(responseDto);
+        assertThat(entityToSave.getId())
+                .isEqualTo(ElasticsearchEventConfigService.keyId("USER_REGISTRATION", "auth-service", 1))
+                .isNotEqualTo(keyId);
+        assertThat(entityToSave.getSeqNoPrimaryTerm()).isEqualTo(new SeqNoPrimaryTerm(3, 1));
+        verify(restClient, times(2)).performRequest(any(Request.class));
+    }
+
+    @Test
+    @DisplayName("Should update event config successfully")
+    void updateEventConfig_Success() throws Exception {
+        // Given
+        String eventId = "test-uuid-123";
+        EventConfigRequestDto updateRequest = EventConfigRequestDto.builder()
                 .eventType("USER_LOGIN")
                 .source("auth-service")
                 .enabled(false)
-                .createdAt(fixedTime)
-                .updatedAt(fixedTime.plusMinutes(30))
                 .build();
 
         EventConfigResponseDto updatedResponse = EventConfigResponseDto.builder()
@@ -156,51 +233,72 @@ class ElasticsearchEventConfigServiceTest {
                 .enabled(false)
                 .createdAt(fixedTime)
                 .updatedAt(fixedTime.plusMinutes(30))
+                .version("8-1")
                 .build();
 
-        when(repository.findById(eventId)).thenReturn(Optional.of(existingEntity));
-        when(repository.save(any(EventConfigElastic.class))).thenReturn(updatedEntity);
-        when(mapper.toResponseDto(updatedEntity)).thenReturn(updatedResponse);
-
-        try (MockedStatic<LocalDateTime> timeMock = mockStatic(LocalDateTime.class)) {
-            timeMock.when(LocalDateTime::now).thenReturn(fixedTime.plusMinutes(30));
+        Response updated = response(200, "{\"_seq_no\":8,\"_primary_term\":1,\"get\":{\"_source\":"
+                + "{\"eventType\":\"USER_LOGIN\",\"source\":\"auth-service\",\"enabled\":false,"
+                + "\"createdAt\":\"2024-01-15T10:30:00\",\"updatedAt\":\"2024-01-15T11:00:00\"}}}");
+        when(restClient.performRequest(any(Request.class))).thenReturn(updated);
+        ArgumentCaptor<EventConfigElastic> entity = ArgumentCaptor.forClass(EventConfigElastic.class);
+        when(mapper.toResponseDto(entity.capture())).thenReturn(updatedResponse);
 
-            // When
-            EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest);
+        // When
+        EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest, "7-1");
 
-            // Then
-            assertThat(result).isNotNull();
-            assertThat(result.getId()).isEqualTo(eventId);
-            assertThat(result.getEventType()).isEqualTo("USER_LOGIN");
-            assertThat(result.getSource()).isEqualTo("auth-service");
-            assertThat(result.getEnabled()).isFalse();
-            assertThat(result.getUpdatedAt()).isEqualTo(fixedTime.plusMinutes(30));
+        // Then
+        assertThat(result).isSameAs(updatedResponse);
+        assertThat(entity.getValue().getId()).isEqualTo(eventId);
+        assertThat(entity.getValue().getEventType()).isEqualTo("USER_LOGIN");
+        assertThat(entity.getValue().getEnabled()).isFalse();
+        assertThat(entity.getValue().getCreatedAt()).isEqualTo(fixedTime);
+        assertThat(entity.getValue().getUpdatedAt()).isEqualTo(fixedTime.plusMinutes(30));
+        assertThat(entity.getValue().getSeqNoPrimaryTerm()).isEqualTo(new SeqNoPrimaryTerm(8, 1));
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient, times(1)).performRequest(request.capture());
+        assertThat(request.getValue().getEndpoint()).isEqualTo("/event_configs/_update/" + eventId);
+        assertThat(request.getValue().getParameters())
+                .containsEntry("if_seq_no", "7")
+                .containsEntry("if_primary_term", "1")
+                .containsEntry("refresh", "wait_for");
+        assertThat(sentLines(request.getValue())[0]).matches("\\{\"doc\":\\{\"eventType\":\"USER_LOGIN\","
+                + "\"source\":\"auth-service\",\"enabled\":false,\"updatedAt\":\"[0-9-]{10}T[0-9:]{8}\"}}");
+        verify(repository, never()).findById(any());
+        verify(operations, never()).save(any(EventConfigElastic.class));
+    }
 
-            verify(repository, times(1)).findById(eventId);
-            verify(repository, times(1)).save(any(EventConfigElastic.class));
-            verify(mapper, times(1)).toResponseDto(updatedEntity);
+    @Test
+    @DisplayName("Should report a config no longer at the expected version as a lost race")
+    void updateEventConfig_ExpectedVersionMoved_ThrowsOptimisticLockingFailure() throws Exception {
+        // Given
+        String eventId = "test-uuid-123";
+        Response conflict = response(409, null);
+        when(restClient.performRequest(any(Request.class))).thenReturn(conflict);
 
-            assertThat(existingEntity.getEventType()).isEqualTo("USER_LOGIN");
-            assertThat(existingEntity.getSource()).isEqualTo("auth-service");
-            assertThat(existingEntity.getEnabled()).isFalse();
-            assertThat(existingEntity.getUpdatedAt()).isEqualTo(fixedTime.plusMinutes(30));
-        }
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, "7-1"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, "7"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(restClient, times(1)).performRequest(any(Request.class));
+        verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
     }
 
     @Test
     @DisplayName("Should throw exception when updating non-existent event config")
-    void updateEventConfig_NotFound_ThrowsException() {
+    void updateEventConfig_NotFound_ThrowsException() throws Exception {
         // Given
         String nonExistentId = "non-existent-id";
-        when(repository.findById(nonExistentId)).thenReturn(Optional.empty());
+        Response missing = response(404, null);
+        when(restClient.performRequest(any(Request.class))).thenReturn(missing);
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(nonExistentId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(nonExistentId, requestDto, null))
                 .isInstanceOf(EventConfigNotFoundException.class)
                 .hasMessage("Event config not found with id: " + nonExistentId);
 
-        verify(repository, times(1)).findById(nonExistentId);
-        verify(repository, never()).save(any(EventConfigElastic.class));
+        verify(operations, never()).save(any(EventConfigElastic.class));
         verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
     }
 
@@ -498,7 +596,7 @@ class ElasticsearchEventConfigServiceTest {
 
     @Test
     @DisplayName("Should handle repository exception during create")
-    void createEventConfig_RepositoryException_ThrowsException() {
+    void createEventConfig_RepositoryException_ThrowsException() throws Exception {
         // Given
         EventConfigElastic entityToSave = EventConfigElastic.builder()
                 .eventType("USER_REGISTRATION")
@@ -507,7 +605,7 @@ class ElasticsearchEventConfigServiceTest {
                 .build();
 
         when(mapper.toElasticEntity(requestDto)).thenReturn(entityToSave);
-        when(repository.save(any(EventConfigElastic.class)))
+        when(restClient.performRequest(any(Request.class)))
                 .thenThrow(new RuntimeException("Elasticsearch connection failed"));
 
         // When & Then
@@ -516,7 +614,7 @@ class ElasticsearchEventConfigServiceTest {
                 .hasMessage("Elasticsearch connection failed");
 
         verify(mapper, times(1)).toElasticEntity(requestDto);
-        verify(repository, times(1)).save(any(EventConfigElastic.class));
+        verify(restClient, times(1)).performRequest(any(Request.class));
         verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
     }
 
@@ -538,19 +636,18 @@ class ElasticsearchEventConfigServiceTest {
 
     @Test
     @DisplayName("Should handle repository exception during update")
-    void updateEventConfig_RepositoryException_ThrowsException() {
+    void updateEventConfig_RepositoryException_ThrowsException() throws Exception {
         // Given
         String eventId = "test-uuid-123";
-        when(repository.findById(eventId))
+        when(restClient.performRequest(any(Request.class)))
                 .thenThrow(new RuntimeException("Elasticsearch connection failed"));
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Elasticsearch connection failed");
 
-        verify(repository, times(1)).findById(eventId);
-        verify(repository, never()).save(any(EventConfigElastic.class));
+        verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
     }
 
     @Test
@@ -587,32 +684,30 @@ class ElasticsearchEventConfigServiceTest {
 
     @Test
     @DisplayName("Should handle empty string ID in updateEventConfig")
-    void updateEventConfig_EmptyId_ThrowsException() {
+    void updateEventConfig_EmptyId_ThrowsException() throws Exception {
         // Given
         String emptyId = "";
-        when(repository.findById(emptyId)).thenReturn(Optional.empty());
+        Response missing = response(404, null);
+        when(restClient.performRequest(any(Request.class))).thenReturn(missing);
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(emptyId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(emptyId, requestDto, null))
                 .isInstanceOf(EventConfigNotFoundException.class)
                 .hasMessage("Event config not found with id: " + emptyId);
-
-        verify(repository, times(1)).findById(emptyId);
     }
 
     @Test
     @DisplayName("Should handle null ID in updateEventConfig")
-    void updateEventConfig_NullId_ThrowsException() {
+    void updateEventConfig_NullId_ThrowsException() throws Exception {
         // Given
         String nullId = null;
-        when(repository.findById(nullId)).thenReturn(Optional.empty());
+        Response missing = response(404, null);
+        when(restClient.performRequest(any(Request.class))).thenReturn(missing);
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(nullId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(nullId, requestDto, null))
                 .isInstanceOf(EventConfigNotFoundException.class)
                 .hasMessage("Event config not found with id: " + nullId);
-
-        verify(repository, times(1)).findById(nullId);
     }
 
     @Test
@@ -685,29 +780,249 @@ class ElasticsearchEventConfigServiceTest {
 
     @Test
     @DisplayName("Should handle save exception with specific entity details")
-    void updateEventConfig_SaveException_ThrowsException() {
+    void updateEventConfig_SaveException_ThrowsException() throws Exception {
         // Given
         String eventId = "test-uuid-123";
-        EventConfigElastic existingEntity = EventConfigElastic.builder()
-                .id(eventId)
+        when(restClient.performRequest(any(Request.class))).thenThrow(new IOException("Save operation failed"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, null))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessage("Failed to update event config " + eventId)
+                .hasRootCauseMessage("Save operation failed");
+
+        verify(restClient, times(1)).performRequest(any(Request.class));
+        verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
+    }
+
+    @Test
+    @DisplayName("Should create under key ids without refresh and skip keys already stored")
+    void insertAll_RepeatedKey_SkipsDuplicate() throws Exception {
+        // Given
+        String keyId = ElasticsearchEventConfigService.keyId("USER_REGISTRATION", "auth-service", 0);
+        elasticEntity.setId(keyId);
+        when(mapper.toElasticEntity(requestDto)).thenAnswer(invocation -> EventConfigElastic.builder()
                 .eventType("USER_REGISTRATION")
                 .source("auth-service")
                 .enabled(true)
-                .createdAt(fixedTime)
-                .updatedAt(fixedTime)
-                .build();
+                .build());
+        Response response = bulkResponse("{\"items\":["
+                + "{\"create\":{\"_seq_no\":3,\"_primary_term\":1,\"status\":201}},"
+                + "{\"create\":{\"status\":409,\"error\":{\"type\":\"version_conflict_engine_exception\"}}}]}");
+        when(restClient.performRequest(any(Request.class))).thenReturn(response);
+        when(repository.findAllById(List.of(keyId))).thenReturn(List.of(elasticEntity));
 
-        when(repository.findById(eventId)).thenReturn(Optional.of(existingEntity));
-        when(repository.save(any(EventConfigElastic.class)))
-                .thenThrow(new RuntimeException("Save operation failed"));
+        // When
+        int inserted = service.insertAll(List.of(requestDto, requestDto));
 
-        // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Save operation failed");
+        // Then
+        assertThat(inserted).isEqualTo(1);
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient).performRequest(request.capture());
+        assertThat(request.getValue().getParameters()).containsEntry("refresh", "false");
+        String[] lines = sentLines(request.getValue());
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("{\"create\":{\"_id\":\"" + keyId + "\"}}");
+        assertThat(lines[2]).isEqualTo(lines[0]);
+        verify(operations, never()).save(any(EventConfigElastic.class));
+    }
 
-        verify(repository, times(1)).findById(eventId);
-        verify(repository, times(1)).save(existingEntity);
-        verify(mapper, never()).toResponseDto(any(EventConfigElastic.class));
+    @Test
+    @DisplayName("Should update enabled only while configs are at their read version and report the others")
+    void applyChanges_Updates_ConditionalPartialBulk() throws Exception {
+        // Given
+        EventConfigResponseDto moved = EventConfigResponseDto.builder()
+                .id("moved-id").eventType("USER_LOGIN").source("auth-service").enabled(false).version("4-1").build();
+        EventConfigResponseDto current = EventConfigResponseDto.builder()
+                .id("test-uuid-123").eventType("USER_REGISTRATION").source("auth-service").enabled(false)
+                .createdAt(fixedTime).version("7-1").build();
+        String body = "{\"items\":["
+                + "{\"update\":{\"status\":409,\"error\":{\"type\":\"version_conflict_engine_exception\"}}},"
+                + "{\"update\":{\"_seq_no\":12,\"_primary_term\":1,\"status\":200}}]}";
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        when(restClient.performRequest(any(Request.class))).thenReturn(response);
+
+        // When
+        EventConfigBulkResult result = service.applyChanges(List.of(), List.of(moved, current));
+
+        // Then
+        assertThat(result.conflicts()).containsExactly("moved-id");
+        assertThat(result.written()).singleElement().satisfies(written -> {
+            assertThat(written.getId()).isEqualTo("test-uuid-123");
+            assertThat(written.getEnabled()).isFalse();
+            assertThat(written.getCreatedAt()).isEqualTo(fixedTime);
+            assertThat(written.getVersion()).isEqualTo("12-1");
+        });
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient).performRequest(request.capture());
+        assertThat(request.getValue().getEndpoint()).isEqualTo("/event_configs/_bulk");
+        assertThat(request.getValue().getParameters()).containsEntry("refresh", "false");
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        request.getValue().getEntity().writeTo(sent);
+        String[] lines = sent.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("{\"update\":{\"_id\":\"moved-id\",\"if_seq_no\":4,\"if_primary_term\":1}}");
+        assertThat(lines[1]).matches("\\{\"doc\":\\{\"enabled\":false,\"updatedAt\":\"[0-9-]{10}T[0-9:]{8}\"}}");
+        assertThat(lines[2]).isEqualTo("{\"update\":{\"_id\":\"test-uuid-123\",\"if_seq_no\":7,\"if_primary_term\":1}}");
+        verify(operations, never()).save(any(EventConfigElastic.class));
+    }
+
+    @Test
+    @DisplayName("Should refresh once for writes newer than the refresh interval")
+    void awaitSearchable_RecentWrite_RefreshesOnce() throws Exception {
+        // Given
+        Instant written = Instant.now();
+        when(restClient.performRequest(any(Request.class))).thenReturn(mock(Response.class));
+
+        // When
+        service.awaitSearchable(written.minusSeconds(5));
+        service.awaitSearchable(written);
+        service.awaitSearchable(written);
+
+        // Then
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient, times(1)).performRequest(request.capture());
+        assertThat(request.getValue().getMethod()).isEqualTo("POST");
+        assertThat(request.getValue().getEndpoint()).isEqualTo("/event_configs/_refresh");
+    }
+
+    @Test
+    @DisplayName("Should compute facets with a size-0 terms aggregation")
+    void getEventConfigFacets_ParsesAggregations() throws Exception {
+        // Given
+        String body = "{\"hits\":{\"total\":{\"value\":3}},\"aggregations\":{"
+                + "\"eventType\":{\"buckets\":[{\"key\":\"USER_LOGIN\",\"doc_count\":2},"
+                + "{\"key\":\"USER_REGISTRATION\",\"doc_count\":1}]},"
+                + "\"source\":{\"buckets\":[{\"key\":\"auth-service\",\"doc_count\":3}]},"
+                + "\"enabled\":{\"buckets\":[{\"key\":1,\"key_as_string\":\"true\",\"doc_count\":2},"
+                + "{\"key\":0,\"key_as_string\":\"false\",\"doc_count\":1}]}}}";
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        when(restClient.performRequest(any(Request.class))).thenReturn(response);
+
+        // When
+        EventConfigFacetsResponseDto facets = service.getEventConfigFacets(null, "auth-service", null);
+
+        // Then
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(facets.getEventType()).containsEntry("USER_LOGIN", 2L).containsEntry("USER_REGISTRATION", 1L);
+        assertThat(facets.getSource()).containsExactlyEntriesOf(Map.of("auth-service", 3L));
+        assertThat(facets.getEnabled()).containsEntry("true", 2L).containsEntry("false", 1L);
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient).performRequest(request.capture());
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        request.getValue().getEntity().writeTo(sent);
+        assertThat(sent.toString(StandardCharsets.UTF_8))
+                .contains("\"size\":0")
+                .contains("{\"term\":{\"source\":\"auth-service\"}}")
+                .contains("\"aggs\"");
+    }
+
+    @Test
+    @DisplayName("Should stream each hit with its seqNo-primaryTerm as the version")
+    void writeRawEventConfigs_HitMetadata_WritesVersion() throws Exception {
+        // Given
+        String body = "{\"hits\":{\"hits\":[{\"_id\":\"es-1\",\"_seq_no\":7,\"_primary_term\":2,"
+                + "\"_source\":{\"eventType\":\"USER_LOGIN\",\"source\":\"auth-service\",\"enabled\":true}}]}}";
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        when(restClient.performRequest(any(Request.class))).thenReturn(response);
+        StringWriter out = new StringWriter();
+
+        // When
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+            service.writeRawEventConfigs(null, null, null, new EventConfigJsonWriter(generator));
+        }
+
+        // Then
+        assertThat(out.toString()).isEqualTo("{\"id\":\"es-1\",\"eventType\":\"USER_LOGIN\","
+                + "\"source\":\"auth-service\",\"enabled\":true,\"version\":\"7-2\"}");
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(restClient).performRequest(request.capture());
+        assertThat(request.getValue().getParameters().get("filter_path"))
+                .contains("hits.hits._seq_no", "hits.hits._primary_term");
+        assertThat(sentLines(request.getValue())[0]).contains("\"seq_no_primary_term\":true");
+    }
+
+    @Test
+    @DisplayName("Should suggest through the edge n-gram sub-field when it is mapped")
+    void suggestValues_PrefixFieldMapped_UsesTermLookup() throws Exception {
+        // Given
+        List<String> sent = givenSuggestResponses("{\"event_configs\":{\"mappings\":{\"eventType.prefix\":"
+                + "{\"full_name\":\"eventType.prefix\",\"mapping\":{\"prefix\":{\"type\":\"text\"}}}}}}");
+
+        // When
+        List<String> values = service.suggestValues(SuggestField.EVENT_TYPE, "USER", 10);
+        service.suggestValues(SuggestField.EVENT_TYPE, "USER_L", 10);
+
+        // Then
+        assertThat(values).containsExactly("USER_LOGIN");
+        assertThat(sent).hasSize(3);
+        assertThat(sent.get(0)).startsWith("GET /event_configs/_mapping/field/eventType.prefix");
+        assertThat(sent.get(1)).contains("{\"term\":{\"eventType.prefix\":\"USER\"}}");
+        assertThat(sent.get(2)).contains("{\"term\":{\"eventType.prefix\":\"USER_L\"}}");
+    }
+
+    @Test
+    @DisplayName("Should fall back to a prefix query when the index predates the edge n-gram sub-field")
+    void suggestValues_PrefixFieldMissing_UsesPrefixQuery() throws Exception {
+        // Given
+        List<String> sent = givenSuggestResponses("{\"event_configs\":{\"mappings\":{}}}");
+
+        // When
+        List<String> values = service.suggestValues(SuggestField.EVENT_TYPE, "USER", 10);
+
+        // Then
+        assertThat(values).containsExactly("USER_LOGIN");
+        assertThat(sent.get(1))
+                .contains("{\"prefix\":{\"eventType\":\"USER\"}}")
+                .doesNotContain("eventType.prefix");
+    }
+
+    private static Response bulkResponse(String body) {
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    private static Response response(int status, String body) {
+        Response response = mock(Response.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), status, null));
+        if (body != null) {
+            when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        }
+        return response;
+    }
+
+    private static String[] sentLines(Request request) throws IOException {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        request.getEntity().writeTo(sent);
+        return sent.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    /**
+     * Answers mapping requests with {@code mapping} and searches with a single bucket; returns each request
+     * as {@code "<method> <endpoint> <body>"}.
+     */
+    private List<String> givenSuggestResponses(String mapping) throws IOException {
+        List<String> sent = new ArrayList<>();
+        when(restClient.performRequest(any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (request.getEntity() != null) {
+                request.getEntity().writeTo(body);
+            }
+            sent.add(request.getMethod() + " " + request.getEndpoint() + " " + body.toString(StandardCharsets.UTF_8));
+            String answer = request.getEndpoint().contains("/_mapping/")
+                    ? mapping
+                    : "{\"aggregations\":{\"values\":{\"buckets\":[{\"key\":\"USER_LOGIN\"}]}}}";
+            Response response = mock(Response.class);
+            when(response.getEntity()).thenReturn(new StringEntity(answer, ContentType.APPLICATION_JSON));
+            return response;
+        });
+        return sent;
     }
-}
\ No newline at end of file
+}
@@ -3,9 +3,16 @@ package com.flex.mind.tech.service.strategy;
 import com.flex.mind.tech.exception.EventConfigNotFoundException;
 import com.flex.mind.tech.model.entity.EventConfigMongo;
 import com.flex.mind.tech.model.mapper.EventConfigMapper;
+import com.flex.mind.tech.model.request.EventConfigKeyDto;
 import com.flex.mind.tech.model.request.EventConfigRequestDto;
 import com.flex.mind.tech.model.response.EventConfigResponseDto;
 import com.flex.mind.tech.repository.EventConfigMongoRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,16 +21,25 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +52,9 @@ class MongoEventConfigServiceTest {
     @Mock
     private EventConfigMapper mapper;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private MongoEventConfigService service;
 
@@ -136,15 +155,6 @@ class MongoEventConfigServiceTest {
                 .enabled(false)
                 .build();
 
-        EventConfigMongo existingEntity = EventConfigMongo.builder()
-                .id(eventId)
-                .eventType("USER_REGISTRATION")
-                .source("auth-service")
-                .enabled(true)
-                .createdAt(fixedTime)
-                .updatedAt(fixedTime)
-                .build();
-
         EventConfigMongo updatedEntity = EventConfigMongo.builder()
                 .id(eventId)
                 .eventType("USER_LOGIN")
@@ -152,6 +162,7 @@ class MongoEventConfigServiceTest {
                 .enabled(false)
                 .createdAt(fixedTime)
                 .updatedAt(fixedTime.plusMinutes(30))
+                .version(6L)
                 .build();
 
         EventConfigResponseDto updatedResponse = EventConfigResponseDto.builder()
@@ -161,14 +172,15 @@ class MongoEventConfigServiceTest {
                 .enabled(false)
                 .createdAt(fixedTime)
                 .updatedAt(fixedTime.plusMinutes(30))
+                .version("6")
                 .build();
 
-        when(repository.findById(eventId)).thenReturn(Optional.of(existingEntity));
-        when(repository.save(existingEntity)).thenReturn(updatedEntity);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EventConfigMongo.class))).thenReturn(updatedEntity);
         when(mapper.toResponseDto(updatedEntity)).thenReturn(updatedResponse);
 
         // When
-        EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest);
+        EventConfigResponseDto result = service.updateEventConfig(eventId, updateRequest, "5");
 
         // Then
         assertThat(result).isNotNull();
@@ -176,15 +188,24 @@ class MongoEventConfigServiceTest {
         assertThat(result.getEventType()).isEqualTo("USER_LOGIN");
         assertThat(result.getSource()).isEqualTo("auth-service");
         assertThat(result.getEnabled()).isFalse();
-
-        verify(repository, times(1)).findById(eventId);
-        verify(repository, times(1)).save(existingEntity);
-        verify(mapper, times(1)).toResponseDto(updatedEntity);
-
-        assertThat(existingEntity.getEventType()).isEqualTo("USER_LOGIN");
-        assertThat(existingEntity.getSource()).isEqualTo("auth-service");
-        assertThat(existingEntity.getEnabled()).isFalse();
-        assertThat(existingEntity.getUpdatedAt()).isNotNull();
+        assertThat(result.getVersion()).isEqualTo("6");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate, times(1)).findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(EventConfigMongo.class));
+        assertThat(query.getValue().getQueryObject())
+                .isEqualTo(new Document("_id", eventId).append("version", 5L));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set).containsEntry("eventType", "USER_LOGIN")
+                .containsEntry("source", "auth-service")
+                .containsEntry("enabled", false)
+                .containsKey("updatedAt");
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 1);
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any(EventConfigMongo.class));
     }
 
     @Test
@@ -192,15 +213,14 @@ class MongoEventConfigServiceTest {
     void updateEventConfig_NotFound_ThrowsException() {
         // Given
         String nonExistentId = "non-existent-id";
-        when(repository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EventConfigMongo.class))).thenReturn(null);
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(nonExistentId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(nonExistentId, requestDto, null))
                 .isInstanceOf(EventConfigNotFoundException.class)
                 .hasMessage("Event config not found with id: " + nonExistentId);
 
-        verify(repository, times(1)).findById(nonExistentId);
-        verify(repository, never()).save(any(EventConfigMongo.class));
         verify(mapper, never()).toResponseDto(any(EventConfigMongo.class));
     }
 
@@ -511,16 +531,15 @@ class MongoEventConfigServiceTest {
     void updateEventConfig_RepositoryException_ThrowsException() {
         // Given
         String eventId = TEST_ID;
-        when(repository.findById(eventId))
-                .thenThrow(new RuntimeException("Database connection failed"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EventConfigMongo.class))).thenThrow(new RuntimeException("Database connection failed"));
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(eventId, requestDto, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Database connection failed");
 
-        verify(repository, times(1)).findById(eventId);
-        verify(repository, never()).save(any(EventConfigMongo.class));
+        verify(mapper, never()).toResponseDto(any(EventConfigMongo.class));
     }
 
     @Test
@@ -607,13 +626,180 @@ class MongoEventConfigServiceTest {
     void updateEventConfig_EmptyId_ThrowsException() {
         // Given
         String emptyId = "";
-        when(repository.findById(emptyId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EventConfigMongo.class))).thenReturn(null);
 
         // When & Then
-        assertThatThrownBy(() -> service.updateEventConfig(emptyId, requestDto))
+        assertThatThrownBy(() -> service.updateEventConfig(emptyId, requestDto, null))
                 .isInstanceOf(EventConfigNotFoundException.class)
                 .hasMessage("Event config not found with id: " + emptyId);
+    }
+
+    @Test
+    @DisplayName("Should report a config no longer at the expected version as a lost race")
+    void updateEventConfig_ExpectedVersionMoved_ThrowsOptimisticLockingFailure() {
+        // Given
+        requestDto.setEnabled(false);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EventConfigMongo.class))).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> service.updateEventConfig(TEST_ID, requestDto, "5"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> service.updateEventConfig(TEST_ID, requestDto, "12-1"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(EventConfigMongo.class));
+    }
+
+    @Test
+    @DisplayName("Should look up all keys with a single $or query")
+    void findByKeys_SingleOrQuery() {
+        // Given
+        List<EventConfigKeyDto> keys = List.of(
+                new EventConfigKeyDto("USER_REGISTRATION", "auth-service"),
+                new EventConfigKeyDto("USER_LOGIN", "auth-service"));
+        when(mongoTemplate.find(any(Query.class), eq(EventConfigMongo.class))).thenReturn(List.of(mongoEntity));
+        when(mapper.toResponseDto(mongoEntity)).thenReturn(responseDto);
+
+        // When
+        List<EventConfigResponseDto> result = service.findByKeys(keys);
+
+        // Then
+        assertThat(result).containsExactly(responseDto);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).find(query.capture(), eq(EventConfigMongo.class));
+        List<?> branches = (List<?>) query.getValue().getQueryObject().get("$or");
+        assertThat(branches).hasSize(2);
+        assertThat(branches.get(1).toString()).contains("USER_LOGIN").contains("auth-service");
+    }
+
+    @Test
+    @DisplayName("Should insert new configs and set enabled on existing ones in one bulk request")
+    void applyChanges_SingleBulkRequest() {
+        // Given
+        BulkOperations bulk = givenBulk(1);
+        EventConfigRequestDto insert = EventConfigRequestDto.builder()
+                .id("new-id")
+                .eventType("USER_LOGIN")
+                .source("auth-service")
+                .enabled(true)
+                .build();
+        EventConfigMongo inserted = EventConfigMongo.builder().eventType("USER_LOGIN").source("auth-service").build();
+        when(mapper.toMongoEntity(insert)).thenReturn(inserted);
+        when(mapper.toResponseDto(inserted)).thenReturn(responseDto);
+        EventConfigResponseDto update = EventConfigResponseDto.builder()
+                .id(TEST_ID)
+                .eventType("USER_REGISTRATION")
+                .source("auth-service")
+                .enabled(false)
+                .createdAt(fixedTime)
+                .version("2")
+                .build();
+
+        // When
+        EventConfigBulkResult result = service.applyChanges(List.of(insert), List.of(update));
+
+        // Then
+        assertThat(inserted.getId()).isEqualTo("new-id");
+        assertThat(inserted.getCreatedAt()).isNotNull();
+        assertThat(result.conflicts()).isEmpty();
+        assertThat(result.written()).hasSize(2);
+        assertThat(result.written().get(1).getEnabled()).isFalse();
+        assertThat(result.written().get(1).getCreatedAt()).isEqualTo(fixedTime);
+        assertThat(result.written().get(1).getUpdatedAt()).isAfter(fixedTime);
+        assertThat(result.written().get(1).getVersion()).isEqualTo("3");
+        verify(bulk, times(1)).insert(inserted);
+        ArgumentCaptor<Update> set = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(1)).updateOne(any(Query.class), set.capture());
+        assertThat(set.getValue().getUpdateObject().get("$set").toString()).contains("enabled=false");
+        verify(bulk, times(1)).execute();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should update only configs still at the version they were read at and report the others")
+    void applyChanges_VersionChanged_ReportedAsConflict() {
+        // Given
+        BulkOperations bulk = givenBulk(1);
+        EventConfigResponseDto moved = EventConfigResponseDto.builder()
+                .id("moved-id").eventType("USER_LOGIN").source("auth-service").enabled(false).version("3").build();
+        EventConfigResponseDto current = EventConfigResponseDto.builder()
+                .id(TEST_ID).eventType("USER_REGISTRATION").source("auth-service").enabled(false).version("7").build();
+        List<Update> sets = new ArrayList<>();
+        when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            sets.add(invocation.getArgument(1));
+            return bulk;
+        });
+        when(mongoTemplate.find(any(Query.class), eq(EventConfigMongo.class))).thenAnswer(invocation -> {
+            // The first config was moved on by another writer, the second one stored by this bulk
+            LocalDateTime writtenAt = (LocalDateTime) sets.get(1).getUpdateObject()
+                    .get("$set", Document.class).get("updatedAt");
+            return List.of(
+                    EventConfigMongo.builder().id("moved-id").version(4L).updatedAt(fixedTime).build(),
+                    EventConfigMongo.builder().id(TEST_ID).version(8L).updatedAt(writtenAt).build());
+        });
+
+        // When
+        EventConfigBulkResult result = service.applyChanges(List.of(), List.of(moved, current));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(2)).updateOne(query.capture(), any(Update.class));
+        assertThat(query.getAllValues().get(0).getQueryObject()).containsEntry("version", 3L);
+        assertThat(result.conflicts()).containsExactly("moved-id");
+        assertThat(result.written()).singleElement().satisfies(written -> {
+            assertThat(written.getId()).isEqualTo(TEST_ID);
+            assertThat(written.getVersion()).isEqualTo("8");
+        });
+    }
+
+    @Test
+    @DisplayName("Should insert unordered and skip the configs the unique key index rejects")
+    void insertAll_DuplicateKey_SkipsIt() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventConfigMongo.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        when(mapper.toMongoEntity(requestDto)).thenAnswer(invocation -> EventConfigMongo.builder().build());
+        MongoBulkWriteException rejected = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)),
+                null, new ServerAddress());
+        when(bulk.execute()).thenThrow(new BulkOperationException("duplicate key", rejected));
+
+        // When
+        int inserted = service.insertAll(List.of(requestDto, requestDto));
+
+        // Then
+        assertThat(inserted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail the insert when a config is rejected for another reason than its key")
+    void insertAll_OtherWriteError_ThrowsException() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventConfigMongo.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        when(mapper.toMongoEntity(requestDto)).thenAnswer(invocation -> EventConfigMongo.builder().build());
+        MongoBulkWriteException rejected = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress());
+        when(bulk.execute()).thenThrow(new BulkOperationException("validation", rejected));
+
+        // When & Then
+        assertThatThrownBy(() -> service.insertAll(List.of(requestDto)))
+                .isInstanceOf(BulkOperationException.class);
+    }
 
-        verify(repository, times(1)).findById(emptyId);
+    private BulkOperations givenBulk(int matchedCount) {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventConfigMongo.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(result);
+        when(result.getMatchedCount()).thenReturn(matchedCount);
+        return bulk;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.flex.mind.tech.service.suggest;
+
+import com.flex.mind.tech.config.SuggestProperties;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidation;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigSuggestIndex Unit Tests")
+class EventConfigSuggestIndexTest {
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private EventConfigSuggestIndex suggestIndex;
+    private Consumer<EventConfigInvalidation> invalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new EventConfigSuggestIndex(
+                new SuggestProperties(), storageStrategy, invalidationBus, new SimpleMeterRegistry());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<EventConfigInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(listener.capture());
+        invalidationListener = listener.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestIndex.stop();
+    }
+
+    @Test
+    @DisplayName("Should be unavailable until the first build")
+    void suggest_BeforeBuild_ReturnsNull() {
+        assertThat(suggestIndex.suggest(SuggestField.SOURCE, "auth", 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return distinct sorted values by prefix up to the limit")
+    void suggest_AfterRebuild_CompletesPrefix() throws Exception {
+        // When
+        rebuildWithStoredKeys();
+
+        // Then
+        assertThat(suggestIndex.suggest(SuggestField.EVENT_TYPE, "USER_", 10))
+                .containsExactly("USER_LOGIN", "USER_REGISTRATION");
+        assertThat(suggestIndex.suggest(SuggestField.EVENT_TYPE, "", 1)).containsExactly("ORDER_CREATED");
+        assertThat(suggestIndex.suggest(SuggestField.SOURCE, "auth", 10)).containsExactly("auth-service");
+        assertThat(suggestIndex.suggest(SuggestField.SOURCE, "user", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add values written after the build")
+    void suggest_AfterInvalidation_IncludesNewValue() throws Exception {
+        // Given
+        rebuildWithStoredKeys();
+
+        // When
+        invalidationListener.accept(EventConfigInvalidation.builder()
+                .id("4")
+                .eventType("USER_LOGOUT")
+                .source("auth-service")
+                .build());
+
+        // Then
+        assertThat(suggestIndex.suggest(SuggestField.EVENT_TYPE, "USER_LO", 10))
+                .containsExactly("USER_LOGIN", "USER_LOGOUT");
+        assertThat(suggestIndex.suggest(SuggestField.SOURCE, "", 10))
+                .containsExactly("auth-service", "order-service");
+    }
+
+    @Test
+    @DisplayName("Should drop the index on a full invalidation")
+    void suggest_AfterFullInvalidation_Unavailable() throws Exception {
+        // Given
+        rebuildWithStoredKeys();
+
+        // The rebuild queued by the reset must not repopulate before the assertion
+        lenient().doThrow(new IOException("store unavailable")).when(storageStrategy).forEachEventConfigKey(any());
+
+        // When
+        invalidationListener.accept(EventConfigInvalidation.all(Instant.now(), null));
+
+        // Then
+        assertThat(suggestIndex.suggest(SuggestField.EVENT_TYPE, "USER_", 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep prefix index sorted on copy-on-write inserts")
+    void prefixIndex_With_InsertsInOrder() {
+        // Given
+        PrefixIndex index = PrefixIndex.of(List.of("b", "d"));
+
+        // When
+        PrefixIndex updated = index.with("c").with("a").with("c");
+
+        // Then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(updated.size()).isEqualTo(4);
+        assertThat(updated.complete("", 10)).containsExactly("a", "b", "c", "d");
+        assertThat(updated.contains("c")).isTrue();
+    }
+
+    private void rebuildWithStoredKeys() throws Exception {
+        doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(0);
+            consumer.accept("USER_REGISTRATION", "auth-service");
+            consumer.accept("USER_LOGIN", "auth-service");
+            consumer.accept("ORDER_CREATED", "order-service");
+            return null;
+        }).when(storageStrategy).forEachEventConfigKey(any());
+        suggestIndex.rebuild();
+    }
+}
@@ -0,0 +1,222 @@
+package com.flex.mind.tech.service.writebehind;
+
+import com.flex.mind.tech.config.WriteBehindProperties;
+import com.flex.mind.tech.model.response.EventConfigResponseDto;
+import com.flex.mind.tech.service.invalidation.EventConfigInvalidationBus;
+import com.flex.mind.tech.service.strategy.EventConfigBulkResult;
+import com.flex.mind.tech.service.strategy.EventConfigStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventConfigWriteBehindBuffer Unit Tests")
+class EventConfigWriteBehindBufferTest {
+
+    @Mock
+    private EventConfigStorageStrategy storageStrategy;
+
+    @Mock
+    private EventConfigInvalidationBus invalidationBus;
+
+    private WriteBehindProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EventConfigWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new EventConfigWriteBehindBuffer(properties, storageStrategy, invalidationBus, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should coalesce toggles of one config into a single bulk write of the last state")
+    @SuppressWarnings("unchecked")
+    void flush_RepeatedToggles_LastWriteWins() {
+        // Given
+        when(storageStrategy.applyChanges(anyList(), anyList())).thenAnswer(invocation -> new EventConfigBulkResult(invocation.getArgument(1), List.of()));
+        CompletableFuture<EventConfigResponseDto> first = buffer.offer(config("1", false));
+        buffer.offer(config("1", true));
+        CompletableFuture<EventConfigResponseDto> last = buffer.offer(config("1", false));
+        buffer.offer(config("2", true));
+
+        // When
+        buffer.flush();
+
+        // Then
+        ArgumentCaptor<List<EventConfigResponseDto>> updates = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy, times(1)).applyChanges(any(), updates.capture());
+        assertThat(updates.getValue()).extracting(EventConfigResponseDto::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(updates.getValue()).filteredOn(config -> config.getId().equals("1"))
+                .extracting(EventConfigResponseDto::getEnabled).containsExactly(false);
+        assertThat(first).isSameAs(last).isCompleted();
+        InOrder published = inOrder(storageStrategy, invalidationBus);
+        published.verify(storageStrategy).awaitSearchable(any());
+        published.verify(invalidationBus, times(2)).publish(any());
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(meterRegistry.get("event.config.write.behind.toggles").tag("result", "coalesced").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should overlay buffered state on reads and apply the enabled filter to it")
+    void overlay_PendingToggle_ReplacesStoredState() {
+        // Given
+        EventConfigResponseDto stored = config("1", true);
+        EventConfigResponseDto other = config("2", true);
+        buffer.offer(config("1", false));
+
+        // When
+        EventConfigResponseDto single = buffer.overlay(stored);
+        List<EventConfigResponseDto> enabled = buffer.overlay(List.of(stored, other), true);
+
+        // Then
+        assertThat(single.getEnabled()).isFalse();
+        assertThat(enabled).containsExactly(other);
+        assertThat(meterRegistry.get("event.config.write.behind.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep failed toggles for the next flush in memory mode")
+    void flush_Failure_RetriedInMemoryMode() {
+        // Given
+        when(storageStrategy.applyChanges(anyList(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("store down"))
+                .thenAnswer(invocation -> new EventConfigBulkResult(invocation.getArgument(1), List.of()));
+        CompletableFuture<EventConfigResponseDto> stored = buffer.offer(config("1", false));
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(stored).isNotDone();
+        assertThat(buffer.overlay(config("1", true)).getEnabled()).isFalse();
+        verify(invalidationBus, never()).publish(any());
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(stored).isCompleted();
+        assertThat(meterRegistry.get("event.config.write.behind.flush.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail the waiting callers of a failed flush in flush mode")
+    void flush_Failure_FailsCallersInFlushMode() {
+        // Given
+        properties.setDurability(WriteBehindProperties.Durability.FLUSH);
+        when(storageStrategy.applyChanges(anyList(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("store down"));
+        CompletableFuture<EventConfigResponseDto> stored = buffer.offer(config("1", false));
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(stored).isCompletedExceptionally();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop a toggle whose config changed since it was buffered and fail its caller")
+    void flush_Conflict_DropsToggleAndFailsCaller() {
+        // Given
+        properties.setDurability(WriteBehindProperties.Durability.FLUSH);
+        when(storageStrategy.applyChanges(anyList(), anyList()))
+                .thenReturn(new EventConfigBulkResult(List.of(config("2", true)), List.of("1")));
+        CompletableFuture<EventConfigResponseDto> conflicted = buffer.offer(config("1", false));
+        CompletableFuture<EventConfigResponseDto> stored = buffer.offer(config("2", true));
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThatThrownBy(conflicted::join).hasCauseInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(stored).isCompleted();
+        verify(invalidationBus, times(1)).publish(any());
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(meterRegistry.get("event.config.write.behind.conflicts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should move a toggle buffered during a flush of the same config to the version that flush stored")
+    @SuppressWarnings("unchecked")
+    void flush_ToggledWhileFlushing_RebasedOnStoredVersion() {
+        // Given
+        when(storageStrategy.applyChanges(anyList(), anyList()))
+                .thenAnswer(invocation -> {
+                    // Toggled again while the first toggle is being written, on top of its in-flight state
+                    buffer.offer(versioned(config("1", true), "1"));
+                    return new EventConfigBulkResult(List.of(versioned(config("1", false), "2")), List.of());
+                })
+                .thenAnswer(invocation -> new EventConfigBulkResult(invocation.getArgument(1), List.of()));
+        buffer.offer(versioned(config("1", false), "1"));
+
+        // When
+        buffer.flush();
+
+        // Then
+        ArgumentCaptor<List<EventConfigResponseDto>> updates = ArgumentCaptor.forClass(List.class);
+        verify(storageStrategy, times(2)).applyChanges(any(), updates.capture());
+        assertThat(updates.getAllValues().get(1)).singleElement().satisfies(update -> {
+            assertThat(update.getEnabled()).isTrue();
+            assertThat(update.getVersion()).isEqualTo("2");
+        });
+    }
+
+    @Test
+    @DisplayName("Should refuse new configs when full and drop superseded toggles")
+    void offer_FullAndSupersede() {
+        // Given
+        properties.setMaxPending(1);
+        buffer.offer(config("1", false));
+
+        // When
+        CompletableFuture<EventConfigResponseDto> refused = buffer.offer(config("2", false));
+        buffer.supersede("1");
+
+        // Then
+        assertThat(refused).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(meterRegistry.get("event.config.write.behind.toggles").tag("result", "bypassed").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static EventConfigResponseDto versioned(EventConfigResponseDto config, String version) {
+        config.setVersion(version);
+        return config;
+    }
+
+    private static EventConfigResponseDto config(String id, boolean enabled) {
+        return EventConfigResponseDto.builder()
+                .id(id)
+                .eventType("USER_REGISTRATION")
+                .source("service-" + id)
+                .enabled(enabled)
+                .build();
+    }
+}